@@ -43,6 +43,25 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<Boolean> VALIDATE_XML_CHANGELOG_FILES;
 
     public static final ConfigurationDefinition<Boolean> TRIM_LOAD_DATA_FILE_HEADER;
+    public static final ConfigurationDefinition<Boolean> LOAD_DATA_STREAMING;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_STREAMING_CHUNK_SIZE;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_BATCH_SIZE;
+    public static final ConfigurationDefinition<Integer> LOAD_DATA_COMMIT_INTERVAL;
+    public static final ConfigurationDefinition<Boolean> LOAD_DATA_BULK_LOAD;
+    public static final ConfigurationDefinition<String> CHECKSUM_CACHE_FILE;
+    public static final ConfigurationDefinition<Integer> CHECKSUM_COMPUTATION_THREADS;
+    public static final ConfigurationDefinition<Boolean> DATABASECHANGELOG_INCREMENTAL_READ;
+    public static final ConfigurationDefinition<Boolean> CHANGELOGLOCK_ADVISORY_LOCK;
+    public static final ConfigurationDefinition<Integer> SNAPSHOT_PARALLELISM;
+    public static final ConfigurationDefinition<String> SNAPSHOT_CACHE_DIRECTORY;
+    public static final ConfigurationDefinition<Integer> DIFF_PARALLELISM;
+    public static final ConfigurationDefinition<Boolean> DIFF_CHANGELOG_STREAMING;
+    public static final ConfigurationDefinition<Integer> DATA_EXPORT_PARALLELISM;
+    public static final ConfigurationDefinition<Integer> DATA_EXPORT_FETCH_SIZE;
+    public static final ConfigurationDefinition<Integer> DATA_EXPORT_MAX_ROWS;
+    public static final ConfigurationDefinition<Boolean> DATA_EXPORT_COMPRESS;
+    public static final ConfigurationDefinition<String> CHANGELOG_PARSE_CACHE_DIRECTORY;
+    public static final ConfigurationDefinition<Boolean> SQL_FILE_STREAMING;
 
     /**
      * @deprecated No longer used
@@ -272,6 +291,97 @@ public class GlobalConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(false)
                 .build();
 
+        LOAD_DATA_STREAMING = builder.define("loadDataStreaming", Boolean.class)
+                .setDescription("If true, loadData and loadUpdateData read their CSV file in chunks and execute each chunk before reading the next one, instead of building the statements for the whole file in memory first.")
+                .setDefaultValue(false)
+                .build();
+
+        LOAD_DATA_STREAMING_CHUNK_SIZE = builder.define("loadDataStreamingChunkSize", Integer.class)
+                .setDescription("Number of CSV rows held in memory and executed together when loadDataStreaming is enabled.")
+                .setDefaultValue(10000)
+                .build();
+
+        LOAD_DATA_BATCH_SIZE = builder.define("loadDataBatchSize", Integer.class)
+                .setDescription("Number of rows loadData and loadUpdateData send to the database per JDBC batch or multi-row INSERT statement. " +
+                        "When set, JDBC batching is also used on PostgreSQL and MySQL, which can be combined with the driver's reWriteBatchedInserts/rewriteBatchedStatements options. " +
+                        "If not set, prepared statements are sent as a single batch and INSERT statements are grouped 50 rows at a time.")
+                .build();
+
+        LOAD_DATA_COMMIT_INTERVAL = builder.define("loadDataCommitInterval", Integer.class)
+                .setDescription("For loadData changesets with runInTransaction=false that are sent as JDBC batches, commit after this many rows instead of after every batch. Has no effect on changesets that run in a transaction.")
+                .build();
+
+        LOAD_DATA_BULK_LOAD = builder.define("loadDataBulkLoad", Boolean.class)
+                .setDescription("If true, loadData uses the database's native bulk load mechanism (e.g. COPY on PostgreSQL, LOAD DATA LOCAL INFILE on MySQL) when one is available and the columns only hold plain string, numeric and boolean values. Falls back to INSERT statements otherwise.")
+                .setDefaultValue(false)
+                .build();
+
+        CHECKSUM_CACHE_FILE = builder.define("checksumCacheFile", String.class)
+                .setDescription("Path of a file used to cache the checksums of sqlFile, createProcedure and loadData files between runs. Entries are keyed by file path, size and modification time or content, so changed files are always rechecked. Not used if not set.")
+                .build();
+
+        CHECKSUM_COMPUTATION_THREADS = builder.define("checksumComputationThreads", Integer.class)
+                .setDescription("Number of threads used to compute changeset checksums before validating the changelog and upgrading checksums. 1 computes them one at a time while the changelog is visited.")
+                .setDefaultValue(1)
+                .build();
+
+        DATABASECHANGELOG_INCREMENTAL_READ = builder.define("databaseChangelogIncrementalRead", Boolean.class)
+                .setDescription("If true, re-reading the DATABASECHANGELOG table after the history service is reset only fetches rows with a higher ORDEREXECUTED than already read. A single aggregate query then checks the count, lowest and highest ORDEREXECUTED and number of tags of the already read rows, and the whole table is read again if they differ, such as when rows were removed or tagged. Changes Liquibase makes itself are kept up to date, but checksums, file names or tag names edited in place by other tools are not noticed, so only enable this if the table is changed by Liquibase alone.")
+                .setDefaultValue(false)
+                .build();
+
+        CHANGELOGLOCK_ADVISORY_LOCK = builder.define("changelogLockAdvisoryLock", Boolean.class)
+                .setDescription("If true, the changelog lock is also guarded by a native advisory lock on PostgreSQL, MySQL, MariaDB, Oracle and SQL Server, so only one waiting instance at a time checks the lock table. Waiting instances back off exponentially with jitter up to changelogLockPollRate seconds. All instances using the same database should use the same setting.")
+                .setDefaultValue(false)
+                .build();
+
+        SNAPSHOT_PARALLELISM = builder.define("snapshotParallelism", Integer.class)
+                .setDescription("Number of schemas snapshotted at the same time, each over its own connection, when a snapshot covers several schemas. Only used when Liquibase can open more connections, e.g. when it connected with a URL. 1 snapshots schemas one after another over the main connection.")
+                .setDefaultValue(1)
+                .build();
+
+        SNAPSHOT_CACHE_DIRECTORY = builder.define("snapshotCacheDirectory", String.class)
+                .setDescription("Directory to store database snapshots in, so later snapshot, diff and diff-changelog runs against an unchanged database can reuse them. A cached snapshot is only used while a cheap catalog fingerprint still matches: the latest DDL time on Oracle and SQL Server, the system catalog row versions on PostgreSQL. Snapshots of other databases are not cached. If not set, snapshots are not cached.")
+                .build();
+
+        DIFF_PARALLELISM = builder.define("diffParallelism", Integer.class)
+                .setDescription("Number of threads used to match and compare objects when diffing two snapshots. Differences are still reported in the same order. 1 compares all objects on the calling thread.")
+                .setDefaultValue(1)
+                .build();
+
+        DIFF_CHANGELOG_STREAMING = builder.define("diffChangelogStreaming", Boolean.class)
+                .setDescription("If true, diff-changelog and generate-changelog write each changeset for a missing object as soon as it is generated instead of building the whole changelog in memory first. The changesets are written in the same order, but their generated ids are numbered differently. XML changelogs are written incrementally, other formats are still written at the end.")
+                .setDefaultValue(false)
+                .build();
+
+        DATA_EXPORT_PARALLELISM = builder.define("dataExportParallelism", Integer.class)
+                .setDescription("Number of tables exported at the same time, each over its own connection, when generate-changelog writes data to a data output directory. Only used when Liquibase can open more connections, e.g. when it connected with a URL. 1 exports tables one after another over the main connection.")
+                .setDefaultValue(1)
+                .build();
+
+        DATA_EXPORT_FETCH_SIZE = builder.define("dataExportFetchSize", Integer.class)
+                .setDescription("Number of rows fetched from the database at a time when generate-changelog exports table data.")
+                .setDefaultValue(100)
+                .build();
+
+        DATA_EXPORT_MAX_ROWS = builder.define("dataExportMaxRows", Integer.class)
+                .setDescription("Maximum number of rows exported per table when generate-changelog exports table data. If not set, all rows are exported.")
+                .build();
+
+        DATA_EXPORT_COMPRESS = builder.define("dataExportCompress", Boolean.class)
+                .setDescription("If true, data exported by generate-changelog to a data output directory is written as gzip compressed .csv.gz files, which loadData reads back directly.")
+                .setDefaultValue(false)
+                .build();
+
+        CHANGELOG_PARSE_CACHE_DIRECTORY = builder.define("changelogParseCacheDirectory", String.class)
+                .setDescription("Directory to store parsed XML, YAML and JSON changelog files in, so later runs only parse new or modified files. Entries are keyed by the file content and can be shared by the CLI, Maven, Spring and other integrations. Old entries are not removed automatically. If not set, changelog files are always parsed.")
+                .build();
+
+        SQL_FILE_STREAMING = builder.define("sqlFileStreaming", Boolean.class)
+                .setDescription("If true, sqlFile changes read and split their file while executing it, running each statement as soon as it is split, instead of reading the whole file into memory first. Changelog properties are then expanded in each statement after splitting, so property values must not contain the end delimiter.")
+                .setDefaultValue(false)
+                .build();
+
         PRESERVE_CLASSPATH_PREFIX_IN_NORMALIZED_PATHS = builder.define("preserveClasspathPrefixInNormalizedPaths", Boolean.class)
                 .setDescription("If true 'classpath:' prefix will be preserved in normalized paths, allowing to resolve hierarchical resources under a classpath-based root.")
                 .setDefaultValue(false)
@@ -987,9 +987,9 @@ public class Liquibase implements AutoCloseable {
     }
 
     protected void resetServices() {
-        LockServiceFactory.getInstance().resetAll();
-        Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetAll();
-        Scope.getCurrentScope().getSingleton(ExecutorService.class).reset();
+        LockServiceFactory.getInstance().resetLockService(database);
+        Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetChangeLogService(database);
+        Scope.getCurrentScope().getSingleton(ExecutorService.class).clearExecutors(database);
     }
 
     /**
@@ -124,7 +124,12 @@ public class Scope {
     }
 
     private final Scope parent;
+    private final Scope root;
     private final SmartMap values = new SmartMap();
+    /**
+     * Singletons of the root scope. Only set on the root scope, and read without locking by all its child scopes.
+     */
+    private final Map<String, SingletonObject> singletons;
     @Getter
     private final String scopeId;
     private static final Map<String, List<MdcObject>> addedMdcEntries = new ConcurrentHashMap<>();
@@ -186,6 +191,8 @@ public class Scope {
     private Scope() {
         scopeId = "root";
         parent = null;
+        root = this;
+        singletons = new ConcurrentHashMap<>();
     }
 
     /**
@@ -197,6 +204,8 @@ public class Scope {
             throw new UnexpectedLiquibaseException("Cannot pass a null parent to a new Scope. Use Scope.child to correctly create a nested scope");
         }
         this.parent = parent;
+        this.root = parent.root;
+        this.singletons = null;
         scopeId = generateScopeId();
         if (scopeValues != null) {
             values.putAll(scopeValues);
@@ -328,7 +337,7 @@ public class Scope {
     }
 
 
-    public synchronized <T> T get(Enum key, Class<T> type) {
+    public <T> T get(Enum key, Class<T> type) {
         return get(key.name(), type);
     }
 
@@ -342,16 +351,20 @@ public class Scope {
      * Returns null if key is not defined in this or any parent scopes.
      */
     public <T> T get(String key, Class<T> type) {
-        T value = values.get(key, type);
-        if (value == null && values.containsKey(JAVA_PROPERTIES)) {
-            Map javaProperties = values.get(JAVA_PROPERTIES, Map.class);
-            value = (T)javaProperties.get(key);
-        }
-        if (value == null && parent != null) {
-            value = parent.get(key, type);
+        Scope scopeToCheck = this;
+        while (scopeToCheck != null) {
+            SmartMap scopeValues = scopeToCheck.values;
+            T value = scopeValues.get(key, type);
+            if (value == null && scopeValues.containsKey(JAVA_PROPERTIES)) {
+                Map javaProperties = scopeValues.get(JAVA_PROPERTIES, Map.class);
+                value = (T) javaProperties.get(key);
+            }
+            if (value != null) {
+                return value;
+            }
+            scopeToCheck = scopeToCheck.parent;
         }
-
-        return value;
+        return null;
     }
 
     /**
@@ -359,7 +372,7 @@ public class Scope {
      * If the value is not defined, the passed defaultValue is returned.
      * The value is converted to the given type if necessary using {@link liquibase.util.ObjectUtil#convert(Object, Class)}.
      */
-    public synchronized <T> T get(String key, T defaultValue) {
+    public <T> T get(String key, T defaultValue) {
         Class type;
         if (defaultValue == null) {
             type = Object.class;
@@ -378,13 +391,21 @@ public class Scope {
      * Looks up the singleton object of the given type. If the singleton has not been created yet, it will be instantiated.
      * The singleton is a singleton based on the root scope and the same object will be returned for all child scopes of the root.
      */
-    public synchronized <T extends SingletonObject> T getSingleton(Class<T> type) {
-        if (getParent() != null) {
-            return getParent().getSingleton(type);
+    public <T extends SingletonObject> T getSingleton(Class<T> type) {
+        String key = type.getName();
+        Object existing = root.singletons.get(key);
+        if (existing != null) {
+            return type.cast(existing);
         }
+        return root.createSingleton(key, type);
+    }
 
-        String key = type.getName();
-        T singleton = get(key, type);
+    /**
+     * Creates the singleton of the given type in this root scope unless another thread already did.
+     * Singleton constructors may look up other singletons, so this locks rather than using {@link Map#computeIfAbsent}.
+     */
+    private synchronized <T extends SingletonObject> T createSingleton(String key, Class<T> type) {
+        T singleton = type.cast(singletons.get(key));
         if (singleton == null) {
             try {
                 try {
@@ -400,7 +421,7 @@ public class Scope {
                 throw new UnexpectedLiquibaseException(e);
             }
 
-            values.put(key, singleton);
+            singletons.put(key, singleton);
         }
         return singleton;
     }
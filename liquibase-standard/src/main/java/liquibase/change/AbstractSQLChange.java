@@ -318,28 +318,35 @@ public abstract class AbstractSQLChange extends AbstractChange implements DbmsTa
             return returnStatements.toArray(EMPTY_SQL_STATEMENT);
         }
         for (String statement : StringUtil.processMultiLineSQL(processedSQL, isStripComments(), isSplitStatements(), getEndDelimiter(), getChangeSet())) {
-            if (database instanceof MSSQLDatabase) {
-                statement = statement.replaceAll("\\n", "\r\n");
-            }
+            returnStatements.add(generateStatement(statement, database));
+        }
 
-            String escapedStatement = statement;
-            try {
-                if (database.getConnection() != null) {
-                    escapedStatement = database.getConnection().nativeSQL(statement);
-                }
-            } catch (DatabaseException e) {
-                escapedStatement = statement;
-            }
+        return returnStatements.toArray(EMPTY_SQL_STATEMENT);
+    }
 
-            if (database instanceof Db2zDatabase && escapedStatement.toUpperCase().startsWith("CALL")) {
-                returnStatements.add(new RawCompoundStatement(escapedStatement, getEndDelimiter()));
-            } else {
-                //For some reason PRINT statement execution is not working properly with PreparedStatement, so we are reverting this change for now.
-                returnStatements.add(new RawSqlStatement(escapedStatement, getEndDelimiter()));
+    /**
+     * Creates the SqlStatement for one statement split from the SQL by {@link #generateStatements(Database)}.
+     */
+    protected SqlStatement generateStatement(String statement, Database database) {
+        if (database instanceof MSSQLDatabase) {
+            statement = statement.replaceAll("\\n", "\r\n");
+        }
+
+        String escapedStatement = statement;
+        try {
+            if (database.getConnection() != null) {
+                escapedStatement = database.getConnection().nativeSQL(statement);
             }
+        } catch (DatabaseException e) {
+            escapedStatement = statement;
         }
 
-        return returnStatements.toArray(EMPTY_SQL_STATEMENT);
+        if (database instanceof Db2zDatabase && escapedStatement.toUpperCase().startsWith("CALL")) {
+            return new RawCompoundStatement(escapedStatement, getEndDelimiter());
+        } else {
+            //For some reason PRINT statement execution is not working properly with PreparedStatement, so we are reverting this change for now.
+            return new RawSqlStatement(escapedStatement, getEndDelimiter());
+        }
     }
 
     @Override
@@ -0,0 +1,258 @@
+package liquibase.change;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.resource.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Persistent cache for the file-dependent part of change checksums, enabled by setting
+ * {@link GlobalConfiguration#CHECKSUM_CACHE_FILE}.
+ * <p>
+ * Entries are keyed by the resource path, the {@link liquibase.ChecksumVersion}, the change-specific settings that
+ * affect the checksum and a fingerprint of the file: size and modification time for files on the local file system,
+ * a SHA-256 digest of the content for everything else. A changed file therefore never matches an old entry.
+ * Files modified within the last few seconds are always fingerprinted by content, because the modification time
+ * may not have the resolution to tell two quick edits apart.
+ * <p>
+ * The cache file is append-only and can be shared between processes; the last entry for a key wins. Each line holds
+ * the key, the checksum and a digest of both, and is appended under a file lock. Lines that are not terminated, not
+ * well-formed or do not match their digest, such as lines cut off by a crash, are ignored when the file is read.
+ */
+public class CheckSumCache implements SingletonObject {
+
+    private static final long RECENTLY_MODIFIED_MILLIS = 2000;
+    private static final char SEPARATOR = ' ';
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern CHECKSUM_PATTERN = Pattern.compile("\\d+:[a-zA-Z0-9]+");
+
+    private final Map<Path, Map<String, String>> caches = new ConcurrentHashMap<>();
+
+    private CheckSumCache() {
+    }
+
+    /**
+     * Returns the cached checksum for the given resource, or computes it with the supplier and stores it.
+     * If the cache is disabled or the resource cannot be fingerprinted, the supplier is called directly.
+     *
+     * @param resource  the file the checksum is computed from
+     * @param keyParts  any settings besides the file content that affect the computed checksum
+     * @param supplier  computes the checksum. Returning a {@link Result} with cacheable=false skips storing it.
+     */
+    public CheckSum getOrCompute(Resource resource, List<String> keyParts, Supplier<Result> supplier) {
+        String cacheFile = GlobalConfiguration.CHECKSUM_CACHE_FILE.getCurrentValue();
+        if (cacheFile == null || resource == null) {
+            return supplier.get().getCheckSum();
+        }
+
+        String key;
+        try {
+            key = buildKey(resource, keyParts);
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Not caching checksum of " + resource.getPath() + ": " + e.getMessage());
+            return supplier.get().getCheckSum();
+        }
+
+        Path path = Paths.get(cacheFile).toAbsolutePath().normalize();
+        Map<String, String> cache = caches.computeIfAbsent(path, this::load);
+        String cached = cache.get(key);
+        if (cached != null) {
+            return CheckSum.parse(cached);
+        }
+
+        Result result = supplier.get();
+        if (result.isCacheable() && result.getCheckSum() != null) {
+            String value = result.getCheckSum().toString();
+            if (cache.put(key, value) == null) {
+                append(path, key, value);
+            }
+        }
+        return result.getCheckSum();
+    }
+
+    /**
+     * Forgets all entries read from cache files. Mainly used by tests.
+     */
+    public void clear() {
+        caches.clear();
+    }
+
+    private String buildKey(Resource resource, List<String> keyParts) throws IOException {
+        MessageDigest digest = newDigest();
+        update(digest, resource.getPath());
+        update(digest, String.valueOf(Scope.getCurrentScope().getChecksumVersion().getVersion()));
+        for (String part : keyParts) {
+            update(digest, String.valueOf(part));
+        }
+        update(digest, fingerprint(resource));
+        return toHex(digest.digest());
+    }
+
+    private String fingerprint(Resource resource) throws IOException {
+        URI uri = resource.getUri();
+        if (uri != null && "file".equals(uri.getScheme())) {
+            BasicFileAttributes attributes = Files.readAttributes(Paths.get(uri), BasicFileAttributes.class);
+            long modified = attributes.lastModifiedTime().toMillis();
+            if (System.currentTimeMillis() - modified > RECENTLY_MODIFIED_MILLIS) {
+                return "file:" + attributes.size() + ":" + modified;
+            }
+        }
+
+        MessageDigest digest = newDigest();
+        try (InputStream stream = resource.openInputStream()) {
+            byte[] buffer = new byte[65536];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return "sha256:" + toHex(digest.digest());
+    }
+
+    private Map<String, String> load(Path path) {
+        Map<String, String> cache = new ConcurrentHashMap<>();
+        if (!Files.exists(path)) {
+            return cache;
+        }
+        try {
+            String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            int rejected = 0;
+            int start = 0;
+            int end;
+            while ((end = content.indexOf('\n', start)) >= 0) {
+                String[] entry = parseLine(content.substring(start, end));
+                if (entry == null) {
+                    rejected++;
+                } else {
+                    cache.put(entry[0], entry[1]);
+                }
+                start = end + 1;
+            }
+            if (start < content.length()) {
+                rejected++;
+            }
+            if (rejected > 0) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Ignored " + rejected + " incomplete or invalid lines in checksum cache " + path);
+            }
+            Scope.getCurrentScope().getLog(getClass()).fine("Read " + cache.size() + " cached checksums from " + path);
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot read checksum cache " + path + ": " + e.getMessage(), e);
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the key and checksum of a cache file line, or null if the line is not exactly a key, a checksum and the
+     * digest of both, separated by single spaces.
+     */
+    private static String[] parseLine(String line) {
+        String[] parts = line.split(String.valueOf(SEPARATOR), -1);
+        if (parts.length != 3 || !KEY_PATTERN.matcher(parts[0]).matches() || !CHECKSUM_PATTERN.matcher(parts[1]).matches()
+                || !parts[2].equals(lineDigest(parts[0], parts[1]))) {
+            return null;
+        }
+        return new String[]{parts[0], parts[1]};
+    }
+
+    private static String lineDigest(String key, String value) {
+        MessageDigest digest = newDigest();
+        update(digest, key);
+        update(digest, value);
+        return toHex(digest.digest()).substring(0, 16);
+    }
+
+    /**
+     * Appends an entry while holding an exclusive lock on the file, so lines of processes sharing the file are never
+     * interleaved. A line left unterminated by a crash is terminated first, so only that line is lost.
+     */
+    private synchronized void append(Path path, String key, String value) {
+        try {
+            Path parent = path.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            String line = key + SEPARATOR + value + SEPARATOR + lineDigest(key, value) + "\n";
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                long size = channel.size();
+                if (size > 0) {
+                    ByteBuffer last = ByteBuffer.allocate(1);
+                    channel.read(last, size - 1);
+                    if (last.get(0) != '\n') {
+                        line = "\n" + line;
+                    }
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+                long position = size;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+            }
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot write checksum cache " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * A computed checksum and whether it only depends on the inputs of the cache key.
+     */
+    public static class Result {
+        private final CheckSum checkSum;
+        private final boolean cacheable;
+
+        public Result(CheckSum checkSum, boolean cacheable) {
+            this.checkSum = checkSum;
+            this.cacheable = cacheable;
+        }
+
+        public CheckSum getCheckSum() {
+            return checkSum;
+        }
+
+        public boolean isCacheable() {
+            return cacheable;
+        }
+    }
+}
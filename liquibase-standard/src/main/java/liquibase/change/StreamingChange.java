@@ -0,0 +1,37 @@
+package liquibase.change;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.statement.SqlStatement;
+
+/**
+ * Adding this interface to your Change class allows executors to receive its statements in bounded chunks instead of
+ * a single array returned by {@link Change#generateStatements(Database)}.
+ * This is useful for changes such as loadData whose statement count grows with the size of an external file:
+ * only the current chunk has to be held in memory while it is executed.
+ * <p>
+ * Executors that do not know about this interface keep calling {@link Change#generateStatements(Database)}, so
+ * implementations must continue to support it.
+ */
+public interface StreamingChange extends Change {
+
+    /**
+     * Returns true if {@link #streamStatements(Database, StatementChunkHandler)} should be used rather than
+     * {@link Change#generateStatements(Database)} for the given database.
+     */
+    boolean shouldStreamStatements(Database database);
+
+    /**
+     * Generates the statements for this change and passes them to the handler one chunk at a time, in execution order.
+     * Each chunk is handed over as soon as it is built, so the handler is expected to execute it before returning.
+     */
+    void streamStatements(Database database, StatementChunkHandler handler) throws DatabaseException;
+
+    /**
+     * Receives one chunk of statements generated by a {@link StreamingChange}.
+     */
+    @FunctionalInterface
+    interface StatementChunkHandler {
+        void handle(SqlStatement[] statements) throws DatabaseException;
+    }
+}
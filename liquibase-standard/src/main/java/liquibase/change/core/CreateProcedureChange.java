@@ -12,6 +12,7 @@ import liquibase.database.core.*;
 import liquibase.exception.DatabaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.ValidationErrors;
+import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
 import liquibase.statement.SqlStatement;
 import liquibase.statement.core.CreateProcedureStatement;
@@ -25,6 +26,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Map;
 
 @DatabaseChange(name = "createProcedure", description = "Defines a stored procedure.", priority = ChangeMetaData.PRIORITY_DEFAULT)
@@ -201,15 +203,7 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
         }
 
         try {
-            ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
-
-            String path = getPath();
-            final Boolean isRelative = isRelativeToChangelogFile();
-            if (isRelative != null && isRelative) {
-                return resourceAccessor.get(getChangeSet().getChangeLog().getPhysicalFilePath()).resolveSibling(path).openInputStream();
-            } else {
-                return resourceAccessor.getExisting(path).openInputStream();
-            }
+            return getResource().openInputStream();
         } catch (IOException e) {
             throw new IOException(
                 "<" + Scope.getCurrentScope().getSingleton(ChangeFactory.class).getChangeMetaData(this).getName() + " path=" +
@@ -220,6 +214,18 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
         }
     }
 
+    private Resource getResource() throws IOException {
+        ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
+
+        String path = getPath();
+        final Boolean isRelative = isRelativeToChangelogFile();
+        if (isRelative != null && isRelative) {
+            return resourceAccessor.get(getChangeSet().getChangeLog().getPhysicalFilePath()).resolveSibling(path);
+        } else {
+            return resourceAccessor.getExisting(path);
+        }
+    }
+
     /**
      * Calculates the checksum based on the contained SQL.
      *
@@ -280,6 +286,21 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
     }
 
     protected CheckSum generateCheckSumLatest(String sqlText) {
+        if (getPath() != null) {
+            Resource resource = null;
+            try {
+                resource = getResource();
+            } catch (IOException e) {
+                // not found: computing the checksum below reports it
+            }
+            if (resource != null) {
+                CheckSum checkSum = Scope.getCurrentScope().getSingleton(CheckSumCache.class).getOrCompute(resource,
+                        Arrays.asList("createProcedure", GlobalConfiguration.FILE_ENCODING.getCurrentValue().name()),
+                        this::computeFileCheckSum);
+                return CheckSum.compute(super.generateCheckSum().toString() + ":" + checkSum);
+            }
+        }
+
         InputStream stream = null;
         CheckSum checkSum;
         try {
@@ -310,6 +331,19 @@ public class CreateProcedureChange extends AbstractChange implements DbmsTargete
         }
     }
 
+    /**
+     * Computes the checksum of the file at {@link #getPath()} the same way as {@link #generateCheckSumLatest(String)}.
+     * The result is only cacheable if the file has no expressions, since those depend on the changelog parameters.
+     */
+    private CheckSumCache.Result computeFileCheckSum() {
+        try (PropertyExpandingStream stream = new PropertyExpandingStream(this.getChangeSet(), openSqlStream())) {
+            CheckSum checkSum = CheckSum.compute(new AbstractSQLChange.NormalizingStream(stream), false);
+            return new CheckSumCache.Result(checkSum, !stream.containsExpressions());
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
     /**
      * Listing SQL content fields (for example procedureText, triggerBody, etc.) we don't want to include as part of
      * the checksum computes, because have a separate part that computes that checksum for that part doing the
@@ -13,9 +13,12 @@ import liquibase.database.core.PostgresDatabase;
 import liquibase.datatype.DataTypeFactory;
 import liquibase.datatype.LiquibaseDataType;
 import liquibase.exception.*;
+import liquibase.executor.Executor;
 import liquibase.executor.ExecutorService;
 import liquibase.executor.LoggingExecutor;
 import liquibase.io.EmptyLineAndCommentSkippingInputStream;
+import liquibase.loaddata.BulkLoader;
+import liquibase.loaddata.BulkLoaderFactory;
 import liquibase.logging.Logger;
 import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
@@ -23,6 +26,8 @@ import liquibase.snapshot.InvalidExampleException;
 import liquibase.snapshot.SnapshotControl;
 import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.statement.BatchDmlExecutablePreparedStatement;
+import liquibase.statement.BulkLoadDataStatement;
+import liquibase.statement.DatabaseFunction;
 import liquibase.statement.ExecutablePreparedStatementBase;
 import liquibase.statement.InsertExecutablePreparedStatement;
 import liquibase.statement.SqlStatement;
@@ -56,7 +61,7 @@ import static liquibase.change.ChangeParameterMetaData.ALL;
         priority = ChangeMetaData.PRIORITY_DEFAULT, appliesTo = "table",
         since = "1.7")
 @SuppressWarnings("java:S2583")
-public class LoadDataChange extends AbstractTableChange implements ChangeWithColumns<LoadDataColumnConfig> {
+public class LoadDataChange extends AbstractTableChange implements ChangeWithColumns<LoadDataColumnConfig>, StreamingChange {
     /**
      * CSV Lines starting with that sign(s) will be treated as comments by default
      */
@@ -100,6 +105,13 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         return true;
     }
 
+    /**
+     * Whether this change can be executed through a native {@link BulkLoader}.
+     */
+    protected boolean hasBulkLoadImplemented() {
+        return true;
+    }
+
     @Override
     public boolean supports(Database database) {
         return true;
@@ -237,34 +249,94 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     public SqlStatement[] generateStatements(Database database) {
         supportsBatchUpdates(database);
 
-        try (CSVReader reader = getCSVReader()) {
+        try {
+            BulkLoader bulkLoader = getBulkLoader(database);
+            if (bulkLoader != null) {
+                return new SqlStatement[]{new BulkLoadDataStatement(this, bulkLoader, database)};
+            }
 
-            if (reader == null) {
-                throw new UnexpectedLiquibaseException("Unable to read file " + this.getFile());
+            List<LoadDataRowConfig> rows = new ArrayList<>();
+            readRows(database, rows::add);
+            return generateStatementsFromRows(database, rows);
+        } catch (IOException | LiquibaseException e) {
+            throw new RuntimeException(e);
+        } catch (UnexpectedLiquibaseException ule) {
+            if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet()
+                    .getFailOnError()) {
+                Logger log = Scope.getCurrentScope().getLog(LoadDataChange.class);
+                log.info("Changeset " + getChangeSet().toString(false) +
+                         " failed, but failOnError was false.  Error: " + ule.getMessage());
+                return SqlStatement.EMPTY_SQL_STATEMENT;
+            } else {
+                throw ule;
+            }
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        // Do nothing
+    }
+
+    @Override
+    public boolean shouldStreamStatements(Database database) {
+        return GlobalConfiguration.LOAD_DATA_STREAMING.getCurrentValue();
+    }
+
+    /**
+     * Reads the CSV file {@link GlobalConfiguration#LOAD_DATA_STREAMING_CHUNK_SIZE} rows at a time and hands the
+     * statements generated for each chunk to the handler before reading the next one.
+     * Unlike {@link #generateStatements(Database)}, a malformed row is not swallowed when failOnError is false because
+     * earlier chunks may already have been executed: the exception is passed on so the changeset is rolled back.
+     */
+    @Override
+    public void streamStatements(Database database, StatementChunkHandler handler) throws DatabaseException {
+        supportsBatchUpdates(database);
+
+        int chunkSize = Math.max(1, GlobalConfiguration.LOAD_DATA_STREAMING_CHUNK_SIZE.getCurrentValue());
+        List<LoadDataRowConfig> chunk = new ArrayList<>();
+        try {
+            BulkLoader bulkLoader = getBulkLoader(database);
+            if (bulkLoader != null) {
+                // a bulk load streams the file itself
+                handler.handle(new SqlStatement[]{new BulkLoadDataStatement(this, bulkLoader, database)});
+                return;
             }
 
-            String[] headers = reader.readNext();
-            if (headers == null) {
-                throw new UnexpectedLiquibaseException("Data file " + getFile() + " was empty");
+            readRows(database, row -> {
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    handler.handle(generateStatementsFromRows(database, chunk));
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                handler.handle(generateStatementsFromRows(database, chunk));
             }
+        } catch (DatabaseException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        }
+    }
 
-            // Make sure all take the column list we interpolated from the CSV headers
-            addColumnsFromHeaders(headers);
+    /**
+     * Reads the CSV file line by line, converting each non-empty, non-comment line into a {@link LoadDataRowConfig}
+     * and passing it to the handler. No rows are retained by this method.
+     */
+    private void readRows(Database database, LoadDataRowHandler handler) throws Exception {
+        try (CSVReader reader = getCSVReader()) {
 
-            // If we have an real JDBC connection to the database, ask the database for any missing column types.
-            try {
-                retrieveMissingColumnLoadTypes(columns, database);
-            } catch (DatabaseException e) {
-                throw new UnexpectedLiquibaseException(e);
+            if (reader == null) {
+                throw new UnexpectedLiquibaseException("Unable to read file " + this.getFile());
             }
 
+            String[] headers = readHeaders(reader, database);
+
             String[] line;
             // Start at '1' to take into account the header (already processed):
             int lineNumber = 1;
 
             boolean isCommentingEnabled = StringUtils.isNotEmpty(commentLineStartsWith);
 
-            List<LoadDataRowConfig> rows = new ArrayList<>();
             while ((line = reader.readNext()) != null) {
                 lineNumber++;
                 if
@@ -471,25 +543,176 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                         actuallyUsePreparedStatements = needsPreparedStatement || (!isLoggingExecutor(database) && preferPreparedStatements(database));
                     }
                 }
-                rows.add(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
+                handler.handle(new LoadDataRowConfig(actuallyUsePreparedStatements, columnsFromCsv));
             }
-            return generateStatementsFromRows(database, rows);
-        } catch (IOException | LiquibaseException e) {
-            throw new RuntimeException(e);
-        } catch (UnexpectedLiquibaseException ule) {
-            if ((getChangeSet() != null) && (getChangeSet().getFailOnError() != null) && !getChangeSet()
-                    .getFailOnError()) {
-                Logger log = Scope.getCurrentScope().getLog(LoadDataChange.class);
-                log.info("Changeset " + getChangeSet().toString(false) +
-                         " failed, but failOnError was false.  Error: " + ule.getMessage());
-                return SqlStatement.EMPTY_SQL_STATEMENT;
-            } else {
-                throw ule;
+        }
+    }
+
+    /**
+     * Reads the header line of the CSV file and completes the column configuration from it.
+     */
+    private String[] readHeaders(CSVReader reader, Database database) throws IOException {
+        String[] headers = reader.readNext();
+        if (headers == null) {
+            throw new UnexpectedLiquibaseException("Data file " + getFile() + " was empty");
+        }
+
+        // Make sure all take the column list we interpolated from the CSV headers
+        addColumnsFromHeaders(headers);
+
+        // If we have an real JDBC connection to the database, ask the database for any missing column types.
+        try {
+            retrieveMissingColumnLoadTypes(columns, database);
+        } catch (DatabaseException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        return headers;
+    }
+
+    /**
+     * Returns the {@link BulkLoader} to use for this change, or null if the rows have to be inserted with statements.
+     * Bulk loading is only used when {@link GlobalConfiguration#LOAD_DATA_BULK_LOAD} is enabled, SQL is actually
+     * executed and every column holds plain string, numeric or boolean values.
+     */
+    private BulkLoader getBulkLoader(Database database) throws Exception {
+        if (!hasBulkLoadImplemented() || !GlobalConfiguration.LOAD_DATA_BULK_LOAD.getCurrentValue()
+                || Boolean.FALSE.equals(usePreparedStatements) || isLoggingExecutor(database)) {
+            return null;
+        }
+        BulkLoader bulkLoader = Scope.getCurrentScope().getSingleton(BulkLoaderFactory.class).getBulkLoader(database);
+        if (bulkLoader == null) {
+            return null;
+        }
+
+        try (CSVReader reader = getCSVReader()) {
+            if (reader == null) {
+                throw new UnexpectedLiquibaseException("Unable to read file " + this.getFile());
+            }
+            readHeaders(reader, database);
+        }
+        for (LoadDataColumnConfig column : columns) {
+            if (!isBulkLoadable(column)) {
+                Scope.getCurrentScope().getLog(LoadDataChange.class).fine("Not bulk loading " + getFile() +
+                        ": column " + column.getName() + " has type " + column.getType());
+                return null;
+            }
+        }
+        return bulkLoader;
+    }
+
+    private boolean isBulkLoadable(LoadDataColumnConfig column) {
+        String type = column.getType();
+        if (type == null) {
+            return true;
+        }
+        if (type.equalsIgnoreCase("date") || type.equalsIgnoreCase("datetime") || type.equalsIgnoreCase("time")) {
+            return false;
+        }
+        switch (column.getTypeEnum()) {
+            case COMPUTED:
+            case SEQUENCE:
+            case BLOB:
+            case CLOB:
+            case DATE:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Reads the CSV file and passes every row to a load opened on the given {@link BulkLoader}.
+     * Called when a {@link BulkLoadDataStatement} is executed. Computed values cannot be bulk loaded, so if the file
+     * contains one, the bulk load is discarded and the rows are inserted with statements instead.
+     *
+     * @return the number of rows loaded
+     */
+    public long executeBulkLoad(BulkLoader bulkLoader, Database database) throws DatabaseException {
+        BulkLoader.BulkLoad[] load = new BulkLoader.BulkLoad[1];
+        try {
+            readRows(database, row -> {
+                List<LoadDataColumnConfig> rowColumns = row.getColumns();
+                if (load[0] == null) {
+                    List<String> columnNames = new ArrayList<>();
+                    for (LoadDataColumnConfig column : rowColumns) {
+                        columnNames.add(column.getName());
+                    }
+                    load[0] = bulkLoader.open(database, getCatalogName(), getSchemaName(), getTableName(), columnNames);
+                }
+
+                Object[] values = new Object[rowColumns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    Object value = rowColumns.get(i).getValueObject();
+                    if (value instanceof DatabaseFunction) {
+                        throw new ComputedValueFoundException(rowColumns.get(i).getName(), value);
+                    }
+                    values[i] = value;
+                }
+                load[0].addRow(values);
+            });
+            return (load[0] == null) ? 0 : load[0].finish();
+        } catch (ComputedValueFoundException e) {
+            Scope.getCurrentScope().getLog(LoadDataChange.class).fine("Not bulk loading " + getFile() + ": column " +
+                    e.columnName + " has computed value " + e.value + ". Inserting its rows instead.");
+        } catch (DatabaseException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DatabaseException(e);
+        } finally {
+            if (load[0] != null) {
+                load[0].close();
+            }
+        }
+        return insertRows(database);
+    }
+
+    /**
+     * Inserts the rows of the CSV file with the statements used when bulk loading is disabled,
+     * {@link GlobalConfiguration#LOAD_DATA_STREAMING_CHUNK_SIZE} rows at a time.
+     */
+    private long insertRows(Database database) throws DatabaseException {
+        Executor executor = Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database);
+        int chunkSize = Math.max(1, GlobalConfiguration.LOAD_DATA_STREAMING_CHUNK_SIZE.getCurrentValue());
+        List<LoadDataRowConfig> chunk = new ArrayList<>();
+        long[] rowCount = new long[1];
+        try {
+            readRows(database, row -> {
+                chunk.add(row);
+                rowCount[0]++;
+                if (chunk.size() >= chunkSize) {
+                    executeAll(executor, generateStatementsFromRows(database, chunk));
+                    chunk.clear();
+                }
+            });
+            if (!chunk.isEmpty()) {
+                executeAll(executor, generateStatementsFromRows(database, chunk));
             }
+        } catch (DatabaseException | RuntimeException e) {
+            throw e;
         } catch (Exception e) {
-            throw new RuntimeException(e);
+            throw new DatabaseException(e);
+        }
+        return rowCount[0];
+    }
+
+    private static void executeAll(Executor executor, SqlStatement[] statements) throws DatabaseException {
+        for (SqlStatement statement : statements) {
+            executor.execute(statement);
+        }
+    }
+
+    /**
+     * Stops a bulk load at the first computed value, which has to be inserted with a statement.
+     */
+    private static class ComputedValueFoundException extends RuntimeException {
+        private final String columnName;
+        private final Object value;
+
+        private ComputedValueFoundException(String columnName, Object value) {
+            super(null, null, false, false);
+            this.columnName = columnName;
+            this.value = value;
         }
-        // Do nothing
     }
 
     /**
@@ -769,7 +992,12 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
     }
 
     protected InsertSetStatement createStatementSet(String catalogName, String schemaName, String tableName) {
-        return new InsertSetStatement(catalogName, schemaName, tableName);
+        Integer batchSize = GlobalConfiguration.LOAD_DATA_BATCH_SIZE.getCurrentValue();
+        if ((batchSize == null) || (batchSize < 1)) {
+            return new InsertSetStatement(catalogName, schemaName, tableName);
+        }
+        // InsertSetGenerator starts a new INSERT once the threshold is exceeded, so the threshold is one less than the row count
+        return new InsertSetStatement(catalogName, schemaName, tableName, batchSize - 1);
     }
 
     protected LoadDataColumnConfig getColumnConfig(int index, String header) {
@@ -800,7 +1028,6 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
 
     @Override
     public CheckSum generateCheckSum() {
-        InputStream stream = null;
         try {
             ResourceAccessor resourceAccessor = Scope.getCurrentScope().getResourceAccessor();
             Resource resource;
@@ -810,8 +1037,20 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
                 resource = resourceAccessor.get(getRelativeTo()).resolveSibling(file);
             }
 
+            CheckSum fileCheckSum = Scope.getCurrentScope().getSingleton(CheckSumCache.class).getOrCompute(resource,
+                    Arrays.asList("loadData", commentLineStartsWith),
+                    () -> new CheckSumCache.Result(computeFileCheckSum(resource), true));
+            return CheckSum.compute(getTableName() + ":" + fileCheckSum);
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    private CheckSum computeFileCheckSum(Resource resource) {
+        InputStream stream = null;
+        try {
             stream = new EmptyLineAndCommentSkippingInputStream(resource.openInputStream(), commentLineStartsWith);
-            return CheckSum.compute(getTableName() + ":" + CheckSum.compute(stream, /*standardizeLineEndings*/ true));
+            return CheckSum.compute(stream, /*standardizeLineEndings*/ true);
         } catch (IOException e) {
             throw new UnexpectedLiquibaseException(e);
         } finally {
@@ -874,17 +1113,22 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         if (rows.stream().anyMatch(LoadDataRowConfig::needsPreparedStatement)) {
             // If we have only prepared statements and the database supports batching, let's roll
             if (supportsBatchUpdates(database) && !preparedStatements.isEmpty()) {
-                if (database instanceof PostgresDatabase || database instanceof MySQLDatabase) {
+                Integer batchSize = GlobalConfiguration.LOAD_DATA_BATCH_SIZE.getCurrentValue();
+                if (batchSize == null && (database instanceof PostgresDatabase || database instanceof MySQLDatabase)) {
                     // we don't do batch updates for Postgres but we still send as a prepared statement, see LB-744
                     // mysql supports batch updates, but the performance vs. the big insert is worse
+                    // an explicitly configured batch size opts back in, e.g. together with reWriteBatchedInserts=true
                     return preparedStatements.toArray(SqlStatement.EMPTY_SQL_STATEMENT);
                 } else {
+                    Integer commitInterval = GlobalConfiguration.LOAD_DATA_COMMIT_INTERVAL.getCurrentValue();
                     return new SqlStatement[]{
                             new BatchDmlExecutablePreparedStatement(
                                     database, getCatalogName(), getSchemaName(),
                                     getTableName(), columns,
                                     getChangeSet(), Scope.getCurrentScope().getResourceAccessor(),
-                                    preparedStatements)
+                                    preparedStatements,
+                                    (batchSize == null) ? 0 : batchSize,
+                                    (commitInterval == null) ? 0 : commitInterval)
                     };
                 }
             } else {
@@ -936,6 +1180,11 @@ public class LoadDataChange extends AbstractTableChange implements ChangeWithCol
         BOOLEAN, NUMERIC, DATE, STRING, COMPUTED, SEQUENCE, BLOB, CLOB, SKIP, UUID, OTHER, UNKNOWN
     }
 
+    @FunctionalInterface
+    private interface LoadDataRowHandler {
+        void handle(LoadDataRowConfig row) throws DatabaseException;
+    }
+
     protected static class LoadDataRowConfig {
 
         private final boolean needsPreparedStatement;
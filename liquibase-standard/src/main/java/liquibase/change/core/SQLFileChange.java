@@ -7,21 +7,28 @@ import liquibase.change.*;
 import liquibase.changelog.ChangeLogParameters;
 import liquibase.database.Database;
 import liquibase.database.DatabaseList;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.SetupException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.exception.ValidationErrors;
+import liquibase.exception.Warnings;
 import liquibase.parser.ChangeLogParserConfiguration;
 import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
+import liquibase.statement.SqlStatement;
 import liquibase.util.FileUtil;
 import liquibase.util.ObjectUtil;
 import liquibase.util.StreamUtil;
 import liquibase.util.StringUtil;
 
 import java.io.ByteArrayInputStream;
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Iterator;
 
 /**
  * Represents a Change for custom SQL stored in a File.
@@ -29,7 +36,7 @@ import java.nio.charset.Charset;
 @DatabaseChange(name = "sqlFile",
         description = "Allows you to specify any SQL statement and have it stored external in a file.",
         priority = ChangeMetaData.PRIORITY_DEFAULT)
-public class SQLFileChange extends AbstractSQLChange {
+public class SQLFileChange extends AbstractSQLChange implements StreamingChange {
 
     private String path;
     private Boolean relativeToChangelogFile;
@@ -147,6 +154,49 @@ public class SQLFileChange extends AbstractSQLChange {
         }
     }
 
+    /**
+     * Statements from an inline sql body are never streamed, since they are already in memory.
+     */
+    @Override
+    public boolean shouldStreamStatements(Database database) {
+        return GlobalConfiguration.SQL_FILE_STREAMING.getCurrentValue() && super.getSql() == null && path != null;
+    }
+
+    /**
+     * Reads and splits the file as the statements are executed, handing each statement to the handler as soon as it is
+     * split. Unlike {@link #getSql()}, changelog properties are expanded in each statement rather than in the whole file.
+     */
+    @Override
+    public void streamStatements(Database database, StatementChunkHandler handler) throws DatabaseException {
+        try (InputStream sqlStream = openSqlStream()) {
+            if (sqlStream == null) {
+                return;
+            }
+            Reader sqlReader = new CarriageReturnSkippingReader(StreamUtil.readStreamWithReader(sqlStream, getEncoding()));
+            Iterator<String> statements = StringUtil.streamMultiLineSQL(sqlReader, isStripComments(), isSplitStatements(), getEndDelimiter(), getChangeSet());
+            while (statements.hasNext()) {
+                String statement = statements.next();
+                if (getChangeSet() != null && getChangeSet().getChangeLogParameters() != null) {
+                    statement = getChangeSet().getChangeLogParameters().expandExpressions(statement, getChangeSet().getChangeLog());
+                }
+                handler.handle(new SqlStatement[]{generateStatement(statement, database)});
+            }
+        } catch (IOException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    /**
+     * Streamed statements are raw SQL, which has no warnings. Checking them would read the whole file.
+     */
+    @Override
+    public Warnings warn(Database database) {
+        if (shouldStreamStatements(database)) {
+            return new Warnings();
+        }
+        return super.warn(database);
+    }
+
     @Override
     public String getConfirmationMessage() {
         return "SQL in file " + path + " executed";
@@ -208,6 +258,61 @@ public class SQLFileChange extends AbstractSQLChange {
         if (version.lowerOrEqualThan(ChecksumVersion.V8)) {
             return super.generateCheckSum();
         }
+        if (super.getSql() == null && !Boolean.TRUE.equals(doExpandExpressionsInGenerateChecksum)) {
+            Resource resource = null;
+            try {
+                resource = getResource();
+            } catch (IOException e) {
+                // not found: computing the checksum below reports it
+            }
+            if (resource != null) {
+                return Scope.getCurrentScope().getSingleton(CheckSumCache.class).getOrCompute(resource,
+                        Arrays.asList("sqlFile", getEncoding(), GlobalConfiguration.FILE_ENCODING.getCurrentValue().name()),
+                        () -> new CheckSumCache.Result(computeCheckSum(), true));
+            }
+        }
+        return computeCheckSum();
+    }
+
+    /**
+     * Drops carriage returns like {@link #normalizeLineEndings(String)} does for the whole SQL.
+     */
+    private static class CarriageReturnSkippingReader extends FilterReader {
+
+        CarriageReturnSkippingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            while (read == '\r') {
+                read = super.read();
+            }
+            return read;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            int read;
+            int kept;
+            do {
+                read = super.read(buffer, offset, length);
+                if (read <= 0) {
+                    return read;
+                }
+                kept = 0;
+                for (int i = offset; i < offset + read; i++) {
+                    if (buffer[i] != '\r') {
+                        buffer[offset + kept++] = buffer[i];
+                    }
+                }
+            } while (kept == 0);
+            return kept;
+        }
+    }
+
+    private CheckSum computeCheckSum() {
         InputStream stream = null;
         try {
             String sqlContent = getSql(doExpandExpressionsInGenerateChecksum);
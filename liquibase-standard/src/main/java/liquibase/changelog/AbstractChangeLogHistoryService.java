@@ -2,8 +2,10 @@ package liquibase.changelog;
 
 import liquibase.ChecksumVersion;
 import liquibase.Contexts;
+import liquibase.GlobalConfiguration;
 import liquibase.LabelExpression;
 import liquibase.Scope;
+import liquibase.changelog.filter.ChangeSetFilter;
 import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
 import liquibase.database.Database;
@@ -14,8 +16,11 @@ import liquibase.statement.core.UpdateChangeSetChecksumStatement;
 import liquibase.statement.core.UpdateChangeSetFilenameStatement;
 import lombok.Getter;
 
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public abstract class AbstractChangeLogHistoryService implements ChangeLogHistoryService {
 
@@ -66,6 +71,7 @@ public abstract class AbstractChangeLogHistoryService implements ChangeLogHistor
     @Override
     public void upgradeChecksums(final DatabaseChangeLog databaseChangeLog, final Contexts contexts,
                                  LabelExpression labels) throws DatabaseException {
+        precomputeUpgradedChecksums(databaseChangeLog, contexts);
         for (RanChangeSet ranChangeSet : this.getRanChangeSets()) {
             if (ranChangeSet.getLastCheckSum() == null) {
                 List<ChangeSet> changeSets = databaseChangeLog.getChangeSets(ranChangeSet);
@@ -82,6 +88,27 @@ public abstract class AbstractChangeLogHistoryService implements ChangeLogHistor
         }
     }
 
+    /**
+     * Computes the checksums {@link #upgradeChecksums} writes with {@link ChangeSetCheckSumPrecomputer}.
+     */
+    private void precomputeUpgradedChecksums(DatabaseChangeLog databaseChangeLog, Contexts contexts) throws DatabaseException {
+        if (GlobalConfiguration.CHECKSUM_COMPUTATION_THREADS.getCurrentValue() <= 1) {
+            return;
+        }
+        List<ChangeSetFilter> changeSetFilters = Arrays.asList(new ContextChangeSetFilter(contexts), new DbmsChangeSetFilter(getDatabase()));
+        Map<ChangeSet, ChecksumVersion> checkSumVersions = new LinkedHashMap<>();
+        for (RanChangeSet ranChangeSet : this.getRanChangeSets()) {
+            if (ranChangeSet.getLastCheckSum() == null) {
+                for (ChangeSet changeSet : databaseChangeLog.getChangeSets(ranChangeSet)) {
+                    if (changeSet != null && ChangeSetCheckSumPrecomputer.accepts(changeSet, changeSetFilters)) {
+                        checkSumVersions.put(changeSet, ChecksumVersion.latest());
+                    }
+                }
+            }
+        }
+        ChangeSetCheckSumPrecomputer.precompute(checkSumVersions, databaseChangeLog, getDatabase());
+    }
+
     @Override
     public RanChangeSet getRanChangeSet(final ChangeSet changeSet) throws DatabaseException, DatabaseHistoryException {
         for (RanChangeSet ranChange : getRanChangeSets()) {
@@ -83,6 +83,22 @@ public class ChangeLogHistoryServiceFactory extends AbstractPluginFactory<Change
         removeInstance(service);
     }
 
+    /**
+     * Drops the history service of the given database, so the next call to {@link #getChangeLogService(Database)}
+     * creates a new one. Unlike {@link #resetAll()}, history services of other databases, which may be in use by other
+     * threads, are kept.
+     */
+    public synchronized void resetChangeLogService(Database database) {
+        // compared by identity, database equality changes once its connection is closed
+        services.entrySet().removeIf(entry -> {
+            if (entry.getKey() != database) {
+                return false;
+            }
+            entry.getValue().reset();
+            return true;
+        });
+    }
+
     public synchronized void resetAll() {
         for (ChangeLogHistoryService changeLogHistoryService : findAllInstances()) {
             changeLogHistoryService.reset();
@@ -237,6 +237,12 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
     private final DatabaseChangeLog changeLog;
 
+    /**
+     * Changelogs whose changeset list contains this changeset. They are told when its id, author or file path changes,
+     * so they rebuild their changeset index.
+     */
+    private final List<DatabaseChangeLog> containingChangeLogs = new ArrayList<>(2);
+
     @Getter
     @Setter
     private String created;
@@ -357,6 +363,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
 
     public void setLogicalFilePath(String logicalFilePath) {
         this.logicalFilePath = logicalFilePath;
+        keyChanged();
     }
 
     public String getStoredFilePath() {
@@ -472,6 +479,7 @@ public class ChangeSet implements Conditional, ChangeLogChild {
                     .replaceFirst("^/", "");
 
         }
+        keyChanged();
 
         this.setFailOnError(node.getChildValue(null, "failOnError", Boolean.class));
         String onValidationFailString = node.getChildValue(null, "onValidationFail", "HALT");
@@ -1472,6 +1480,25 @@ public class ChangeSet implements Conditional, ChangeLogChild {
      */
     public void setFilePath(String filePath) {
         this.filePath = filePath;
+        keyChanged();
+    }
+
+    /**
+     * Registers a changelog whose changeset list contains this changeset.
+     */
+    synchronized void addContainingChangeLog(DatabaseChangeLog containingChangeLog) {
+        for (DatabaseChangeLog registered : containingChangeLogs) {
+            if (registered == containingChangeLog) {
+                return;
+            }
+        }
+        containingChangeLogs.add(containingChangeLog);
+    }
+
+    private synchronized void keyChanged() {
+        for (DatabaseChangeLog containingChangeLog : containingChangeLogs) {
+            containingChangeLog.changeSetKeyChanged();
+        }
     }
 
     public void setRunOrder(String runOrder) {
@@ -1725,6 +1752,14 @@ public class ChangeSet implements Conditional, ChangeLogChild {
             return null;
         }
 
+        //
+        // Streaming changes hand their statements to the executor in chunks to keep memory bounded,
+        // so generating all of them here just for the MDC would defeat the purpose
+        //
+        if (!generateRollbackStatements && change instanceof StreamingChange && ((StreamingChange) change).shouldStreamStatements(database)) {
+            return null;
+        }
+
         AtomicReference<SqlStatement[]> statementsReference = new AtomicReference<>();
         Map<String, Object> scopeValues = new HashMap<>();
         scopeValues.put(Change.SHOULD_EXECUTE, Boolean.FALSE);
@@ -0,0 +1,92 @@
+package liquibase.changelog;
+
+import liquibase.ChecksumVersion;
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.changelog.filter.ChangeSetFilter;
+import liquibase.database.Database;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes changeset checksums on a pool of {@link GlobalConfiguration#CHECKSUM_COMPUTATION_THREADS} threads ahead of a
+ * sequential changelog visit. The checksums are stored in the {@link ChangeSet}s, so the visit reuses them.
+ * <p>
+ * The pool threads are created by the calling thread and so inherit its {@link Scope}; each checksum is computed in a
+ * child scope with the same changelog, changeset and database values {@link ChangeLogIterator} sets.
+ * Failures are only logged: the sequential visit computes the checksum again and reports the error.
+ */
+public final class ChangeSetCheckSumPrecomputer {
+
+    private ChangeSetCheckSumPrecomputer() {
+    }
+
+    /**
+     * Returns true if every filter accepts the changeset.
+     */
+    public static boolean accepts(ChangeSet changeSet, List<ChangeSetFilter> filters) {
+        for (ChangeSetFilter filter : filters) {
+            if (!filter.accepts(changeSet).isAccepted()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the checksum of each changeset with the given version. Does nothing if fewer than two threads are configured.
+     */
+    public static void precompute(Map<ChangeSet, ChecksumVersion> checkSumVersions, DatabaseChangeLog databaseChangeLog, Database database) {
+        int threads = Math.min(GlobalConfiguration.CHECKSUM_COMPUTATION_THREADS.getCurrentValue(), checkSumVersions.size());
+        if (threads <= 1) {
+            return;
+        }
+        Scope.getCurrentScope().getLog(ChangeSetCheckSumPrecomputer.class).fine("Computing " + checkSumVersions.size() +
+                " changeset checksums using " + threads + " threads");
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "liquibase-checksum-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Map.Entry<ChangeSet, ChecksumVersion> entry : checkSumVersions.entrySet()) {
+                futures.add(pool.submit(() -> compute(entry.getKey(), entry.getValue(), databaseChangeLog, database)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // compute() does not throw
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void compute(ChangeSet changeSet, ChecksumVersion version, DatabaseChangeLog databaseChangeLog, Database database) {
+        Map<String, Object> scopeValues = new HashMap<>();
+        scopeValues.put(Scope.Attr.databaseChangeLog.name(), databaseChangeLog);
+        scopeValues.put(Scope.Attr.changeSet.name(), changeSet);
+        scopeValues.put(Scope.Attr.database.name(), database);
+        try {
+            Scope.child(scopeValues, () -> {
+                changeSet.generateCheckSum(version);
+            });
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(ChangeSetCheckSumPrecomputer.class).fine("Cannot precompute checksum of " +
+                    changeSet + ": " + e.getMessage());
+        }
+    }
+}
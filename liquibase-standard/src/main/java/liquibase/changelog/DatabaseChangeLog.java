@@ -3,6 +3,7 @@ package liquibase.changelog;
 import liquibase.*;
 import liquibase.change.visitor.ChangeVisitor;
 import liquibase.change.visitor.ChangeVisitorFactory;
+import liquibase.changelog.filter.ChangeSetFilter;
 import liquibase.changelog.filter.ContextChangeSetFilter;
 import liquibase.changelog.filter.DbmsChangeSetFilter;
 import liquibase.changelog.filter.LabelChangeSetFilter;
@@ -24,6 +25,7 @@ import liquibase.parser.ChangeLogParser;
 import liquibase.parser.ChangeLogParserConfiguration;
 import liquibase.parser.ChangeLogParserFactory;
 import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.PreParsedChangeLogs;
 import liquibase.parser.core.ParsedNodeException;
 import liquibase.parser.core.ParserSupportedFileExtension;
 import liquibase.parser.core.sql.SqlChangeLogParser;
@@ -48,6 +50,8 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -106,7 +110,11 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
     private final List<ChangeVisitor> changeVisitors = new ArrayList<>();
 
     @Getter
-    private final List<ChangeSet> changeSets = new ArrayList<>();
+    private final List<ChangeSet> changeSets = new ChangeSetList(this);
+    private final AtomicInteger changeSetKeyVersion = new AtomicInteger();
+    private Map<String, List<ChangeSet>> changeSetIndex;
+    private int indexedChangeSetsVersion;
+    private int indexedChangeSetKeyVersion;
     @Getter
     private final List<ChangeSet> skippedChangeSets = new ArrayList<>();
     @Getter
@@ -290,7 +298,11 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         final ArrayList<ChangeSet> changeSetsToReturn = new ArrayList<>();
         final String normalizedPath = normalizePath(path);
         if (normalizedPath != null) {
-            for (ChangeSet changeSet : this.changeSets) {
+            List<ChangeSet> candidates = getChangeSetIndex().get(RanChangeSetIndex.key(normalizedPath, id, author));
+            if (candidates == null) {
+                return changeSetsToReturn;
+            }
+            for (ChangeSet changeSet : candidates) {
                 if (changeSet.getAuthor().equalsIgnoreCase(author) && changeSet.getId().equalsIgnoreCase(id) && isDbmsMatch(changeSet.getDbmsSet())) {
                     final String changesetNormalizedPath = normalizePath(changeSet.getFilePath());
                     if (changesetNormalizedPath != null && changesetNormalizedPath.equalsIgnoreCase(normalizedPath)) {
@@ -302,6 +314,104 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         return changeSetsToReturn;
     }
 
+    /**
+     * Returns the changesets grouped by {@link RanChangeSetIndex#key(String, String, String)}, in changelog order.
+     * Changesets without a file path are left out. The index is rebuilt whenever the changeset list was modified, or the
+     * id, author or file path of one of its changesets changed, since it was last built.
+     */
+    private Map<String, List<ChangeSet>> getChangeSetIndex() {
+        int changeSetsVersion = ((ChangeSetList) changeSets).getVersion();
+        int keyVersion = changeSetKeyVersion.get();
+        if (changeSetIndex == null || indexedChangeSetsVersion != changeSetsVersion || indexedChangeSetKeyVersion != keyVersion) {
+            Map<String, List<ChangeSet>> index = new HashMap<>();
+            for (ChangeSet changeSet : changeSets) {
+                String changeSetNormalizedPath = normalizePath(changeSet.getFilePath());
+                if (changeSetNormalizedPath != null) {
+                    String key = RanChangeSetIndex.key(changeSetNormalizedPath, changeSet.getId(), changeSet.getAuthor());
+                    index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(changeSet);
+                }
+            }
+            changeSetIndex = index;
+            indexedChangeSetsVersion = changeSetsVersion;
+            indexedChangeSetKeyVersion = keyVersion;
+        }
+        return changeSetIndex;
+    }
+
+    /**
+     * Called by a changeset in this changelog when its id, author or file path changed.
+     */
+    void changeSetKeyChanged() {
+        changeSetKeyVersion.incrementAndGet();
+    }
+
+    /**
+     * Changeset list that tracks modifications, including replaced elements, which {@link ArrayList} does not count,
+     * and registers its changelog with the added changesets so they can report changes of their id, author or file path.
+     */
+    private static class ChangeSetList extends ArrayList<ChangeSet> {
+        private final DatabaseChangeLog changeLog;
+        private int replacedCount;
+
+        private ChangeSetList(DatabaseChangeLog changeLog) {
+            this.changeLog = changeLog;
+        }
+
+        @Override
+        public boolean add(ChangeSet element) {
+            register(element);
+            return super.add(element);
+        }
+
+        @Override
+        public void add(int index, ChangeSet element) {
+            register(element);
+            super.add(index, element);
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends ChangeSet> elements) {
+            elements.forEach(this::register);
+            return super.addAll(elements);
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends ChangeSet> elements) {
+            elements.forEach(this::register);
+            return super.addAll(index, elements);
+        }
+
+        @Override
+        public ChangeSet set(int index, ChangeSet element) {
+            register(element);
+            replacedCount++;
+            return super.set(index, element);
+        }
+
+        @Override
+        public void replaceAll(UnaryOperator<ChangeSet> operator) {
+            replacedCount++;
+            super.replaceAll(changeSet -> {
+                ChangeSet replacement = operator.apply(changeSet);
+                register(replacement);
+                return replacement;
+            });
+        }
+
+        private void register(ChangeSet element) {
+            if (element != null) {
+                element.addContainingChangeLog(changeLog);
+            }
+        }
+
+        /**
+         * Returns a value that changes whenever the list is modified.
+         */
+        private int getVersion() {
+            return modCount + replacedCount;
+        }
+    }
+
     public void addChangeSet(ChangeSet changeSet) {
         if (changeSet.getRunOrder() == null) {
             ListIterator<ChangeSet> it = this.changeSets.listIterator(this.changeSets.size());
@@ -366,17 +476,18 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
 
         database.setObjectQuotingStrategy(objectQuotingStrategy);
 
-        ChangeLogIterator logIterator = new ChangeLogIterator(
-                this,
+        List<ChangeSetFilter> changeSetFilters = Arrays.asList(
                 new DbmsChangeSetFilter(database),
                 new ContextChangeSetFilter(contexts),
                 new LabelChangeSetFilter(labelExpression)
         );
+        ChangeLogIterator logIterator = new ChangeLogIterator(this, changeSetFilters);
 
         ValidatingVisitorGeneratorFactory validatingVisitorGeneratorFactory = Scope.getCurrentScope().getSingleton(ValidatingVisitorGeneratorFactory.class);
         ValidatingVisitorGenerator generator = validatingVisitorGeneratorFactory.getValidatingVisitorGenerator();
         ValidatingVisitor validatingVisitor = generator.generateValidatingVisitor(database.getRanChangeSetList());
         validatingVisitor.validate(database, this);
+        validatingVisitor.precomputeCheckSums(this, database, changeSetFilters);
         logIterator.run(validatingVisitor, new RuntimeEnvironment(database, contexts, labelExpression));
 
         final Logger log = Scope.getCurrentScope().getLog(getClass());
@@ -430,6 +541,20 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         if (nodeObjectQuotingStrategy != null) {
             setObjectQuotingStrategy(ObjectQuotingStrategy.valueOf(nodeObjectQuotingStrategy));
         }
+        try (PreParsedChangeLogs preParsedChangeLogs = preParse(getIncludedPaths(parsedNode, resourceAccessor), resourceAccessor)) {
+            if (preParsedChangeLogs == null) {
+                loadChildNodes(parsedNode, resourceAccessor);
+            } else {
+                Scope.child(PreParsedChangeLogs.SCOPE_KEY, preParsedChangeLogs, () -> loadChildNodes(parsedNode, resourceAccessor));
+            }
+        } catch (ParsedNodeException | SetupException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SetupException(e);
+        }
+    }
+
+    private void loadChildNodes(ParsedNode parsedNode, ResourceAccessor resourceAccessor) throws ParsedNodeException, SetupException {
         for (ParsedNode childNode : parsedNode.getChildren()) {
             if (childNode.getName().equals((new ChangeSet(null)).getSerializedObjectName())) {
                 this.currentlyLoadedChangeSetNode = childNode;
@@ -439,6 +564,33 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         this.currentlyLoadedChangeSetNode = null;
     }
 
+    /**
+     * Returns the files of the include nodes directly under the given changelog node that can be resolved before the
+     * changelog is loaded, i.e. whose path does not use changelog parameters.
+     */
+    private List<String> getIncludedPaths(ParsedNode parsedNode, ResourceAccessor resourceAccessor) throws ParsedNodeException {
+        List<String> paths = new ArrayList<>();
+        if (ChangeLogParserConfiguration.INCLUDE_PARSE_THREADS.getCurrentValue() <= 1) {
+            return paths;
+        }
+        for (ParsedNode childNode : parsedNode.getChildren(null, INCLUDE_CHANGELOG)) {
+            String path = childNode.getChildValue(null, FILE, String.class);
+            if (path == null || path.contains("${")) {
+                continue;
+            }
+            path = path.replace('\\', '/');
+            if (childNode.getChildValue(null, RELATIVE_TO_CHANGELOG_FILE, false)) {
+                try {
+                    path = normalizePath(normalizePathViaPaths(resourceAccessor.get(this.getPhysicalFilePath()).resolveSibling(path).getPath(), false));
+                } catch (IOException e) {
+                    continue;
+                }
+            }
+            paths.add(path);
+        }
+        return paths;
+    }
+
     protected void expandExpressions(ParsedNode parsedNode) throws UnknownChangeLogParameterException {
         if (changeLogParameters == null) {
             return;
@@ -875,9 +1027,18 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             throw new SetupException(
                     "Could not find directory or directory was empty for includeAll '" + pathName + "'");
         }
-        try {
+        List<String> paths = new ArrayList<>();
+        for (Resource resource : resources) {
+            paths.add(resource.getPath());
+        }
+        try (PreParsedChangeLogs preParsedChangeLogs = preParse(paths, resourceAccessor)) {
             Set<String> seenChangelogPaths = Scope.getCurrentScope().get(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, new HashSet<>());
-            Scope.child(Collections.singletonMap(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, seenChangelogPaths), () -> {
+            Map<String, Object> scopeValues = new HashMap<>();
+            scopeValues.put(SEEN_CHANGELOGS_PATHS_SCOPE_KEY, seenChangelogPaths);
+            if (preParsedChangeLogs != null) {
+                scopeValues.put(PreParsedChangeLogs.SCOPE_KEY, preParsedChangeLogs);
+            }
+            Scope.child(scopeValues, () -> {
                 for (Resource resource : resources) {
                     Scope.getCurrentScope().getLog(getClass()).info("Reading resource: " + resource);
                     include(resource.getPath(), false, errorIfMissingOrEmpty, resourceAccessor, includeContextFilter,
@@ -889,6 +1050,26 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         }
     }
 
+    /**
+     * Starts parsing the given changelog files ahead of time if {@link ChangeLogParserConfiguration#INCLUDE_PARSE_THREADS}
+     * allows it. Returns null if they are parsed when included.
+     */
+    private PreParsedChangeLogs preParse(List<String> paths, ResourceAccessor resourceAccessor) {
+        int threads = ChangeLogParserConfiguration.INCLUDE_PARSE_THREADS.getCurrentValue();
+        if (threads <= 1 || paths.size() <= 1) {
+            return null;
+        }
+        PreParsedChangeLogs preParsedChangeLogs = new PreParsedChangeLogs(Math.min(threads, paths.size()));
+        for (String path : paths) {
+            try {
+                preParsedChangeLogs.submit(path, ChangeLogParserFactory.getInstance().getParser(path, resourceAccessor), resourceAccessor);
+            } catch (LiquibaseException e) {
+                // not a changelog file, the include reports it
+            }
+        }
+        return preParsedChangeLogs;
+    }
+
     /**
      *
      * @deprecated use {@link DatabaseChangeLog#include(String, boolean, boolean, ResourceAccessor, ContextExpression, Labels, Boolean, String, OnUnknownFileFormat)}
@@ -1183,6 +1364,12 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
         }
 
         String actualLogicalFilePath = getActualLogicalFilePath(logicalFilePath, changeLog);
+        Set<List<String>> ranChangeSetKeys = new HashSet<>();
+        if (actualLogicalFilePath != null) {
+            for (RanChangeSet ranChangeSet : ranChangeSets) {
+                ranChangeSetKeys.add(Arrays.asList(ranChangeSet.getId(), ranChangeSet.getAuthor(), ranChangeSet.getStoredChangeLog()));
+            }
+        }
 
         for (ChangeSet changeSet : changeLog.getChangeSets()) {
             if (modifyChangeSets != null) {
@@ -1200,7 +1387,7 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
             // the correct file paths of changesets from included changelogs (fixes issue #7222).
             //
             if (actualLogicalFilePath != null && changeSet.getLogicalFilePath() == null &&
-                !(parser instanceof SqlChangeLogParser) && !ranChangeSetExists(changeSet, ranChangeSets) &&
+                !(parser instanceof SqlChangeLogParser) && !ranChangeSetExists(changeSet, ranChangeSetKeys) &&
                 changeSet.getChangeLog() == changeLog) {
                 changeSet.setLogicalFilePath(actualLogicalFilePath);
                 if (StringUtils.isNotEmpty(actualLogicalFilePath)) {
@@ -1268,17 +1455,12 @@ public class DatabaseChangeLog implements Comparable<DatabaseChangeLog>, Conditi
      * Return true if there is a RanChangeSet instance for the change set
      *
      * @param changeSet     The ChangeSet in question
-     * @param ranChangeSets The list of RanChangeSet to iterate
+     * @param ranChangeSetKeys The id, author and stored changelog of each RanChangeSet
      * @return boolean
      *
      */
-    private boolean ranChangeSetExists(ChangeSet changeSet, List<RanChangeSet> ranChangeSets) {
-        Optional<RanChangeSet> ranChangeSet =
-                ranChangeSets.stream().filter(rc ->
-                        rc.getId().equals(changeSet.getId()) &&
-                                rc.getAuthor().equals(changeSet.getAuthor()) &&
-                                rc.getStoredChangeLog().equals(changeSet.getFilePath())).findFirst();
-        return ranChangeSet.isPresent();
+    private boolean ranChangeSetExists(ChangeSet changeSet, Set<List<String>> ranChangeSetKeys) {
+        return ranChangeSetKeys.contains(Arrays.asList(changeSet.getId(), changeSet.getAuthor(), changeSet.getFilePath()));
     }
 
     private void modifyChangeSets(ModifyChangeSets modifyChangeSets, ChangeSet changeSet) {
@@ -12,6 +12,7 @@ import java.nio.charset.Charset;
 public class PropertyExpandingStream extends InputStream {
 
     private InputStream stream;
+    private boolean containsExpressions;
 
     /**
      * This method will read the content of the given stream and make any parameter update on the content. For example,
@@ -27,6 +28,7 @@ public class PropertyExpandingStream extends InputStream {
             else {
                 Charset encoding = GlobalConfiguration.FILE_ENCODING.getCurrentValue();
                 String streamContent = StreamUtil.readStreamAsString(stream, encoding.toString());
+                containsExpressions = streamContent.contains("${");
                 ChangeLogParameters parameters = changeSet.getChangeLogParameters();
                 if (parameters != null) {
                     streamContent = parameters.expandExpressions(streamContent, changeSet.getChangeLog());
@@ -39,6 +41,13 @@ public class PropertyExpandingStream extends InputStream {
         }
     }
 
+    /**
+     * Returns true if the content contained expressions, so the content read depends on the changelog parameters.
+     */
+    public boolean containsExpressions() {
+        return containsExpressions;
+    }
+
     @Override
     public int read() throws IOException {
         return this.stream.read();
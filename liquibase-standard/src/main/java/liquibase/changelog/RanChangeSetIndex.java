@@ -0,0 +1,77 @@
+package liquibase.changelog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash index of {@link RanChangeSet}s by normalized path, id and author, so finding the ran changeset for a
+ * {@link ChangeSet} does not require scanning the whole DATABASECHANGELOG list.
+ * <p>
+ * Lookups return the same result as scanning the indexed list in order and returning the first entry where
+ * {@link RanChangeSet#isSameAs(ChangeSet)} is true.
+ */
+public class RanChangeSetIndex {
+
+    private final Map<String, List<RanChangeSet>> index = new HashMap<>();
+
+    public RanChangeSetIndex(Collection<RanChangeSet> ranChangeSets) {
+        for (RanChangeSet ranChangeSet : ranChangeSets) {
+            add(ranChangeSet);
+        }
+    }
+
+    /**
+     * Returns the case-insensitive lookup key for the given path, id and author. The path must already be normalized
+     * with {@link DatabaseChangeLog#normalizePath(String)}. Values that are {@link String#equalsIgnoreCase(String) equal
+     * ignoring case}, the comparison changesets are matched with, always give the same key, so looking up the key and
+     * then comparing the candidates finds the same changesets as comparing every changeset.
+     */
+    public static String key(String normalizedPath, String id, String author) {
+        return toKeyPart(normalizedPath) + "::" + toKeyPart(id) + "::" + toKeyPart(author);
+    }
+
+    /**
+     * Folds each code point to the lower case of its upper case, as {@link String#equalsIgnoreCase(String)} compares
+     * them. {@link String#toLowerCase(java.util.Locale)} cannot be used, because it lowercases some characters
+     * depending on their position, such as a final sigma, or into several characters.
+     */
+    private static String toKeyPart(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder keyPart = new StringBuilder(value.length());
+        value.codePoints().forEach(codePoint -> keyPart.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return keyPart.toString();
+    }
+
+    /**
+     * Adds a ran changeset after all the already indexed ones.
+     */
+    public void add(RanChangeSet ranChangeSet) {
+        String key = key(DatabaseChangeLog.normalizePath(ranChangeSet.getChangeLog()), ranChangeSet.getId(), ranChangeSet.getAuthor());
+        index.computeIfAbsent(key, k -> new ArrayList<>(1)).add(ranChangeSet);
+    }
+
+    /**
+     * Returns the first indexed ran changeset that {@link RanChangeSet#isSameAs(ChangeSet) is the same as} the given
+     * changeset, or null if it has not been run.
+     */
+    public RanChangeSet get(ChangeSet changeSet) {
+        String normalizedPath = DatabaseChangeLog.normalizePath(changeSet.getFilePath());
+        if (normalizedPath == null) {
+            return null;
+        }
+        List<RanChangeSet> candidates = index.get(key(normalizedPath, changeSet.getId(), changeSet.getAuthor()));
+        if (candidates != null) {
+            for (RanChangeSet candidate : candidates) {
+                if (candidate.isSameAs(changeSet)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -29,6 +29,7 @@ import liquibase.structure.core.Column;
 import liquibase.structure.core.DataType;
 import liquibase.structure.core.Table;
 
+import java.math.BigDecimal;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
@@ -41,6 +42,9 @@ import static liquibase.executor.jvm.JdbcExecutor.SHOULD_UPDATE_ROWS_AFFECTED_SC
 public class StandardChangeLogHistoryService extends AbstractChangeLogHistoryService {
 
     private List<RanChangeSet> ranChangeSetList;
+    private RanChangeSetIndex ranChangeSetIndex;
+    private List<RanChangeSet> indexedRanChangeSetList;
+    private List<RanChangeSet> previousRanChangeSetList;
     private boolean serviceInitialized;
     private Boolean hasDatabaseChangeLogTable;
     private boolean databaseChecksumsCompatible = true;
@@ -77,6 +81,9 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
     @Override
     public void reset() {
+        if (this.ranChangeSetList != null && GlobalConfiguration.DATABASECHANGELOG_INCREMENTAL_READ.getCurrentValue()) {
+            this.previousRanChangeSetList = this.ranChangeSetList;
+        }
         this.ranChangeSetList = null;
         this.serviceInitialized = false;
         this.hasDatabaseChangeLogTable = null;
@@ -291,6 +298,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             //reset the cache if there was a change to the table. Especially catches things like md5 changes
             // which might have been updated but would still be wrong in the cache
             this.ranChangeSetList = null;
+            this.previousRanChangeSetList = null;
             Scope.getCurrentScope().getSingleton(FastCheckService.class).clearCache();
         }
         serviceInitialized = true;
@@ -312,53 +320,156 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             Database database = getDatabase();
             String databaseChangeLogTableName = getDatabase().escapeTableName(getLiquibaseCatalogName(),
                     getLiquibaseSchemaName(), getDatabaseChangeLogTableName());
-            List<RanChangeSet> ranChangeSets = new ArrayList<>();
+            List<RanChangeSet> ranChangeSets = null;
             if (hasDatabaseChangeLogTable()) {
-                Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
-                List<Map<String, ?>> results = queryDatabaseChangeLogTable(database);
-                for (Map rs : results) {
-                    Object storedFileNameObj = rs.get("FILENAME");
-                    String storedFileName = (storedFileNameObj == null) ? null : storedFileNameObj.toString();
-                    String fileName = DatabaseChangeLog.normalizePath(storedFileName);
-                    Object authorObj = rs.get("AUTHOR");
-                    String author = (authorObj == null) ? null : authorObj.toString();
-                    Object idObj = rs.get("ID");
-                    String id = (idObj == null) ? null : idObj.toString();
-                    String md5sum = ((rs.get("MD5SUM") == null)) ? null : rs.get("MD5SUM").toString();
-                    String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
-                    String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
-                    Object tmpDateExecuted = rs.get("DATEEXECUTED");
-                    Date dateExecuted = convertDate(tmpDateExecuted);
-                    Object tmpOrderExecutedObj = rs.get("ORDEREXECUTED");
-                    String tmpOrderExecuted = (tmpOrderExecutedObj == null) ? null : tmpOrderExecutedObj.toString();
-                    Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
-                    String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
-                    String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
-                    ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
-                    Labels labels = new Labels((String) rs.get("LABELS"));
-                    String deploymentId = (String) rs.get("DEPLOYMENT_ID");
-                    String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
-
-                    try {
-                        RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
-                            dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
-                            labels, deploymentId, storedFileName);
-                        ranChangeSet.setOrderExecuted(orderExecuted);
-                        ranChangeSet.setLiquibaseVersion(liquibaseVersion);
-                        ranChangeSets.add(ranChangeSet);
-                    } catch (IllegalArgumentException e) {
-                        Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
-                            execType);
-                        throw e;
+                List<RanChangeSet> previousRanChangeSets = this.previousRanChangeSetList;
+                if (previousRanChangeSets != null && GlobalConfiguration.DATABASECHANGELOG_INCREMENTAL_READ.getCurrentValue()) {
+                    ranChangeSets = readNewRanChangeSets(previousRanChangeSets, databaseChangeLogTableName);
+                }
+                if (ranChangeSets == null) {
+                    Scope.getCurrentScope().getLog(getClass()).info("Reading from " + databaseChangeLogTableName);
+                    ranChangeSets = new ArrayList<>();
+                    for (Map<String, ?> rs : queryDatabaseChangeLogTable(database)) {
+                        ranChangeSets.add(toRanChangeSet(rs));
                     }
                 }
+            } else {
+                ranChangeSets = new ArrayList<>();
             }
 
+            this.previousRanChangeSetList = null;
             this.ranChangeSetList = ranChangeSets;
         }
         return Collections.unmodifiableList(ranChangeSetList);
     }
 
+    /**
+     * Adds the rows with an ORDEREXECUTED higher than any of the previously read ran changesets to a copy of them.
+     * Rows that were re-run replace their previous entry.
+     * Returns null if the table must be read completely instead, because the previous rows have no ORDEREXECUTED or
+     * the count, lowest and highest ORDEREXECUTED or number of tags of the already read rows no longer match the table,
+     * such as when rows were removed or tagged.
+     */
+    private List<RanChangeSet> readNewRanChangeSets(List<RanChangeSet> previousRanChangeSets, String databaseChangeLogTableName) throws DatabaseException {
+        int highWaterMark = Integer.MIN_VALUE;
+        for (RanChangeSet ranChangeSet : previousRanChangeSets) {
+            if (ranChangeSet.getOrderExecuted() != null) {
+                highWaterMark = Math.max(highWaterMark, ranChangeSet.getOrderExecuted());
+            }
+        }
+        if (highWaterMark == Integer.MIN_VALUE) {
+            return null;
+        }
+
+        Scope.getCurrentScope().getLog(getClass()).info("Reading changesets executed after ORDEREXECUTED " + highWaterMark + " from " + databaseChangeLogTableName);
+        SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(
+                new SelectFromDatabaseChangeLogStatement.ByOrderExecutedGreaterThan(highWaterMark),
+                new ColumnConfig().setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+        List<Map<String, ?>> results = ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForList(select));
+
+        Map<String, RanChangeSet> ranChangeSetsByKey = new LinkedHashMap<>();
+        for (RanChangeSet ranChangeSet : previousRanChangeSets) {
+            ranChangeSetsByKey.put(getMergeKey(ranChangeSet), ranChangeSet);
+        }
+        for (Map<String, ?> rs : results) {
+            RanChangeSet ranChangeSet = toRanChangeSet(rs);
+            String key = getMergeKey(ranChangeSet);
+            ranChangeSetsByKey.remove(key);
+            ranChangeSetsByKey.put(key, ranChangeSet);
+        }
+        List<RanChangeSet> ranChangeSets = new ArrayList<>(ranChangeSetsByKey.values());
+
+        if (!matchesDatabaseChangeLog(ranChangeSets, highWaterMark)) {
+            Scope.getCurrentScope().getLog(getClass()).fine(databaseChangeLogTableName + " was changed since it was last read, reading all rows");
+            return null;
+        }
+        return ranChangeSets;
+    }
+
+    private static String getMergeKey(RanChangeSet ranChangeSet) {
+        return RanChangeSetIndex.key(DatabaseChangeLog.normalizePath(ranChangeSet.getChangeLog()), ranChangeSet.getId(), ranChangeSet.getAuthor());
+    }
+
+    /**
+     * Compares the count, lowest and highest ORDEREXECUTED and number of tags of the rows up to the given ORDEREXECUTED
+     * with the given ran changesets, using a single aggregate query.
+     */
+    private boolean matchesDatabaseChangeLog(List<RanChangeSet> ranChangeSets, int highWaterMark) throws DatabaseException {
+        long expectedCount = 0;
+        long expectedTags = 0;
+        Integer expectedMin = null;
+        Integer expectedMax = null;
+        for (RanChangeSet ranChangeSet : ranChangeSets) {
+            Integer orderExecuted = ranChangeSet.getOrderExecuted();
+            if (orderExecuted != null && orderExecuted <= highWaterMark) {
+                expectedCount++;
+                if (ranChangeSet.getTag() != null) {
+                    expectedTags++;
+                }
+                expectedMin = (expectedMin == null) ? orderExecuted : Math.min(expectedMin, orderExecuted);
+                expectedMax = (expectedMax == null) ? orderExecuted : Math.max(expectedMax, orderExecuted);
+            }
+        }
+
+        SelectFromDatabaseChangeLogStatement select = new SelectFromDatabaseChangeLogStatement(
+                new SelectFromDatabaseChangeLogStatement.ByOrderExecutedNotGreaterThan(highWaterMark),
+                new ColumnConfig().setName("COUNT(*)").setComputed(true),
+                new ColumnConfig().setName("MIN(ORDEREXECUTED)").setComputed(true),
+                new ColumnConfig().setName("MAX(ORDEREXECUTED)").setComputed(true),
+                new ColumnConfig().setName("COUNT(TAG)").setComputed(true));
+        List<Map<String, ?>> results = ChangelogJdbcMdcListener.query(getDatabase(), executor -> executor.queryForList(select));
+        if (results.size() != 1) {
+            return false;
+        }
+        List<?> values = new ArrayList<>(results.get(0).values());
+        return values.size() == 4
+                && expectedCount == toLong(values.get(0))
+                && Objects.equals(expectedMin == null ? null : expectedMin.longValue(), toLong(values.get(1)))
+                && Objects.equals(expectedMax == null ? null : expectedMax.longValue(), toLong(values.get(2)))
+                && expectedTags == toLong(values.get(3));
+    }
+
+    private static Long toLong(Object value) {
+        return (value == null) ? null : new BigDecimal(value.toString()).longValueExact();
+    }
+
+    private RanChangeSet toRanChangeSet(Map<String, ?> rs) {
+        Object storedFileNameObj = rs.get("FILENAME");
+        String storedFileName = (storedFileNameObj == null) ? null : storedFileNameObj.toString();
+        String fileName = DatabaseChangeLog.normalizePath(storedFileName);
+        Object authorObj = rs.get("AUTHOR");
+        String author = (authorObj == null) ? null : authorObj.toString();
+        Object idObj = rs.get("ID");
+        String id = (idObj == null) ? null : idObj.toString();
+        String md5sum = ((rs.get("MD5SUM") == null)) ? null : rs.get("MD5SUM").toString();
+        String description = (rs.get("DESCRIPTION") == null) ? null : rs.get("DESCRIPTION").toString();
+        String comments = (rs.get("COMMENTS") == null) ? null : rs.get("COMMENTS").toString();
+        Object tmpDateExecuted = rs.get("DATEEXECUTED");
+        Date dateExecuted = convertDate(tmpDateExecuted);
+        Object tmpOrderExecutedObj = rs.get("ORDEREXECUTED");
+        String tmpOrderExecuted = (tmpOrderExecutedObj == null) ? null : tmpOrderExecutedObj.toString();
+        Integer orderExecuted = ((tmpOrderExecuted == null) ? null : Integer.valueOf(tmpOrderExecuted));
+        String tag = (rs.get("TAG") == null) ? null : rs.get("TAG").toString();
+        String execType = (rs.get("EXECTYPE") == null) ? null : rs.get("EXECTYPE").toString();
+        ContextExpression contexts = new ContextExpression((String) rs.get("CONTEXTS"));
+        Labels labels = new Labels((String) rs.get("LABELS"));
+        String deploymentId = (String) rs.get("DEPLOYMENT_ID");
+        String liquibaseVersion =  (rs.get("LIQUIBASE") == null) ? null : rs.get("LIQUIBASE").toString();
+
+        try {
+            RanChangeSet ranChangeSet = new RanChangeSet(fileName, id, author, CheckSum.parse(md5sum),
+                dateExecuted, tag, ChangeSet.ExecType.valueOf(execType), description, comments, contexts,
+                labels, deploymentId, storedFileName);
+            ranChangeSet.setOrderExecuted(orderExecuted);
+            ranChangeSet.setLiquibaseVersion(liquibaseVersion);
+            return ranChangeSet;
+        } catch (IllegalArgumentException e) {
+            Scope.getCurrentScope().getLog(getClass()).severe("Unknown EXECTYPE from database: " +
+                execType);
+            throw e;
+        }
+    }
+
     public static Date convertDate(Object tmpDateExecuted) {
         Date dateExecuted = null;
         if (tmpDateExecuted instanceof Date) {
@@ -388,7 +499,15 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             return null;
         }
 
-        return super.getRanChangeSet(changeSet);
+        getRanChangeSets();
+        if (ranChangeSetList == null) {
+            return super.getRanChangeSet(changeSet);
+        }
+        if (ranChangeSetIndex == null || indexedRanChangeSetList != ranChangeSetList) {
+            ranChangeSetIndex = new RanChangeSetIndex(ranChangeSetList);
+            indexedRanChangeSetList = ranChangeSetList;
+        }
+        return ranChangeSetIndex.get(changeSet);
     }
 
     @Override
@@ -403,7 +522,11 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
             throw new DatabaseException(e);
         }
         if (this.ranChangeSetList != null) {
-            this.ranChangeSetList.add(new RanChangeSet(changeSet, execType, null, null));
+            RanChangeSet ranChangeSet = new RanChangeSet(changeSet, execType, null, null);
+            this.ranChangeSetList.add(ranChangeSet);
+            if (ranChangeSetIndex != null && indexedRanChangeSetList == ranChangeSetList) {
+                ranChangeSetIndex.add(ranChangeSet);
+            }
         }
 
     }
@@ -416,6 +539,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
         if (this.ranChangeSetList != null) {
             this.ranChangeSetList.remove(new RanChangeSet(changeSet));
+            this.ranChangeSetIndex = null;
         }
     }
 
@@ -472,9 +596,22 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
 
         // Clear the in-memory cache and FastCheck cache to ensure checksums are re-evaluated
         this.ranChangeSetList = null;
+        this.previousRanChangeSetList = null;
         Scope.getCurrentScope().getSingleton(FastCheckService.class).clearCache();
     }
 
+    @Override
+    public void replaceChecksum(ChangeSet changeSet) throws DatabaseException {
+        super.replaceChecksum(changeSet);
+        this.previousRanChangeSetList = null;
+    }
+
+    @Override
+    public void replaceFilePath(ChangeSet changeSet, String oldPath) throws DatabaseException {
+        super.replaceFilePath(changeSet, oldPath);
+        this.previousRanChangeSetList = null;
+    }
+
     @Override
     public void destroy() throws DatabaseException {
         Database database = getDatabase();
@@ -501,6 +638,7 @@ public class StandardChangeLogHistoryService extends AbstractChangeLogHistorySer
                 ChangelogJdbcMdcListener.execute(getDatabase(), executor -> executor.execute(sqlStatement[0]));
             }
             reset();
+            this.previousRanChangeSetList = null;
         } catch (InvalidExampleException e) {
             throw new UnexpectedLiquibaseException(e);
         }
@@ -2,23 +2,28 @@ package liquibase.changelog.filter;
 
 import liquibase.changelog.ChangeSet;
 import liquibase.changelog.RanChangeSet;
+import liquibase.changelog.RanChangeSetIndex;
 
 import java.util.List;
 
 public abstract class RanChangeSetFilter implements ChangeSetFilter {
     public List<RanChangeSet> ranChangeSets;
 
+    private RanChangeSetIndex index;
+    private List<RanChangeSet> indexedRanChangeSets;
+    private int indexedSize;
+
     public RanChangeSetFilter(List<RanChangeSet> ranChangeSets) {
         this.ranChangeSets = ranChangeSets;
     }
 
     public RanChangeSet getRanChangeSet(ChangeSet changeSet) {
-        for (RanChangeSet ranChangeSet : ranChangeSets) {
-            if (ranChangeSet.isSameAs(changeSet)) {
-                return ranChangeSet;
-            }
+        // ranChangeSets is public, so re-index if it was replaced or changed in size
+        if (index == null || indexedRanChangeSets != ranChangeSets || indexedSize != ranChangeSets.size()) {
+            index = new RanChangeSetIndex(ranChangeSets);
+            indexedRanChangeSets = ranChangeSets;
+            indexedSize = ranChangeSets.size();
         }
-        return null;
-
+        return index.get(changeSet);
     }
 }
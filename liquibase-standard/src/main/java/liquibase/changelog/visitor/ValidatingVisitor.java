@@ -5,6 +5,7 @@ import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.change.Change;
 import liquibase.changelog.*;
+import liquibase.changelog.filter.ChangeSetFilter;
 import liquibase.changelog.filter.ChangeSetFilterResult;
 import liquibase.database.Database;
 import liquibase.database.DatabaseList;
@@ -85,6 +86,27 @@ public class ValidatingVisitor implements ChangeSetVisitor {
         }
     }
 
+    /**
+     * Computes the checksums {@link #visit} will compare against the DATABASECHANGELOG table for all already ran
+     * changesets accepted by the filters, using {@link ChangeSetCheckSumPrecomputer}.
+     */
+    public void precomputeCheckSums(DatabaseChangeLog changeLog, Database database, List<ChangeSetFilter> changeSetFilters) {
+        if (ranIndex == null || ranIndex.isEmpty()) {
+            return;
+        }
+        Map<ChangeSet, ChecksumVersion> checkSumVersions = new LinkedHashMap<>();
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            if (changeSet.isIgnore() || !ChangeSetCheckSumPrecomputer.accepts(changeSet, changeSetFilters)) {
+                continue;
+            }
+            RanChangeSet ranChangeSet = ranIndex.get(changeSet.toNormalizedString());
+            if (ranChangeSet != null && ranChangeSet.getLastCheckSum() != null) {
+                checkSumVersions.put(changeSet, ChecksumVersion.enumFromChecksumVersion(ranChangeSet.getLastCheckSum().getVersion()));
+            }
+        }
+        ChangeSetCheckSumPrecomputer.precompute(checkSumVersions, changeLog, database);
+    }
+
     @Override
     public Direction getDirection() {
         return ChangeSetVisitor.Direction.FORWARD;
@@ -20,6 +20,8 @@ import liquibase.logging.mdc.MdcManager;
 import liquibase.logging.mdc.MdcObject;
 import liquibase.logging.mdc.MdcValue;
 import liquibase.logging.mdc.customobjects.ExceptionDetails;
+import liquibase.sql.SqlConfiguration;
+import liquibase.sqlgenerator.SqlGenerationCache;
 import liquibase.util.ExceptionUtil;
 import liquibase.util.StringUtil;
 import lombok.Getter;
@@ -254,6 +256,12 @@ public class CommandScope {
 
 
             scopeValues.put(Scope.Attr.licenseTrackList.toString(), licenseTrackList);
+            // nested commands keep using the cache of the outermost command
+            final SqlGenerationCache sqlGenerationCache = (SqlConfiguration.CACHE_GENERATED_SQL.getCurrentValue()
+                    && !Scope.getCurrentScope().has(SqlGenerationCache.SCOPE_KEY)) ? new SqlGenerationCache() : null;
+            if (sqlGenerationCache != null) {
+                scopeValues.put(SqlGenerationCache.SCOPE_KEY, sqlGenerationCache);
+            }
             return Scope.child(scopeValues, () -> {
                 CommandResultsBuilder resultsBuilder = new CommandResultsBuilder(this, outputStream);
                 final List<CommandStep> pipeline = commandDefinition.getPipeline();
@@ -328,6 +336,10 @@ public class CommandScope {
                     try (MdcObject operationStopTime = Scope.getCurrentScope().addMdcValue(MdcKey.OPERATION_STOP_TIME, Instant.ofEpochMilli(new Date().getTime()).toString())) {
                         Scope.getCurrentScope().getLog(getClass()).info("Command execution complete");
                     }
+                    if (sqlGenerationCache != null) {
+                        Scope.getCurrentScope().getLog(getClass()).fine("Generated SQL cache: " + sqlGenerationCache.getHitCount()
+                                + " hits, " + sqlGenerationCache.getMissCount() + " misses");
+                    }
                     try {
                         if (this.outputStream != null) {
                             this.outputStream.flush();
@@ -199,9 +199,14 @@ public abstract class AbstractUpdateCommandStep extends AbstractCommandStep impl
     @Override
     public void cleanUp(CommandResultsBuilder resultsBuilder) {
         isDBLocked.remove();
-        LockServiceFactory.getInstance().resetAll();
-        Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetAll();
-        Scope.getCurrentScope().getSingleton(ExecutorService.class).reset();
+        // only this database is reset, other databases may be updated by other threads at the same time
+        Database database = (Database) resultsBuilder.getCommandScope().getDependency(Database.class);
+        if (database == null) {
+            return;
+        }
+        LockServiceFactory.getInstance().resetLockService(database);
+        Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetChangeLogService(database);
+        Scope.getCurrentScope().getSingleton(ExecutorService.class).clearExecutors(database);
     }
 
     private void logDeploymentOutcomeMdc(ChangeExecListener defaultListener, boolean success, UpdateReportParameters updateReportParameters,
@@ -211,7 +211,7 @@ public class DiffCommandStep extends AbstractCommandStep {
         ObjectQuotingStrategy originalStrategy = database.getObjectQuotingStrategy();
         try {
             database.setObjectQuotingStrategy(ObjectQuotingStrategy.QUOTE_ALL_OBJECTS);
-            DatabaseSnapshot snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, snapshotControl);
+            DatabaseSnapshot snapshot = Scope.getCurrentScope().getSingleton(SnapshotCache.class).getOrCreate(schemas, database, snapshotControl);
             snapshot.setSchemaComparisons(compareControl.getSchemaComparisons());
             return snapshot;
         } finally {
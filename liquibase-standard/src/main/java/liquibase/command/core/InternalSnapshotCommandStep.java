@@ -10,8 +10,8 @@ import liquibase.exception.LiquibaseException;
 import liquibase.license.LicenseServiceUtils;
 import liquibase.serializer.SnapshotSerializerFactory;
 import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.SnapshotCache;
 import liquibase.snapshot.SnapshotControl;
-import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.snapshot.SnapshotListener;
 import liquibase.util.StringUtil;
 
@@ -99,7 +99,7 @@ public class InternalSnapshotCommandStep extends AbstractCommandStep {
         database.setObjectQuotingStrategy(ObjectQuotingStrategy.QUOTE_ALL_OBJECTS);
         DatabaseSnapshot snapshot;
         try {
-            snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, snapshotControl);
+            snapshot = Scope.getCurrentScope().getSingleton(SnapshotCache.class).getOrCreate(schemas, database, snapshotControl);
         } finally {
             database.setObjectQuotingStrategy(originalQuotingStrategy);
         }
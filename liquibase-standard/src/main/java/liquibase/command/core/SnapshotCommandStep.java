@@ -8,8 +8,8 @@ import liquibase.database.Database;
 import liquibase.database.ObjectQuotingStrategy;
 import liquibase.serializer.SnapshotSerializerFactory;
 import liquibase.snapshot.DatabaseSnapshot;
+import liquibase.snapshot.SnapshotCache;
 import liquibase.snapshot.SnapshotControl;
-import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.util.ExceptionUtil;
 import lombok.Getter;
 
@@ -76,7 +76,7 @@ public class SnapshotCommandStep extends AbstractCommandStep {
         database.setObjectQuotingStrategy(ObjectQuotingStrategy.QUOTE_ALL_OBJECTS);
 
         try {
-            DatabaseSnapshot snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, snapshotControl);
+            DatabaseSnapshot snapshot = Scope.getCurrentScope().getSingleton(SnapshotCache.class).getOrCreate(schemas, database, snapshotControl);
 
             snapshot.setMetadata(this.getSnapshotMetadata());
 
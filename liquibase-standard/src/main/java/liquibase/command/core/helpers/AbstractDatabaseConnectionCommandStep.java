@@ -14,6 +14,7 @@ import liquibase.integration.commandline.LiquibaseCommandLineConfiguration;
 import liquibase.license.LicenseTrack;
 import liquibase.license.LicenseTrackingArgs;
 import liquibase.resource.ResourceAccessor;
+import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.structure.core.Schema;
 import liquibase.util.StringUtil;
 import org.apache.commons.lang3.StringUtils;
@@ -111,6 +112,14 @@ public abstract class AbstractDatabaseConnectionCommandStep extends AbstractHelp
                 }
             }
             DatabaseUtils.initializeDatabase(defaultCatalogName, defaultSchemaName, database);
+
+            if (GlobalConfiguration.SNAPSHOT_PARALLELISM.getCurrentValue() > 1
+                    || GlobalConfiguration.DATA_EXPORT_PARALLELISM.getCurrentValue() > 1) {
+                final String finalDatabaseClassName = databaseClassName;
+                final String finalPropertyProviderClass = propertyProviderClass;
+                SnapshotGeneratorFactory.getInstance().setConnectionSupplier(database, () -> DatabaseFactory.getInstance().openConnection(
+                        url, username, password, driver, finalDatabaseClassName, driverPropertiesFile, finalPropertyProviderClass, resourceAccessor));
+            }
         } catch (Exception e) {
             throw new DatabaseException(e);
         }
@@ -172,7 +172,10 @@ public class DatabaseChangelogCommandStep extends AbstractHelperCommandStep impl
 
     @Override
     public void cleanUp(CommandResultsBuilder resultsBuilder) {
-        Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetAll();
+        Database database = (Database) resultsBuilder.getCommandScope().getDependency(Database.class);
+        if (database != null) {
+            Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetChangeLogService(database);
+        }
     }
 
     /**
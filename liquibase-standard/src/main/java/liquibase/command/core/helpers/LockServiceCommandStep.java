@@ -49,14 +49,13 @@ public class LockServiceCommandStep extends AbstractHelperCommandStep implements
     public void cleanUp(CommandResultsBuilder resultsBuilder) {
         try {
             if (isDBLocked.get()) {
+                Database database = (Database) resultsBuilder.getCommandScope().getDependency(Database.class);
                 try {
-                    LockServiceFactory.getInstance().getLockService(
-                            (Database) resultsBuilder.getCommandScope().getDependency(Database.class)
-                    ).releaseLock();
+                    LockServiceFactory.getInstance().getLockService(database).releaseLock();
                 } catch (LockException e) {
                     Scope.getCurrentScope().getLog(getClass()).severe(Liquibase.MSG_COULD_NOT_RELEASE_LOCK, e);
                 }
-                LockServiceFactory.getInstance().resetAll();
+                LockServiceFactory.getInstance().resetLockService(database);
             }
         } finally {
             isDBLocked.remove();
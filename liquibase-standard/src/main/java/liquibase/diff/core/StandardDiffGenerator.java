@@ -1,5 +1,6 @@
 package liquibase.diff.core;
 
+import liquibase.GlobalConfiguration;
 import liquibase.database.Database;
 import liquibase.diff.DiffGenerator;
 import liquibase.diff.DiffResult;
@@ -16,10 +17,22 @@ import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Schema;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 public class StandardDiffGenerator implements DiffGenerator {
 
+    private static final int PARALLEL_CHUNK_SIZE = 512;
+
     @Override
     public int getPriority() {
         return PRIORITY_DEFAULT;
@@ -48,8 +61,25 @@ public class StandardDiffGenerator implements DiffGenerator {
         typesToCompare.retainAll(referenceSnapshot.getSnapshotControl().getTypesToInclude());
         typesToCompare.retainAll(comparisonSnapshot.getSnapshotControl().getTypesToInclude());
 
-        for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
-            compareObjectType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult);
+        int parallelism = GlobalConfiguration.DIFF_PARALLELISM.getCurrentValue();
+        ExecutorService executor = null;
+        if (parallelism > 1) {
+            AtomicInteger threadCount = new AtomicInteger();
+            // threads are created by this thread, so they inherit the current scope
+            executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "liquibase-diff-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        try {
+            for (Class<? extends DatabaseObject> typeToCompare : typesToCompare) {
+                compareObjectType(typeToCompare, referenceSnapshot, comparisonSnapshot, diffResult, executor);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
         }
 
         return diffResult;
@@ -65,41 +95,65 @@ public class StandardDiffGenerator implements DiffGenerator {
     }
 
     protected <T extends DatabaseObject> void compareObjectType(Class<T> type, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, DiffResult diffResult) {
+        compareObjectType(type, referenceSnapshot, comparisonSnapshot, diffResult, null);
+    }
+
+    /**
+     * Compares the objects of the given type. Each object list is read and filtered by schema once per schema
+     * comparison, and objects are looked up and compared on the given executor, if any. Results are added to the
+     * diffResult on the calling thread in the same order as without an executor.
+     */
+    protected <T extends DatabaseObject> void compareObjectType(Class<T> type, DatabaseSnapshot referenceSnapshot, DatabaseSnapshot comparisonSnapshot, DiffResult diffResult, ExecutorService executor) {
 
         Database comparisonDatabase = comparisonSnapshot.getDatabase();
         Database referenceDatabase = referenceSnapshot.getDatabase();
+        CompareControl compareControl = diffResult.getCompareControl();
 
-        CompareControl.SchemaComparison[] schemaComparisons = diffResult.getCompareControl().getSchemaComparisons();
+        CompareControl.SchemaComparison[] schemaComparisons = compareControl.getSchemaComparisons();
         if (schemaComparisons != null) {
+            List<T> referenceObjects = new ArrayList<>(referenceSnapshot.get(type));
+            List<T> comparisonObjects = new ArrayList<>(comparisonSnapshot.get(type));
+            Map<Schema, String> referenceSchemaNames = new IdentityHashMap<>();
+            Map<Schema, String> comparisonSchemaNames = new IdentityHashMap<>();
+
             for (CompareControl.SchemaComparison schemaComparison : schemaComparisons) {
-                for (T referenceObject : referenceSnapshot.get(type)) {
+                String referenceSchemaName = StringUtils.trimToEmpty(schemaComparison.getReferenceSchema().standardize(referenceDatabase).getSchemaName());
+                List<T> referenceObjectsToCompare = new ArrayList<>();
+                for (T referenceObject : referenceObjects) {
                     Schema referenceObjectSchema = referenceObject.getSchema();
                     if ((referenceObjectSchema != null) && (referenceObjectSchema.getName() != null)) { //don't filter out null-named schemas. May actually be catalog-level objects that should be included
-                        if (!StringUtils.trimToEmpty(
-                            referenceObjectSchema.toCatalogAndSchema().standardize(referenceDatabase).getSchemaName())
-                            .equalsIgnoreCase(
-                                StringUtils.trimToEmpty(schemaComparison.getReferenceSchema()
-                                .standardize(referenceDatabase).getSchemaName()))) {
+                        String referenceObjectSchemaName = referenceSchemaNames.computeIfAbsent(referenceObjectSchema,
+                                schema -> StringUtils.trimToEmpty(schema.toCatalogAndSchema().standardize(referenceDatabase).getSchemaName()));
+                        if (!referenceObjectSchemaName.equalsIgnoreCase(referenceSchemaName)) {
                             continue;
                         }
                     }
+                    referenceObjectsToCompare.add(referenceObject);
+                }
+
+                List<ObjectDifferences> differences = map(referenceObjectsToCompare, referenceObject -> {
                     T comparisonObject = comparisonSnapshot.get(referenceObject);
                     if (comparisonObject == null) {
-                        diffResult.addMissingObject(referenceObject);
-                    } else {
-                        ObjectDifferences differences = DatabaseObjectComparatorFactory.getInstance().findDifferences(referenceObject, comparisonObject, comparisonDatabase, diffResult.getCompareControl());
-                        if (differences.hasDifferences()) {
-                            diffResult.addChangedObject(referenceObject, differences);
-                        }
+                        return null;
+                    }
+                    return DatabaseObjectComparatorFactory.getInstance().findDifferences(referenceObject, comparisonObject, comparisonDatabase, compareControl);
+                }, executor);
+                for (int i = 0; i < referenceObjectsToCompare.size(); i++) {
+                    if (differences.get(i) == null) {
+                        diffResult.addMissingObject(referenceObjectsToCompare.get(i));
+                    } else if (differences.get(i).hasDifferences()) {
+                        diffResult.addChangedObject(referenceObjectsToCompare.get(i), differences.get(i));
                     }
                 }
                 //
-                for (T comparisonObject : comparisonSnapshot.get(type)) {
+                String schemaComparisonName1 = StringUtils.trimToEmpty(schemaComparison.getComparisonSchema().standardize(comparisonDatabase).getSchemaName());
+                String schemaComparisonName2 = StringUtils.trimToEmpty(schemaComparison.getReferenceSchema().standardize(comparisonDatabase).getSchemaName());
+                List<T> comparisonObjectsToCheck = new ArrayList<>();
+                for (T comparisonObject : comparisonObjects) {
                     Schema comparisonObjectSchema = comparisonObject.getSchema();
                     if (comparisonObjectSchema != null) {
-                        String comparisonObjectSchemaName = StringUtils.trimToEmpty(comparisonObjectSchema.toCatalogAndSchema().standardize(comparisonDatabase).getSchemaName());
-                        String schemaComparisonName1 = StringUtils.trimToEmpty(schemaComparison.getComparisonSchema().standardize(comparisonDatabase).getSchemaName());
-                        String schemaComparisonName2 = StringUtils.trimToEmpty(schemaComparison.getReferenceSchema().standardize(comparisonDatabase).getSchemaName());
+                        String comparisonObjectSchemaName = comparisonSchemaNames.computeIfAbsent(comparisonObjectSchema,
+                                schema -> StringUtils.trimToEmpty(schema.toCatalogAndSchema().standardize(comparisonDatabase).getSchemaName()));
 
                         if (comparisonObjectSchemaName.isEmpty() && !schemaComparisonName1.isEmpty() && !schemaComparisonName2.isEmpty()) {
                             comparisonObjectSchemaName = StringUtils.trimToEmpty(comparisonObjectSchema.getName());
@@ -108,9 +162,14 @@ public class StandardDiffGenerator implements DiffGenerator {
                             continue;
                         }
                     }
+                    comparisonObjectsToCheck.add(comparisonObject);
+                }
 
-                    if (referenceSnapshot.get(comparisonObject) == null) {
-                        diffResult.addUnexpectedObject(comparisonObject);
+                // isSameObject depends on the database it is evaluated for, so a match found above does not prove the reverse match
+                List<Boolean> found = map(comparisonObjectsToCheck, comparisonObject -> referenceSnapshot.get(comparisonObject) != null, executor);
+                for (int i = 0; i < comparisonObjectsToCheck.size(); i++) {
+                    if (!found.get(i)) {
+                        diffResult.addUnexpectedObject(comparisonObjectsToCheck.get(i));
                     }
                 }
             }
@@ -119,4 +178,47 @@ public class StandardDiffGenerator implements DiffGenerator {
         }
 
     }
+
+    /**
+     * Applies the function to all inputs, in chunks on the executor if there is one, and returns the results in input order.
+     */
+    private <I, O> List<O> map(List<I> inputs, Function<I, O> function, ExecutorService executor) {
+        List<O> outputs = new ArrayList<>(inputs.size());
+        if ((executor == null) || (inputs.size() <= PARALLEL_CHUNK_SIZE)) {
+            for (I input : inputs) {
+                outputs.add(function.apply(input));
+            }
+            return outputs;
+        }
+
+        List<Future<List<O>>> chunks = new ArrayList<>();
+        for (int start = 0; start < inputs.size(); start += PARALLEL_CHUNK_SIZE) {
+            List<I> chunk = inputs.subList(start, Math.min(inputs.size(), start + PARALLEL_CHUNK_SIZE));
+            chunks.add(executor.submit(() -> {
+                List<O> chunkOutputs = new ArrayList<>(chunk.size());
+                for (I input : chunk) {
+                    chunkOutputs.add(function.apply(input));
+                }
+                return chunkOutputs;
+            }));
+        }
+        try {
+            for (Future<List<O>> chunk : chunks) {
+                outputs.addAll(chunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UnexpectedLiquibaseException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new UnexpectedLiquibaseException(e.getCause());
+        } finally {
+            for (Future<List<O>> chunk : chunks) {
+                chunk.cancel(true);
+            }
+        }
+        return outputs;
+    }
 }
@@ -0,0 +1,58 @@
+package liquibase.diff.output.changelog;
+
+import liquibase.Scope;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Resources that change generators keep while {@link DiffToChangeLog} generates change sets, such as threads and
+ * connections started for all objects of a type at once. DiffToChangeLog puts one in the scope under
+ * {@link #SCOPE_KEY} for each generation and closes it when the generation ends, so generators do not need to be told
+ * when the generation is over.
+ */
+public class ChangeGeneratorResources implements AutoCloseable {
+
+    public static final String SCOPE_KEY = "changeGeneratorResources";
+
+    private final Map<Object, AutoCloseable> resources = new LinkedHashMap<>();
+    private boolean closed;
+
+    /**
+     * Returns the resources of the current change set generation, or null if no change sets are being generated.
+     */
+    public static ChangeGeneratorResources getCurrent() {
+        return Scope.getCurrentScope().get(SCOPE_KEY, ChangeGeneratorResources.class);
+    }
+
+    /**
+     * Returns the resource stored under the given key, creating it with the supplier the first time.
+     * The resource is closed together with this object.
+     */
+    public synchronized <T extends AutoCloseable> T get(Object key, Supplier<T> supplier) {
+        if (closed) {
+            throw new IllegalStateException("The change set generation has ended");
+        }
+        return (T) resources.computeIfAbsent(key, k -> supplier.get());
+    }
+
+    /**
+     * Closes all resources, the most recently created first. Failures are logged and do not stop the others from being closed.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        List<AutoCloseable> toClose = new ArrayList<>(resources.values());
+        resources.clear();
+        for (int i = toClose.size() - 1; i >= 0; i--) {
+            try {
+                toClose.get(i).close();
+            } catch (Exception e) {
+                Scope.getCurrentScope().getLog(getClass()).warning("Failed to close " + toClose.get(i), e);
+            }
+        }
+    }
+}
@@ -28,6 +28,7 @@ import liquibase.resource.PathHandlerFactory;
 import liquibase.resource.Resource;
 import liquibase.serializer.ChangeLogSerializer;
 import liquibase.serializer.ChangeLogSerializerFactory;
+import liquibase.serializer.ChangeLogWriter;
 import liquibase.serializer.core.formattedsql.FormattedSqlChangeLogSerializer;
 import liquibase.snapshot.DatabaseSnapshot;
 import liquibase.snapshot.EmptyDatabaseSnapshot;
@@ -44,8 +45,10 @@ import org.apache.commons.lang3.SystemProperties;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -240,6 +243,21 @@ public class DiffToChangeLog {
      *
      */
     public void print(final PrintStream out, final ChangeLogSerializer changeLogSerializer) throws ParserConfigurationException, IOException, DatabaseException {
+        if (GlobalConfiguration.DIFF_CHANGELOG_STREAMING.getCurrentValue()) {
+            try (ChangeLogWriter writer = changeLogSerializer.openWriter(out)) {
+                generateChangeSets(changeSet -> {
+                    try {
+                        writer.write(changeSet);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return;
+        }
+
         List<ChangeSet> changeSets = generateChangeSets();
 
         changeLogSerializer.write(changeSets, out);
@@ -255,17 +273,66 @@ public class DiffToChangeLog {
      *
      */
     public List<ChangeSet> generateChangeSets() {
-        final ChangeGeneratorFactory changeGeneratorFactory = ChangeGeneratorFactory.getInstance();
-        DatabaseObjectCollectionComparator comparator = new DatabaseObjectCollectionComparator();
+        String created = getCreatedValue();
+        List<ChangeSet> updateChangeSets = new ArrayList<>();
+        List<ChangeSet> createChangeSets = new ArrayList<>();
+        List<ChangeSet> deleteChangeSets = new ArrayList<>();
 
-        String created = null;
-        if (GlobalConfiguration.GENERATE_CHANGESET_CREATED_VALUES.getCurrentValue()) {
-            created = new SimpleDateFormat("yyyy-MM-dd HH:mmZ").format(new Date());
-        }
+        runWithDiffResult(() -> {
+            addChangedObjectChangeSets(updateChangeSets, created);
+            addMissingObjectChangeSets(createChangeSets::add, created);
+            addUnexpectedObjectChangeSets(deleteChangeSets, created);
+        });
 
-        List<Class<? extends DatabaseObject>> types = getOrderedOutputTypes(ChangedObjectChangeGenerator.class);
+        List<ChangeSet> changeSets = new ArrayList<>();
+        changeSets.addAll(createChangeSets);
+        changeSets.addAll(deleteChangeSets);
+        changeSets.addAll(updateChangeSets);
+        changeSets = bringDropFKToTop(changeSets);
+        return changeSets;
+    }
+
+    /**
+     *
+     * Use the DiffResult to generate change sets and pass each one to the consumer as soon as it can be written,
+     * in the same order as {@link #generateChangeSets()} returns them. The change sets for changed and unexpected objects
+     * are generated first, so that foreign key drops among them can be passed on first. The change sets for missing
+     * objects, usually the bulk of a generated changelog, are then generated and passed on one object at a time
+     * instead of being collected. Because of the different generation order, change set ids are numbered differently.
+     *
+     */
+    public void generateChangeSets(Consumer<ChangeSet> consumer) {
+        String created = getCreatedValue();
         List<ChangeSet> updateChangeSets = new ArrayList<>();
+        List<ChangeSet> deleteChangeSets = new ArrayList<>();
 
+        runWithDiffResult(() -> {
+            addChangedObjectChangeSets(updateChangeSets, created);
+            addUnexpectedObjectChangeSets(deleteChangeSets, created);
+
+            List<ChangeSet> otherChangeSets = new ArrayList<>();
+            for (ChangeSet changeSet : concat(deleteChangeSets, updateChangeSets)) {
+                if (hasDropForeignKeyChange(changeSet)) {
+                    consumer.accept(changeSet);
+                } else {
+                    otherChangeSets.add(changeSet);
+                }
+            }
+
+            addMissingObjectChangeSets(consumer, created);
+
+            otherChangeSets.forEach(consumer);
+        });
+    }
+
+    private String getCreatedValue() {
+        if (GlobalConfiguration.GENERATE_CHANGESET_CREATED_VALUES.getCurrentValue()) {
+            return new SimpleDateFormat("yyyy-MM-dd HH:mmZ").format(new Date());
+        }
+        return null;
+    }
+
+    private void runWithDiffResult(Runnable runnable) {
         // Keep a reference to DiffResult in the comparision database so that it can be retrieved later
         // This is to avoid changing the MissingObjectChangeGenerator API and still be able to pass the
         // initial DiffResult Object which can be used to check for the objects available in the database
@@ -274,7 +341,26 @@ public class DiffToChangeLog {
         if (comparisonDatabase instanceof AbstractJdbcDatabase) {
             ((AbstractJdbcDatabase) comparisonDatabase).set("diffResult", diffResult);
         }
+        // resources kept by the generators, such as parallel data exports, are released when the generation ends
+        try (ChangeGeneratorResources resources = new ChangeGeneratorResources()) {
+            Scope.child(ChangeGeneratorResources.SCOPE_KEY, resources, runnable::run);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UnexpectedLiquibaseException(e);
+        } finally {
+            // remove the diffResult from the database object
+            if (comparisonDatabase instanceof AbstractJdbcDatabase) {
+                ((AbstractJdbcDatabase) comparisonDatabase).set("diffResult", null);
+            }
+        }
+    }
+
+    private void addChangedObjectChangeSets(List<ChangeSet> updateChangeSets, String created) {
+        final ChangeGeneratorFactory changeGeneratorFactory = ChangeGeneratorFactory.getInstance();
+        DatabaseObjectCollectionComparator comparator = new DatabaseObjectCollectionComparator();
 
+        List<Class<? extends DatabaseObject>> types = getOrderedOutputTypes(ChangedObjectChangeGenerator.class);
         for (Class<? extends DatabaseObject> type : types) {
             ObjectQuotingStrategy quotingStrategy = diffOutputControl.getObjectQuotingStrategy();
             for (Map.Entry<? extends DatabaseObject, ObjectDifferences> entry : diffResult.getChangedObjects(type, comparator).entrySet()) {
@@ -285,8 +371,12 @@ public class DiffToChangeLog {
                 }
             }
         }
+    }
+
+    private void addMissingObjectChangeSets(Consumer<ChangeSet> createChangeSets, String created) {
+        final ChangeGeneratorFactory changeGeneratorFactory = ChangeGeneratorFactory.getInstance();
 
-        types = getOrderedOutputTypes(MissingObjectChangeGenerator.class);
+        List<Class<? extends DatabaseObject>> types = getOrderedOutputTypes(MissingObjectChangeGenerator.class);
         List<DatabaseObject> missingObjects = new ArrayList<>();
         for (Class<? extends DatabaseObject> type : types) {
             for (DatabaseObject object : diffResult.getMissingObjects(type, getDatabaseObjectCollectionComparator())) {
@@ -299,19 +389,23 @@ public class DiffToChangeLog {
             }
         }
 
-        List<ChangeSet> createChangeSets = new ArrayList<>();
-
+        List<ChangeSet> objectChangeSets = new ArrayList<>();
         for (DatabaseObject object : sortMissingObjects(missingObjects, diffResult.getReferenceSnapshot().getDatabase())) {
             ObjectQuotingStrategy quotingStrategy = diffOutputControl.getObjectQuotingStrategy();
 
             Change[] changes = changeGeneratorFactory.fixMissing(object, diffOutputControl, diffResult.getReferenceSnapshot().getDatabase(), diffResult.getComparisonSnapshot().getDatabase());
             setReplaceIfExistsTrueIfApplicable(changes);
-            addToChangeSets(changes, createChangeSets, quotingStrategy, created);
+            addToChangeSets(changes, objectChangeSets, quotingStrategy, created);
+            objectChangeSets.forEach(createChangeSets);
+            objectChangeSets.clear();
         }
+    }
 
-        List<ChangeSet> deleteChangeSets = new ArrayList<>();
+    private void addUnexpectedObjectChangeSets(List<ChangeSet> deleteChangeSets, String created) {
+        final ChangeGeneratorFactory changeGeneratorFactory = ChangeGeneratorFactory.getInstance();
+        DatabaseObjectCollectionComparator comparator = new DatabaseObjectCollectionComparator();
 
-        types = getOrderedOutputTypes(UnexpectedObjectChangeGenerator.class);
+        List<Class<? extends DatabaseObject>> types = getOrderedOutputTypes(UnexpectedObjectChangeGenerator.class);
         for (Class<? extends DatabaseObject> type : types) {
             ObjectQuotingStrategy quotingStrategy = diffOutputControl.getObjectQuotingStrategy();
             for (DatabaseObject object : sortUnexpectedObjects(diffResult.getUnexpectedObjects(type, comparator), diffResult.getReferenceSnapshot().getDatabase())) {
@@ -322,20 +416,19 @@ public class DiffToChangeLog {
                 }
             }
         }
-        // remove the diffResult from the database object
-        if (comparisonDatabase instanceof AbstractJdbcDatabase) {
-            ((AbstractJdbcDatabase) comparisonDatabase).set("diffResult", null);
-        }
-
+    }
 
-        List<ChangeSet> changeSets = new ArrayList<>();
-        changeSets.addAll(createChangeSets);
-        changeSets.addAll(deleteChangeSets);
-        changeSets.addAll(updateChangeSets);
-        changeSets = bringDropFKToTop(changeSets);
+    private static List<ChangeSet> concat(List<ChangeSet> first, List<ChangeSet> second) {
+        List<ChangeSet> changeSets = new ArrayList<>(first.size() + second.size());
+        changeSets.addAll(first);
+        changeSets.addAll(second);
         return changeSets;
     }
 
+    private static boolean hasDropForeignKeyChange(ChangeSet changeSet) {
+        return changeSet.getChanges().stream().anyMatch(DropForeignKeyConstraintChange.class::isInstance);
+    }
+
     private void setReplaceIfExistsTrueIfApplicable(Change[] changes) {
         if (changes !=null && diffOutputControl.isReplaceIfExistsSet()) {
             for (Change change : changes) {
@@ -352,9 +445,7 @@ public class DiffToChangeLog {
     // drop FK goes first
     //
     private List<ChangeSet> bringDropFKToTop(List<ChangeSet> changeSets) {
-        List<ChangeSet> dropFk = changeSets.stream().filter(cs ->
-            cs.getChanges().stream().anyMatch(DropForeignKeyConstraintChange.class::isInstance)
-        ).collect(Collectors.toList());
+        List<ChangeSet> dropFk = changeSets.stream().filter(DiffToChangeLog::hasDropForeignKeyChange).collect(Collectors.toList());
         if (dropFk.isEmpty()) {
             return changeSets;
         }
@@ -5,16 +5,21 @@ import liquibase.change.Change;
 import liquibase.change.core.LoadDataChange;
 import liquibase.change.core.LoadDataColumnConfig;
 import liquibase.GlobalConfiguration;
+import liquibase.database.AbstractJdbcDatabase;
 import liquibase.database.Database;
 import liquibase.database.core.DB2Database;
 import liquibase.database.jvm.JdbcConnection;
+import liquibase.diff.DiffResult;
 import liquibase.diff.output.DiffOutputControl;
 import liquibase.diff.output.changelog.ChangeGeneratorChain;
+import liquibase.diff.output.changelog.ChangeGeneratorResources;
+import liquibase.exception.DatabaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.resource.OpenOptions;
 import liquibase.resource.PathHandlerFactory;
 import liquibase.resource.Resource;
 import liquibase.servicelocator.LiquibaseService;
+import liquibase.snapshot.SnapshotGeneratorFactory;
 import liquibase.structure.DatabaseObject;
 import liquibase.structure.core.Data;
 import liquibase.structure.core.Table;
@@ -26,14 +31,21 @@ import java.io.*;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
-import java.util.Base64;
-import java.util.Date;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 @LiquibaseService(skip = true)
 public class MissingDataExternalFileChangeGenerator extends MissingDataChangeGenerator {
 
+    private static final int WRITE_BUFFER_SIZE = 65536;
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
     private final String dataDir;
 
     public MissingDataExternalFileChangeGenerator(String dataDir) {
@@ -71,47 +83,259 @@ public class MissingDataExternalFileChangeGenerator extends MissingDataChangeGen
         return tableName.replaceAll("[^a-zA-Z0-9_\\-]", "_").toLowerCase();
     }
 
+    /**
+     * Returns the name of the file that the data of the given table is exported to.
+     */
+    static String getFileName(String tableName, boolean compress) {
+        return sanitizeTableName(tableName) + (compress ? ".csv.gz" : ".csv");
+    }
+
     @Override
     public Change[] fixMissing(DatabaseObject missingObject, DiffOutputControl outputControl, Database referenceDatabase, Database comparisionDatabase, ChangeGeneratorChain chain) {
+        Data data = (Data) missingObject;
+
+        Table table = data.getTable();
+        if (referenceDatabase.isLiquibaseObject(table)) {
+            return null;
+        }
+
+        ExportedData exported;
+        ParallelExport parallelExport = getParallelExport();
+        try {
+            Future<ExportedData> export = (parallelExport == null) ? null
+                    : parallelExport.take(data, outputControl, referenceDatabase, comparisionDatabase);
+            if (export == null) {
+                exported = exportData(table, referenceDatabase);
+            } else {
+                try {
+                    exported = export.get();
+                } catch (ExecutionException e) {
+                    throw (e.getCause() instanceof Exception) ? (Exception) e.getCause() : e;
+                } finally {
+                    parallelExport.closeIfDone();
+                }
+            }
+        } catch (Exception e) {
+            if (parallelExport != null) {
+                parallelExport.close();
+            }
+            throw new UnexpectedLiquibaseException(e);
+        }
+        if (exported == null) {
+            return Change.EMPTY_CHANGE;
+        }
+
+        LoadDataChange change = new LoadDataChange();
+        change.setFile(exported.resource.getPath());
+        change.setEncoding(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+        if (outputControl.getIncludeCatalog()) {
+            change.setCatalogName(table.getSchema().getCatalogName());
+        }
+        if (outputControl.getIncludeSchema()) {
+            change.setSchemaName(table.getSchema().getName());
+        }
+        change.setTableName(table.getName());
+
+        for (int i = 0; i < exported.columnNames.size(); i++) {
+            String colName = exported.columnNames.get(i);
+            LoadDataColumnConfig columnConfig = new LoadDataColumnConfig();
+            columnConfig.setHeader(colName);
+            columnConfig.setName(colName);
+            columnConfig.setType(exported.dataTypes[i] != null ? exported.dataTypes[i] : "skip");
+
+            change.addColumn(columnConfig);
+        }
+        return new Change[]{
+                change
+        };
+    } // method fixMissing
+
+    /**
+     * Returns the parallel export of the current changelog generation, or null if no changelog is being generated.
+     * It is closed by {@link liquibase.diff.output.changelog.DiffToChangeLog} when the generation ends, so exports that
+     * were never asked for do not keep their threads and connections.
+     */
+    private ParallelExport getParallelExport() {
+        ChangeGeneratorResources resources = ChangeGeneratorResources.getCurrent();
+        if (resources == null) {
+            return null;
+        }
+        return resources.get(this, ParallelExport::new);
+    }
+
+    /**
+     * Returns true if the changelog generation will ask this generator for the given data, using the same checks as
+     * {@link liquibase.diff.output.changelog.DiffToChangeLog} and {@link liquibase.diff.output.changelog.ChangeGeneratorChain}.
+     */
+    private static boolean isExported(Data data, DiffOutputControl outputControl, Database referenceDatabase, Database comparisonDatabase) {
+        return !referenceDatabase.isLiquibaseObject(data)
+                && !referenceDatabase.isSystemObject(data)
+                && !referenceDatabase.isLiquibaseObject(data.getTable())
+                && outputControl.shouldOutput(data, comparisonDatabase)
+                && (outputControl.getObjectChangeFilter() == null
+                        || outputControl.getObjectChangeFilter().includeMissing(data, referenceDatabase, comparisonDatabase))
+                && !outputControl.alreadyHandledMissing(data, comparisonDatabase);
+    }
+
+    /**
+     * Exports the missing data of one changelog generation on additional connections to the reference database.
+     */
+    private class ParallelExport implements AutoCloseable {
+
+        private final Map<Data, Future<ExportedData>> exports = new IdentityHashMap<>();
+        private final List<Database> databases = Collections.synchronizedList(new ArrayList<>());
+        private final Queue<Database> idleDatabases = new ConcurrentLinkedQueue<>();
+        private ExecutorService executor;
+        private boolean started;
+
+        /**
+         * Returns the parallel export of the given data, starting the export of all missing data on the first call,
+         * or null if the data has to be exported on the calling thread.
+         */
+        private synchronized Future<ExportedData> take(Data data, DiffOutputControl outputControl, Database referenceDatabase, Database comparisonDatabase) throws DatabaseException {
+            if (!started) {
+                started = true;
+                start(outputControl, referenceDatabase, comparisonDatabase);
+            }
+            return exports.remove(data);
+        }
+
+        /**
+         * Tables are only exported in parallel when {@link GlobalConfiguration#DATA_EXPORT_PARALLELISM} is above 1 and
+         * more connections to the reference database can be opened. Tables whose data would be written to the same
+         * file, e.g. tables of the same name in different schemas, are left to the calling thread, which exports
+         * them one after the other.
+         */
+        private void start(DiffOutputControl outputControl, Database referenceDatabase, Database comparisonDatabase) throws DatabaseException {
+            int parallelism = GlobalConfiguration.DATA_EXPORT_PARALLELISM.getCurrentValue();
+            if (parallelism <= 1 || !(comparisonDatabase instanceof AbstractJdbcDatabase)) {
+                return;
+            }
+            // set by DiffToChangeLog#generateChangeSets() for the duration of the changelog generation
+            DiffResult diffResult = (DiffResult) ((AbstractJdbcDatabase) comparisonDatabase).get("diffResult");
+            if (diffResult == null) {
+                return;
+            }
+            boolean compress = GlobalConfiguration.DATA_EXPORT_COMPRESS.getCurrentValue();
+            Map<String, List<Data>> tablesByFileName = new HashMap<>();
+            for (Data data : diffResult.getMissingObjects(Data.class)) {
+                if (isExported(data, outputControl, referenceDatabase, comparisonDatabase)) {
+                    tablesByFileName.computeIfAbsent(getFileName(data.getTable().getName(), compress), key -> new ArrayList<>()).add(data);
+                }
+            }
+            List<Data> tablesToExport = new ArrayList<>();
+            for (List<Data> tables : tablesByFileName.values()) {
+                if (tables.size() == 1) {
+                    tablesToExport.add(tables.get(0));
+                }
+            }
+            if (tablesToExport.size() <= 1) {
+                return;
+            }
+            Database firstDatabase = SnapshotGeneratorFactory.getInstance().openAdditionalDatabase(referenceDatabase);
+            if (firstDatabase == null) {
+                return;
+            }
+            databases.add(firstDatabase);
+            idleDatabases.add(firstDatabase);
+
+            // threads are created by this thread, so they inherit the current scope
+            executor = Executors.newFixedThreadPool(Math.min(parallelism, tablesToExport.size()), runnable -> {
+                Thread thread = new Thread(runnable, "liquibase-data-export-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (Data data : tablesToExport) {
+                exports.put(data, executor.submit(() -> {
+                    Database exportDatabase = idleDatabases.poll();
+                    if (exportDatabase == null) {
+                        exportDatabase = SnapshotGeneratorFactory.getInstance().openAdditionalDatabase(referenceDatabase);
+                        databases.add(exportDatabase);
+                    }
+                    try {
+                        return exportData(data.getTable(), exportDatabase);
+                    } finally {
+                        idleDatabases.add(exportDatabase);
+                    }
+                }));
+            }
+        }
+
+        /**
+         * Releases the threads and connections once all parallel exports were taken. The remaining missing data is
+         * exported on the calling thread.
+         */
+        private synchronized void closeIfDone() {
+            if (exports.isEmpty()) {
+                close();
+            }
+        }
 
+        /**
+         * Stops the exports and closes their connections. Data asked for afterwards is exported on the calling thread.
+         */
+        @Override
+        public synchronized void close() {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            exports.clear();
+            synchronized (databases) {
+                for (Database database : databases) {
+                    try {
+                        database.close();
+                    } catch (DatabaseException e) {
+                        Scope.getCurrentScope().getLog(getClass()).warning("Failed to close data export connection", e);
+                    }
+                }
+                databases.clear();
+            }
+            idleDatabases.clear();
+        }
+    }
+
+    /**
+     * Writes the rows of the given table to its CSV file.
+     *
+     * @return the exported file and columns, or null if the table has no rows
+     */
+    private ExportedData exportData(Table table, Database database) throws Exception {
         ResultSet rs = null;
         try (
-            Statement stmt = createStatement(referenceDatabase);
+            Statement stmt = createStatement(database);
         )
         {
-            Data data = (Data) missingObject;
+            String sql = "SELECT * FROM " + database.escapeTableName(table.getSchema().getCatalogName(), table.getSchema().getName(), table.getName());
 
-            Table table = data.getTable();
-            if (referenceDatabase.isLiquibaseObject(table)) {
-                return null;
+            stmt.setFetchSize(GlobalConfiguration.DATA_EXPORT_FETCH_SIZE.getCurrentValue());
+            Integer maxRows = GlobalConfiguration.DATA_EXPORT_MAX_ROWS.getCurrentValue();
+            if (maxRows != null && maxRows > 0) {
+                stmt.setMaxRows(maxRows);
             }
-
-            String sql = "SELECT * FROM " + referenceDatabase.escapeTableName(table.getSchema().getCatalogName(), table.getSchema().getName(), table.getName());
-
-            
-            stmt.setFetchSize(100);
             rs = stmt.executeQuery(sql);
 
-            if (referenceDatabase instanceof DB2Database || rs.isBeforeFirst()) {
+            if (database instanceof DB2Database || rs.isBeforeFirst()) {
                 List<String> columnNames = new ArrayList<>();
                 for (int i = 0; i < rs.getMetaData().getColumnCount(); i++) {
                     columnNames.add(rs.getMetaData().getColumnName(i + 1));
                 }
 
+                boolean compress = GlobalConfiguration.DATA_EXPORT_COMPRESS.getCurrentValue();
                 final PathHandlerFactory pathHandlerFactory = Scope.getCurrentScope().getSingleton(PathHandlerFactory.class);
-                String fileName = sanitizeTableName(table.getName()) + ".csv";
+                String fileName = getFileName(table.getName(), compress);
                 Resource externalFileResource = pathHandlerFactory.getResource(fileName);
                 if (dataDir != null) {
                     Resource dataDirResource = pathHandlerFactory.getResource(dataDir);
                     externalFileResource = dataDirResource.resolve(fileName);
                 }
 
-                String[] dataTypes = new String[0];
+                String[] dataTypes;
                 try (
-                        OutputStream fileOutputStream = externalFileResource.openOutputStream(new OpenOptions());
+                        OutputStream fileOutputStream = openOutputStream(externalFileResource, compress);
                         OutputStreamWriter outputStreamWriter = new OutputStreamWriter(
                                 fileOutputStream, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                        CSVWriter outputFile = new CSVWriter(new BufferedWriter(outputStreamWriter))
+                        CSVWriter outputFile = new CSVWriter(new BufferedWriter(outputStreamWriter, WRITE_BUFFER_SIZE))
                 ) {
 
                     dataTypes = new String[columnNames.size()];
@@ -121,79 +345,50 @@ public class MissingDataExternalFileChangeGenerator extends MissingDataChangeGen
                     }
                     outputFile.writeNext(line);
 
+                    ISODateFormat dateFormat = new ISODateFormat();
                     int rowNum = 0;
-                    if (rs.next()) {
-                        do {
-                            line = new String[columnNames.size()];
-
-                            for (int i = 0; i < columnNames.size(); i++) {
-                                Object value = JdbcUtil.getResultSetValue(rs, i + 1);
-                                if ((dataTypes[i] == null) && (value != null)) {
-                                    if (value instanceof Number) {
-                                        dataTypes[i] = "NUMERIC";
-                                    } else if (value instanceof Boolean) {
-                                        dataTypes[i] = "BOOLEAN";
-                                    } else if (value instanceof Date) {
-                                        dataTypes[i] = "DATE";
-                                    } else if (value instanceof byte[]) {
-                                        dataTypes[i] = "BLOB";
-                                    } else {
-                                        dataTypes[i] = "STRING";
-                                    }
-                                }
-                                if (value == null) {
-                                    line[i] = "NULL";
+                    while ((maxRows == null || maxRows <= 0 || rowNum < maxRows) && rs.next()) {
+                        line = new String[columnNames.size()];
+
+                        for (int i = 0; i < columnNames.size(); i++) {
+                            Object value = JdbcUtil.getResultSetValue(rs, i + 1);
+                            if ((dataTypes[i] == null) && (value != null)) {
+                                if (value instanceof Number) {
+                                    dataTypes[i] = "NUMERIC";
+                                } else if (value instanceof Boolean) {
+                                    dataTypes[i] = "BOOLEAN";
+                                } else if (value instanceof Date) {
+                                    dataTypes[i] = "DATE";
+                                } else if (value instanceof byte[]) {
+                                    dataTypes[i] = "BLOB";
                                 } else {
-                                    if (value instanceof Date) {
-                                        line[i] = new ISODateFormat().format(((Date) value));
-                                    } else if (value instanceof byte[]) {
-                                        // extract the value as a Base64 string, to safely store the
-                                        // binary data
-                                        line[i] = Base64.getEncoder().encodeToString((byte[]) value);
-                                    } else {
-                                        line[i] = value.toString();
-                                    }
+                                    dataTypes[i] = "STRING";
                                 }
                             }
-                            outputFile.writeNext(line);
-                            rowNum++;
-                            if ((rowNum % 5000) == 0) {
-                                outputFile.flush();
+                            if (value == null) {
+                                line[i] = "NULL";
+                            } else {
+                                if (value instanceof Date) {
+                                    line[i] = dateFormat.format(((Date) value));
+                                } else if (value instanceof byte[]) {
+                                    // extract the value as a Base64 string, to safely store the
+                                    // binary data
+                                    line[i] = Base64.getEncoder().encodeToString((byte[]) value);
+                                } else {
+                                    line[i] = value.toString();
+                                }
                             }
-                        } while (rs.next());
+                        }
+                        outputFile.writeNext(line);
+                        rowNum++;
                     }
                     if (rowNum == 0) {
-                        return Change.EMPTY_CHANGE;
+                        return null;
                     }
                 }
-
-                LoadDataChange change = new LoadDataChange();
-                change.setFile(externalFileResource.getPath());
-                change.setEncoding(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
-                if (outputControl.getIncludeCatalog()) {
-                    change.setCatalogName(table.getSchema().getCatalogName());
-                }
-                if (outputControl.getIncludeSchema()) {
-                    change.setSchemaName(table.getSchema().getName());
-                }
-                change.setTableName(table.getName());
-
-                for (int i = 0; i < columnNames.size(); i++) {
-                    String colName = columnNames.get(i);
-                    LoadDataColumnConfig columnConfig = new LoadDataColumnConfig();
-                    columnConfig.setHeader(colName);
-                    columnConfig.setName(colName);
-                    columnConfig.setType(dataTypes[i] != null ? dataTypes[i] : "skip");
-
-                    change.addColumn(columnConfig);
-                }
-                return new Change[]{
-                        change
-                };
+                return new ExportedData(externalFileResource, columnNames, dataTypes);
             }
-            return Change.EMPTY_CHANGE;
-        } catch (Exception e) {
-            throw new UnexpectedLiquibaseException(e);
+            return null;
         } finally {
             if (rs != null) {
                 try {
@@ -203,5 +398,30 @@ public class MissingDataExternalFileChangeGenerator extends MissingDataChangeGen
                 } // try...
             } // rs == null?
         } // try... finally
-    } // method fixMissing
+    }
+
+    private static OutputStream openOutputStream(Resource resource, boolean compress) throws IOException {
+        OutputStream stream = resource.openOutputStream(new OpenOptions());
+        if (!compress) {
+            return stream;
+        }
+        try {
+            return new GZIPOutputStream(stream, WRITE_BUFFER_SIZE);
+        } catch (IOException e) {
+            stream.close();
+            throw e;
+        }
+    }
+
+    private static class ExportedData {
+        private final Resource resource;
+        private final List<String> columnNames;
+        private final String[] dataTypes;
+
+        private ExportedData(Resource resource, List<String> columnNames, String[] dataTypes) {
+            this.resource = resource;
+            this.columnNames = columnNames;
+            this.dataTypes = dataTypes;
+        }
+    }
 } // class MissingDataExternalFileChangeGenerator
@@ -9,6 +9,7 @@ import liquibase.exception.DatabaseException;
 import liquibase.resource.OpenOptions;
 import liquibase.resource.Resource;
 import liquibase.serializer.ChangeLogSerializer;
+import liquibase.serializer.ChangeLogWriter;
 import liquibase.util.StreamUtil;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -16,6 +17,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -54,12 +56,57 @@ public class StandardChangelogPrintService implements ChangelogPrintService {
      */
     @Override
     public void printNew(ChangeLogSerializer changeLogSerializer, Resource file) throws ParserConfigurationException, IOException, DatabaseException {
+        if (GlobalConfiguration.DIFF_CHANGELOG_STREAMING.getCurrentValue()) {
+            printNewStreaming(changeLogSerializer, file);
+            return;
+        }
         List<ChangeSet> changeSets = diffToChangeLog.generateChangeSets();
         List<ChangeLogChild> changeLogChildren = new ArrayList<>(changeSets);
 
         printChangeSets(changeLogSerializer, file, changeLogChildren, new OpenOptions());
     }
 
+    /**
+     *
+     * Write the change sets to a new changelog file as they are generated. The file is only created once the first
+     * change set is available.
+     *
+     */
+    private void printNewStreaming(ChangeLogSerializer changeLogSerializer, Resource file) throws IOException {
+        int[] count = {0};
+        OutputStream[] stream = {null};
+        ChangeLogWriter[] writer = {null};
+        try {
+            diffToChangeLog.generateChangeSets(changeSet -> {
+                try {
+                    if (writer[0] == null) {
+                        Scope.getCurrentScope().getLog(getClass()).info(file + " does not exist, creating and adding changesets.");
+                        stream[0] = new PrintStream(file.openOutputStream(new OpenOptions()), true, GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue());
+                        writer[0] = changeLogSerializer.openWriter(stream[0]);
+                    }
+                    writer[0].write(changeSet);
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (writer[0] != null) {
+                writer[0].close();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (stream[0] != null) {
+                stream[0].close();
+            }
+        }
+
+        Scope.getCurrentScope().getLog(getClass()).info("changeSets count: " + count[0]);
+        if (count[0] == 0) {
+            Scope.getCurrentScope().getLog(getClass()).info("No changesets to add to the changelog output.");
+        }
+    }
+
     /**
      *
      * Append new change sets to an existing changelog
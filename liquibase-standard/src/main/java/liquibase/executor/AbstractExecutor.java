@@ -3,6 +3,7 @@ package liquibase.executor;
 import liquibase.Scope;
 import liquibase.change.AbstractSQLChange;
 import liquibase.change.Change;
+import liquibase.change.StreamingChange;
 import liquibase.change.core.RawSQLChange;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
@@ -131,7 +132,14 @@ public abstract class AbstractExecutor implements Executor {
 
     @Override
     public void execute(Change change, List<SqlVisitor> sqlVisitors) throws DatabaseException {
-        SqlStatement[] sqlStatements = change.generateStatements(database);
+        if (change instanceof StreamingChange && ((StreamingChange) change).shouldStreamStatements(database)) {
+            ((StreamingChange) change).streamStatements(database, statements -> executeStatements(change, statements, sqlVisitors));
+            return;
+        }
+        executeStatements(change, change.generateStatements(database), sqlVisitors);
+    }
+
+    private void executeStatements(Change change, SqlStatement[] sqlStatements, List<SqlVisitor> sqlVisitors) throws DatabaseException {
         if (sqlStatements != null) {
             for (SqlStatement statement : sqlStatements) {
                 if (statement.skipOnUnsupported() && !SqlGeneratorFactory.getInstance().supports(statement, database)) {
@@ -120,6 +120,14 @@ public class ExecutorService extends AbstractPluginFactory<Executor>  {
         executors.remove(createKey(name, database));
     }
 
+    /**
+     * Removes all executors of the given database. Unlike {@link #reset()}, executors of other databases, which may be
+     * in use by other threads, are kept.
+     */
+    public void clearExecutors(Database database) {
+        executors.keySet().removeIf(key -> key.database == database);
+    }
+
     public void reset() {
         executors.clear();
     }
@@ -3,9 +3,14 @@
  */
 package liquibase.integration.spring;
 
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
 import liquibase.Scope;
+import liquibase.changelog.FastCheckService;
 import liquibase.exception.LiquibaseException;
 import liquibase.logging.Logger;
+import liquibase.logging.mdc.MdcKey;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.beans.factory.InitializingBean;
@@ -16,8 +21,15 @@ import javax.naming.*;
 import javax.sql.DataSource;
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A wrapper of Liquibase suitable in multi-tenant environments where multiple
@@ -37,6 +49,12 @@ import java.util.Map;
  * 	&lt;property name="changeLog" value="classpath:db/migration/db-changelog.xml" /&gt;
  * &lt;/bean&gt;
  * </pre>
+ * <br/>
+ * Tenants are migrated one after another unless {@link #parallelThreads} is greater than 1. Each tenant is updated
+ * over its own connection, and the lock, history and executor state is only reset for that tenant's database when its
+ * update ends, so tenants that are still running are not affected. Before its update each tenant runs a
+ * {@link FastCheckService fast check} over that connection and the changelog it already parsed, so tenants that are
+ * up to date are skipped without waiting for the lock.
  *
  * @author ladislav.gazo
  * @see SpringLiquibase
@@ -124,6 +142,21 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
     @Setter
     private File rollbackFile;
 
+    /**
+     * Number of tenants migrated at the same time, each over its own connection. The default of 1 migrates the tenants
+     * one after another. For schema based multitenancy the data source must be able to hand out that many connections.
+     */
+    @Getter
+    @Setter
+    private int parallelThreads = 1;
+
+    /**
+     * If true, the default, no more tenants are started once a tenant fails and its exception is thrown after the
+     * running tenants finish. If false, all tenants are migrated and the failures are reported together.
+     */
+    @Getter
+    @Setter
+    private boolean failFast = true;
 
     @Override
     public void afterPropertiesSet() throws Exception {
@@ -178,33 +211,133 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
     }
 
     private void runOnAllDataSources() throws LiquibaseException {
-        Logger log = Scope.getCurrentScope().getLog(getClass());
-
+        List<Tenant> tenants = new ArrayList<>();
         for (DataSource aDataSource : dataSources) {
-            log.info("Initializing Liquibase for data source " + aDataSource);
-            SpringLiquibase liquibase = getSpringLiquibase(aDataSource);
-            liquibase.afterPropertiesSet();
-            log.info("Liquibase ran for data source " + aDataSource);
+            tenants.add(new Tenant("data source " + aDataSource, getSpringLiquibase(aDataSource)));
         }
+        runOnAllTenants(tenants);
     }
 
     private void runOnAllSchemas() throws LiquibaseException {
-        Logger log = Scope.getCurrentScope().getLog(getClass());
-
+        List<Tenant> tenants = new ArrayList<>();
         for (String schema : schemas) {
             if ("default".equals(schema)) {
                 schema = null;
             }
-            log.info("Initializing Liquibase for schema " + schema);
             SpringLiquibase liquibase = getSpringLiquibase(dataSource);
             liquibase.setDefaultSchema(schema);
-            liquibase.afterPropertiesSet();
-            log.info("Liquibase ran for schema " + schema);
+            tenants.add(new Tenant("schema " + schema, liquibase));
+        }
+        runOnAllTenants(tenants);
+    }
+
+    private void runOnAllTenants(List<Tenant> tenants) throws LiquibaseException {
+        // every tenant writes the same rollback file
+        int threads = Math.min(rollbackFile == null ? parallelThreads : 1, tenants.size());
+        List<TenantFailure> failures;
+        if (threads <= 1) {
+            failures = new ArrayList<>();
+            for (Tenant tenant : tenants) {
+                try {
+                    runOnTenant(tenant);
+                } catch (LiquibaseException e) {
+                    if (failFast) {
+                        throw e;
+                    }
+                    failures.add(new TenantFailure(tenant, e));
+                }
+            }
+        } else {
+            failures = runOnTenantsInParallel(tenants, threads);
+        }
+
+        if (failures.isEmpty()) {
+            return;
+        }
+        if (failFast) {
+            throw failures.get(0).exception;
+        }
+        List<String> failedTenants = new ArrayList<>();
+        for (TenantFailure failure : failures) {
+            failedTenants.add(failure.tenant.name);
+        }
+        LiquibaseException exception = new LiquibaseException("Liquibase failed for " + failures.size() + " of " + tenants.size() + " tenants: " + String.join(", ", failedTenants), failures.get(0).exception);
+        for (TenantFailure failure : failures.subList(1, failures.size())) {
+            exception.addSuppressed(failure.exception);
+        }
+        throw exception;
+    }
+
+    /**
+     * Returns the failures in the order the tenants were given. With {@link #failFast}, tenants not started before the
+     * first failure are skipped, while the running ones are allowed to finish.
+     */
+    private List<TenantFailure> runOnTenantsInParallel(List<Tenant> tenants, int threads) throws LiquibaseException {
+        Scope.getCurrentScope().getLog(getClass()).info("Running Liquibase for " + tenants.size() + " tenants using " + threads + " threads");
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicInteger threadCount = new AtomicInteger();
+        // threads are created by this thread, so they inherit the current scope
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "liquibase-tenant-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<LiquibaseException>> results = new ArrayList<>();
+            for (Tenant tenant : tenants) {
+                results.add(executor.submit(() -> {
+                    if (failFast && failed.get()) {
+                        return null;
+                    }
+                    try {
+                        runOnTenant(tenant);
+                        return null;
+                    } catch (LiquibaseException | RuntimeException e) {
+                        failed.set(true);
+                        return e instanceof LiquibaseException ? (LiquibaseException) e : new LiquibaseException(e);
+                    }
+                }));
+            }
+
+            List<TenantFailure> failures = new ArrayList<>();
+            for (int i = 0; i < tenants.size(); i++) {
+                LiquibaseException exception = results.get(i).get();
+                if (exception != null) {
+                    failures.add(new TenantFailure(tenants.get(i), exception));
+                }
+            }
+            return failures;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LiquibaseException(e);
+        } catch (ExecutionException e) {
+            throw new LiquibaseException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs Liquibase for one tenant in its own scope.
+     */
+    private void runOnTenant(Tenant tenant) throws LiquibaseException {
+        try {
+            Scope.child(Collections.emptyMap(), () -> {
+                Logger log = Scope.getCurrentScope().getLog(getClass());
+                Scope.getCurrentScope().addMdcValue(MdcKey.TENANT, tenant.name);
+                log.info("Initializing Liquibase for " + tenant.name);
+                tenant.liquibase.afterPropertiesSet();
+                log.info("Liquibase ran for " + tenant.name);
+            });
+        } catch (LiquibaseException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new LiquibaseException(e);
         }
     }
 
     private SpringLiquibase getSpringLiquibase(DataSource dataSource) {
-        SpringLiquibase liquibase = new SpringLiquibase();
+        SpringLiquibase liquibase = new TenantSpringLiquibase();
         liquibase.setChangeLog(changeLog);
         liquibase.setChangeLogParameters(parameters);
         liquibase.setContexts(contexts);
@@ -246,4 +379,43 @@ public class MultiTenantSpringLiquibase implements InitializingBean, ResourceLoa
         this.resourceLoader = resourceLoader;
     }
 
+    /**
+     * Skips the update of a tenant that the {@link FastCheckService} finds up to date. The check reuses the connection
+     * and parsed changelog of the update, so tenants that do need an update do not open another connection or parse the
+     * changelog twice, while up to date tenants do not take the lock.
+     */
+    private static class TenantSpringLiquibase extends SpringLiquibase {
+
+        @Override
+        protected void performUpdate(Liquibase liquibase) throws LiquibaseException {
+            if (!isClearCheckSums() && !isTestRollbackOnUpdate()
+                    && Scope.getCurrentScope().getSingleton(FastCheckService.class).isUpToDateFastCheck(null,
+                    liquibase.getDatabase(), liquibase.getDatabaseChangeLog(), new Contexts(getContexts()), new LabelExpression(getLabelFilter()))) {
+                Scope.getCurrentScope().getLog(getClass()).info("Liquibase found the database up to date, skipping the update");
+                return;
+            }
+            super.performUpdate(liquibase);
+        }
+    }
+
+    private static class Tenant {
+        private final String name;
+        private final SpringLiquibase liquibase;
+
+        private Tenant(String name, SpringLiquibase liquibase) {
+            this.name = name;
+            this.liquibase = liquibase;
+        }
+    }
+
+    private static class TenantFailure {
+        private final Tenant tenant;
+        private final LiquibaseException exception;
+
+        private TenantFailure(Tenant tenant, LiquibaseException exception) {
+            this.tenant = tenant;
+            this.exception = exception;
+        }
+    }
+
 }
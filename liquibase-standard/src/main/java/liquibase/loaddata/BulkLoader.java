@@ -0,0 +1,47 @@
+package liquibase.loaddata;
+
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.plugin.Plugin;
+
+import java.util.List;
+
+/**
+ * Loads rows into a table through a database-native bulk load mechanism (COPY, LOAD DATA, CSVREAD, ...) instead of
+ * individual INSERT statements. Used by {@link liquibase.change.core.LoadDataChange} when
+ * {@link liquibase.GlobalConfiguration#LOAD_DATA_BULK_LOAD} is enabled and the column configuration allows it.
+ * <p>
+ * Implementations are looked up through {@link BulkLoaderFactory}.
+ */
+public interface BulkLoader extends Plugin {
+
+    /**
+     * Returns the priority of this loader for the given database, or {@link #PRIORITY_NOT_APPLICABLE} if it cannot be used.
+     */
+    int getPriority(Database database);
+
+    /**
+     * Starts loading rows into the given table. Values passed to {@link BulkLoad#addRow(Object[])} are in the same order as columnNames.
+     */
+    BulkLoad open(Database database, String catalogName, String schemaName, String tableName, List<String> columnNames) throws DatabaseException;
+
+    /**
+     * A single bulk load operation. Rows are streamed to the database, or to an intermediate file, as they are added.
+     * {@link #close()} must always be called and discards the load if {@link #finish()} has not completed.
+     */
+    interface BulkLoad extends AutoCloseable {
+
+        /**
+         * Adds a row. Values are null, {@link String}, {@link Number} or {@link Boolean} objects.
+         */
+        void addRow(Object[] values) throws DatabaseException;
+
+        /**
+         * Completes the load and returns the number of rows loaded.
+         */
+        long finish() throws DatabaseException;
+
+        @Override
+        void close() throws DatabaseException;
+    }
+}
@@ -0,0 +1,27 @@
+package liquibase.loaddata;
+
+import liquibase.database.Database;
+import liquibase.plugin.AbstractPluginFactory;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BulkLoaderFactory extends AbstractPluginFactory<BulkLoader> {
+
+    @Override
+    protected Class<BulkLoader> getPluginClass() {
+        return BulkLoader.class;
+    }
+
+    @Override
+    protected int getPriority(BulkLoader obj, Object... args) {
+        return obj.getPriority((Database) args[0]);
+    }
+
+    /**
+     * Returns the highest priority {@link BulkLoader} for the database, or null if there is none.
+     */
+    public BulkLoader getBulkLoader(Database database) {
+        return getPlugin(database);
+    }
+}
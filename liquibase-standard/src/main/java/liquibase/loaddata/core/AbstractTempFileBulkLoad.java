@@ -0,0 +1,105 @@
+package liquibase.loaddata.core;
+
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.exception.DatabaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.loaddata.BulkLoader;
+import liquibase.statement.core.RawSqlStatement;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Base class for bulk loads where the database reads the rows from a file: rows are written to a temporary file as
+ * they are added and a single load statement is executed on {@link #finish()}. The file is deleted on {@link #close()}.
+ */
+public abstract class AbstractTempFileBulkLoad implements BulkLoader.BulkLoad {
+
+    protected final Database database;
+    private final Path file;
+    private final Writer writer;
+    private long rowCount;
+    private boolean writerClosed;
+
+    protected AbstractTempFileBulkLoad(Database database) throws DatabaseException {
+        this.database = database;
+        try {
+            this.file = Files.createTempFile("liquibase-bulk-load", ".csv");
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new DatabaseException("Cannot create temporary file for bulk load: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a single value of a row. Separators and line endings are written by this class.
+     */
+    protected abstract void writeValue(Writer writer, Object value) throws IOException;
+
+    /**
+     * Returns the statement that loads the given file into the table.
+     */
+    protected abstract String getLoadSql(Path file);
+
+    @Override
+    public void addRow(Object[] values) throws DatabaseException {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeValue(writer, values[i]);
+            }
+            writer.write('\n');
+            rowCount++;
+        } catch (IOException e) {
+            throw new DatabaseException("Cannot write bulk load file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long finish() throws DatabaseException {
+        closeWriter();
+        if (rowCount > 0) {
+            Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database)
+                    .execute(new RawSqlStatement(getLoadSql(file)));
+        }
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws DatabaseException {
+        try {
+            closeWriter();
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Cannot delete bulk load file " + file + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private void closeWriter() throws DatabaseException {
+        if (writerClosed) {
+            return;
+        }
+        writerClosed = true;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new DatabaseException("Cannot write bulk load file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns the file path as a SQL string literal body, using forward slashes and doubled single quotes.
+     */
+    protected static String toSqlPath(Path file) {
+        return file.toAbsolutePath().toString().replace('\\', '/').replace("'", "''");
+    }
+}
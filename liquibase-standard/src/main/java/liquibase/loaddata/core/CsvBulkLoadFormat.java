@@ -0,0 +1,46 @@
+package liquibase.loaddata.core;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * RFC 4180 style value formatting shared by the bulk loaders that read CSV: null is written as an empty unquoted
+ * field and every other value is quoted, so an empty string stays distinguishable from null.
+ */
+final class CsvBulkLoadFormat {
+
+    private CsvBulkLoadFormat() {
+    }
+
+    static void writeValue(Writer writer, Object value, String trueValue, String falseValue) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value instanceof Boolean) {
+            writer.write((Boolean) value ? trueValue : falseValue);
+            return;
+        }
+        if (value instanceof Number) {
+            writer.write(formatNumber((Number) value));
+            return;
+        }
+        String string = value.toString();
+        writer.write('"');
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    static String formatNumber(Number number) {
+        if (number instanceof BigDecimal) {
+            return ((BigDecimal) number).toPlainString();
+        }
+        return number.toString();
+    }
+}
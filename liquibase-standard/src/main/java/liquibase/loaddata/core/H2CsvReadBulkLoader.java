@@ -0,0 +1,81 @@
+package liquibase.loaddata.core;
+
+import liquibase.database.Database;
+import liquibase.database.DatabaseConnection;
+import liquibase.database.core.H2Database;
+import liquibase.exception.DatabaseException;
+import liquibase.loaddata.BulkLoader;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk loads into H2 with {@code INSERT INTO ... SELECT * FROM CSVREAD(...)}.
+ * CSVREAD reads the file on the database side, so this only applies to in-memory and file database URLs, not to H2
+ * servers connected with tcp: or ssl: URLs, which may run on another machine.
+ */
+public class H2CsvReadBulkLoader implements BulkLoader {
+
+    /**
+     * URLs of H2 databases that are not embedded start with a protocol such as tcp: or ssl:, unlike a plain path
+     * or a Windows drive letter
+     */
+    private static final Pattern URL_PROTOCOL_PATTERN = Pattern.compile("^[a-zA-Z]{2,}:");
+
+    @Override
+    public int getPriority(Database database) {
+        if (database instanceof H2Database && isEmbedded(database)) {
+            return PRIORITY_DATABASE;
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    /**
+     * Returns true if the URL opens an in-memory database or a local file, so the database can read the files written here.
+     */
+    static boolean isEmbedded(Database database) {
+        DatabaseConnection connection = database.getConnection();
+        String url = (connection == null) ? null : connection.getURL();
+        if (url == null || !url.regionMatches(true, 0, "jdbc:h2:", 0, "jdbc:h2:".length())) {
+            return false;
+        }
+        String location = url.substring("jdbc:h2:".length());
+        String lowerCaseLocation = location.toLowerCase(Locale.US);
+        return lowerCaseLocation.startsWith("mem:") || lowerCaseLocation.startsWith("file:")
+                || !URL_PROTOCOL_PATTERN.matcher(location).find();
+    }
+
+    @Override
+    public BulkLoad open(Database database, String catalogName, String schemaName, String tableName, List<String> columnNames) throws DatabaseException {
+        StringBuilder columns = new StringBuilder();
+        StringBuilder csvColumns = new StringBuilder();
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                columns.append(", ");
+                csvColumns.append(',');
+            }
+            columns.append(database.escapeColumnName(catalogName, schemaName, tableName, columnNames.get(i)));
+            // CSVREAD column names only label the file columns, they are matched to the table by position
+            csvColumns.append('C').append(i + 1);
+        }
+        String insertPrefix = "INSERT INTO " + database.escapeTableName(catalogName, schemaName, tableName)
+                + " (" + columns + ") SELECT * FROM CSVREAD('";
+        String csvReadOptions = "', '" + csvColumns + "', 'charset=UTF-8')";
+
+        return new AbstractTempFileBulkLoad(database) {
+            @Override
+            protected void writeValue(Writer writer, Object value) throws IOException {
+                CsvBulkLoadFormat.writeValue(writer, value, "TRUE", "FALSE");
+            }
+
+            @Override
+            protected String getLoadSql(Path file) {
+                return insertPrefix + toSqlPath(file) + csvReadOptions;
+            }
+        };
+    }
+}
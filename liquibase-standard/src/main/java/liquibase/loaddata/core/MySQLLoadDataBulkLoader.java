@@ -0,0 +1,87 @@
+package liquibase.loaddata.core;
+
+import liquibase.database.Database;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.exception.DatabaseException;
+import liquibase.loaddata.BulkLoader;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Bulk loads into MySQL and MariaDB with {@code LOAD DATA LOCAL INFILE}.
+ * The JDBC driver must allow local infile, e.g. with allowLoadLocalInfile=true (MySQL) or allowLocalInfile=true (MariaDB).
+ */
+public class MySQLLoadDataBulkLoader implements BulkLoader {
+
+    @Override
+    public int getPriority(Database database) {
+        if (database instanceof MySQLDatabase) {
+            return PRIORITY_DATABASE;
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    public BulkLoad open(Database database, String catalogName, String schemaName, String tableName, List<String> columnNames) throws DatabaseException {
+        StringBuilder columns = new StringBuilder();
+        for (String columnName : columnNames) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append(database.escapeColumnName(catalogName, schemaName, tableName, columnName));
+        }
+        String loadOptions = "' INTO TABLE " + database.escapeTableName(catalogName, schemaName, tableName)
+                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\'"
+                + " LINES TERMINATED BY '\\n' (" + columns + ")";
+
+        return new AbstractTempFileBulkLoad(database) {
+            @Override
+            protected void writeValue(Writer writer, Object value) throws IOException {
+                if (value == null) {
+                    writer.write("\\N");
+                } else if (value instanceof Boolean) {
+                    writer.write((Boolean) value ? "1" : "0");
+                } else if (value instanceof Number) {
+                    writer.write(CsvBulkLoadFormat.formatNumber((Number) value));
+                } else {
+                    writeEscaped(writer, value.toString());
+                }
+            }
+
+            @Override
+            protected String getLoadSql(Path file) {
+                return "LOAD DATA LOCAL INFILE '" + toSqlPath(file) + loadOptions;
+            }
+        };
+    }
+
+    private static void writeEscaped(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\0':
+                    writer.write("\\0");
+                    break;
+                default:
+                    writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
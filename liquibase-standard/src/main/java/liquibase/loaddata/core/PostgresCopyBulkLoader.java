@@ -0,0 +1,154 @@
+package liquibase.loaddata.core;
+
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.loaddata.BulkLoader;
+import liquibase.sql.SqlConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Bulk loads into PostgreSQL with {@code COPY ... FROM STDIN} through the driver's CopyManager.
+ * Rows are streamed to the server in small buffers, so no intermediate file is needed.
+ * The PostgreSQL driver is not a compile-time dependency, so its copy API is called through reflection.
+ */
+public class PostgresCopyBulkLoader implements BulkLoader {
+
+    private static final String PG_CONNECTION_CLASS = "org.postgresql.PGConnection";
+    private static final String COPY_MANAGER_CLASS = "org.postgresql.copy.CopyManager";
+    private static final String COPY_IN_CLASS = "org.postgresql.copy.CopyIn";
+    private static final int FLUSH_SIZE = 64 * 1024;
+
+    @Override
+    public int getPriority(Database database) {
+        if (!(database instanceof PostgresDatabase) || !(database.getConnection() instanceof JdbcConnection)) {
+            return PRIORITY_NOT_APPLICABLE;
+        }
+        try {
+            Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+            Class<?> pgConnectionClass = Class.forName(PG_CONNECTION_CLASS, false, connection.getClass().getClassLoader());
+            if (connection.isWrapperFor(pgConnectionClass)) {
+                return PRIORITY_DATABASE;
+            }
+        } catch (ClassNotFoundException | SQLException | RuntimeException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("PostgreSQL copy API is not available: " + e.getMessage());
+        }
+        return PRIORITY_NOT_APPLICABLE;
+    }
+
+    @Override
+    public BulkLoad open(Database database, String catalogName, String schemaName, String tableName, List<String> columnNames) throws DatabaseException {
+        StringBuilder sql = new StringBuilder("COPY ")
+                .append(database.escapeTableName(catalogName, schemaName, tableName))
+                .append(" (");
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(database.escapeColumnName(catalogName, schemaName, tableName, columnNames.get(i)));
+        }
+        sql.append(") FROM STDIN WITH (FORMAT csv)");
+        Scope.getCurrentScope().getLog(getClass()).log(SqlConfiguration.SHOW_AT_LOG_LEVEL.getCurrentValue(), sql.toString(), null);
+
+        try {
+            Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+            ClassLoader classLoader = connection.getClass().getClassLoader();
+            Class<?> pgConnectionClass = Class.forName(PG_CONNECTION_CLASS, false, classLoader);
+            Class<?> copyManagerClass = Class.forName(COPY_MANAGER_CLASS, false, classLoader);
+            Class<?> copyInClass = Class.forName(COPY_IN_CLASS, false, classLoader);
+
+            Object pgConnection = connection.unwrap(pgConnectionClass);
+            Object copyManager = pgConnectionClass.getMethod("getCopyAPI").invoke(pgConnection);
+            Object copyIn = copyManagerClass.getMethod("copyIn", String.class).invoke(copyManager, sql.toString());
+            return new CopyInLoad(copyIn, copyInClass);
+        } catch (InvocationTargetException e) {
+            throw new DatabaseException(e.getCause());
+        } catch (ReflectiveOperationException | SQLException e) {
+            throw new DatabaseException(e);
+        }
+    }
+
+    private static class CopyInLoad implements BulkLoad {
+        private final Object copyIn;
+        private final Method writeToCopy;
+        private final Method endCopy;
+        private final Method cancelCopy;
+        private final Method isActive;
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(FLUSH_SIZE + 1024);
+        private final Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+        private long rowCount;
+
+        CopyInLoad(Object copyIn, Class<?> copyInClass) throws NoSuchMethodException {
+            this.copyIn = copyIn;
+            this.writeToCopy = copyInClass.getMethod("writeToCopy", byte[].class, int.class, int.class);
+            this.endCopy = copyInClass.getMethod("endCopy");
+            this.cancelCopy = copyInClass.getMethod("cancelCopy");
+            this.isActive = copyInClass.getMethod("isActive");
+        }
+
+        @Override
+        public void addRow(Object[] values) throws DatabaseException {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    CsvBulkLoadFormat.writeValue(writer, values[i], "true", "false");
+                }
+                writer.write('\n');
+                rowCount++;
+                writer.flush();
+                if (buffer.size() >= FLUSH_SIZE) {
+                    flushBuffer();
+                }
+            } catch (IOException e) {
+                throw new DatabaseException(e);
+            }
+        }
+
+        @Override
+        public long finish() throws DatabaseException {
+            flushBuffer();
+            invoke(endCopy);
+            return rowCount;
+        }
+
+        @Override
+        public void close() throws DatabaseException {
+            if ((Boolean) invoke(isActive)) {
+                invoke(cancelCopy);
+            }
+        }
+
+        private void flushBuffer() throws DatabaseException {
+            if (buffer.size() == 0) {
+                return;
+            }
+            invoke(writeToCopy, buffer.toByteArray(), 0, buffer.size());
+            buffer.reset();
+        }
+
+        private Object invoke(Method method, Object... args) throws DatabaseException {
+            try {
+                return method.invoke(copyIn, args);
+            } catch (InvocationTargetException e) {
+                throw new DatabaseException(e.getCause());
+            } catch (IllegalAccessException e) {
+                throw new DatabaseException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package liquibase.lockservice;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.Database;
+import liquibase.database.core.CockroachDatabase;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.MySQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LockException;
+import liquibase.executor.jvm.ChangelogJdbcMdcListener;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawParameterizedSqlStatement;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * {@link LockService} that guards the DATABASECHANGELOGLOCK row with a native advisory lock, enabled with
+ * {@link GlobalConfiguration#CHANGELOGLOCK_ADVISORY_LOCK}.
+ * <p>
+ * The advisory lock is taken first, so among many instances starting at once only its holder checks and updates the
+ * lock table; the others wait in the database's lock queue (MySQL, Oracle, SQL Server) or poll the cheap advisory lock
+ * (PostgreSQL) instead. Waiting uses exponential backoff with jitter, capped at
+ * {@link GlobalConfiguration#CHANGELOGLOCK_POLL_RATE}. Advisory locks belong to the database session, so the database
+ * releases them when a lock holder dies. The lock table row is still set as well, so instances without advisory locks
+ * and the lock commands keep working; a row left locked by a crashed instance still needs {@code release-locks}.
+ * <p>
+ * If the advisory lock cannot be used, e.g. because the user lacks EXECUTE on DBMS_LOCK, this falls back to the
+ * plain lock table with backoff.
+ */
+public class AdvisoryLockService extends StandardLockService {
+
+    static final long INITIAL_BACKOFF_MILLIS = 250;
+
+    private static final int ORACLE_EXCLUSIVE_MODE = 6;
+    private static final long ORACLE_MAX_LOCK_ID = 1073741823L;
+    private static final int MYSQL_MAX_LOCK_NAME_LENGTH = 64;
+
+    private boolean hasAdvisoryLock;
+    private boolean advisoryLockUnavailable;
+
+    @Override
+    public int getPriority() {
+        return PRIORITY_DATABASE;
+    }
+
+    @Override
+    public boolean supports(Database database) {
+        if (!GlobalConfiguration.CHANGELOGLOCK_ADVISORY_LOCK.getCurrentValue()
+                || !(database.getConnection() instanceof JdbcConnection)) {
+            return false;
+        }
+        return (database instanceof PostgresDatabase && !(database instanceof CockroachDatabase))
+                || database instanceof MySQLDatabase
+                || database instanceof OracleDatabase
+                || database instanceof MSSQLDatabase;
+    }
+
+    @Override
+    public void waitForLock() throws LockException {
+        long timeToGiveUp = new Date().getTime() + (getChangeLogLockWaitTime() * 1000 * 60);
+
+        boolean locked = acquireLock();
+        int attempt = 0;
+        while (!locked && (new Date().getTime() < timeToGiveUp)) {
+            reportWaitingForLock();
+            long backoff = Math.min(getBackoffMillis(attempt++, getChangeLogLockRecheckTime() * 1000, random),
+                    Math.max(0, timeToGiveUp - new Date().getTime()));
+            long startedAt = System.currentTimeMillis();
+            locked = acquireLock(backoff);
+            long remaining = backoff - (System.currentTimeMillis() - startedAt);
+            if (!locked && remaining > 0) {
+                try {
+                    Thread.sleep(remaining);
+                } catch (InterruptedException e) {
+                    // Restore thread interrupt status
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        if (!locked) {
+            throw createLockNotAcquiredException();
+        }
+    }
+
+    /**
+     * Returns how long to wait before the given retry: exponential growth from {@link #INITIAL_BACKOFF_MILLIS} capped at
+     * maxMillis, of which a random part of up to one half is cut off so that instances that started together spread out.
+     */
+    static long getBackoffMillis(int attempt, long maxMillis, Random random) {
+        long backoff = Math.max(1, Math.min(maxMillis, INITIAL_BACKOFF_MILLIS << Math.min(attempt, 30)));
+        long half = backoff / 2;
+        return backoff - half + ((half > 0) ? (long) (random.nextDouble() * (half + 1)) : 0);
+    }
+
+    @Override
+    public boolean acquireLock() throws LockException {
+        return acquireLock(0);
+    }
+
+    /**
+     * Acquires the advisory lock, waiting up to waitMillis where the database can wait for it, then the lock table row.
+     */
+    protected boolean acquireLock(long waitMillis) throws LockException {
+        if (hasChangeLogLock) {
+            return true;
+        }
+        if (!acquireAdvisoryLock(waitMillis)) {
+            return false;
+        }
+
+        boolean locked = false;
+        try {
+            locked = super.acquireLock();
+            return locked;
+        } finally {
+            if (!locked) {
+                releaseAdvisoryLock();
+            }
+        }
+    }
+
+    @Override
+    public void releaseLock() throws LockException {
+        try {
+            super.releaseLock();
+        } finally {
+            releaseAdvisoryLock();
+        }
+    }
+
+    private boolean acquireAdvisoryLock(long waitMillis) throws LockException {
+        if (hasAdvisoryLock || advisoryLockUnavailable) {
+            return true;
+        }
+        int waitSeconds = (int) Math.min(Integer.MAX_VALUE, (waitMillis + 999) / 1000);
+        try {
+            SqlStatement statement = getAcquireStatement(waitSeconds);
+            Object result = ChangelogJdbcMdcListener.query(database, executor -> executor.queryForObject(statement, Object.class));
+            hasAdvisoryLock = isAcquired(result);
+            return hasAdvisoryLock;
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot use advisory lock " + getAdvisoryLockName()
+                    + ", using only the changelog lock table: " + e.getMessage(), e);
+            advisoryLockUnavailable = true;
+            rollbackQuietly();
+            return true;
+        }
+    }
+
+    private void releaseAdvisoryLock() {
+        if (!hasAdvisoryLock) {
+            return;
+        }
+        hasAdvisoryLock = false;
+        try {
+            SqlStatement statement = getReleaseStatement();
+            ChangelogJdbcMdcListener.query(database, executor -> executor.queryForObject(statement, Object.class));
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Failed to release advisory lock " + getAdvisoryLockName(), e);
+            rollbackQuietly();
+        }
+    }
+
+    private void rollbackQuietly() {
+        try {
+            database.rollback();
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Failed to rollback", e);
+        }
+    }
+
+    private SqlStatement getAcquireStatement(int waitSeconds) {
+        if (database instanceof PostgresDatabase) {
+            return new RawParameterizedSqlStatement("SELECT pg_try_advisory_lock(?)", getAdvisoryLockKey());
+        } else if (database instanceof MySQLDatabase) {
+            return new RawParameterizedSqlStatement("SELECT GET_LOCK(?, ?)", getAdvisoryLockName(), waitSeconds);
+        } else if (database instanceof OracleDatabase) {
+            return new RawParameterizedSqlStatement("SELECT DBMS_LOCK.REQUEST(?, " + ORACLE_EXCLUSIVE_MODE + ", ?) FROM DUAL",
+                    Math.floorMod(getAdvisoryLockKey(), ORACLE_MAX_LOCK_ID + 1), waitSeconds);
+        } else {
+            return new RawParameterizedSqlStatement("SET NOCOUNT ON; DECLARE @result int; " +
+                    "EXEC @result = sp_getapplock @Resource = ?, @LockMode = 'Exclusive', @LockOwner = 'Session', @LockTimeout = ?; " +
+                    "SELECT @result", getAdvisoryLockName(), waitSeconds * 1000);
+        }
+    }
+
+    private SqlStatement getReleaseStatement() {
+        if (database instanceof PostgresDatabase) {
+            return new RawParameterizedSqlStatement("SELECT pg_advisory_unlock(?)", getAdvisoryLockKey());
+        } else if (database instanceof MySQLDatabase) {
+            return new RawParameterizedSqlStatement("SELECT RELEASE_LOCK(?)", getAdvisoryLockName());
+        } else if (database instanceof OracleDatabase) {
+            return new RawParameterizedSqlStatement("SELECT DBMS_LOCK.RELEASE(?) FROM DUAL",
+                    Math.floorMod(getAdvisoryLockKey(), ORACLE_MAX_LOCK_ID + 1));
+        } else {
+            return new RawParameterizedSqlStatement("SET NOCOUNT ON; DECLARE @result int; " +
+                    "EXEC @result = sp_releaseapplock @Resource = ?, @LockOwner = 'Session'; " +
+                    "SELECT @result", getAdvisoryLockName());
+        }
+    }
+
+    private boolean isAcquired(Object result) {
+        if (result instanceof Boolean) {
+            return (Boolean) result;
+        }
+        if (!(result instanceof Number)) {
+            return false;
+        }
+        int value = ((Number) result).intValue();
+        if (database instanceof OracleDatabase) {
+            // 0 = success, 4 = already owned by this session
+            return value == 0 || value == 4;
+        } else if (database instanceof MSSQLDatabase) {
+            // 0 = granted, 1 = granted after waiting, negative values are failures
+            return value >= 0;
+        }
+        return value == 1;
+    }
+
+    /**
+     * Returns the name of the advisory lock, derived from the lock table so that different Liquibase schemas in the
+     * same database do not block each other.
+     */
+    protected String getAdvisoryLockName() {
+        String name = "liquibase:" + database.escapeTableName(database.getLiquibaseCatalogName(),
+                database.getLiquibaseSchemaName(), database.getDatabaseChangeLogLockTableName()).toLowerCase(Locale.ROOT);
+        if (name.length() > MYSQL_MAX_LOCK_NAME_LENGTH) {
+            name = "liquibase:" + Long.toHexString(hash(name));
+        }
+        return name;
+    }
+
+    /**
+     * Returns the numeric key of the advisory lock for databases that identify locks by number.
+     */
+    protected long getAdvisoryLockKey() {
+        return hash(getAdvisoryLockName());
+    }
+
+    private static long hash(String value) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return hash;
+    }
+}
@@ -75,6 +75,15 @@ public class LockServiceFactory {
         return openLockServices.get(database);
     }
 
+    /**
+     * Drops the lock service of the given database, so the next call to {@link #getLockService(Database)} creates a new
+     * one. Unlike {@link #resetAll()}, lock services of other databases, which may be in use by other threads, are kept.
+     */
+    public void resetLockService(Database database) {
+        // compared by identity, database equality changes once its connection is closed
+        openLockServices.keySet().removeIf(key -> key == database);
+    }
+
     public void resetAll() {
         for (LockService lockService : registry) {
             lockService.reset();
@@ -262,17 +262,7 @@ public class StandardLockService implements LockService {
         locked = acquireLock();
         do {
             if (!locked) {
-                try {
-                    //
-                    // Use the ConsoleUIService to prevent mirroring of this message to log
-                    //
-                    Scope.child(Scope.Attr.ui.name(), new ConsoleUIService(),  () -> {
-                        Scope.getCurrentScope().getUI().sendMessage("Waiting for changelog lock....");
-                    });
-                } catch (Exception ignore) {
-                    // continue on
-                }
-                Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
+                reportWaitingForLock();
                 try {
                     Thread.sleep(getChangeLogLockRecheckTime() * 1000);
                 } catch (InterruptedException e) {
@@ -284,18 +274,42 @@ public class StandardLockService implements LockService {
         } while (!locked && (new Date().getTime() < timeToGiveUp));
 
         if (!locked) {
-            DatabaseChangeLogLock[] locks = listLocks();
-            String lockedBy;
-            if (locks.length > 0) {
-                DatabaseChangeLogLock lock = locks[0];
-                lockedBy = lock.getLockedBy() + " since " +
-                        DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT)
-                                .format(lock.getLockGranted());
-            } else {
-                lockedBy = "UNKNOWN";
-            }
-            throw new LockException("Could not acquire change log lock.  Currently locked by " + lockedBy);
+            throw createLockNotAcquiredException();
+        }
+    }
+
+    /**
+     * Tells the user that the lock is held by someone else and {@link #waitForLock()} keeps trying.
+     */
+    protected void reportWaitingForLock() {
+        try {
+            //
+            // Use the ConsoleUIService to prevent mirroring of this message to log
+            //
+            Scope.child(Scope.Attr.ui.name(), new ConsoleUIService(),  () -> {
+                Scope.getCurrentScope().getUI().sendMessage("Waiting for changelog lock....");
+            });
+        } catch (Exception ignore) {
+            // continue on
+        }
+        Scope.getCurrentScope().getLog(getClass()).info("Waiting for changelog lock....");
+    }
+
+    /**
+     * Creates the exception thrown when {@link #waitForLock()} gives up, naming the current lock holder if known.
+     */
+    protected LockException createLockNotAcquiredException() throws LockException {
+        DatabaseChangeLogLock[] locks = listLocks();
+        String lockedBy;
+        if (locks.length > 0) {
+            DatabaseChangeLogLock lock = locks[0];
+            lockedBy = lock.getLockedBy() + " since " +
+                    DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT)
+                            .format(lock.getLockGranted());
+        } else {
+            lockedBy = "UNKNOWN";
         }
+        return new LockException("Could not acquire change log lock.  Currently locked by " + lockedBy);
     }
 
     @Override
@@ -349,7 +363,7 @@ public class StandardLockService implements LockService {
 
                 hasChangeLogLock = true;
 
-                Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetAll();
+                Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).resetChangeLogService(database);
                 database.setCanCacheLiquibaseTableInfo(true);
                 return true;
             }
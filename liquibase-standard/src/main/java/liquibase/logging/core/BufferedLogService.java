@@ -6,21 +6,70 @@ import lombok.Getter;
 
 import java.io.IOException;
 import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.logging.Level;
 
-@Getter
+/**
+ * Keeps log messages in memory. By default all messages are kept, and only {@link #getLogAsString(Level)} is limited to
+ * {@link #MAX_LOG_LENGTH} characters. Services created with {@link #BufferedLogService(int, Level)} keep the messages in
+ * a fixed size ring buffer without locking instead, so once {@link #getCapacity()} messages are logged the oldest ones
+ * are dropped, and messages below the minimum level are dropped when they are logged.
+ */
 @Deprecated
 public class BufferedLogService extends AbstractLogService {
     //
     // Truncate the return value at 10MB = 10,000,000 bytes
     //
     public static final int MAX_LOG_LENGTH = 10000000;
-    private final List<BufferedLogMessage> log = new CopyOnWriteArrayList<>();
+    public static final int UNBOUNDED = -1;
 
+    /**
+     * The number of messages kept, or {@link #UNBOUNDED} if all messages are kept.
+     */
+    @Getter
+    private final int capacity;
+    @Getter
+    private final Level minimumLevel;
+    private final int minimumLevelValue;
+
+    private final Queue<BufferedLogMessage> log;
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * Creates a service keeping all messages.
+     */
+    public BufferedLogService() {
+        this.capacity = UNBOUNDED;
+        this.minimumLevel = null;
+        this.minimumLevelValue = Integer.MIN_VALUE;
+        this.log = new ConcurrentLinkedQueue<>();
+        this.entries = null;
+    }
+
+    /**
+     * Creates a service keeping only the most recent messages.
+     *
+     * @param capacity     the number of messages kept
+     * @param minimumLevel messages below this level are not kept. If null, all messages are kept.
+     */
+    public BufferedLogService(int capacity, Level minimumLevel) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0");
+        }
+        this.capacity = capacity;
+        this.minimumLevel = minimumLevel;
+        this.minimumLevelValue = minimumLevel == null ? Integer.MIN_VALUE : minimumLevel.intValue();
+        this.log = null;
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
 
     @Override
     public int getPriority() {
@@ -32,39 +81,154 @@ public class BufferedLogService extends AbstractLogService {
         return new BufferedLogger(clazz, this);
     }
 
+    /**
+     * Returns the messages currently kept, oldest first.
+     */
+    public List<BufferedLogMessage> getLog() {
+        if (log != null) {
+            return new ArrayList<>(log);
+        }
+        List<BufferedLogMessage> returnList = new ArrayList<>();
+        long end = nextSequence.get();
+        for (long sequence = Math.max(0, end - capacity); sequence < end; sequence++) {
+            BufferedLogMessage message = getMessage(sequence);
+            if (message != null) {
+                returnList.add(message);
+            }
+        }
+        return returnList;
+    }
 
     public String getLogAsString(Level minimumLevel) {
-        StringBuilder returnLog = new StringBuilder();
-        for (BufferedLogMessage message : log) {
-            if (minimumLevel == null || minimumLevel.intValue() <= message.getLevel().intValue()) {
-                returnLog.append("[").append(new ISODateFormat().format(message.getTimestamp())).append("] ");
-                returnLog.append(message.getLevel().getName()).append(" ");
-                returnLog.append(message.getMessage());
-                returnLog.append("\n");
-
-                if (message.getThrowable() != null) {
-                    try (final StringWriter stringWriter = new StringWriter();
-                         final PrintWriter printWriter = new PrintWriter(stringWriter)) {
-
-                        message.getThrowable().printStackTrace(printWriter);
-                        printWriter.flush();
-
-                        returnLog.append(stringWriter).append("\n");
-                    } catch (IOException e) {
-                        e.printStackTrace();
-                    }
+        TruncatingWriter writer = new TruncatingWriter(MAX_LOG_LENGTH);
+        try {
+            writeTo(writer, minimumLevel);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes the messages at or above the given level to the writer, oldest first, without building the whole log in
+     * memory. If minimumLevel is null, all kept messages are written.
+     */
+    public void writeTo(Writer writer, Level minimumLevel) throws IOException {
+        ISODateFormat dateFormat = new ISODateFormat();
+        long formattedTime = Long.MIN_VALUE;
+        String formattedTimestamp = null;
+        PrintWriter printWriter = null;
+        for (BufferedLogMessage message : (log != null) ? log : getLog()) {
+            if (writer instanceof TruncatingWriter && ((TruncatingWriter) writer).isFull()) {
+                return;
+            }
+            if ((minimumLevel != null && minimumLevel.intValue() > message.getLevel().intValue())) {
+                continue;
+            }
+            // messages logged within the same millisecond share the formatted timestamp
+            if (message.getTimestamp().getTime() != formattedTime) {
+                formattedTime = message.getTimestamp().getTime();
+                formattedTimestamp = dateFormat.format(message.getTimestamp());
+            }
+            writer.write("[");
+            writer.write(formattedTimestamp);
+            writer.write("] ");
+            writer.write(message.getLevel().getName());
+            writer.write(" ");
+            writer.write(String.valueOf(message.getMessage()));
+            writer.write("\n");
+
+            if (message.getThrowable() != null) {
+                if (printWriter == null) {
+                    printWriter = new PrintWriter(writer);
+                }
+                message.getThrowable().printStackTrace(printWriter);
+                // PrintWriter does not throw, so failures writing the stack trace are only reported here
+                if (printWriter.checkError()) {
+                    throw new IOException("Could not write the stack trace of a log message");
                 }
+                writer.write("\n");
             }
         }
+    }
 
-        if (returnLog.length() > MAX_LOG_LENGTH) {
-            returnLog.setLength(MAX_LOG_LENGTH);
-        }
-        return returnLog.toString();
+    /**
+     * Returns true if a message at the given level would be kept, so callers can skip building messages that would not.
+     */
+    public boolean isLoggable(Level level) {
+        return level.intValue() >= minimumLevelValue;
     }
 
     public void addLog(BufferedLogMessage log) {
-        this.log.add(log);
+        if (!isLoggable(log.getLevel())) {
+            return;
+        }
+        if (this.log != null) {
+            this.log.add(log);
+            return;
+        }
+        long sequence = nextSequence.getAndIncrement();
+        entries.set((int) (sequence % capacity), new Entry(sequence, log));
+    }
+
+    /**
+     * Returns null if the message was overwritten by a newer one, or is not stored yet by the thread logging it.
+     */
+    private BufferedLogMessage getMessage(long sequence) {
+        Entry entry = entries.get((int) (sequence % capacity));
+        if (entry == null || entry.sequence != sequence) {
+            return null;
+        }
+        return entry.message;
+    }
+
+    private static class Entry {
+        private final long sequence;
+        private final BufferedLogMessage message;
+
+        private Entry(long sequence, BufferedLogMessage message) {
+            this.sequence = sequence;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Keeps the first maxLength characters written and ignores the rest.
+     */
+    private static class TruncatingWriter extends Writer {
+        private final StringBuilder buffer = new StringBuilder();
+        private final int maxLength;
+
+        private TruncatingWriter(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        private boolean isFull() {
+            return buffer.length() >= maxLength;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            buffer.append(cbuf, off, Math.min(len, maxLength - buffer.length()));
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            buffer.append(str, off, off + Math.min(len, maxLength - buffer.length()));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return buffer.toString();
+        }
     }
 
     @Getter
@@ -24,7 +24,7 @@ public class BufferedLogger extends AbstractLogger {
 
     @Override
     public void log(Level level, String message, Throwable e) {
-        if (level == Level.OFF) {
+        if (level == Level.OFF || !bufferedLogService.isLoggable(level)) {
             return;
         }
 
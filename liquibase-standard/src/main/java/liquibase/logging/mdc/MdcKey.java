@@ -11,6 +11,7 @@ public class MdcKey {
     public static final String LIQUIBASE_REF_URL = "liquibaseReferenceUrl";
     public static final String LIQUIBASE_CATALOG_NAME = "liquibaseCatalogName";
     public static final String LIQUIBASE_SCHEMA_NAME = "liquibaseSchemaName";
+    public static final String TENANT = "tenant";
     public static final String CHANGESET_OPERATION_START_TIME = "changesetOperationStart";
     public static final String CHANGESET_OPERATION_STOP_TIME = "changesetOperationStop";
     public static final String OPERATION_START_TIME = "operationStart";
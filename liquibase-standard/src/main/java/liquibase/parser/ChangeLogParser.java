@@ -31,4 +31,15 @@ public interface ChangeLogParser extends LiquibaseParser {
      * @return true if the file format is supported, false if it is not.
      */
     boolean supports(String changeLogFile, ResourceAccessor resourceAccessor);
+
+    /**
+     * Does the part of parsing the given changelog that only depends on the file content, so it can run ahead of time
+     * on another thread while included changelogs are processed. The returned object is passed on through
+     * {@link liquibase.parser.core.PreParsedChangeLogs} to the next {@link #parse(String, ChangeLogParameters, ResourceAccessor)}
+     * call for the same file. Must not log parse errors, as that parse call reports them.
+     * The default implementation does nothing and returns null.
+     */
+    default Object preParse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        return null;
+    }
 }
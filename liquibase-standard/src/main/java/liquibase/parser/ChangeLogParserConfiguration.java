@@ -15,6 +15,7 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
     public static final ConfigurationDefinition<MissingIncludeConfiguration> ON_MISSING_INCLUDE_CHANGELOG;
     public static final ConfigurationDefinition<Boolean> ERROR_ON_CIRCULAR_INCLUDE_ALL;
     public static final ConfigurationDefinition<MissingIncludeConfiguration> ON_MISSING_SQL_FILE;
+    public static final ConfigurationDefinition<Integer> INCLUDE_PARSE_THREADS;
 
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase");
@@ -56,6 +57,11 @@ public class ChangeLogParserConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(MissingIncludeConfiguration.FAIL)
                 .setHidden(true)
                 .build();
+
+        INCLUDE_PARSE_THREADS = builder.define("includeParseThreads", Integer.class)
+                .setDescription("Number of threads used to read and parse the files of an includeAll or a list of includes ahead of time. Changesets are still added in the same order. 1 parses each included file when it is included.")
+                .setDefaultValue(1)
+                .build();
     }
 
     public enum MissingPropertyMode {
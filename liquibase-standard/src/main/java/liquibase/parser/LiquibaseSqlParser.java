@@ -1,8 +1,15 @@
 package liquibase.parser;
 
 import liquibase.changelog.ChangeSet;
+import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.plugin.Plugin;
 import liquibase.util.StringClauses;
+import org.apache.commons.io.IOUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Iterator;
 
 public interface LiquibaseSqlParser extends Plugin {
 
@@ -18,5 +25,22 @@ public interface LiquibaseSqlParser extends Plugin {
         return parse(sqlBlock, preserveWhitespace, preserveComments);
     }
 
+    /**
+     * Returns the clauses of the SQL read from the given reader as strings, in the same order and with the same content
+     * as {@link StringClauses#toArray(boolean)} of {@link #parse(String, boolean, boolean, ChangeSet)}.
+     * Implementations should read from the reader only as the iterator is advanced, so SQL larger than the heap can be
+     * processed. The default implementation reads all the SQL first.
+     */
+    default Iterator<String> parseIncrementally(Reader sqlReader, boolean preserveWhitespace, boolean preserveComments, ChangeSet changeSet) {
+        String sqlBlock;
+        try {
+            sqlBlock = IOUtils.toString(sqlReader);
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        Object[] clauses = parse(sqlBlock, preserveWhitespace, preserveComments, changeSet).toArray(true);
+        return Arrays.asList(Arrays.copyOf(clauses, clauses.length, String[].class)).iterator();
+    }
+
     int getPriority();
 }
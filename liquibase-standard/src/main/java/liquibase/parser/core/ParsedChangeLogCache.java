@@ -0,0 +1,458 @@
+package liquibase.parser.core;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.resource.Resource;
+import liquibase.util.LiquibaseUtil;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Persistent cache for the parsed form of changelog files, enabled by setting
+ * {@link GlobalConfiguration#CHANGELOG_PARSE_CACHE_DIRECTORY}.
+ * <p>
+ * Parsers use it for the part of parsing that only depends on the file content: the {@link ParsedNode} tree of XML
+ * changelogs and the raw document of YAML and JSON changelogs. Changelog parameters are still applied on every run,
+ * so a cached file gives the same changesets as a parsed one. Entries are keyed by a SHA-256 digest of the content,
+ * the parser, the XML validation and secure parsing settings and the Liquibase version, so only new or modified files
+ * are parsed again. The directory can be shared
+ * by all entry points and processes.
+ * <p>
+ * Entries use a small binary format that only contains maps, lists, sets, ParsedNodes and simple values, so reading
+ * the cache never creates other classes. Results containing anything else are not cached.
+ */
+public class ParsedChangeLogCache implements SingletonObject {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_SUFFIX = ".parsed";
+
+    /**
+     * XML entity declarations and external DTDs can pull in other files that are not part of the cache key
+     */
+    private static final byte[] ENTITY_DECLARATION = "<!ENTITY".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DOCTYPE_DECLARATION = "<!DOCTYPE".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte STRING_REF = 2;
+    private static final byte TRUE = 3;
+    private static final byte FALSE = 4;
+    private static final byte INTEGER = 5;
+    private static final byte LONG = 6;
+    private static final byte BIG_INTEGER = 7;
+    private static final byte BIG_DECIMAL = 8;
+    private static final byte DOUBLE = 9;
+    private static final byte FLOAT = 10;
+    private static final byte DATE = 11;
+    private static final byte BYTES = 12;
+    private static final byte LIST = 13;
+    private static final byte SET = 14;
+    private static final byte MAP = 15;
+    private static final byte NODE = 16;
+
+    private ParsedChangeLogCache() {
+    }
+
+    /**
+     * Parses the given resource, or returns a copy of its cached parse result. If the cache is disabled, the resource
+     * is simply parsed. The returned object is never shared, so callers may modify it.
+     *
+     * @param resource  the changelog file
+     * @param parserKey identifies the parser and anything else that affects its result
+     * @param parser    parses the file content
+     */
+    public <T, E extends Exception> T getOrParse(Resource resource, String parserKey, StreamParser<T, E> parser) throws IOException, E {
+        PreParsedChangeLogs preParsedChangeLogs = Scope.getCurrentScope().get(PreParsedChangeLogs.SCOPE_KEY, PreParsedChangeLogs.class);
+        if (preParsedChangeLogs != null) {
+            Object preParsed = preParsedChangeLogs.take(resource.getPath());
+            if (preParsed instanceof PreParsed && ((PreParsed) preParsed).parserKey.equals(parserKey)) {
+                return (T) ((PreParsed) preParsed).value;
+            }
+        }
+        return parse(resource, parserKey, parser);
+    }
+
+    /**
+     * Runs the same parsing as {@link #getOrParse(Resource, String, StreamParser)} ahead of time, usually on another
+     * thread. The returned object is meant to be handed to {@link PreParsedChangeLogs}, which makes the next
+     * getOrParse call for the resource return it instead of parsing again.
+     */
+    public <T, E extends Exception> Object preParse(Resource resource, String parserKey, StreamParser<T, E> parser) throws IOException, E {
+        T parsed = parse(resource, parserKey, parser);
+        return (parsed == null) ? null : new PreParsed(parserKey, parsed);
+    }
+
+    private <T, E extends Exception> T parse(Resource resource, String parserKey, StreamParser<T, E> parser) throws IOException, E {
+        String cacheDirectory = GlobalConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.getCurrentValue();
+        if (cacheDirectory == null) {
+            try (InputStream stream = resource.openInputStream()) {
+                return parser.parse(stream);
+            }
+        }
+
+        byte[] content;
+        try (InputStream stream = resource.openInputStream()) {
+            content = readFully(stream);
+        }
+        if (indexOf(content, ENTITY_DECLARATION) >= 0 || hasExternalDoctype(content)) {
+            return parser.parse(new ByteArrayInputStream(content));
+        }
+
+        Path file = Paths.get(cacheDirectory).resolve(buildKey(parserKey, content) + FILE_SUFFIX);
+        if (Files.exists(file)) {
+            // read from memory, so every length in the file can be checked against the bytes that are left
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+                if (input.readInt() == FORMAT_VERSION) {
+                    Object cached = new Reader(input).read();
+                    if (input.available() > 0) {
+                        throw new IOException("Unexpected data after the parse result");
+                    }
+                    Scope.getCurrentScope().getLog(getClass()).fine("Using cached parse result of " + resource.getPath());
+                    return (T) cached;
+                }
+            } catch (IOException | RuntimeException e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Ignoring unreadable changelog parse cache file " + file + ": " + e.getMessage());
+            }
+        }
+
+        T parsed = parser.parse(new ByteArrayInputStream(content));
+        if (parsed != null) {
+            store(file, parsed, resource);
+        }
+        return parsed;
+    }
+
+    private void store(Path file, Object parsed, Resource resource) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(FORMAT_VERSION);
+            new Writer(output).write(parsed);
+        } catch (NotCacheableException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Not caching parse result of " + resource.getPath() + ": " + e.getMessage());
+            return;
+        } catch (IOException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+
+        try {
+            Files.createDirectories(file.getParent());
+            Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tempFile, bytes.toByteArray());
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot write changelog parse cache " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    static String buildKey(String parserKey, byte[] content) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+        // validation and secure parsing decide which files parse at all, so results are not shared between settings
+        String settings = GlobalConfiguration.VALIDATE_XML_CHANGELOG_FILES.getKey() + "=" + GlobalConfiguration.VALIDATE_XML_CHANGELOG_FILES.getCurrentValue()
+                + ";" + GlobalConfiguration.SECURE_PARSING.getKey() + "=" + GlobalConfiguration.SECURE_PARSING.getCurrentValue();
+        for (String part : new String[]{LiquibaseUtil.getBuildVersion(), String.valueOf(FORMAT_VERSION), parserKey, settings}) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        digest.update(content);
+
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static byte[] readFully(InputStream stream) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[65536];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int indexOf(byte[] content, byte[] search) {
+        outer:
+        for (int i = 0; i <= content.length - search.length; i++) {
+            for (int j = 0; j < search.length; j++) {
+                if (content[i + j] != search[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the content has a document type declaration with a SYSTEM or PUBLIC identifier.
+     */
+    private static boolean hasExternalDoctype(byte[] content) {
+        int start = indexOf(content, DOCTYPE_DECLARATION);
+        if (start < 0) {
+            return false;
+        }
+        int end = start + DOCTYPE_DECLARATION.length;
+        while (end < content.length && content[end] != '[' && content[end] != '>') {
+            end++;
+        }
+        String declaration = new String(content, start, end - start, StandardCharsets.ISO_8859_1);
+        return declaration.contains("SYSTEM") || declaration.contains("PUBLIC");
+    }
+
+    /**
+     * Parses changelog content.
+     */
+    @FunctionalInterface
+    public interface StreamParser<T, E extends Exception> {
+        T parse(InputStream stream) throws IOException, E;
+    }
+
+    private static class PreParsed {
+        private final String parserKey;
+        private final Object value;
+
+        private PreParsed(String parserKey, Object value) {
+            this.parserKey = parserKey;
+            this.value = value;
+        }
+    }
+
+    static class NotCacheableException extends IOException {
+        NotCacheableException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Writes values in the cache format. Strings that were already written are stored as a reference to the first one.
+     */
+    static class Writer {
+        private final DataOutputStream output;
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        Writer(DataOutputStream output) {
+            this.output = output;
+        }
+
+        void write(Object value) throws IOException {
+            if (value == null) {
+                output.writeByte(NULL);
+            } else if (value instanceof String) {
+                writeString((String) value);
+            } else if (value instanceof Boolean) {
+                output.writeByte((Boolean) value ? TRUE : FALSE);
+            } else if (value.getClass() == Integer.class) {
+                output.writeByte(INTEGER);
+                output.writeInt((Integer) value);
+            } else if (value.getClass() == Long.class) {
+                output.writeByte(LONG);
+                output.writeLong((Long) value);
+            } else if (value.getClass() == BigInteger.class) {
+                output.writeByte(BIG_INTEGER);
+                writeBytes(((BigInteger) value).toByteArray());
+            } else if (value.getClass() == BigDecimal.class) {
+                output.writeByte(BIG_DECIMAL);
+                writeUtf8(value.toString());
+            } else if (value.getClass() == Double.class) {
+                output.writeByte(DOUBLE);
+                output.writeDouble((Double) value);
+            } else if (value.getClass() == Float.class) {
+                output.writeByte(FLOAT);
+                output.writeFloat((Float) value);
+            } else if (value.getClass() == Date.class) {
+                output.writeByte(DATE);
+                output.writeLong(((Date) value).getTime());
+            } else if (value instanceof byte[]) {
+                output.writeByte(BYTES);
+                writeBytes((byte[]) value);
+            } else if (value.getClass() == ArrayList.class) {
+                output.writeByte(LIST);
+                writeAll((Collection<?>) value);
+            } else if (value.getClass() == LinkedHashSet.class) {
+                output.writeByte(SET);
+                writeAll((Collection<?>) value);
+            } else if (value.getClass() == LinkedHashMap.class) {
+                output.writeByte(MAP);
+                Map<?, ?> map = (Map<?, ?>) value;
+                output.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    write(entry.getKey());
+                    write(entry.getValue());
+                }
+            } else if (value.getClass() == ParsedNode.class) {
+                ParsedNode node = (ParsedNode) value;
+                output.writeByte(NODE);
+                write(node.getNamespace());
+                write(node.getName());
+                write(node.getParsedNamespace());
+                write(node.getValue());
+                writeAll(node.getChildren());
+            } else {
+                throw new NotCacheableException("unsupported value type " + value.getClass().getName());
+            }
+        }
+
+        private void writeAll(Collection<?> values) throws IOException {
+            output.writeInt(values.size());
+            for (Object value : values) {
+                write(value);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            Integer index = strings.get(value);
+            if (index == null) {
+                strings.put(value, strings.size());
+                output.writeByte(STRING);
+                writeUtf8(value);
+            } else {
+                output.writeByte(STRING_REF);
+                output.writeInt(index);
+            }
+        }
+
+        private void writeUtf8(String value) throws IOException {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private void writeBytes(byte[] value) throws IOException {
+            output.writeInt(value.length);
+            output.write(value);
+        }
+    }
+
+    /**
+     * Reads values written by {@link Writer}. Lengths and sizes that cannot fit in the rest of the input are rejected
+     * with an IOException, so a corrupt file cannot make it allocate more than the file size. The input must be read
+     * from memory, so that its available() is the number of bytes left.
+     */
+    static class Reader {
+        private final DataInputStream input;
+        private final List<String> strings = new ArrayList<>();
+
+        Reader(DataInputStream input) {
+            this.input = input;
+        }
+
+        Object read() throws IOException {
+            byte type = input.readByte();
+            switch (type) {
+                case NULL:
+                    return null;
+                case STRING:
+                    String string = readUtf8();
+                    strings.add(string);
+                    return string;
+                case STRING_REF:
+                    int index = input.readInt();
+                    if (index < 0 || index >= strings.size()) {
+                        throw new IOException("Invalid string reference " + index);
+                    }
+                    return strings.get(index);
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case INTEGER:
+                    return input.readInt();
+                case LONG:
+                    return input.readLong();
+                case BIG_INTEGER:
+                    return new BigInteger(readBytes());
+                case BIG_DECIMAL:
+                    return new BigDecimal(readUtf8());
+                case DOUBLE:
+                    return input.readDouble();
+                case FLOAT:
+                    return input.readFloat();
+                case DATE:
+                    return new Date(input.readLong());
+                case BYTES:
+                    return readBytes();
+                case LIST:
+                    return readAll(new ArrayList<>());
+                case SET:
+                    return readAll(new LinkedHashSet<>());
+                case MAP:
+                    int size = readLength();
+                    Map<Object, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < size; i++) {
+                        map.put(read(), read());
+                    }
+                    return map;
+                case NODE:
+                    return readNode();
+                default:
+                    throw new IOException("Unknown value type " + type);
+            }
+        }
+
+        private ParsedNode readNode() throws IOException {
+            ParsedNode node = new ParsedNode((String) read(), (String) read());
+            node.setParsedNamespace((String) read());
+            try {
+                // a list value only ever contains simple values, which setValue keeps as they are
+                node.setValue(read());
+                for (Object child : readAll(new ArrayList<>())) {
+                    node.addChild((ParsedNode) child);
+                }
+            } catch (ParsedNodeException e) {
+                throw new IOException(e);
+            }
+            return node;
+        }
+
+        private <C extends Collection<Object>> C readAll(C collection) throws IOException {
+            int size = readLength();
+            for (int i = 0; i < size; i++) {
+                collection.add(read());
+            }
+            return collection;
+        }
+
+        private String readUtf8() throws IOException {
+            return new String(readBytes(), StandardCharsets.UTF_8);
+        }
+
+        private byte[] readBytes() throws IOException {
+            byte[] bytes = new byte[readLength()];
+            input.readFully(bytes);
+            return bytes;
+        }
+
+        /**
+         * Reads a byte count or an element count. Every element takes at least one byte, so neither can be larger
+         * than the number of bytes left.
+         */
+        private int readLength() throws IOException {
+            int length = input.readInt();
+            if (length < 0 || length > input.available()) {
+                throw new IOException("Invalid length " + length + " with " + input.available() + " bytes left");
+            }
+            return length;
+        }
+    }
+}
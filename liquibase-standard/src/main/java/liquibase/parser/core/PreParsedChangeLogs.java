@@ -0,0 +1,86 @@
+package liquibase.parser.core;
+
+import liquibase.Scope;
+import liquibase.parser.ChangeLogParser;
+import liquibase.resource.ResourceAccessor;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Parses included changelog files on a bounded thread pool ahead of the include that needs them, enabled with
+ * {@link liquibase.parser.ChangeLogParserConfiguration#INCLUDE_PARSE_THREADS}.
+ * <p>
+ * Only the part of parsing that depends on nothing but the file content is done ahead of time, see
+ * {@link ChangeLogParser#preParse(String, ResourceAccessor)}. While an instance is stored in the scope under
+ * {@link #SCOPE_KEY}, {@link ParsedChangeLogCache} hands each result to the next parse of the same file. Changelog
+ * parameters, nested includes and duplicate detection still run on the including thread in changelog order, so the
+ * changelog is the same as without pre-parsing. A file that fails to pre-parse is simply parsed again, which reports
+ * the error as usual.
+ */
+public class PreParsedChangeLogs implements AutoCloseable {
+
+    public static final String SCOPE_KEY = "liquibase.preParsedChangeLogs";
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    private final Map<String, Future<Object>> results = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public PreParsedChangeLogs(int threads) {
+        // threads are created by this thread, so they inherit the current scope
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "liquibase-parse-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts pre-parsing the given file, unless it is already being pre-parsed.
+     */
+    public void submit(String path, ChangeLogParser parser, ResourceAccessor resourceAccessor) {
+        String resourcePath;
+        try {
+            resourcePath = resourceAccessor.get(path).getPath();
+        } catch (IOException e) {
+            return;
+        }
+        results.computeIfAbsent(resourcePath, key -> executor.submit(() -> parser.preParse(path, resourceAccessor)));
+    }
+
+    /**
+     * Waits for and removes the pre-parsed result of the given file. Returns null if the file was not submitted or
+     * could not be pre-parsed.
+     */
+    Object take(String path) {
+        Future<Object> result = results.remove(path);
+        if (result == null) {
+            return null;
+        }
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot pre-parse " + path + ", parsing it again: " + e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Stops pre-parsing files that were not taken yet.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        results.clear();
+    }
+}
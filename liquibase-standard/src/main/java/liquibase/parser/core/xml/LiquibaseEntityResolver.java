@@ -47,9 +47,7 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
                 .replace("http://www.liquibase.org/xml/ns/migrator/", "http://www.liquibase.org/xml/ns/dbchangelog/")
                 .replaceFirst("https?://", "");
 
-        if (shouldWarnOnMismatchedXsdVersion && !hasWarnedAboutMismatchedXsdVersion) {
-            warnForMismatchedXsdVersion(systemId);
-        }
+        warnOnMismatchedXsdVersion(systemId);
 
         InputStream stream = null;
         URL resourceUri = getSearchClassloader().getResource(path);
@@ -90,6 +88,22 @@ public class LiquibaseEntityResolver implements EntityResolver2 {
         return new CombinedClassLoader();
     }
 
+    /**
+     * Returns true if a mismatched XSD version should still be reported.
+     */
+    boolean isWarningOnMismatchedXsdVersion() {
+        return shouldWarnOnMismatchedXsdVersion && !hasWarnedAboutMismatchedXsdVersion;
+    }
+
+    /**
+     * Reports a mismatched XSD version for the given systemId, unless that is turned off or was already reported.
+     */
+    void warnOnMismatchedXsdVersion(String systemId) {
+        if (isWarningOnMismatchedXsdVersion()) {
+            warnForMismatchedXsdVersion(systemId);
+        }
+    }
+
     /**
      * Print a warning message to the logs and UI if the build version does not match the XSD version. This is a best
      * effort check, this method will never throw an exception.
@@ -0,0 +1,174 @@
+package liquibase.parser.core.xml;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import org.w3c.dom.ls.DOMImplementationLS;
+import org.w3c.dom.ls.LSInput;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reuses {@link SAXParser}s and compiled XSD {@link Schema}s between XML changelog files.
+ * <p>
+ * Without validation, parsers of the default factory are reset and reused. With validation, files whose
+ * xsi:schemaLocation names only the changelog namespace have its schema compiled once per distinct schemaLocation
+ * value, and are parsed by reused parsers of a factory that validates against the compiled schema. Files without a
+ * schemaLocation, files naming extension schemas as well, and files whose schema cannot be compiled are parsed by the
+ * default factory, which resolves and compiles the schemas for each file as before.
+ */
+class SAXParserPool {
+
+    /**
+     * Number of bytes at the start of a file searched for the schemaLocation of the root element
+     */
+    static final int SCHEMA_LOCATION_SEARCH_LENGTH = 8192;
+
+    private static final Pattern SCHEMA_LOCATION_PATTERN = Pattern.compile(
+            "<(?:\\w+:)?databaseChangeLog\\b[^>]*?\\bschemaLocation\\s*=\\s*([\"'])(.*?)\\1", Pattern.DOTALL);
+    private static final String CHANGELOG_NAMESPACE = "http://www.liquibase.org/xml/ns/dbchangelog";
+    private static final int MAX_IDLE_PARSERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    private final SAXParserFactory defaultFactory;
+    private final LiquibaseEntityResolver resolver;
+    private final boolean validating;
+    private final boolean secure;
+
+    private final Map<String, Optional<SAXParserFactory>> schemaFactories = new ConcurrentHashMap<>();
+    private final Map<SAXParserFactory, Queue<SAXParser>> idleParsers = new ConcurrentHashMap<>();
+    private final AtomicInteger idleParserCount = new AtomicInteger();
+
+    SAXParserPool(SAXParserFactory defaultFactory, LiquibaseEntityResolver resolver) {
+        this.defaultFactory = defaultFactory;
+        this.resolver = resolver;
+        this.validating = defaultFactory.isValidating();
+        this.secure = GlobalConfiguration.SECURE_PARSING.getCurrentValue();
+    }
+
+    /**
+     * Returns the value of the schemaLocation attribute of the databaseChangeLog element in the given start of a file,
+     * or null if it is not found there.
+     */
+    static String findSchemaLocation(byte[] start, int length) {
+        Matcher matcher = SCHEMA_LOCATION_PATTERN.matcher(new String(start, 0, length, StandardCharsets.ISO_8859_1));
+        if (matcher.find()) {
+            return matcher.group(2).trim().replaceAll("\\s+", " ");
+        }
+        return null;
+    }
+
+    /**
+     * Returns a parser for a file with the given schemaLocation, which may be null. Pass it to
+     * {@link #release(String, SAXParser)} with the same schemaLocation when done.
+     */
+    SAXParser borrow(String schemaLocation) throws ParserConfigurationException, SAXException {
+        SAXParserFactory factory = getFactory(schemaLocation);
+        Queue<SAXParser> idle = idleParsers.get(factory);
+        SAXParser parser = (idle == null) ? null : idle.poll();
+        if (parser != null) {
+            idleParserCount.decrementAndGet();
+            return parser;
+        }
+        synchronized (factory) {
+            // SAXParserFactory is not thread-safe
+            return factory.newSAXParser();
+        }
+    }
+
+    /**
+     * Resets the given parser and keeps it for reuse.
+     */
+    void release(String schemaLocation, SAXParser parser) {
+        if (idleParserCount.incrementAndGet() > MAX_IDLE_PARSERS) {
+            idleParserCount.decrementAndGet();
+            return;
+        }
+        try {
+            parser.reset();
+        } catch (UnsupportedOperationException e) {
+            idleParserCount.decrementAndGet();
+            return;
+        }
+        idleParsers.computeIfAbsent(getFactory(schemaLocation), key -> new ConcurrentLinkedQueue<>()).add(parser);
+    }
+
+    private SAXParserFactory getFactory(String schemaLocation) {
+        if (validating && schemaLocation != null) {
+            return schemaFactories.computeIfAbsent(schemaLocation, this::createSchemaFactory).orElse(defaultFactory);
+        }
+        return defaultFactory;
+    }
+
+    private Optional<SAXParserFactory> createSchemaFactory(String schemaLocation) {
+        String[] parts = schemaLocation.split(" ");
+        if (parts.length != 2 || !CHANGELOG_NAMESPACE.equals(parts[0])) {
+            // extension schemas are left to the default factory, which validates them the same way for every file
+            return Optional.empty();
+        }
+        try {
+            SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            if (secure) {
+                schemaFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+                schemaFactory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https");
+            }
+            DOMImplementationLS domImplementation = (DOMImplementationLS) DocumentBuilderFactory.newInstance()
+                    .newDocumentBuilder().getDOMImplementation().getFeature("LS", "3.0");
+            schemaFactory.setResourceResolver((type, namespace, publicId, systemId, baseUri) -> {
+                try {
+                    InputSource source = resolver.resolveEntity(null, publicId, baseUri, systemId);
+                    if (source == null) {
+                        return null;
+                    }
+                    LSInput input = domImplementation.createLSInput();
+                    input.setByteStream(source.getByteStream());
+                    input.setPublicId(publicId);
+                    input.setSystemId(systemId);
+                    input.setBaseURI(baseUri);
+                    return input;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+
+            Schema schema;
+            InputSource source = resolver.resolveEntity(null, null, null, parts[1]);
+            if (source == null) {
+                schema = schemaFactory.newSchema(new StreamSource(parts[1]));
+            } else {
+                try (InputStream stream = source.getByteStream()) {
+                    schema = schemaFactory.newSchema(new StreamSource(stream, parts[1]));
+                }
+            }
+
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            if (secure) {
+                factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            }
+            factory.setSchema(schema);
+            return Optional.of(factory);
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Cannot compile XML schemas " + schemaLocation
+                    + ", resolving them for each file: " + e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+}
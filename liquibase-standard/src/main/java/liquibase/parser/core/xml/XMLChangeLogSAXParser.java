@@ -4,6 +4,7 @@ import liquibase.GlobalConfiguration;
 import liquibase.Scope;
 import liquibase.changelog.ChangeLogParameters;
 import liquibase.exception.ChangeLogParseException;
+import liquibase.parser.core.ParsedChangeLogCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.parser.core.ParserSupportedFileExtension;
 import liquibase.resource.Resource;
@@ -12,11 +13,13 @@ import liquibase.util.BomAwareInputStream;
 import liquibase.util.FileUtil;
 import liquibase.util.LiquibaseUtil;
 import liquibase.util.StreamUtil;
+import org.apache.commons.io.IOUtils;
 import org.xml.sax.*;
 
 import javax.xml.XMLConstants;
 import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -37,6 +40,7 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
     }
 
     private final LiquibaseEntityResolver resolver = new LiquibaseEntityResolver();
+    private volatile SAXParserPool parserPool;
 
     public XMLChangeLogSAXParser() {
         saxParserFactory = SAXParserFactory.newInstance();
@@ -69,6 +73,19 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
         return saxParserFactory;
     }
 
+    private SAXParserPool getParserPool() {
+        SAXParserPool pool = parserPool;
+        if (pool == null) {
+            synchronized (this) {
+                if (parserPool == null) {
+                    parserPool = new SAXParserPool(getSaxParserFactory(), resolver);
+                }
+                pool = parserPool;
+            }
+        }
+        return pool;
+    }
+
     /**
      * When set to true, a warning will be printed to the console if the XSD version used does not match the version
      * of Liquibase. If "latest" is used as the XSD version, no warning is printed.
@@ -81,38 +98,6 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
     protected ParsedNode parseToNode(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
         try {
             Resource resource = resourceAccessor.get(physicalChangeLogLocation);
-            SAXParser parser = saxParserFactory.newSAXParser();
-            if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
-                try {
-                    parser.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https"); //need to allow external schemas on http/https to support the liquibase.org xsd files
-                } catch (SAXException e) {
-                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot enable ACCESS_EXTERNAL_SCHEMA: " + e.getMessage(), e);
-                }
-            }
-            trySetSchemaLanguageProperty(parser);
-
-            XMLReader xmlReader = parser.getXMLReader();
-            xmlReader.setEntityResolver(resolver);
-            xmlReader.setErrorHandler(new ErrorHandler() {
-                @Override
-                public void warning(SAXParseException exception) throws SAXException {
-                    Scope.getCurrentScope().getLog(getClass()).warning(exception.getMessage());
-                    throw exception;
-                }
-
-                @Override
-                public void error(SAXParseException exception) throws SAXException {
-                    Scope.getCurrentScope().getLog(getClass()).severe(exception.getMessage());
-                    throw exception;
-                }
-
-                @Override
-                public void fatalError(SAXParseException exception) throws SAXException {
-                    Scope.getCurrentScope().getLog(getClass()).severe(exception.getMessage());
-                    throw exception;
-                }
-            });
-
             if (!resource.exists()) {
                 if (physicalChangeLogLocation.startsWith("WEB-INF/classes/")) {
                     // Correct physicalChangeLogLocation and try again.
@@ -124,13 +109,12 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
                 }
             }
 
-            XMLChangeLogSAXHandler contentHandler = new XMLChangeLogSAXHandler(physicalChangeLogLocation, resourceAccessor, changeLogParameters);
-            xmlReader.setContentHandler(contentHandler);
-            try (InputStream stream = resource.openInputStream()) {
-                xmlReader.parse(new InputSource(new BomAwareInputStream(stream)));
+            if (GlobalConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.getCurrentValue() != null) {
+                // a cached parse result does not resolve the XSD, which is where a mismatched version is reported
+                warnOnMismatchedXsdVersion(resource);
             }
-
-            return contentHandler.getDatabaseChangeLogTree();
+            return Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class).getOrParse(resource, getParserKey(),
+                    stream -> parseStream(physicalChangeLogLocation, changeLogParameters, resourceAccessor, stream, true));
         } catch (ChangeLogParseException e) {
             throw e;
         } catch (IOException e) {
@@ -177,6 +161,110 @@ public class XMLChangeLogSAXParser extends AbstractChangeLogParser {
         }
     }
 
+    @Override
+    public Object preParse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        try {
+            Resource resource = resourceAccessor.get(physicalChangeLogLocation);
+            if (!resource.exists()) {
+                return null;
+            }
+            return Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class).preParse(resource, getParserKey(),
+                    stream -> parseStream(physicalChangeLogLocation, null, resourceAccessor, stream, false));
+        } catch (Exception e) {
+            throw new ChangeLogParseException(e);
+        }
+    }
+
+    /**
+     * Identifies this parser for {@link ParsedChangeLogCache}. Files are only validated if the parser factory was
+     * created with validation enabled, which may differ from the current setting.
+     */
+    private String getParserKey() {
+        return getClass().getName() + ";validating=" + getSaxParserFactory().isValidating();
+    }
+
+    private void warnOnMismatchedXsdVersion(Resource resource) throws IOException {
+        if (!resolver.isWarningOnMismatchedXsdVersion()) {
+            return;
+        }
+        byte[] start = new byte[SAXParserPool.SCHEMA_LOCATION_SEARCH_LENGTH];
+        int startLength;
+        try (InputStream stream = resource.openInputStream()) {
+            startLength = IOUtils.read(stream, start);
+        }
+        String schemaLocation = SAXParserPool.findSchemaLocation(start, startLength);
+        if (schemaLocation != null) {
+            for (String systemId : schemaLocation.split(" ")) {
+                resolver.warnOnMismatchedXsdVersion(systemId);
+            }
+        }
+    }
+
+    private ParsedNode parseStream(String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                   ResourceAccessor resourceAccessor, InputStream stream, boolean logErrors) throws Exception {
+        BufferedInputStream bufferedStream = new BufferedInputStream(stream, SAXParserPool.SCHEMA_LOCATION_SEARCH_LENGTH);
+        bufferedStream.mark(SAXParserPool.SCHEMA_LOCATION_SEARCH_LENGTH);
+        byte[] start = new byte[SAXParserPool.SCHEMA_LOCATION_SEARCH_LENGTH];
+        int startLength = IOUtils.read(bufferedStream, start);
+        bufferedStream.reset();
+        String schemaLocation = SAXParserPool.findSchemaLocation(start, startLength);
+
+        SAXParser parser = getParserPool().borrow(schemaLocation);
+        try {
+            return parseStream(parser, physicalChangeLogLocation, changeLogParameters, resourceAccessor, bufferedStream, logErrors);
+        } finally {
+            getParserPool().release(schemaLocation, parser);
+        }
+    }
+
+    private ParsedNode parseStream(SAXParser parser, String physicalChangeLogLocation, ChangeLogParameters changeLogParameters,
+                                   ResourceAccessor resourceAccessor, InputStream stream, boolean logErrors) throws Exception {
+        if (GlobalConfiguration.SECURE_PARSING.getCurrentValue()) {
+            try {
+                parser.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "http,https"); //need to allow external schemas on http/https to support the liquibase.org xsd files
+            } catch (SAXException e) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Cannot enable ACCESS_EXTERNAL_SCHEMA: " + e.getMessage(), e);
+            }
+        }
+        if (parser.getSchema() == null) {
+            trySetSchemaLanguageProperty(parser);
+        }
+
+        XMLReader xmlReader = parser.getXMLReader();
+        xmlReader.setEntityResolver(resolver);
+        xmlReader.setErrorHandler(new ErrorHandler() {
+            @Override
+            public void warning(SAXParseException exception) throws SAXException {
+                if (logErrors) {
+                    Scope.getCurrentScope().getLog(getClass()).warning(exception.getMessage());
+                }
+                throw exception;
+            }
+
+            @Override
+            public void error(SAXParseException exception) throws SAXException {
+                if (logErrors) {
+                    Scope.getCurrentScope().getLog(getClass()).severe(exception.getMessage());
+                }
+                throw exception;
+            }
+
+            @Override
+            public void fatalError(SAXParseException exception) throws SAXException {
+                if (logErrors) {
+                    Scope.getCurrentScope().getLog(getClass()).severe(exception.getMessage());
+                }
+                throw exception;
+            }
+        });
+
+        XMLChangeLogSAXHandler contentHandler = new XMLChangeLogSAXHandler(physicalChangeLogLocation, resourceAccessor, changeLogParameters);
+        xmlReader.setContentHandler(contentHandler);
+        xmlReader.parse(new InputSource(new BomAwareInputStream(stream)));
+
+        return contentHandler.getDatabaseChangeLogTree();
+    }
+
     /**
      * Attempts to set the "schemaLanguage" property of the given parser, but ignores any errors that may occur if the parser
      * does not recognize this property.
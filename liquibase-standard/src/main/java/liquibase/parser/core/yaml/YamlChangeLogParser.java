@@ -9,6 +9,7 @@ import liquibase.exception.ChangeLogParseException;
 import liquibase.exception.LiquibaseException;
 import liquibase.exception.UnexpectedLiquibaseException;
 import liquibase.parser.ChangeLogParser;
+import liquibase.parser.core.ParsedChangeLogCache;
 import liquibase.parser.core.ParsedNode;
 import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
@@ -34,10 +35,8 @@ public class YamlChangeLogParser extends YamlParser implements ChangeLogParser {
                 throw new ChangeLogParseException(physicalChangeLogLocation + " does not exist");
             }
 
-            Map parsedYaml;
-            try (InputStream changeLogStream = changelog.openInputStream()) {
-                parsedYaml = parseYamlStream(physicalChangeLogLocation, yaml, changeLogStream);
-            }
+            Map parsedYaml = Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class).getOrParse(changelog, getClass().getName(),
+                    changeLogStream -> parseYamlStream(physicalChangeLogLocation, yaml, changeLogStream));
 
             if ((parsedYaml == null) || parsedYaml.isEmpty()) {
                 throw new ChangeLogParseException("Empty file " + physicalChangeLogLocation);
@@ -96,6 +95,21 @@ public class YamlChangeLogParser extends YamlParser implements ChangeLogParser {
         }
     }
 
+    @Override
+    public Object preParse(String physicalChangeLogLocation, ResourceAccessor resourceAccessor) throws ChangeLogParseException {
+        try {
+            Resource changelog = resourceAccessor.get(physicalChangeLogLocation);
+            if (!changelog.exists()) {
+                return null;
+            }
+            Yaml yaml = CustomTimestampSafeConstructor.createYaml();
+            return Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class).preParse(changelog, getClass().getName(),
+                    changeLogStream -> parseYamlStream(physicalChangeLogLocation, yaml, changeLogStream));
+        } catch (IOException e) {
+            throw new ChangeLogParseException(e);
+        }
+    }
+
     private Map parseYamlStream(String physicalChangeLogLocation, Yaml yaml, InputStream changeLogStream) throws ChangeLogParseException {
         Map parsedYaml;
         try {
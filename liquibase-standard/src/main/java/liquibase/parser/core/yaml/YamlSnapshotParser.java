@@ -7,6 +7,7 @@ import liquibase.database.OfflineConnection;
 import liquibase.exception.LiquibaseParseException;
 import liquibase.parser.SnapshotParser;
 import liquibase.parser.core.ParsedNode;
+import liquibase.parser.core.ParsedNodeException;
 import liquibase.resource.Resource;
 import liquibase.resource.ResourceAccessor;
 import liquibase.snapshot.DatabaseSnapshot;
@@ -43,28 +44,14 @@ public class YamlSnapshotParser extends YamlParser implements SnapshotParser {
                 parsedYaml = getParsedYamlFromInputStream(yaml, stream);
             }
 
-            Map rootList = (Map) parsedYaml.get("snapshot");
-            if (rootList == null) {
-                throw new LiquibaseParseException("Could not find root snapshot node");
-            }
+            Map rootList = getRootNode(parsedYaml);
 
             String shortName = (String) ((Map<?, ?>) rootList.get("database")).get("shortName");
 
             Database database = DatabaseFactory.getInstance().getDatabase(shortName).getClass().getConstructor().newInstance();
             database.setConnection(new OfflineConnection("offline:" + shortName, null));
 
-            DatabaseSnapshot snapshot = new RestoredDatabaseSnapshot(database);
-            ParsedNode snapshotNode = new ParsedNode(null, "snapshot");
-            snapshotNode.setValue(rootList);
-
-            Map metadata = (Map) rootList.get("metadata");
-            if (metadata != null) {
-                snapshot.getMetadata().putAll(metadata);
-            }
-
-            snapshot.load(snapshotNode, resourceAccessor);
-
-            return snapshot;
+            return load(rootList, new RestoredDatabaseSnapshot(database), resourceAccessor);
         } catch (LiquibaseParseException e) {
             throw e;
         }
@@ -73,6 +60,46 @@ public class YamlSnapshotParser extends YamlParser implements SnapshotParser {
         }
     }
 
+    /**
+     * Reads a serialized snapshot from the stream into the given empty snapshot, e.g. to restore a stored snapshot
+     * for a connected database instead of an offline one. The stream is not closed.
+     */
+    public DatabaseSnapshot parse(InputStream stream, DatabaseSnapshot snapshot, ResourceAccessor resourceAccessor) throws LiquibaseParseException {
+        Map rootList = getRootNode(getParsedYamlFromInputStream(createYaml(), stream));
+        String shortName = (String) ((Map<?, ?>) rootList.get("database")).get("shortName");
+        if (!snapshot.getDatabase().getShortName().equals(shortName)) {
+            throw new LiquibaseParseException("Snapshot is for " + shortName + ", not " + snapshot.getDatabase().getShortName());
+        }
+
+        try {
+            return load(rootList, snapshot, resourceAccessor);
+        } catch (Exception e) {
+            throw new LiquibaseParseException(e);
+        }
+    }
+
+    private Map getRootNode(Map parsedYaml) throws LiquibaseParseException {
+        Map rootList = (parsedYaml == null) ? null : (Map) parsedYaml.get("snapshot");
+        if (rootList == null) {
+            throw new LiquibaseParseException("Could not find root snapshot node");
+        }
+        return rootList;
+    }
+
+    private DatabaseSnapshot load(Map rootList, DatabaseSnapshot snapshot, ResourceAccessor resourceAccessor) throws ParsedNodeException {
+        ParsedNode snapshotNode = new ParsedNode(null, "snapshot");
+        snapshotNode.setValue(rootList);
+
+        Map metadata = (Map) rootList.get("metadata");
+        if (metadata != null) {
+            snapshot.getMetadata().putAll(metadata);
+        }
+
+        snapshot.load(snapshotNode, resourceAccessor);
+
+        return snapshot;
+    }
+
     private Yaml createYaml() {
         LoaderOptions loaderOptions = new LoaderOptions();
         SnakeYamlUtil.setCodePointLimitSafely(loaderOptions, CODE_POINT_LIMIT);
@@ -0,0 +1,110 @@
+package liquibase.resource;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory trie of all files and directories below a root path, so repeated searches do not walk the file system.
+ * Only suitable for roots that do not change, like zip and jar files.
+ */
+class ResourcePathIndex {
+
+    private final Node root = new Node();
+
+    private ResourcePathIndex() {
+    }
+
+    /**
+     * Walks the given root once and indexes everything below it.
+     */
+    static ResourcePathIndex build(Path rootPath) throws IOException {
+        ResourcePathIndex index = new ResourcePathIndex();
+        Files.walkFileTree(rootPath, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                index.add(rootPath.relativize(dir), false);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile()) {
+                    index.add(rootPath.relativize(file), true);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return index;
+    }
+
+    private void add(Path relativePath, boolean file) {
+        Node node = root;
+        for (Path name : relativePath) {
+            String segment = name.toString().replace("/", "");
+            if (!segment.isEmpty()) {
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+        }
+        node.file = file;
+    }
+
+    /**
+     * Returns the node for the given path segments, or null if nothing exists there.
+     */
+    Node find(List<String> segments) {
+        Node node = root;
+        for (String segment : segments) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Returns the paths relative to the root of all files below the given directory node, in the same order and with
+     * the same depth semantics as {@link java.nio.file.Files#walkFileTree}: files directly in the directory have depth 1.
+     */
+    static List<String> listFiles(Node directory, String directoryPath, int minDepth, int maxDepth, String lowerCaseEndsWithFilter) {
+        List<String> returnList = new ArrayList<>();
+        collect(directory, directoryPath, 1, minDepth, maxDepth, lowerCaseEndsWithFilter, returnList);
+        return returnList;
+    }
+
+    private static void collect(Node directory, String directoryPath, int depth, int minDepth, int maxDepth,
+                                String lowerCaseEndsWithFilter, List<String> returnList) {
+        if (depth > maxDepth) {
+            return;
+        }
+        for (Map.Entry<String, Node> entry : directory.children.entrySet()) {
+            String path = directoryPath.isEmpty() ? entry.getKey() : directoryPath + "/" + entry.getKey();
+            Node child = entry.getValue();
+            if (child.file) {
+                if (depth >= minDepth && (lowerCaseEndsWithFilter == null
+                        || ("/" + path).toLowerCase().endsWith(lowerCaseEndsWithFilter))) {
+                    returnList.add(path);
+                }
+            } else {
+                collect(child, path, depth + 1, minDepth, maxDepth, lowerCaseEndsWithFilter, returnList);
+            }
+        }
+    }
+
+    static class Node {
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private boolean file;
+
+        boolean isFile() {
+            return file;
+        }
+    }
+}
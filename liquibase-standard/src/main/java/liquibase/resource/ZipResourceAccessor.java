@@ -6,13 +6,22 @@ import java.lang.ClassLoader;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.net.URI;
 import java.nio.file.*;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public class ZipResourceAccessor extends AbstractPathResourceAccessor {
 
+    /**
+     * Zip file systems are shared and their content does not change, so their indexes are shared by all instances.
+     */
+    private static final Map<FileSystem, ResourcePathIndex> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
     private FileSystem fileSystem;
 
     /**
@@ -78,6 +87,55 @@ public class ZipResourceAccessor extends AbstractPathResourceAccessor {
         return this.fileSystem.getPath("/");
     }
 
+    /**
+     * Answers searches from an index of the zip file that is built on the first search, instead of walking the zip
+     * file for each search.
+     */
+    @Override
+    public List<Resource> search(String startPath, SearchOptions searchOptions) throws IOException {
+        if (startPath == null) {
+            throw new IllegalArgumentException("Path must not be null");
+        }
+        List<String> segments = new ArrayList<>();
+        for (String segment : startPath.replaceFirst("^file:/+", "").split("/")) {
+            if (segment.equals(".") || segment.equals("..") || segment.contains("\\")) {
+                return super.search(startPath, searchOptions);
+            }
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+
+        ResourcePathIndex.Node baseNode = getIndex().find(segments);
+        if (baseNode == null) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Path " + startPath + " in " + getRootPath() + " does not exist (" + this + ")");
+            return new ArrayList<>();
+        }
+        if (baseNode.isFile()) {
+            throw new IOException("'" + startPath + "' is a file, not a directory");
+        }
+
+        String lowerCaseEndsWithFilter = searchOptions.endsWithFilterIsSet() ? searchOptions.getEndsWithFilter().toLowerCase() : null;
+        List<Resource> returnList = new ArrayList<>();
+        Path rootPath = getRootPath();
+        for (String path : ResourcePathIndex.listFiles(baseNode, String.join("/", segments),
+                searchOptions.getMinDepth(), searchOptions.getMaxDepth(), lowerCaseEndsWithFilter)) {
+            returnList.add(createResource(rootPath.resolve(path), path));
+        }
+        return returnList;
+    }
+
+    private ResourcePathIndex getIndex() throws IOException {
+        synchronized (INDEXES) {
+            ResourcePathIndex index = INDEXES.get(fileSystem);
+            if (index == null) {
+                index = ResourcePathIndex.build(getRootPath());
+                INDEXES.put(fileSystem, index);
+            }
+            return index;
+        }
+    }
+
     @Override
     protected Resource createResource(Path file, String pathToAdd) {
         return new PathResource(pathToAdd, file);
@@ -8,6 +8,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +17,26 @@ public interface ChangeLogSerializer extends LiquibaseSerializer, PrioritizedSer
 
     void append(ChangeSet changeSet, File changeLogFile) throws IOException;
 
+    /**
+     * Returns a writer that writes a changelog with the children passed to it to the given stream, like
+     * {@link #write(List, OutputStream)}. Serializers that can write children as they come override this, so callers
+     * do not have to hold the whole changelog in memory. The default implementation collects the children and writes
+     * them all when the writer is closed.
+     */
+    default ChangeLogWriter openWriter(OutputStream out) throws IOException {
+        List<ChangeLogChild> children = new ArrayList<>();
+        return new ChangeLogWriter() {
+            @Override
+            public void write(ChangeLogChild child) {
+                children.add(child);
+            }
+
+            @Override
+            public void close() throws IOException {
+                ChangeLogSerializer.this.write(children, out);
+                out.flush();
+            }
+        };
+    }
+
 }
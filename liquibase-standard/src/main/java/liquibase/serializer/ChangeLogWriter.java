@@ -0,0 +1,23 @@
+package liquibase.serializer;
+
+import liquibase.changelog.ChangeLogChild;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Writes a changelog one child at a time, see {@link ChangeLogSerializer#openWriter(java.io.OutputStream)}.
+ */
+public interface ChangeLogWriter extends Closeable {
+
+    /**
+     * Writes the given child after the ones written before.
+     */
+    void write(ChangeLogChild child) throws IOException;
+
+    /**
+     * Writes the end of the changelog and flushes the stream. The stream itself is not closed.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -11,6 +11,7 @@ import liquibase.parser.NamespaceDetails;
 import liquibase.parser.NamespaceDetailsFactory;
 import liquibase.parser.core.xml.LiquibaseEntityResolver;
 import liquibase.serializer.ChangeLogSerializer;
+import liquibase.serializer.ChangeLogWriter;
 import liquibase.serializer.LiquibaseSerializable;
 import liquibase.serializer.LiquibaseSerializable.SerializationType;
 import liquibase.util.ISODateFormat;
@@ -28,6 +29,7 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -48,6 +50,7 @@ public class XMLChangeLogSerializer implements ChangeLogSerializer {
     private Document currentChangeLogFileDOM;
 
     private static final String XML_VERSION = "1.1";
+    private static final String DATABASE_CHANGE_LOG_CLOSING_TAG = "</databaseChangeLog>";
     private final LiquibaseEntityResolver resolver = new LiquibaseEntityResolver();
 
     public XMLChangeLogSerializer() {
@@ -90,6 +93,70 @@ public class XMLChangeLogSerializer implements ChangeLogSerializer {
 
     @Override
     public <T extends ChangeLogChild> void write(List<T> children, OutputStream out) throws IOException {
+        Document doc = createChangeLogDocument();
+
+        for (T child : children) {
+            doc.getDocumentElement().appendChild(createNode(child));
+        }
+
+        new DefaultXmlWriter().write(doc, out);
+    }
+
+    /**
+     * Returns a writer that serializes each child as it is written, so only one child is held in the DOM at a time.
+     * The output is the same as from {@link #write(List, OutputStream)}.
+     */
+    @Override
+    public ChangeLogWriter openWriter(OutputStream out) {
+        return new ChangeLogWriter() {
+            private final String encoding = GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue();
+            private Document doc;
+            private String end;
+
+            @Override
+            public void write(ChangeLogChild child) throws IOException {
+                if (doc == null) {
+                    doc = createChangeLogDocument();
+                }
+                Element changeLogElement = doc.getDocumentElement();
+                while (changeLogElement.getFirstChild() != null) {
+                    changeLogElement.removeChild(changeLogElement.getFirstChild());
+                }
+                changeLogElement.appendChild(createNode(child));
+
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                new DefaultXmlWriter().write(doc, buffer);
+                String xml = buffer.toString(encoding);
+
+                // each document holds one child: write the start only the first time and the end only on close
+                int childStart = xml.indexOf('>', xml.indexOf("<databaseChangeLog")) + 1;
+                int childEnd = xml.lastIndexOf(DATABASE_CHANGE_LOG_CLOSING_TAG);
+                while (childEnd > childStart && Character.isWhitespace(xml.charAt(childEnd - 1))) {
+                    childEnd--;
+                }
+                if (end == null) {
+                    out.write(xml.substring(0, childEnd).getBytes(encoding));
+                    end = xml.substring(childEnd);
+                } else {
+                    out.write(xml.substring(childStart, childEnd).getBytes(encoding));
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (end == null) {
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    XMLChangeLogSerializer.this.write(Collections.emptyList(), buffer);
+                    out.write(buffer.toByteArray());
+                } else {
+                    out.write(end.getBytes(encoding));
+                }
+                out.flush();
+            }
+        };
+    }
+
+    private Document createChangeLogDocument() {
         DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
         factory.setNamespaceAware(true);
         DocumentBuilder documentBuilder;
@@ -147,12 +214,7 @@ public class XMLChangeLogSerializer implements ChangeLogSerializer {
 
         doc.appendChild(changeLogElement);
         setCurrentChangeLogFileDOM(doc);
-
-        for (T child : children) {
-            doc.getDocumentElement().appendChild(createNode(child));
-        }
-
-        new DefaultXmlWriter().write(doc, out);
+        return doc;
     }
 
     @Override
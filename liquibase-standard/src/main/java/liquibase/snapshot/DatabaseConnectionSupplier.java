@@ -0,0 +1,15 @@
+package liquibase.snapshot;
+
+import liquibase.database.DatabaseConnection;
+import liquibase.exception.DatabaseException;
+
+/**
+ * Opens additional connections to a database, used by {@link SnapshotGeneratorFactory} to snapshot several schemas at
+ * the same time. Each call must return a new connection, which is closed by the caller when it is done. Connections
+ * from a pool are returned to the pool by closing them.
+ */
+@FunctionalInterface
+public interface DatabaseConnectionSupplier {
+
+    DatabaseConnection openConnection() throws DatabaseException;
+}
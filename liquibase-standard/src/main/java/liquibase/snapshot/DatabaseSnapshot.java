@@ -201,6 +201,97 @@ public abstract class DatabaseSnapshot implements LiquibaseSerializable {
         return returnSnapshot;
     }
 
+    /**
+     * Adds all objects of snapshots of single schemas of the same database, for snapshots that were taken in parallel.
+     * Each object is kept once, preferring the instance found by the snapshot of its own schema over the copies other
+     * schema snapshots made of it, e.g. for the referenced table and columns of a foreign key. All references of the
+     * merged objects are redirected to the kept instances.
+     */
+    void addSchemaSnapshots(List<DatabaseSnapshot> schemaSnapshots) {
+        Map<DatabaseObject, DatabaseObject> replacedObjects = new IdentityHashMap<>();
+        for (DatabaseSnapshot schemaSnapshot : schemaSnapshots) {
+            for (DatabaseObject object : getAll(schemaSnapshot.allFound)) {
+                if (!schemaSnapshot.isWrongSchema(object)) {
+                    addOnce(object, allFound, replacedObjects);
+                }
+            }
+            this.metadata.putAll(schemaSnapshot.getMetadata());
+        }
+        for (DatabaseSnapshot schemaSnapshot : schemaSnapshots) {
+            for (DatabaseObject object : getAll(schemaSnapshot.allFound)) {
+                if (schemaSnapshot.isWrongSchema(object)) {
+                    addOnce(object, allFound, replacedObjects);
+                }
+            }
+        }
+        for (DatabaseSnapshot schemaSnapshot : schemaSnapshots) {
+            for (DatabaseObject object : getAll(schemaSnapshot.referencedObjects)) {
+                if (!schemaSnapshot.isWrongSchema(object)) {
+                    referencedObjects.add(object);
+                    continue;
+                }
+                DatabaseObject existing = allFound.get(object, schemaComparisons);
+                if (existing == null) {
+                    addOnce(object, referencedObjects, replacedObjects);
+                } else {
+                    replacedObjects.put(object, existing);
+                }
+            }
+        }
+        if (replacedObjects.isEmpty()) {
+            return;
+        }
+        List<DatabaseObject> mergedObjects = getAll(allFound);
+        mergedObjects.addAll(getAll(referencedObjects));
+        for (DatabaseObject object : mergedObjects) {
+            for (String attribute : new ArrayList<>(object.getAttributes())) {
+                Object value = object.getAttribute(attribute, Object.class);
+                Object replacedValue = replaceObjects(value, replacedObjects);
+                if (replacedValue != value) {
+                    object.setAttribute(attribute, replacedValue);
+                }
+            }
+        }
+    }
+
+    private void addOnce(DatabaseObject object, DatabaseObjectCollection collection, Map<DatabaseObject, DatabaseObject> replacedObjects) {
+        DatabaseObject existing = collection.get(object, schemaComparisons);
+        if (existing == null) {
+            collection.add(object);
+        } else if (existing != object) {
+            replacedObjects.put(object, existing);
+        }
+    }
+
+    private static List<DatabaseObject> getAll(DatabaseObjectCollection collection) {
+        List<DatabaseObject> objects = new ArrayList<>();
+        for (Set<? extends DatabaseObject> objectsOfType : collection.toMap().values()) {
+            objects.addAll(objectsOfType);
+        }
+        return objects;
+    }
+
+    /**
+     * Returns the value with replaced objects swapped for the objects replacing them. Collections containing replaced
+     * objects are copied, the original value is returned if nothing was replaced.
+     */
+    private static Object replaceObjects(Object value, Map<DatabaseObject, DatabaseObject> replacedObjects) {
+        if (value instanceof DatabaseObject) {
+            return replacedObjects.getOrDefault(value, (DatabaseObject) value);
+        }
+        if (!(value instanceof List || value instanceof Set)) {
+            return value;
+        }
+        boolean replaced = false;
+        Collection<Object> newValues = (value instanceof List) ? new ArrayList<>() : new LinkedHashSet<>();
+        for (Object element : (Collection<?>) value) {
+            Object newElement = (element instanceof DatabaseObject) ? replacedObjects.getOrDefault(element, (DatabaseObject) element) : element;
+            replaced |= newElement != element;
+            newValues.add(newElement);
+        }
+        return replaced ? newValues : value;
+    }
+
     public SnapshotControl getSnapshotControl() {
         return snapshotControl;
     }
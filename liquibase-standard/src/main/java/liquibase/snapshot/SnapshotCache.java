@@ -0,0 +1,256 @@
+package liquibase.snapshot;
+
+import liquibase.CatalogAndSchema;
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.SingletonObject;
+import liquibase.database.Database;
+import liquibase.database.core.CockroachDatabase;
+import liquibase.database.core.MSSQLDatabase;
+import liquibase.database.core.OracleDatabase;
+import liquibase.database.core.PostgresDatabase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.LiquibaseParseException;
+import liquibase.exception.UnexpectedLiquibaseException;
+import liquibase.executor.ExecutorService;
+import liquibase.parser.core.json.JsonSnapshotParser;
+import liquibase.serializer.core.json.JsonSnapshotSerializer;
+import liquibase.statement.core.RawParameterizedSqlStatement;
+import liquibase.structure.DatabaseObject;
+import liquibase.util.LiquibaseUtil;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores database snapshots on disk so that snapshot, diff and diff-changelog runs against an unchanged database can
+ * skip the metadata queries. Enabled by setting {@link GlobalConfiguration#SNAPSHOT_CACHE_DIRECTORY}.
+ * <p>
+ * Entries are keyed by the connection URL and user, the schemas, the {@link SnapshotControl} types and the Liquibase
+ * version. Each entry starts with a fingerprint of the database catalog, read before the snapshot was taken, followed by
+ * the gzipped JSON snapshot. An entry is only used while the current fingerprint still matches:
+ * <ul>
+ *     <li>Oracle: number of objects and latest LAST_DDL_TIME in ALL_OBJECTS</li>
+ *     <li>PostgreSQL: digest of the row versions (xmin) of the pg_class, pg_attribute, pg_attrdef, pg_constraint,
+ *     pg_rewrite, pg_proc, pg_sequence and pg_description rows of the schemas</li>
+ *     <li>SQL Server: number of objects and latest modify_date in sys.objects</li>
+ * </ul>
+ * Other databases, snapshots using an {@link liquibase.diff.output.ObjectChangeFilter} and snapshots of other catalogs
+ * than the connected one on SQL Server are never cached.
+ */
+public class SnapshotCache implements SingletonObject {
+
+    private static final String FILE_EXTENSION = ".snapshot.json.gz";
+
+    protected SnapshotCache() {
+    }
+
+    /**
+     * Returns the cached snapshot of the given schemas if the database has not changed since it was stored, or
+     * creates the snapshot with {@link SnapshotGeneratorFactory} and stores it.
+     * The database must use the same {@link liquibase.database.ObjectQuotingStrategy} as when the snapshot is used.
+     */
+    public DatabaseSnapshot getOrCreate(CatalogAndSchema[] examples, Database database, SnapshotControl snapshotControl)
+            throws DatabaseException, InvalidExampleException {
+        String directory = GlobalConfiguration.SNAPSHOT_CACHE_DIRECTORY.getCurrentValue();
+        if (directory == null || !isCacheable(database, snapshotControl)) {
+            return SnapshotGeneratorFactory.getInstance().createSnapshot(examples, database, snapshotControl);
+        }
+
+        CatalogAndSchema[] schemas = new CatalogAndSchema[examples.length];
+        for (int i = 0; i < examples.length; i++) {
+            schemas[i] = examples[i].customize(database);
+        }
+
+        String fingerprint = readFingerprint(database, schemas);
+        if (fingerprint == null) {
+            return SnapshotGeneratorFactory.getInstance().createSnapshot(examples, database, snapshotControl);
+        }
+
+        Path path = Paths.get(directory).toAbsolutePath().normalize().resolve(buildKey(database, schemas, snapshotControl) + FILE_EXTENSION);
+        DatabaseSnapshot snapshot = load(path, fingerprint, database, snapshotControl);
+        if (snapshot != null) {
+            Scope.getCurrentScope().getLog(getClass()).info("Using cached snapshot " + path);
+            return snapshot;
+        }
+
+        snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(examples, database, snapshotControl);
+        store(path, fingerprint, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Returns true if snapshots of the database can be cached, because {@link #readFingerprint(Database, CatalogAndSchema[])}
+     * supports it.
+     */
+    protected boolean isCacheable(Database database, SnapshotControl snapshotControl) {
+        if (snapshotControl.getObjectChangeFilter() != null || !(database.getConnection() instanceof JdbcConnection)) {
+            return false;
+        }
+        return (database instanceof PostgresDatabase && !(database instanceof CockroachDatabase))
+                || database instanceof OracleDatabase
+                || database instanceof MSSQLDatabase;
+    }
+
+    /**
+     * Returns a value that changes whenever DDL changes objects in the given schemas, or null if it cannot be read.
+     */
+    protected String readFingerprint(Database database, CatalogAndSchema[] schemas) throws DatabaseException {
+        List<Object> names = new ArrayList<>();
+        for (CatalogAndSchema schema : schemas) {
+            if (database instanceof MSSQLDatabase && schema.getCatalogName() != null
+                    && !schema.getCatalogName().equalsIgnoreCase(database.getDefaultCatalogName())) {
+                return null;
+            }
+            String name = (schema.getSchemaName() == null) ? schema.getCatalogName() : schema.getSchemaName();
+            names.add((name == null) ? database.getDefaultSchemaName() : name);
+        }
+        String parameters = String.join(", ", Collections.nCopies(names.size(), "?"));
+
+        String sql;
+        if (database instanceof OracleDatabase) {
+            sql = "SELECT COUNT(*) || ':' || TO_CHAR(MAX(LAST_DDL_TIME), 'YYYYMMDDHH24MISS') FROM ALL_OBJECTS " +
+                    "WHERE OWNER IN (" + parameters + ")";
+        } else if (database instanceof MSSQLDatabase) {
+            sql = "SELECT CAST(COUNT(*) AS VARCHAR(20)) + ':' + CONVERT(VARCHAR(30), MAX(o.modify_date), 126) " +
+                    "FROM sys.objects o JOIN sys.schemas s ON s.schema_id = o.schema_id WHERE s.name IN (" + parameters + ")";
+        } else {
+            sql = "WITH ns AS (SELECT oid FROM pg_catalog.pg_namespace WHERE nspname IN (" + parameters + ")), " +
+                    "cls AS (SELECT oid, xmin FROM pg_catalog.pg_class WHERE relnamespace IN (SELECT oid FROM ns)) " +
+                    "SELECT COUNT(*) || ':' || COALESCE(md5(string_agg(v, ',' ORDER BY v)), '') FROM (" +
+                    "SELECT 'c' || oid || ':' || xmin AS v FROM cls " +
+                    "UNION ALL SELECT 'a' || attrelid || '.' || attnum || ':' || xmin FROM pg_catalog.pg_attribute WHERE attrelid IN (SELECT oid FROM cls) " +
+                    "UNION ALL SELECT 'd' || oid || ':' || xmin FROM pg_catalog.pg_attrdef WHERE adrelid IN (SELECT oid FROM cls) " +
+                    "UNION ALL SELECT 'k' || oid || ':' || xmin FROM pg_catalog.pg_constraint WHERE connamespace IN (SELECT oid FROM ns) " +
+                    "UNION ALL SELECT 'r' || oid || ':' || xmin FROM pg_catalog.pg_rewrite WHERE ev_class IN (SELECT oid FROM cls) " +
+                    "UNION ALL SELECT 'p' || oid || ':' || xmin FROM pg_catalog.pg_proc WHERE pronamespace IN (SELECT oid FROM ns) " +
+                    "UNION ALL SELECT 's' || seqrelid || ':' || xmin FROM pg_catalog.pg_sequence WHERE seqrelid IN (SELECT oid FROM cls) " +
+                    "UNION ALL SELECT 'o' || objoid || '.' || objsubid || ':' || xmin FROM pg_catalog.pg_description WHERE objoid IN (SELECT oid FROM cls)" +
+                    ") f";
+        }
+
+        try {
+            return Scope.getCurrentScope().getSingleton(ExecutorService.class).getExecutor("jdbc", database)
+                    .queryForObject(new RawParameterizedSqlStatement(sql, names.toArray()), String.class);
+        } catch (DatabaseException e) {
+            Scope.getCurrentScope().getLog(getClass()).fine("Not caching snapshot, cannot read catalog fingerprint: " + e.getMessage());
+            if (database instanceof PostgresDatabase) {
+                database.rollback(); // throws "current transaction is aborted" unless we roll back the connection
+            }
+            return null;
+        }
+    }
+
+    static String buildKey(Database database, CatalogAndSchema[] schemas, SnapshotControl snapshotControl) throws DatabaseException {
+        MessageDigest digest = newDigest();
+        update(digest, LiquibaseUtil.getBuildVersion());
+        update(digest, database.getShortName());
+        update(digest, database.getConnection().getURL());
+        update(digest, database.getConnection().getConnectionUserName());
+        update(digest, String.valueOf(database.getObjectQuotingStrategy()));
+        for (CatalogAndSchema schema : schemas) {
+            update(digest, schema.getCatalogName() + "." + schema.getSchemaName());
+        }
+        List<String> types = new ArrayList<>();
+        for (Class<? extends DatabaseObject> type : snapshotControl.getTypesToInclude()) {
+            types.add(type.getName());
+        }
+        Collections.sort(types);
+        for (String type : types) {
+            update(digest, type);
+        }
+        update(digest, String.valueOf(snapshotControl.shouldSearchNestedObjects()));
+        return toHex(digest.digest());
+    }
+
+    private DatabaseSnapshot load(Path path, String fingerprint, Database database, SnapshotControl snapshotControl) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (InputStream stream = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (!fingerprint.equals(readLine(stream))) {
+                Scope.getCurrentScope().getLog(getClass()).fine("Cached snapshot " + path + " is out of date");
+                return null;
+            }
+            return new JsonSnapshotParser().parse(stream, new RestoredDatabaseSnapshot(database, snapshotControl),
+                    Scope.getCurrentScope().getResourceAccessor());
+        } catch (IOException | LiquibaseParseException | DatabaseException | InvalidExampleException e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot read cached snapshot " + path + ": " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private void store(Path path, String fingerprint, DatabaseSnapshot snapshot) {
+        Path tempFile = null;
+        try {
+            String[] serialized = new String[1];
+            Scope.child(DatabaseSnapshot.SNAPSHOT_SCOPE_KEY, snapshot, () -> serialized[0] = new JsonSnapshotSerializer().serialize(snapshot, false));
+
+            Files.createDirectories(path.getParent());
+            tempFile = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            try (OutputStream stream = new GZIPOutputStream(Files.newOutputStream(tempFile))) {
+                stream.write((fingerprint + "\n").getBytes(StandardCharsets.UTF_8));
+                stream.write(serialized[0].getBytes(GlobalConfiguration.OUTPUT_FILE_ENCODING.getCurrentValue()));
+            }
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tempFile = null;
+        } catch (Exception e) {
+            Scope.getCurrentScope().getLog(getClass()).warning("Cannot write cached snapshot " + path + ": " + e.getMessage(), e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    Scope.getCurrentScope().getLog(getClass()).fine("Cannot delete " + tempFile + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static String readLine(InputStream stream) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int read;
+        while ((read = stream.read()) != -1 && read != '\n') {
+            line.write(read);
+        }
+        return line.toString(StandardCharsets.UTF_8.name());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new UnexpectedLiquibaseException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(Objects.toString(value).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -78,6 +78,26 @@ public class SnapshotControl implements LiquibaseSerializable {
         this.objectChangeFilter = objectChangeFilter;
     }
 
+    private SnapshotControl(SnapshotControl original) {
+        this.types = new HashSet<>(original.types);
+        this.objectChangeFilter = original.objectChangeFilter;
+        this.snapshotListener = original.snapshotListener;
+        this.warnIfObjectNotFound = original.warnIfObjectNotFound;
+        this.searchNestedObjects = original.searchNestedObjects;
+    }
+
+    /**
+     * Returns a copy with its own set of types, so snapshots running at the same time can each add the types they need.
+     * The filter and listener are shared with this SnapshotControl.
+     */
+    public SnapshotControl copy() {
+        return new SnapshotControl(this);
+    }
+
+    public ObjectChangeFilter getObjectChangeFilter() {
+        return objectChangeFilter;
+    }
+
     public SnapshotListener getSnapshotListener() {
         return snapshotListener;
     }
@@ -19,6 +19,10 @@ import liquibase.structure.core.*;
 import liquibase.util.LiquibaseUtil;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static liquibase.snapshot.SnapshotGenerator.PRIORITY_NONE;
 
@@ -27,6 +31,7 @@ public class SnapshotGeneratorFactory {
     private static SnapshotGeneratorFactory instance;
 
     private final List<SnapshotGenerator> generators = new ArrayList<>();
+    private final Map<Database, DatabaseConnectionSupplier> connectionSuppliers = Collections.synchronizedMap(new WeakHashMap<>());
     protected static final String SUPPORTS_METHOD_REQUIRED_MESSAGE = "%s class does not properly implement the 'getPriority(Class<? extends DatabaseObject>, Database)' method and may incorrectly override other snapshot generators causing unexpected behavior. Please report this to the Liquibase developers or if you are developing this change please fix it ;)";
 
     protected SnapshotGeneratorFactory() {
@@ -277,6 +282,25 @@ public class SnapshotGeneratorFactory {
     public DatabaseSnapshot createSnapshot(CatalogAndSchema[] examples, Database database,
                                            SnapshotControl snapshotControl)
             throws DatabaseException, InvalidExampleException {
+        return createSnapshot(examples, database, snapshotControl, (database == null) ? null : connectionSuppliers.get(database));
+    }
+
+    /**
+     * Creates a database snapshot for a given array of catalog/schema combinations. If
+     * {@link GlobalConfiguration#SNAPSHOT_PARALLELISM} is greater than 1 and a connection supplier is given, the schemas
+     * are snapshotted at the same time over connections from the supplier and the results merged.
+     *
+     * @param examples           an array of CatalogAndSchema objects
+     * @param database           the database to work on
+     * @param snapshotControl    the options/settings for snapshot generation
+     * @param connectionSupplier opens additional connections to the database, or null to use only the database's connection
+     * @return a database snapshot that includes all objects matching the specification
+     * @throws DatabaseException       if a problem occurs during snapshotting
+     * @throws InvalidExampleException if the given catalog/schema combinations are invalid (e.g. duplicates)
+     */
+    public DatabaseSnapshot createSnapshot(CatalogAndSchema[] examples, Database database,
+                                           SnapshotControl snapshotControl, DatabaseConnectionSupplier connectionSupplier)
+            throws DatabaseException, InvalidExampleException {
         if (database == null) {
             return null;
         }
@@ -293,7 +317,13 @@ public class SnapshotGeneratorFactory {
         }
 
         Scope.getCurrentScope().getLog(SnapshotGeneratorFactory.class).info("Creating snapshot");
-        DatabaseSnapshot snapshot = createSnapshot(schemas, database, snapshotControl);
+        int parallelism = Math.min(GlobalConfiguration.SNAPSHOT_PARALLELISM.getCurrentValue(), schemas.length);
+        DatabaseSnapshot snapshot;
+        if ((parallelism > 1) && (connectionSupplier != null) && !(database.getConnection() instanceof OfflineConnection)) {
+            snapshot = createParallelSnapshot(schemas, database, snapshotControl, connectionSupplier, parallelism);
+        } else {
+            snapshot = createSnapshot(schemas, database, snapshotControl);
+        }
 
         //
         // For SQL Server, try to set the backing index for primary key and
@@ -316,6 +346,111 @@ public class SnapshotGeneratorFactory {
         return snapshot;
     }
 
+    /**
+     * Registers how to open additional connections to the given database, which lets snapshots of several schemas
+     * run in parallel when {@link GlobalConfiguration#SNAPSHOT_PARALLELISM} is greater than 1.
+     * The registration is dropped when the database object is garbage collected.
+     */
+    public void setConnectionSupplier(Database database, DatabaseConnectionSupplier connectionSupplier) {
+        if (connectionSupplier == null) {
+            connectionSuppliers.remove(database);
+        } else {
+            connectionSuppliers.put(database, connectionSupplier);
+        }
+    }
+
+    private DatabaseSnapshot createParallelSnapshot(Schema[] schemas, Database database, SnapshotControl snapshotControl,
+                                                    DatabaseConnectionSupplier connectionSupplier, int parallelism)
+            throws DatabaseException, InvalidExampleException {
+        Scope.getCurrentScope().getLog(SnapshotGeneratorFactory.class).info("Snapshotting " + schemas.length + " schemas using " + parallelism + " connections");
+        AtomicInteger threadCount = new AtomicInteger();
+        // threads are created by this thread, so they inherit the current scope
+        java.util.concurrent.ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "liquibase-snapshot-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<DatabaseSnapshot>> schemaSnapshots = new ArrayList<>();
+            for (Schema schema : schemas) {
+                schemaSnapshots.add(executor.submit(() -> createSchemaSnapshot(schema, database, snapshotControl, connectionSupplier)));
+            }
+
+            DatabaseSnapshot snapshot = new JdbcDatabaseSnapshot(new DatabaseObject[0], database, snapshotControl);
+            snapshotControl.addType(Schema.class, database);
+            List<DatabaseSnapshot> finishedSchemaSnapshots = new ArrayList<>();
+            for (Future<DatabaseSnapshot> schemaSnapshot : schemaSnapshots) {
+                finishedSchemaSnapshots.add(schemaSnapshot.get());
+            }
+            snapshot.addSchemaSnapshots(finishedSchemaSnapshots);
+            return snapshot;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof DatabaseException) {
+                throw (DatabaseException) cause;
+            } else if (cause instanceof InvalidExampleException) {
+                throw (InvalidExampleException) cause;
+            }
+            throw new UnexpectedLiquibaseException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Snapshots one schema over a new connection, using a database object configured like the given one.
+     */
+    private DatabaseSnapshot createSchemaSnapshot(Schema schema, Database database, SnapshotControl snapshotControl,
+                                                  DatabaseConnectionSupplier connectionSupplier) throws Exception {
+        Database schemaDatabase = createDatabaseLike(database, connectionSupplier.openConnection());
+        try {
+            return new JdbcDatabaseSnapshot(new DatabaseObject[]{schema}, schemaDatabase, snapshotControl.copy());
+        } finally {
+            try {
+                schemaDatabase.close();
+            } catch (DatabaseException e) {
+                Scope.getCurrentScope().getLog(SnapshotGeneratorFactory.class).warning("Failed to close snapshot connection", e);
+            }
+        }
+    }
+
+    /**
+     * Opens another connection to the given database with the supplier registered by
+     * {@link #setConnectionSupplier(Database, DatabaseConnectionSupplier)} and returns a database object for it that is
+     * configured like the given one. Returns null if no supplier is registered. The caller must close the returned database.
+     */
+    public Database openAdditionalDatabase(Database database) throws DatabaseException {
+        DatabaseConnectionSupplier connectionSupplier = connectionSuppliers.get(database);
+        if (connectionSupplier == null) {
+            return null;
+        }
+        return createDatabaseLike(database, connectionSupplier.openConnection());
+    }
+
+    private Database createDatabaseLike(Database database, DatabaseConnection connection) throws DatabaseException {
+        Database newDatabase;
+        try {
+            newDatabase = database.getClass().getConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            connection.close();
+            throw new DatabaseException(e);
+        }
+        newDatabase.setConnection(connection);
+        newDatabase.setDefaultCatalogName(database.getDefaultCatalogName());
+        newDatabase.setDefaultSchemaName(database.getDefaultSchemaName());
+        newDatabase.setOutputDefaultCatalog(database.getOutputDefaultCatalog());
+        newDatabase.setOutputDefaultSchema(database.getOutputDefaultSchema());
+        newDatabase.setObjectQuotingStrategy(database.getObjectQuotingStrategy());
+        newDatabase.setLiquibaseCatalogName(database.getLiquibaseCatalogName());
+        newDatabase.setLiquibaseSchemaName(database.getLiquibaseSchemaName());
+        newDatabase.setDatabaseChangeLogTableName(database.getDatabaseChangeLogTableName());
+        newDatabase.setDatabaseChangeLogLockTableName(database.getDatabaseChangeLogLockTableName());
+        return newDatabase;
+    }
+
     /**
      * Creates a database snapshot for a given array of DatabaseObjects
      *
@@ -3,10 +3,11 @@ package liquibase.snapshot;
 import liquibase.util.MD5Util;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class SnapshotIdService {
     private static final SnapshotIdService instance = new SnapshotIdService();
-    private int nextId = 100;
+    private final AtomicInteger nextId = new AtomicInteger(100);
     private final String base = MD5Util.computeMD5(Long.toString(new Date().getTime())).substring(0, 4);
 
     public static SnapshotIdService getInstance() {
@@ -18,6 +19,6 @@ public class SnapshotIdService {
     }
 
     public String generateId() {
-        return base+ nextId++;
+        return base+ nextId.getAndIncrement();
     }
 }
@@ -16,6 +16,8 @@ public class SqlConfiguration implements AutoloadedConfigurations {
 
     public static final ConfigurationDefinition<Boolean> ALWAYS_SET_FETCH_SIZE;
 
+    public static final ConfigurationDefinition<Boolean> CACHE_GENERATED_SQL;
+
     static {
         ConfigurationDefinition.Builder builder = new ConfigurationDefinition.Builder("liquibase.sql");
 
@@ -33,5 +35,9 @@ public class SqlConfiguration implements AutoloadedConfigurations {
                 .setDefaultValue(Boolean.TRUE)
                 .setHidden(true)
                 .build();
+        CACHE_GENERATED_SQL = builder.define("cacheGeneratedSql", Boolean.class)
+                .setDescription("If true, the SQL generated for a statement is remembered for the rest of the command, so statements that are validated, executed and logged only have their SQL generated once. Statements are matched by the values of their fields, so statements generated again from the same change reuse the SQL. Statements whose SQL depends on querying the database are never cached.")
+                .setDefaultValue(Boolean.FALSE)
+                .build();
     }
 }
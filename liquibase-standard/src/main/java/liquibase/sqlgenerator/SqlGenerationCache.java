@@ -0,0 +1,224 @@
+package liquibase.sqlgenerator;
+
+import liquibase.Scope;
+import liquibase.change.Change;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.database.Database;
+import liquibase.database.ObjectQuotingStrategy;
+import liquibase.resource.ResourceAccessor;
+import liquibase.sql.Sql;
+import liquibase.statement.SqlStatement;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers the SQL generated for statements during one command execution, so repeated calls to
+ * {@link SqlGeneratorFactory#generateSql(SqlStatement, Database)} for equal statements do not run the generators again.
+ * A {@link liquibase.command.CommandScope} puts one in the scope under {@link #SCOPE_KEY} when
+ * {@link liquibase.sql.SqlConfiguration#CACHE_GENERATED_SQL} is enabled.
+ * <p>
+ * Statements are matched by value: the key of a statement is built from its class and the current values of its fields,
+ * so statements that are generated again from the same change share their SQL, and a statement that was changed after
+ * its SQL was generated gets a new key. Statements holding values that cannot be compared this way, such as changes,
+ * databases or types from outside Liquibase other than strings, numbers and dates, are not cached.
+ * Entries only match the database instance and object quoting strategy they were generated for, and hold the database
+ * weakly so closed databases are not kept alive.
+ */
+public class SqlGenerationCache {
+
+    public static final String SCOPE_KEY = "sqlGenerationCache";
+
+    private static final int MAX_DEPTH = 8;
+    private static final int MAX_KEY_SIZE = 10_000;
+
+    private static final Set<Class<?>> VALUE_TYPES = new HashSet<>(Arrays.asList(String.class, Boolean.class,
+            Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, Class.class));
+
+    private static final List<Class<?>> EXCLUDED_TYPES = Arrays.asList(Database.class, Change.class, ChangeSet.class,
+            DatabaseChangeLog.class, ResourceAccessor.class, Scope.class);
+
+    private static final Object NOT_CACHEABLE = new Object();
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                    } catch (RuntimeException e) {
+                        return null;
+                    }
+                    fields.add(field);
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    private final Map<Object, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Returns the key the SQL of the statement is cached under, or null if the statement cannot be cached.
+     */
+    public static Object getKey(SqlStatement statement) {
+        if (statement == null) {
+            return null;
+        }
+        Object key = toKey(statement, 0, new int[1]);
+        return (key == NOT_CACHEABLE) ? null : key;
+    }
+
+    /**
+     * Returns true if the SQL of the statement can be cached, because all its values can be compared.
+     */
+    public static boolean isCacheable(SqlStatement statement) {
+        return getKey(statement) != null;
+    }
+
+    /**
+     * Returns the SQL previously generated for the key and database, or null if there is none.
+     */
+    public Sql[] get(Object key, Database database) {
+        if (key == null) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry != null && entry.matches(database)) {
+            hitCount.incrementAndGet();
+            return entry.sql.clone();
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    public void put(Object key, Database database, Sql[] sql) {
+        if (key != null && sql != null) {
+            entries.put(key, new Entry(database, sql.clone()));
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    private static Object toKey(Object value, int depth, int[] size) {
+        if (value == null) {
+            return null;
+        }
+        if (depth > MAX_DEPTH || ++size[0] > MAX_KEY_SIZE) {
+            return NOT_CACHEABLE;
+        }
+        Class<?> type = value.getClass();
+        if (VALUE_TYPES.contains(type) || value instanceof Enum) {
+            return value;
+        }
+        if (value instanceof Date) {
+            return Arrays.asList(type, value.toString(), ((Date) value).getTime());
+        }
+        if (type.isArray()) {
+            int length = Array.getLength(value);
+            List<Object> key = new ArrayList<>(length + 1);
+            key.add(type);
+            for (int i = 0; i < length; i++) {
+                if (!add(key, Array.get(value, i), depth, size)) {
+                    return NOT_CACHEABLE;
+                }
+            }
+            return key;
+        }
+        if (value instanceof Collection) {
+            List<Object> key = new ArrayList<>();
+            key.add(type);
+            for (Object item : (Collection<?>) value) {
+                if (!add(key, item, depth, size)) {
+                    return NOT_CACHEABLE;
+                }
+            }
+            return key;
+        }
+        if (value instanceof Map) {
+            List<Object> key = new ArrayList<>();
+            key.add(type);
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!add(key, entry.getKey(), depth, size) || !add(key, entry.getValue(), depth, size)) {
+                    return NOT_CACHEABLE;
+                }
+            }
+            return key;
+        }
+        if (!type.getName().startsWith("liquibase.")) {
+            return NOT_CACHEABLE;
+        }
+        for (Class<?> excluded : EXCLUDED_TYPES) {
+            if (excluded.isInstance(value)) {
+                return NOT_CACHEABLE;
+            }
+        }
+        Field[] fields = FIELDS.get(type);
+        if (fields == null) {
+            return NOT_CACHEABLE;
+        }
+        List<Object> key = new ArrayList<>(fields.length + 1);
+        key.add(type);
+        try {
+            for (Field field : fields) {
+                if (!add(key, field.get(value), depth, size)) {
+                    return NOT_CACHEABLE;
+                }
+            }
+        } catch (IllegalAccessException e) {
+            return NOT_CACHEABLE;
+        }
+        return key;
+    }
+
+    private static boolean add(List<Object> key, Object value, int depth, int[] size) {
+        Object valueKey = toKey(value, depth + 1, size);
+        if (valueKey == NOT_CACHEABLE) {
+            return false;
+        }
+        key.add(valueKey);
+        return true;
+    }
+
+    private static class Entry {
+        private final WeakReference<Database> database;
+        private final ObjectQuotingStrategy quotingStrategy;
+        private final Sql[] sql;
+
+        private Entry(Database database, Sql[] sql) {
+            this.database = (database == null) ? null : new WeakReference<>(database);
+            this.quotingStrategy = (database == null) ? null : database.getObjectQuotingStrategy();
+            this.sql = sql;
+        }
+
+        private boolean matches(Database database) {
+            if (database == null) {
+                return this.database == null;
+            }
+            return this.database != null && this.database.get() == database
+                    && this.quotingStrategy == database.getObjectQuotingStrategy();
+        }
+    }
+}
@@ -14,6 +14,8 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static liquibase.sqlgenerator.SqlGenerator.EMPTY_SQL;
@@ -27,10 +29,14 @@ public class SqlGeneratorFactory {
 
     private static SqlGeneratorFactory instance;
     //caches for expensive reflection based calls that slow down Liquibase initialization: CORE-1207
-    private final Map<Class<?>, Type[]> genericInterfacesCache = new HashMap<>();
-    private final Map<Class<?>, Type> genericSuperClassCache = new HashMap<>();
-    private final List<SqlGenerator> generators = new ArrayList<>();
-    private final Map<String, SortedSet<SqlGenerator>> generatorsByKey = new HashMap<>();
+    private final Map<Class<?>, Type[]> genericInterfacesCache = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Type> genericSuperClassCache = new ConcurrentHashMap<>();
+    private final List<SqlGenerator> generators = new CopyOnWriteArrayList<>();
+    /**
+     * Generators found for each statement class, database and major version. Replaced as a whole whenever the
+     * registered generators change, so lookups need neither locking nor copying.
+     */
+    private volatile GeneratorCache generatorCache = new GeneratorCache(0);
     public static final String GENERATED_SQL_ARRAY_SCOPE_KEY = "generatedSqlArray";
 
     private SqlGeneratorFactory() {
@@ -58,16 +64,14 @@ public class SqlGeneratorFactory {
     }
 
 
-    public void register(SqlGenerator generator) {
-        if (this.generators.size() == 0) {
-            //handle case in tests where we clear out the generators
-            this.generatorsByKey.clear();
-        }
+    public synchronized void register(SqlGenerator generator) {
         generators.add(generator);
+        generatorCache = new GeneratorCache(generators.size());
     }
 
-    public void unregister(SqlGenerator generator) {
+    public synchronized void unregister(SqlGenerator generator) {
         generators.remove(generator);
+        generatorCache = new GeneratorCache(generators.size());
     }
 
     public void unregister(Class generatorClass) {
@@ -85,7 +89,11 @@ public class SqlGeneratorFactory {
         return generators;
     }
 
-    public synchronized SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
+    /**
+     * Returns the generators that support the statement, highest priority first. The returned set is shared and cannot
+     * be modified.
+     */
+    public SortedSet<SqlGenerator> getGenerators(SqlStatement statement, Database database) {
         String databaseName = null;
         if (database == null) {
             databaseName = "NULL";
@@ -104,13 +112,17 @@ public class SqlGeneratorFactory {
             }
         }
 
-        String key = statement.getClass().getName()+":"+ databaseName+":"+ version;
+        GeneratorKey key = new GeneratorKey(statement.getClass(), databaseName, version);
 
-        if (generatorsByKey.containsKey(key) && !generatorsByKey.get(key).isEmpty()) {
-            SortedSet<SqlGenerator> result = new TreeSet<>(new SqlGeneratorComparator());
-            result.addAll(generatorsByKey.get(key));
-            result.retainAll(getGenerators());
-            return result;
+        GeneratorCache cache = generatorCache;
+        if (cache.generatorCount != getGenerators().size()) {
+            //handle case in tests where the generators are changed directly
+            cache = new GeneratorCache(getGenerators().size());
+            generatorCache = cache;
+        }
+        SortedSet<SqlGenerator> cached = cache.generatorsByKey.get(key);
+        if (cached != null) {
+            return cached;
         }
 
         SortedSet<SqlGenerator> validGenerators = new TreeSet<>(new SqlGeneratorComparator());
@@ -137,26 +149,21 @@ public class SqlGeneratorFactory {
                 clazz = clazz.getSuperclass();
             }
         }
-        generatorsByKey.put(key, validGenerators);
-        return validGenerators;
+        SortedSet<SqlGenerator> result = Collections.unmodifiableSortedSet(validGenerators);
+        if (!result.isEmpty()) {
+            //empty results are not cached: supports() may accept other instances of the same statement class
+            cache.generatorsByKey.put(key, result);
+        }
+        return result;
     }
 
     private Type[] getGenericInterfaces(Class<?> clazz) {
-        if(genericInterfacesCache.containsKey(clazz)) {
-            return genericInterfacesCache.get(clazz);
-        }
-        Type[] genericInterfaces = clazz.getGenericInterfaces();
-        genericInterfacesCache.put(clazz, genericInterfaces);
-        return genericInterfaces;
+        return genericInterfacesCache.computeIfAbsent(clazz, Class::getGenericInterfaces);
     }
 
     private Type getGenericSuperclass(Class<?> clazz) {
-        if(genericSuperClassCache.containsKey(clazz)) {
-            return genericSuperClassCache.get(clazz);
-        }
-        Type genericSuperclass = clazz.getGenericSuperclass();
-        genericSuperClassCache.put(clazz, genericSuperclass);
-        return genericSuperclass;
+        //Object and interfaces have no superclass, which is not cached because the map cannot hold null
+        return genericSuperClassCache.computeIfAbsent(clazz, Class::getGenericSuperclass);
     }
 
     private boolean isTypeEqual(Type aType, Class aClass) {
@@ -216,12 +223,26 @@ public class SqlGeneratorFactory {
     }
 
     public Sql[] generateSql(SqlStatement statement, Database database) {
+        SqlGenerationCache cache = Scope.getCurrentScope().get(SqlGenerationCache.SCOPE_KEY, SqlGenerationCache.class);
+        Object cacheKey = null;
+        if (cache != null) {
+            cacheKey = SqlGenerationCache.getKey(statement);
+            Sql[] cached = cache.get(cacheKey, database);
+            if (cached != null) {
+                return putSqlArrayInScope(cached);
+            }
+        }
+
         SqlGeneratorChain generatorChain = createGeneratorChain(statement, database);
         if (generatorChain == null) {
             throw new IllegalStateException("Cannot find generators for database " + database.getClass() + ", statement: " + statement
                     + ". Either Liquibase or the database platform does not support the type of statement being generated. Please check your database documentation for more information.");
         }
-        return putSqlArrayInScope(generatorChain.generateSql(statement, database));
+        Sql[] sql = generatorChain.generateSql(statement, database);
+        if (cacheKey != null && !generateStatementsVolatile(statement, database)) {
+            cache.put(cacheKey, database, sql);
+        }
+        return putSqlArrayInScope(sql);
     }
 
     /**
@@ -297,4 +318,46 @@ public class SqlGeneratorFactory {
         }
         return affectedObjects;
     }
+
+    private static final class GeneratorCache {
+        private final int generatorCount;
+        private final Map<GeneratorKey, SortedSet<SqlGenerator>> generatorsByKey = new ConcurrentHashMap<>();
+
+        private GeneratorCache(int generatorCount) {
+            this.generatorCount = generatorCount;
+        }
+    }
+
+    private static final class GeneratorKey {
+        private final Class<?> statementClass;
+        private final String databaseName;
+        private final int databaseMajorVersion;
+        private final int hashCode;
+
+        private GeneratorKey(Class<?> statementClass, String databaseName, int databaseMajorVersion) {
+            this.statementClass = statementClass;
+            this.databaseName = databaseName;
+            this.databaseMajorVersion = databaseMajorVersion;
+            this.hashCode = Objects.hash(statementClass, databaseName, databaseMajorVersion);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof GeneratorKey)) {
+                return false;
+            }
+            GeneratorKey that = (GeneratorKey) o;
+            return databaseMajorVersion == that.databaseMajorVersion
+                    && statementClass == that.statementClass
+                    && Objects.equals(databaseName, that.databaseName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
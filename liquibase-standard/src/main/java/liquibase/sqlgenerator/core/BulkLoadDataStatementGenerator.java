@@ -0,0 +1,22 @@
+package liquibase.sqlgenerator.core;
+
+import liquibase.database.Database;
+import liquibase.exception.ValidationErrors;
+import liquibase.sql.Sql;
+import liquibase.sqlgenerator.SqlGeneratorChain;
+import liquibase.statement.BulkLoadDataStatement;
+
+/**
+ * Dummy SQL generator for {@link liquibase.statement.BulkLoadDataStatement}
+ */
+public class BulkLoadDataStatementGenerator extends AbstractSqlGenerator<BulkLoadDataStatement> {
+    @Override
+    public ValidationErrors validate(BulkLoadDataStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return new ValidationErrors();
+    }
+
+    @Override
+    public Sql[] generateSql(BulkLoadDataStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+        return EMPTY_SQL;
+    }
+}
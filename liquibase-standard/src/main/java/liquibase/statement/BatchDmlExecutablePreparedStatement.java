@@ -5,10 +5,12 @@ import liquibase.change.ColumnConfig;
 import liquibase.change.core.LoadDataColumnConfig;
 import liquibase.changelog.ChangeSet;
 import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
 import liquibase.exception.DatabaseException;
 import liquibase.logging.Logger;
 import liquibase.resource.ResourceAccessor;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -24,15 +26,46 @@ import java.util.List;
  */
 public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedStatementBase {
     private final List<ExecutablePreparedStatementBase> collectedStatements;
+    private final int batchSize;
+    private final int commitInterval;
     private final Logger LOG = Scope.getCurrentScope().getLog(getClass());
 
+    private int executedOperations;
+    private long confirmedUpdates;
+    private int uncommittedOperations;
+    private Connection restoreAutoCommitOn;
+
     public BatchDmlExecutablePreparedStatement(
             Database database, String catalogName, String schemaName, String tableName,
             List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
             List<ExecutablePreparedStatementBase> statements) {
+        this(database, catalogName, schemaName, tableName, columns, changeSet, resourceAccessor, statements, 0, 0);
+    }
+
+    /**
+     * @param batchSize      maximum number of rows sent per {@link java.sql.Statement#executeBatch()} call, or 0 to send
+     *                       all collected statements as a single batch
+     * @param commitInterval if greater than 0 and the changeset does not run in a transaction, auto-commit is turned off
+     *                       while the batch runs and a commit is issued every time at least this many rows have been
+     *                       sent, instead of committing every statement
+     */
+    public BatchDmlExecutablePreparedStatement(
+            Database database, String catalogName, String schemaName, String tableName,
+            List<LoadDataColumnConfig> columns, ChangeSet changeSet, ResourceAccessor resourceAccessor,
+            List<ExecutablePreparedStatementBase> statements, int batchSize, int commitInterval) {
         super(database, catalogName, schemaName, tableName, new ArrayList<ColumnConfig>(columns), changeSet,
             resourceAccessor);
         this.collectedStatements = new ArrayList<>(statements);
+        this.batchSize = Math.max(0, batchSize);
+        this.commitInterval = Math.max(0, commitInterval);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getCommitInterval() {
+        return commitInterval;
     }
 
     /**
@@ -46,9 +79,26 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
     @Override
     protected void attachParams(List<? extends ColumnConfig> ignored, PreparedStatement stmt)
             throws SQLException, DatabaseException {
+        executedOperations = 0;
+        confirmedUpdates = 0;
+        uncommittedOperations = 0;
+
+        Connection connection = stmt.getConnection();
+        if (commitInterval > 0 && getChangeSet() != null && !getChangeSet().isRunInTransaction()
+                && connection.getAutoCommit()) {
+            connection.setAutoCommit(false);
+            restoreAutoCommitOn = connection;
+        }
+
+        int pendingOperations = 0;
         for (ExecutablePreparedStatementBase insertStatement : collectedStatements) {
             super.attachParams(insertStatement.getColumns(), stmt);
             stmt.addBatch();
+            pendingOperations++;
+            if (batchSize > 0 && pendingOperations >= batchSize) {
+                flushBatch(stmt);
+                pendingOperations = 0;
+            }
         }
     }
 
@@ -59,15 +109,47 @@ public class BatchDmlExecutablePreparedStatement extends ExecutablePreparedState
         return collectedStatements.get(0).generateSql(cols);
     }
 
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        try {
+            super.execute(factory);
+        } finally {
+            if (restoreAutoCommitOn != null) {
+                try {
+                    restoreAutoCommitOn.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LOG.warning("Could not restore auto-commit after JDBC DML batch: " + e.getMessage(), e);
+                }
+                restoreAutoCommitOn = null;
+            }
+        }
+    }
+
     @Override
     protected void executePreparedStatement(PreparedStatement stmt) throws SQLException {
+        flushBatch(stmt);
+        if (restoreAutoCommitOn != null && uncommittedOperations > 0) {
+            restoreAutoCommitOn.commit();
+            uncommittedOperations = 0;
+        }
+        LOG.info(String.format("Executing JDBC DML batch was successful. %d operations were executed, %d individual UPDATE events were confirmed by the database.",
+                executedOperations, confirmedUpdates));
+    }
+
+    private void flushBatch(PreparedStatement stmt) throws SQLException {
         int[] updateCounts = stmt.executeBatch();
-        long sumUpdateCounts = 0;
         for (int updateCount : updateCounts) {
-            sumUpdateCounts = updateCount;
+            if (updateCount > 0) {
+                confirmedUpdates += updateCount;
+            }
+        }
+        executedOperations += updateCounts.length;
+        uncommittedOperations += updateCounts.length;
+
+        if (restoreAutoCommitOn != null && uncommittedOperations >= commitInterval) {
+            restoreAutoCommitOn.commit();
+            uncommittedOperations = 0;
         }
-        LOG.info(String.format("Executing JDBC DML batch was successful. %d operations were executed, %d individual UPDATE events were confirmed by the database.",
-                updateCounts.length, sumUpdateCounts));
     }
 
     @Override
@@ -0,0 +1,42 @@
+package liquibase.statement;
+
+import liquibase.change.core.LoadDataChange;
+import liquibase.database.Database;
+import liquibase.database.PreparedStatementFactory;
+import liquibase.exception.DatabaseException;
+import liquibase.loaddata.BulkLoader;
+
+/**
+ * Loads the file of a {@link LoadDataChange} through a database-native {@link BulkLoader} when executed.
+ * The rows are read from the file at execution time, so this statement does not hold any data itself.
+ */
+public class BulkLoadDataStatement extends AbstractSqlStatement implements ExecutablePreparedStatement {
+
+    private final LoadDataChange change;
+    private final BulkLoader bulkLoader;
+    private final Database database;
+
+    public BulkLoadDataStatement(LoadDataChange change, BulkLoader bulkLoader, Database database) {
+        this.change = change;
+        this.bulkLoader = bulkLoader;
+        this.database = database;
+    }
+
+    public LoadDataChange getChange() {
+        return change;
+    }
+
+    public BulkLoader getBulkLoader() {
+        return bulkLoader;
+    }
+
+    @Override
+    public void execute(PreparedStatementFactory factory) throws DatabaseException {
+        change.executeBulkLoad(bulkLoader, database);
+    }
+
+    @Override
+    public String toString() {
+        return "Bulk load of " + change.getFile() + " into " + change.getTableName() + " using " + bulkLoader.getClass().getSimpleName();
+    }
+}
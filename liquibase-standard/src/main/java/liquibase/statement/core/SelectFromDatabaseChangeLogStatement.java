@@ -98,4 +98,34 @@ public class SelectFromDatabaseChangeLogStatement extends AbstractSqlStatement {
         }
     }
 
+    @Getter
+    public static class ByOrderExecutedGreaterThan implements WhereClause {
+
+        private final int orderExecuted;
+
+        public ByOrderExecutedGreaterThan(int orderExecuted) {
+            this.orderExecuted = orderExecuted;
+        }
+
+        @Override
+        public String generateSql(Database database) {
+            return String.format(" WHERE %s > %d", database.escapeColumnName(null, null, null, "ORDEREXECUTED"), getOrderExecuted());
+        }
+    }
+
+    @Getter
+    public static class ByOrderExecutedNotGreaterThan implements WhereClause {
+
+        private final int orderExecuted;
+
+        public ByOrderExecutedNotGreaterThan(int orderExecuted) {
+            this.orderExecuted = orderExecuted;
+        }
+
+        @Override
+        public String generateSql(Database database) {
+            return String.format(" WHERE %s <= %d", database.escapeColumnName(null, null, null, "ORDEREXECUTED"), getOrderExecuted());
+        }
+    }
+
 }
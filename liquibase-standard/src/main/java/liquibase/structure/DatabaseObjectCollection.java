@@ -79,7 +79,7 @@ public class DatabaseObjectCollection implements LiquibaseSerializable {
         String[] hashes = DatabaseObjectComparatorFactory.getInstance().hash(databaseObject, null, database);
 
         for (String hash : hashes) {
-            Set<DatabaseObject> collection = collectionMap.computeIfAbsent(hash, k -> new HashSet<>());
+            Set<DatabaseObject> collection = collectionMap.computeIfAbsent(hash, k -> ConcurrentHashMap.newKeySet());
             collection.add(databaseObject);
         }
     }
@@ -96,23 +96,21 @@ public class DatabaseObjectCollection implements LiquibaseSerializable {
 
         String[] hashes = DatabaseObjectComparatorFactory.getInstance().hash(example, null, database);
 
-        SortedSet<Set<DatabaseObject>> objectSets = new TreeSet<>((o1, o2) -> {
-            int sizeComparison = Integer.compare(o1.size(), o2.size());
-            if (sizeComparison == 0) {
-                return o1.toString().compareTo(o2.toString());
-            }
-            return sizeComparison;
-        });
-
-        for (String hash : hashes) {
+        List<Map.Entry<String, Set<DatabaseObject>>> objectSets = new ArrayList<>(hashes.length);
+        for (String hash : new LinkedHashSet<>(Arrays.asList(hashes))) {
             Set<DatabaseObject> databaseObjects = databaseObjectsByHash.get(hash);
             if (databaseObjects != null) {
-                objectSets.add(databaseObjects);
+                objectSets.add(new AbstractMap.SimpleImmutableEntry<>(hash, databaseObjects));
             }
         }
+        if (objectSets.size() > 1) {
+            // search the smallest sets first. Ties are ordered by hash, which is much cheaper than comparing Set.toString()
+            objectSets.sort(Comparator.comparingInt((Map.Entry<String, Set<DatabaseObject>> entry) -> entry.getValue().size())
+                    .thenComparing(Map.Entry::getKey));
+        }
 
-        for (Set<DatabaseObject> databaseObjects : objectSets) {
-            for (DatabaseObject obj : databaseObjects) {
+        for (Map.Entry<String, Set<DatabaseObject>> databaseObjects : objectSets) {
+            for (DatabaseObject obj : databaseObjects.getValue()) {
                 if (DatabaseObjectComparatorFactory.getInstance().isSameObject(obj, example, schemaComparisons, database)) {
                     //noinspection unchecked
                     return (DatabaseObjectType) obj;
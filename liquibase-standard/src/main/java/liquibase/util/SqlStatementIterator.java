@@ -0,0 +1,222 @@
+package liquibase.util;
+
+import liquibase.GlobalConfiguration;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Splits the clauses returned by {@link liquibase.parser.LiquibaseSqlParser#parseIncrementally} into statements for
+ * {@link StringUtil#processMultiLineSQL(String, boolean, boolean, String, liquibase.changelog.ChangeSet)} and
+ * {@link StringUtil#streamMultiLineSQL(java.io.Reader, boolean, boolean, String, liquibase.changelog.ChangeSet)}.
+ * <p>
+ * This is a single pass over the clauses. Delimiters spanning several clauses are merged as they are read, and each
+ * clause learns the next non-blank clause once that is read, so runs of blank clauses are never scanned again.
+ * BEGIN and END are counted as they are passed. Clauses are only pulled from the source as statements are requested,
+ * and only the clauses up to the next non-blank clause are buffered, so the memory needed is bounded by the size of
+ * the current statement.
+ */
+class SqlStatementIterator implements Iterator<String> {
+
+    private final Iterator<String> clauses;
+    private final boolean splitStatements;
+    private final String endDelimiter;
+    private final boolean strict;
+    private final Pattern endDelimiterPattern;
+
+    /**
+     * Clauses that may be the start of a delimiter spanning several clauses, like "//"
+     */
+    private final List<String> possibleMerge = new ArrayList<>();
+    private final StringBuilder possibleMergeString = new StringBuilder();
+
+    /**
+     * Merged clauses not processed yet. Each knows the next non-blank clause after it once that has been read.
+     */
+    private final Deque<PendingClause> pending = new ArrayDeque<>();
+    private NextNonBlankClause currentNextNonBlank = new NextNonBlankClause();
+    private boolean sourceExhausted;
+
+    private StringBuilder currentString = new StringBuilder();
+    private String previousPiece;
+    private boolean previousDelimiter;
+    private int isInClause;
+
+    private String next;
+    private boolean done;
+
+    SqlStatementIterator(Iterator<String> clauses, boolean splitStatements, String endDelimiter) {
+        this.clauses = clauses;
+        this.splitStatements = splitStatements;
+        this.endDelimiter = endDelimiter;
+        this.strict = Boolean.TRUE.equals(GlobalConfiguration.STRICT.getCurrentValue());
+        this.endDelimiterPattern = compileEndDelimiterPattern(endDelimiter);
+    }
+
+    /**
+     * Returns null if the endDelimiter is not a valid pattern, so the error is reported where the pattern is used.
+     */
+    private static Pattern compileEndDelimiterPattern(String endDelimiter) {
+        if (endDelimiter == null || endDelimiter.length() <= 1) {
+            return null;
+        }
+        try {
+            return StringUtil.getEndDelimiterPattern(endDelimiter);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && !done) {
+            PendingClause piece = nextPendingClause();
+            if (piece == null) {
+                String trimmedString = StringUtils.trimToNull(currentString.toString());
+                if (trimmedString != null) {
+                    next = trimmedString;
+                }
+                currentString = null;
+                done = true;
+            } else {
+                processPiece(piece.value, piece.nextNonBlank.value);
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String returnValue = next;
+        next = null;
+        return returnValue;
+    }
+
+    /**
+     * Returns the next merged clause once the non-blank clause following it has been read, or null at the end.
+     */
+    private PendingClause nextPendingClause() {
+        while (!sourceExhausted && (pending.isEmpty() || pending.peekFirst().nextNonBlank.value == null)) {
+            if (clauses.hasNext()) {
+                merge(clauses.next());
+            } else {
+                // a trailing partial delimiter is dropped
+                sourceExhausted = true;
+            }
+        }
+        return pending.pollFirst();
+    }
+
+    /**
+     * Delimiters like "//" may span multiple clauses. Look for them and combine them.
+     */
+    private void merge(String clause) {
+        if (endDelimiter == null) {
+            addPending(clause);
+        } else if (possibleMerge.isEmpty()) {
+            if (endDelimiter.startsWith(clause)) {
+                possibleMerge.add(clause);
+                possibleMergeString.append(clause);
+            } else {
+                addPending(clause);
+            }
+        } else {
+            possibleMergeString.append(clause);
+            String merged = possibleMergeString.toString();
+            if (endDelimiter.equals(merged)) {
+                addPending(merged);
+                clearPossibleMerge();
+            } else if (endDelimiter.startsWith(merged)) {
+                possibleMerge.add(clause);
+            } else {
+                for (String mergeClause : possibleMerge) {
+                    addPending(mergeClause);
+                }
+                addPending(clause);
+                clearPossibleMerge();
+            }
+        }
+    }
+
+    private void clearPossibleMerge() {
+        possibleMerge.clear();
+        possibleMergeString.setLength(0);
+    }
+
+    private void addPending(String clause) {
+        String trimmed = StringUtils.trimToNull(clause);
+        if (trimmed != null) {
+            currentNextNonBlank.value = trimmed;
+            currentNextNonBlank = new NextNonBlankClause();
+        }
+        pending.addLast(new PendingClause(clause, currentNextNonBlank));
+    }
+
+    private void processPiece(String piece, String nextPiece) {
+        if (piece.equalsIgnoreCase("BEGIN")
+                && (!"transaction".equalsIgnoreCase(nextPiece)
+                && !"trans".equalsIgnoreCase(nextPiece)
+                && !"tran".equalsIgnoreCase(nextPiece))
+                && !"dialog".equalsIgnoreCase(nextPiece)
+                && !"conversation".equalsIgnoreCase(nextPiece)
+                && !"distributed".equalsIgnoreCase(nextPiece)) {
+            isInClause++;
+        }
+        if (piece.equalsIgnoreCase("END") && isInClause > 0
+                && (!"transaction".equalsIgnoreCase(nextPiece)
+                && !"trans".equalsIgnoreCase(nextPiece)
+                && !"tran".equalsIgnoreCase(nextPiece))) {
+            isInClause--;
+        }
+
+        if (isInClause == 0 && splitStatements && StringUtil.isDelimiter(piece, previousPiece, endDelimiter, strict, endDelimiterPattern)) {
+            String trimmedString;
+            if (strict) {
+                String sentenceWithoutDelimiter = StringUtil.removeEndDelimiterIfItsASlash(endDelimiter, currentString);
+                trimmedString = sentenceWithoutDelimiter.isEmpty() ? StringUtils.trimToNull(currentString.toString()) : StringUtils.trimToNull(sentenceWithoutDelimiter);
+            } else {
+                trimmedString = StringUtils.trimToNull(currentString.toString());
+            }
+            if (trimmedString != null) {
+                next = trimmedString;
+            }
+            currentString = new StringBuilder();
+            previousDelimiter = true;
+        } else {
+            if (!previousDelimiter || (StringUtils.trimToNull(piece) != null)) { //don't include whitespace after a delimiter
+                if ((currentString.length() > 0) || (StringUtils.trimToNull(piece) != null)) { //don't include whitespace before the statement
+                    currentString.append(piece);
+                }
+            }
+            previousDelimiter = false;
+        }
+        previousPiece = piece;
+    }
+
+    private static class PendingClause {
+        private final String value;
+        private final NextNonBlankClause nextNonBlank;
+
+        private PendingClause(String value, NextNonBlankClause nextNonBlank) {
+            this.value = value;
+            this.nextNonBlank = nextNonBlank;
+        }
+    }
+
+    /**
+     * Shared by all pending clauses up to and including the next non-blank one, and set once that one is read.
+     */
+    private static class NextNonBlankClause {
+        private String value;
+    }
+}
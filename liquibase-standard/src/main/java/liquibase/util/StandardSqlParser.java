@@ -9,7 +9,12 @@ import liquibase.parser.LiquibaseSqlParser;
 import liquibase.util.grammar.*;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -38,16 +43,9 @@ public class StandardSqlParser implements LiquibaseSqlParser {
                     if (preserveWhitespace) {
                         clauses.append(new StringClauses.Whitespace(token.image));
                     }
-                } else if ((token.kind == SimpleSqlGrammarConstants.LINE_COMMENT) || (token.kind ==
-                        SimpleSqlGrammarConstants.MULTI_LINE_COMMENT)) {
+                } else if (isComment(token)) {
                     if (preserveComments) {
-                        String comment = token.image;
-                        if (!preserveWhitespace && (token.kind == SimpleSqlGrammarConstants.LINE_COMMENT)) {
-                            if (!comment.endsWith("\n")) {
-                                comment = comment + "\n";
-                            }
-                        }
-                        clauses.append(new StringClauses.Comment(comment));
+                        clauses.append(new StringClauses.Comment(getComment(token, preserveWhitespace)));
                     }
                 } else {
                     clauses.append(token.image);
@@ -55,17 +53,91 @@ public class StandardSqlParser implements LiquibaseSqlParser {
                 token = t.getNextToken();
             }
         } catch (Throwable e) {
-            if (changeSet != null) {
-                Change change = Scope.getCurrentScope().get(ChangeSet.CHANGE_KEY, Change.class);
-                String message = enhanceExceptionMessage(changeSet, change, e);
-                throw new UnexpectedLiquibaseException(message, e);
-            } else {
-                throw new UnexpectedLiquibaseException(e);
-            }
+            throw createParseException(changeSet, e);
         }
         return clauses;
     }
 
+    /**
+     * Reads tokens from the reader only as the returned iterator is advanced.
+     * The grammar keeps no more than the current token in memory, so the size of the SQL is not limited by the heap.
+     */
+    @Override
+    public Iterator<String> parseIncrementally(Reader sqlReader, boolean preserveWhitespace, boolean preserveComments, ChangeSet changeSet) {
+        ErrorRecordingReader reader = new ErrorRecordingReader(sqlReader);
+        SimpleSqlGrammarTokenManager tokenManager = new SimpleSqlGrammarTokenManager(new SimpleCharStream(reader));
+
+        return new Iterator<String>() {
+            private String next;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && !done) {
+                    Token token;
+                    try {
+                        token = tokenManager.getNextToken();
+                    } catch (Throwable e) {
+                        done = true;
+                        throw createParseException(changeSet, e);
+                    }
+                    if (token == null || token.toString().isEmpty()) {
+                        done = true;
+                        if (reader.error != null) {
+                            // the grammar treats a failed read as the end of the SQL
+                            throw new UnexpectedLiquibaseException(reader.error);
+                        }
+                    } else if (token.kind == SimpleSqlGrammarConstants.WHITESPACE) {
+                        if (preserveWhitespace) {
+                            next = token.image;
+                        }
+                    } else if (isComment(token)) {
+                        if (preserveComments) {
+                            next = getComment(token, preserveWhitespace);
+                        }
+                    } else {
+                        next = token.image.trim();
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String returnValue = next;
+                next = null;
+                return returnValue;
+            }
+        };
+    }
+
+    private static boolean isComment(Token token) {
+        return (token.kind == SimpleSqlGrammarConstants.LINE_COMMENT) || (token.kind == SimpleSqlGrammarConstants.MULTI_LINE_COMMENT);
+    }
+
+    private static String getComment(Token token, boolean preserveWhitespace) {
+        String comment = token.image;
+        if (!preserveWhitespace && (token.kind == SimpleSqlGrammarConstants.LINE_COMMENT)) {
+            if (!comment.endsWith("\n")) {
+                comment = comment + "\n";
+            }
+        }
+        return comment;
+    }
+
+    private static UnexpectedLiquibaseException createParseException(ChangeSet changeSet, Throwable e) {
+        if (changeSet != null) {
+            Change change = Scope.getCurrentScope().get(ChangeSet.CHANGE_KEY, Change.class);
+            String message = enhanceExceptionMessage(changeSet, change, e);
+            return new UnexpectedLiquibaseException(message, e);
+        } else {
+            return new UnexpectedLiquibaseException(e);
+        }
+    }
+
     /**
      *
      * If this is a RawSQLChange, then add information about the real position of the SQL in the
@@ -108,4 +180,33 @@ public class StandardSqlParser implements LiquibaseSqlParser {
     public int getPriority() {
         return PRIORITY_DEFAULT;
     }
+
+    /**
+     * Keeps the exception of a failed read, which the grammar would otherwise take as the end of the SQL.
+     * The grammar closes the reader at the end and may read from it once more, which is not an error.
+     */
+    private static class ErrorRecordingReader extends FilterReader {
+        private IOException error;
+        private boolean endReached;
+
+        ErrorRecordingReader(Reader in) {
+            super(in);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            try {
+                int read = super.read(buffer, offset, length);
+                if (read == -1) {
+                    endReached = true;
+                }
+                return read;
+            } catch (IOException e) {
+                if (!endReached) {
+                    error = e;
+                }
+                throw e;
+            }
+        }
+    }
 }
@@ -2,8 +2,6 @@ package liquibase.util;
 
 import org.apache.commons.lang3.StringUtils;
 
-import java.math.BigInteger;
-import java.security.SecureRandom;
 import java.util.*;
 
 /**
@@ -12,15 +10,32 @@ import java.util.*;
  * <br>
  * Note: all keys and values passed in are trimmed.<br>
  * NOTE: All keys are managed in a case INSENSITIVE manner<br>
- * NOTE: Null or empty clauses and subclauses are skipped in {@link #toString()}
+ * NOTE: Null or empty clauses and subclauses are skipped in {@link #toString()}<br>
+ * The clauses are kept in arrays in order. Clauses appended with {@link #append(String)}, like the tokens of a parsed
+ * SQL statement, use their value as key only if no earlier clause has that key. Which ones do is worked out the first
+ * time a key is looked up, so building a long list of clauses needs no key lookups.
  */
 public class StringClauses {
 
+    private static final int INITIAL_CAPACITY = 8;
+
     private final String separator;
     private final String start;
     private final String end;
-    private final Random random = new SecureRandom();
-    private LinkedHashMap<String, Object> clauses = new LinkedHashMap<>();
+
+    /**
+     * Lower case key of each clause, or null if it can only be reached by position.
+     */
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Position of each key, built when first needed and dropped when clauses are inserted or removed before the end.
+     * While it is not built, keys set by {@link #append(String)} may repeat earlier keys; the later ones lose their key
+     * when it is built.
+     */
+    private Map<String, Integer> index;
 
     /**
      * Creates a new StringClause with no start or end strings and a space separator.
@@ -55,39 +70,92 @@ public class StringClauses {
         this.separator = separator;
     }
 
+    private Map<String, Integer> getIndex() {
+        if (index == null) {
+            Map<String, Integer> newIndex = new HashMap<>();
+            for (int i = 0; i < size; i++) {
+                if (keys[i] != null && newIndex.putIfAbsent(keys[i], i) != null) {
+                    keys[i] = null;
+                }
+            }
+            index = newIndex;
+        }
+        return index;
+    }
+
+    private int indexOf(String key) {
+        Integer position = getIndex().get(key);
+        return (position == null) ? -1 : position;
+    }
+
     /**
-     * Returns the key if it is not empty and/or not already used. If it is already used, it generates a random value for the key.
+     * Returns the lower case version of the key if it is not empty and not already used, otherwise null.
      */
     private String uniqueKey(String key) {
-        boolean generateOne = false;
-
         key = StringUtils.trimToNull(key);
         if (key == null) {
-            generateOne = true;
-        } else if (clauses.containsKey(key.toLowerCase())) {
-            generateOne = true;
+            return null;
         }
+        key = key.toLowerCase();
+        if (getIndex().containsKey(key)) {
+            return null;
+        }
+        return key;
+    }
 
-        while (generateOne) {
-            key = StringUtils.leftPad(new BigInteger(50, random).toString(32), 6).replace(" ", "0").substring(0,6);
-            generateOne = clauses.containsKey(key);
+    private String validateNewKey(String key) {
+        Validate.notNull(StringUtils.trimToNull(key), "key must be a non-null, non-empty value");
+
+        key = StringUtils.trimToEmpty(key).toLowerCase();
+        if (getIndex().containsKey(key)) {
+            throw new IllegalArgumentException("Cannot add clause with key '" + key + "' because it is already defined");
         }
         return key;
     }
 
+    /**
+     * Inserts the clause at the given position. The key must be unique unless the index is not built and the clause is
+     * added at the end.
+     */
+    private void insertAt(int position, String key, Object clause) {
+        if (size == values.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        if (position < size) {
+            System.arraycopy(keys, position, keys, position + 1, size - position);
+            System.arraycopy(values, position, values, position + 1, size - position);
+            index = null;
+        } else if (index != null && key != null) {
+            if (index.containsKey(key)) {
+                key = null;
+            } else {
+                index.put(key, position);
+            }
+        }
+        keys[position] = key;
+        values[position] = clause;
+        size++;
+    }
+
+    private void removeAt(int position) {
+        getIndex();
+        System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+        System.arraycopy(values, position + 1, values, position, size - position - 1);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        index = null;
+    }
+
     /**
      * Adds a new clause at the end of the list with the given key.
      */
     public StringClauses append(String key, String clause) {
-        Validate.notNull(StringUtils.trimToNull(key), "key must be a non-null, non-empty value");
-
-        key = StringUtils.trimToEmpty(key).toLowerCase();
+        key = validateNewKey(key);
         clause = StringUtils.trimToEmpty(clause);
 
-        if (clauses.containsKey(key)) {
-            throw new IllegalArgumentException("Cannot add clause with key '" + key + "' because it is already defined");
-        }
-        clauses.put(key, clause.trim());
+        insertAt(size, key, clause.trim());
         return this;
     }
 
@@ -95,15 +163,9 @@ public class StringClauses {
      * Adds a new sub-clause at the end of the list with the given key.
      */
     public StringClauses append(String key, StringClauses subclauses) {
-        Validate.notNull(StringUtils.trimToNull(key), "key must be a non-null, non-empty value");
-
-        key = StringUtils.trimToEmpty(key).toLowerCase();
-
-        if (clauses.containsKey(key)) {
-            throw new IllegalArgumentException("Cannot add clause with key '" + key + "' because it is already defined");
-        }
+        key = validateNewKey(key);
 
-        clauses.put(key, subclauses);
+        insertAt(size, key, subclauses);
         return this;
     }
 
@@ -112,7 +174,9 @@ public class StringClauses {
      * There is no corresponding append with just a StringClauses because the subclause may not be fully created when appended and so the key may be an unexpected value.
      */
     public StringClauses append(String clause) {
-        return this.append(uniqueKey(clause), clause);
+        String trimmed = StringUtils.trimToEmpty(clause);
+        insertAt(size, trimmed.isEmpty() ? null : trimmed.toLowerCase(), trimmed);
+        return this;
     }
 
     /**
@@ -131,17 +195,14 @@ public class StringClauses {
 
     public StringClauses append(LiteralClause literal) {
         if (literal != null) {
-            clauses.put(literal.getClass().getName().toLowerCase() + " #" + clauses.size(), literal);
+            insertAt(size, null, literal);
         }
         return this;
     }
 
     public StringClauses prepend(LiteralClause literal) {
         if (literal != null) {
-            LinkedHashMap<String, Object> newMap = new LinkedHashMap<>();
-            newMap.put(uniqueKey(literal.getClass().getName().toLowerCase()), literal);
-            newMap.putAll(this.clauses);
-            this.clauses = newMap;
+            insertAt(0, null, literal);
         }
         return this;
     }
@@ -167,7 +228,12 @@ public class StringClauses {
         if (StringUtils.trimToNull(clause) == null) {
             return prepend(new Whitespace(clause));
         }
-        return prepend(uniqueKey(clause), clause);
+        String key = uniqueKey(clause);
+        if (key == null) {
+            insertAt(0, null, StringUtils.trimToEmpty(clause));
+            return this;
+        }
+        return prepend(key, clause);
     }
 
     /**
@@ -186,18 +252,9 @@ public class StringClauses {
 
 
     private StringClauses prependImpl(String key, Object clause) throws IllegalArgumentException {
-        Validate.notNull(StringUtils.trimToNull(key), "key must be a non-null, non-empty value");
+        key = validateNewKey(key);
 
-        key = StringUtils.trimToEmpty(key).toLowerCase();
-
-        if (clauses.containsKey(key)) {
-            throw new IllegalArgumentException("Cannot add clause with key '" + key + "' because it is already defined");
-        }
-
-        LinkedHashMap<String, Object> newMap = new LinkedHashMap<>();
-        newMap.put(key, clause);
-        newMap.putAll(this.clauses);
-        this.clauses = newMap;
+        insertAt(0, key, clause);
 
         return this;
     }
@@ -207,7 +264,10 @@ public class StringClauses {
      * Removes the clause with the given key. Removes case insensitively. If key doesn't exist, operation is a no-op.
      */
     public StringClauses remove(String key) {
-        clauses.remove(key.toLowerCase());
+        int position = indexOf(key.toLowerCase());
+        if (position >= 0) {
+            removeAt(position);
+        }
         return this;
     }
 
@@ -227,7 +287,7 @@ public class StringClauses {
     }
 
     public boolean contains(String key) {
-        return clauses.containsKey(key.toLowerCase());
+        return getIndex().containsKey(key.toLowerCase());
     }
 
     /**
@@ -254,18 +314,11 @@ public class StringClauses {
 
     private StringClauses replaceImpl(String key, Object newValue) {
         key = StringUtils.trimToEmpty(key).toLowerCase();
-        if (!clauses.containsKey(key)) {
+        int position = indexOf(key);
+        if (position < 0) {
             throw new IllegalArgumentException("Key '" + key + "' is not defined");
         }
-        LinkedHashMap<String, Object> newMap = new LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : clauses.entrySet()) {
-            if (entry.getKey().equals(key)) {
-                newMap.put(key, newValue);
-            } else {
-                newMap.put(entry.getKey(), entry.getValue());
-            }
-        }
-        this.clauses = newMap;
+        values[position] = newValue;
 
         return this;
     }
@@ -312,25 +365,19 @@ public class StringClauses {
         existingKey = StringUtils.trimToEmpty(existingKey).toLowerCase();
         newKey = StringUtils.trimToEmpty(newKey).toLowerCase();
 
-        if (!clauses.containsKey(existingKey)) {
+        int position = indexOf(existingKey);
+        if (position < 0) {
             throw new IllegalArgumentException("Existing key '" + existingKey + "' does not exist");
         }
         if (newKey.isEmpty()) {
             throw new IllegalArgumentException("New key cannot be null or empty");
         }
 
-        if (clauses.containsKey(newKey)) {
+        if (getIndex().containsKey(newKey)) {
             throw new IllegalArgumentException("Cannot add clause with key '" + newKey + "' because it is already defined");
         }
 
-        LinkedHashMap<String, Object> newMap = new LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : clauses.entrySet()) {
-            if (entry.getKey().equals(existingKey)) {
-                newMap.put(newKey, newValue);
-            }
-            newMap.put(entry.getKey(), entry.getValue());
-        }
-        this.clauses = newMap;
+        insertAt(position, newKey, newValue);
 
         return this;
     }
@@ -369,21 +416,15 @@ public class StringClauses {
         existingKey = StringUtils.trimToEmpty(existingKey).toLowerCase();
         newKey = StringUtils.trimToEmpty(newKey).toLowerCase();
 
-        if (!clauses.containsKey(existingKey)) {
+        int position = indexOf(existingKey);
+        if (position < 0) {
             throw new IllegalArgumentException("Existing key '" + existingKey + "' does not exist");
         }
-        if (clauses.containsKey(newKey)) {
+        if (getIndex().containsKey(newKey)) {
             throw new IllegalArgumentException("Cannot add clause with key '" + newKey + "' because it is already defined");
         }
 
-        LinkedHashMap<String, Object> newMap = new LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : clauses.entrySet()) {
-            newMap.put(entry.getKey(), entry.getValue());
-            if (entry.getKey().equals(existingKey)) {
-                newMap.put(newKey, newValue);
-            }
-        }
-        this.clauses = newMap;
+        insertAt(position + 1, newKey, newValue);
 
         return this;
     }
@@ -403,11 +444,12 @@ public class StringClauses {
     }
 
     private Object getImpl(String exitingKey) {
-        Object o = this.clauses.get(exitingKey);
+        int position = indexOf(exitingKey);
+        Object o = (position < 0) ? null : values[position];
         if (o == null) {
-            for (Object obj : this.clauses.values()) {
-                if (obj instanceof StringClauses) {
-                    Object childObj = ((StringClauses) obj).getImpl(exitingKey);
+            for (int i = 0; i < size; i++) {
+                if (values[i] instanceof StringClauses) {
+                    Object childObj = ((StringClauses) values[i]).getImpl(exitingKey);
                     if (childObj != null) {
                         return childObj;
                     }
@@ -447,7 +489,7 @@ public class StringClauses {
     }
 
     public ClauseIterator getClauseIterator() {
-        return new ClauseIterator(clauses);
+        return new ClauseIterator(this);
     }
 
     @Override
@@ -455,37 +497,59 @@ public class StringClauses {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         StringClauses that = (StringClauses) o;
-        return Objects.equals(separator, that.separator) && Objects.equals(start, that.start) && Objects.equals(end, that.end) && Objects.equals(clauses, that.clauses);
+        if (!Objects.equals(separator, that.separator) || !Objects.equals(start, that.start) || !Objects.equals(end, that.end) || size != that.size) {
+            return false;
+        }
+        getIndex();
+        that.getIndex();
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(keys[i], that.keys[i]) || !Objects.equals(values[i], that.values[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(separator, start, end, clauses);
+        getIndex();
+        int result = Objects.hash(separator, start, end);
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + Objects.hashCode(keys[i]);
+            result = 31 * result + Objects.hashCode(values[i]);
+        }
+        return result;
     }
 
     @Override
     public String toString() {
-        if (clauses.isEmpty()) {
+        if (size == 0) {
             return "";
         }
 
-        List<Object> finalList = new ArrayList<>(clauses.values());
-        finalList.removeIf(next -> StringUtils.isEmpty(next.toString()));
-
-        return start
-                + StringUtil.join(finalList, separator, new StringUtil.ToStringFormatter())
-                + end;
+        StringBuilder returnString = new StringBuilder(start);
+        boolean first = true;
+        for (int i = 0; i < size; i++) {
+            String value = values[i].toString();
+            if (!value.isEmpty()) {
+                if (!first) {
+                    returnString.append(separator);
+                }
+                returnString.append(value);
+                first = false;
+            }
+        }
+        return returnString.append(end).toString();
     }
 
     public Object[] toArray(boolean stringify) {
-        Object[] returnArray = new Object[clauses.size()];
-        ArrayList<Object> currentValues = new ArrayList<>(clauses.values());
+        Object[] returnArray = new Object[size];
 
-        for (int i=0; i<currentValues.size(); i++) {
+        for (int i=0; i<size; i++) {
             if (stringify) {
-                returnArray[i] = currentValues.get(i).toString();
+                returnArray[i] = values[i].toString();
             } else {
-                returnArray[i] = currentValues.get(i);
+                returnArray[i] = values[i];
             }
         }
 
@@ -493,11 +557,8 @@ public class StringClauses {
     }
 
     public boolean isEmpty() {
-        if (clauses.isEmpty()) {
-            return true;
-        }
-        for (Object clause : clauses.values()) {
-            if (!StringUtils.trimToEmpty(clause.toString()).isEmpty()) {
+        for (int i = 0; i < size; i++) {
+            if (!StringUtils.trimToEmpty(values[i].toString()).isEmpty()) {
                 return false;
             }
         }
@@ -549,28 +610,46 @@ public class StringClauses {
 
     public static class ClauseIterator implements Iterator {
 
-        private final LinkedHashMap<String, Object> clauses;
-        private final ListIterator<String> keyIterator;
+        private final StringClauses clauses;
+        private final LinkedHashMap<String, Object> legacyClauses;
+        private int nextPosition;
+        private int lastPosition = -1;
 
+        /**
+         * @deprecated use {@link StringClauses#getClauseIterator()}
+         */
+        @Deprecated
         public ClauseIterator(LinkedHashMap<String, Object> clauses) {
-            this.keyIterator = new ArrayList<>(clauses.keySet()).listIterator();
+            this.clauses = new StringClauses();
+            for (Map.Entry<String, Object> entry : clauses.entrySet()) {
+                this.clauses.insertAt(this.clauses.size, entry.getKey(), entry.getValue());
+            }
+            this.legacyClauses = clauses;
+        }
+
+        private ClauseIterator(StringClauses clauses) {
             this.clauses = clauses;
+            this.legacyClauses = null;
         }
 
         @Override
         public boolean hasNext() {
-            return keyIterator.hasNext();
+            return nextPosition < clauses.size;
         }
 
         @Override
         public Object next() {
-            return clauses.get(keyIterator.next());
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastPosition = nextPosition++;
+            return clauses.values[lastPosition];
         }
 
         public Object nextNonWhitespace() {
             Object next;
             while (hasNext()) {
-                next = clauses.get(keyIterator.next());
+                next = next();
                 if (!(next instanceof Whitespace) && !(next instanceof Comment)) {
                     return next;
                 }
@@ -580,15 +659,25 @@ public class StringClauses {
 
         @Override
         public void remove() {
-            clauses.remove(keyIterator.previous());
-            keyIterator.remove();
+            if (lastPosition < 0) {
+                throw new IllegalStateException();
+            }
+            if (legacyClauses != null) {
+                legacyClauses.remove(clauses.keys[lastPosition]);
+            }
+            clauses.removeAt(lastPosition);
+            nextPosition = lastPosition;
+            lastPosition = -1;
         }
 
         public void replace(Object newClause) {
-            keyIterator.previous();
-            String keyToReplace = keyIterator.next();
-
-            clauses.put(keyToReplace, newClause);
+            if (lastPosition < 0) {
+                throw new IllegalStateException();
+            }
+            if (legacyClauses != null) {
+                legacyClauses.put(clauses.keys[lastPosition], newClause);
+            }
+            clauses.values[lastPosition] = newClause;
         }
     }
 }
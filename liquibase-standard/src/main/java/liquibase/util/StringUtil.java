@@ -10,6 +10,8 @@ import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
@@ -68,77 +70,30 @@ public class StringUtil {
      * @param changeSet     the changeset associated with the sql being parsed
      */
     public static String[] processMultiLineSQL(String multiLineSQL, boolean stripComments, boolean splitStatements, String endDelimiter, ChangeSet changeSet) {
-
-        SqlParserFactory sqlParserFactory = Scope.getCurrentScope().getSingleton(SqlParserFactory.class);
-        LiquibaseSqlParser sqlParser = sqlParserFactory.getSqlParser();
-        StringClauses parsed = sqlParser.parse(multiLineSQL, true, !stripComments, changeSet);
-
         List<String> returnArray = new ArrayList<>();
-
-        StringBuilder currentString = new StringBuilder();
-        String previousPiece = null;
-        boolean previousDelimiter = false;
-        List<Object> parsedArray = Arrays.asList(parsed.toArray(true));
-        int isInClause = 0;
-        List<Object> tokens = mergeTokens(parsedArray, endDelimiter);
-        for (int i = 0; i < tokens.size(); i++) {
-            Object piece = tokens.get(i);
-            String nextPiece = null;
-            int nextIndex = i + 1;
-            while (nextPiece == null && nextIndex < tokens.size()) {
-                nextPiece = StringUtil.trimToNull(String.valueOf(tokens.get(nextIndex)));
-                nextIndex++;
-            }
-
-            if (piece instanceof String && ((String) piece).equalsIgnoreCase("BEGIN")
-                    && (!"transaction".equalsIgnoreCase(nextPiece)
-                    && !"trans".equalsIgnoreCase(nextPiece)
-                    && !"tran".equalsIgnoreCase(nextPiece))
-                    && !"dialog".equalsIgnoreCase(nextPiece)
-                    && !"conversation".equalsIgnoreCase(nextPiece)
-                    && !"distributed".equalsIgnoreCase(nextPiece)) {
-                isInClause++;
-            }
-            if (piece instanceof String && ((String) piece).equalsIgnoreCase("END") && isInClause > 0
-                    && (!"transaction".equalsIgnoreCase(nextPiece)
-                    && !"trans".equalsIgnoreCase(nextPiece)
-                    && !"tran".equalsIgnoreCase(nextPiece))) {
-                isInClause--;
-            }
-
-            if (isInClause == 0 && splitStatements && (piece instanceof String) && isDelimiter((String) piece, previousPiece, endDelimiter)) {
-                String trimmedString;
-                if (Boolean.TRUE.equals(GlobalConfiguration.STRICT.getCurrentValue())) {
-                    String sentenceWithoutDelimiter = removeEndDelimiterIfItsASlash(endDelimiter, currentString);
-                    trimmedString = sentenceWithoutDelimiter.isEmpty() ? StringUtils.trimToNull(currentString.toString()) : StringUtils.trimToNull(sentenceWithoutDelimiter);
-                } else {
-                    trimmedString = StringUtils.trimToNull(currentString.toString());
-                }
-                if (trimmedString != null) {
-                    returnArray.add(trimmedString);
-                }
-                currentString = new StringBuilder();
-                previousDelimiter = true;
-            } else {
-                if (!previousDelimiter || (StringUtils.trimToNull((String) piece) != null)) { //don't include whitespace after a delimiter
-                    if ((currentString.length() > 0) || (StringUtils.trimToNull((String) piece) != null)) { //don't include whitespace before the statement
-                        currentString.append(piece);
-                    }
-                }
-                previousDelimiter = false;
-            }
-            previousPiece = (String) piece;
-        }
-
-        String trimmedString = StringUtils.trimToNull(currentString.toString());
-        if (trimmedString != null) {
-            returnArray.add(trimmedString);
+        Iterator<String> statements = streamMultiLineSQL(new StringReader(multiLineSQL), stripComments, splitStatements, endDelimiter, changeSet);
+        while (statements.hasNext()) {
+            returnArray.add(statements.next());
         }
-
         return returnArray.toArray(new String[0]);
     }
 
-    private static String removeEndDelimiterIfItsASlash(String endDelimiter, StringBuilder currentString) {
+    /**
+     * Streaming version of {@link #processMultiLineSQL(String, boolean, boolean, String, ChangeSet)}.
+     * The SQL is read from the reader as the returned iterator is advanced, so only the current statement is held in
+     * memory. Statements are split by the same delimiter and BEGIN/END rules.
+     *
+     * @param sqlReader     the reader to read all the SQL statements from
+     * @param stripComments If true then comments will be stripped, if false then they will be left in the code
+     * @param changeSet     the changeset associated with the sql being parsed
+     */
+    public static Iterator<String> streamMultiLineSQL(Reader sqlReader, boolean stripComments, boolean splitStatements, String endDelimiter, ChangeSet changeSet) {
+        SqlParserFactory sqlParserFactory = Scope.getCurrentScope().getSingleton(SqlParserFactory.class);
+        LiquibaseSqlParser sqlParser = sqlParserFactory.getSqlParser();
+        return new SqlStatementIterator(sqlParser.parseIncrementally(sqlReader, true, !stripComments, changeSet), splitStatements, endDelimiter);
+    }
+
+    static String removeEndDelimiterIfItsASlash(String endDelimiter, StringBuilder currentString) {
         String sentenceWithoutDelimiter = "";
         if(endDelimiter != null && "/".contentEquals(endDelimiter)) {
             int lastIndexEndDelimiter = currentString.toString().lastIndexOf(endDelimiter);
@@ -176,42 +131,6 @@ public class StringUtil {
         return processMultiLineSQL(multiLineSQL, stripComments, splitStatements, endDelimiter, changeSet);
     }
 
-    /**
-     * Delimiters like "//" may span multiple tokens. Look for them and combine them
-     */
-    private static List<Object> mergeTokens(List<Object> parsedArray, String endDelimiter) {
-        if (endDelimiter == null) {
-            return parsedArray;
-        }
-
-        List<Object> returnList = new ArrayList<>();
-        List<String> possibleMerge = new ArrayList<>();
-        for (Object obj : parsedArray) {
-            if (possibleMerge.size() == 0) {
-                if ((obj instanceof String) && endDelimiter.startsWith((String) obj)) {
-                    possibleMerge.add((String) obj);
-                } else {
-                    returnList.add(obj);
-                }
-            } else {
-                String possibleMergeString = StringUtil.join(possibleMerge, "") + obj.toString();
-                if (endDelimiter.equals(possibleMergeString)) {
-                    returnList.add(possibleMergeString);
-                    possibleMerge.clear();
-                } else if (endDelimiter.startsWith(possibleMergeString)) {
-                    possibleMerge.add(obj.toString());
-                } else {
-                    returnList.addAll(possibleMerge);
-                    returnList.add(obj);
-                    possibleMerge.clear();
-                }
-            }
-        }
-
-        return returnList;
-
-    }
-
     /**
      * Returns true if the input is a delimiter in one of the popular RDBMSs. Recognized delimiters are: semicolon (;),
      * a slash (as the only content) or the word GO (as the only content).
@@ -221,13 +140,24 @@ public class StringUtil {
      * @param endDelimiter  ??? (need to see this in a debugger to find out)
      */
     protected static boolean isDelimiter(String piece, String previousPiece, String endDelimiter) {
+        return isDelimiter(piece, previousPiece, endDelimiter, Boolean.TRUE.equals(GlobalConfiguration.STRICT.getCurrentValue()), null);
+    }
+
+    /**
+     * Version of {@link #isDelimiter(String, String, String)} for checking many pieces against the same endDelimiter.
+     *
+     * @param strict              the value of {@link GlobalConfiguration#STRICT}
+     * @param endDelimiterPattern {@link #getEndDelimiterPattern(String)} of a multi-character endDelimiter, or null to
+     *                            compile it on every call
+     */
+    static boolean isDelimiter(String piece, String previousPiece, String endDelimiter, boolean strict, Pattern endDelimiterPattern) {
         if (endDelimiter == null) {
             return ";".equals(piece) || (("go".equalsIgnoreCase(piece) || "/".equals(piece)) && ((previousPiece ==
                     null) || previousPiece.endsWith("\n")));
         } else {
             if (endDelimiter.length() == 1) {
                 if ("/".equals(endDelimiter)) {
-                    if (Boolean.TRUE.equals(GlobalConfiguration.STRICT.getCurrentValue())) {
+                    if (strict) {
                         if (previousPiece != null) {
                             return previousPiece.contentEquals(endDelimiter) && piece.startsWith("\n");
                         }
@@ -238,11 +168,24 @@ public class StringUtil {
                 }
                 return StringUtils.equalsIgnoreCase(piece, endDelimiter);
             } else {
-                return StringUtils.equalsIgnoreCase(piece, endDelimiter) || (previousPiece + piece).toLowerCase().matches("[\\s\n\r]*" + endDelimiter.toLowerCase());
+                if (StringUtils.equalsIgnoreCase(piece, endDelimiter)) {
+                    return true;
+                }
+                if (endDelimiterPattern == null) {
+                    endDelimiterPattern = getEndDelimiterPattern(endDelimiter);
+                }
+                return endDelimiterPattern.matcher((previousPiece + piece).toLowerCase()).matches();
             }
         }
     }
 
+    /**
+     * Returns the pattern a multi-character endDelimiter, which is a regular expression, is matched with.
+     */
+    static Pattern getEndDelimiterPattern(String endDelimiter) {
+        return Pattern.compile("[\\s\n\r]*" + endDelimiter.toLowerCase());
+    }
+
     /**
      * Add new lines to the input string to cause output to wrap.  Optional line padding
      * can be passed in for the additional lines that are created
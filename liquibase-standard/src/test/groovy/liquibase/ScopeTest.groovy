@@ -231,6 +231,37 @@ class ScopeTest extends Specification {
         errors.isEmpty()
     }
 
+    def "getSingleton returns the root singleton from child scopes and concurrent threads"() {
+        given:
+        def rootSingleton = Scope.currentScope.getSingleton(ChangeLogHistoryServiceFactory)
+        def threadCount = 8
+        def results = Collections.synchronizedList([])
+        def errors = Collections.synchronizedList([])
+
+        when:
+        def threads = (0..<threadCount).collect { threadId ->
+            Thread.start {
+                try {
+                    Scope.child([threadId: threadId], {
+                        Scope.child([other: threadId], {
+                            for (int i = 0; i < 1000; i++) {
+                                results.add(Scope.currentScope.getSingleton(ChangeLogHistoryServiceFactory))
+                            }
+                        } as Scope.ScopedRunner)
+                    } as Scope.ScopedRunner)
+                } catch (Exception e) {
+                    errors.add("Thread ${threadId} failed: ${e.message}")
+                }
+            }
+        }
+        threads.each { it.join(10000) }
+
+        then:
+        errors.isEmpty()
+        results.size() == threadCount * 1000
+        results.every { it.is(rootSingleton) }
+    }
+
     def "custom scope manager can be set"() {
         given:
         def customManager = new SingletonScopeManager()
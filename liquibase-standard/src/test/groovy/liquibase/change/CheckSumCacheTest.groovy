@@ -0,0 +1,113 @@
+package liquibase.change
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.resource.PathResource
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class CheckSumCacheTest extends Specification {
+
+    Path tempDir
+    Path dataFile
+    Path cacheFile
+    CheckSumCache cache
+
+    def setup() {
+        tempDir = Files.createTempDirectory("checksum-cache-test")
+        dataFile = tempDir.resolve("data.sql")
+        dataFile.text = "select 1"
+        cacheFile = tempDir.resolve("cache/checksums.txt")
+        cache = Scope.getCurrentScope().getSingleton(CheckSumCache.class)
+        cache.clear()
+    }
+
+    def cleanup() {
+        cache.clear()
+        tempDir.toFile().deleteDir()
+    }
+
+    def "supplier is always called when the cache is disabled"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("data.sql", dataFile)
+        2.times { cache.getOrCompute(resource, ["test"], { calls++; new CheckSumCache.Result(CheckSum.compute("x"), true) }) }
+
+        then:
+        calls == 2
+    }
+
+    def "checksums are cached in memory and in the cache file"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("data.sql", dataFile)
+        def compute = { calls++; new CheckSumCache.Result(CheckSum.compute("x"), true) }
+        CheckSum first
+        CheckSum second
+        CheckSum reloaded
+        Scope.child([(GlobalConfiguration.CHECKSUM_CACHE_FILE.key): cacheFile.toString()], {
+            first = cache.getOrCompute(resource, ["test"], compute)
+            second = cache.getOrCompute(resource, ["test"], compute)
+            cache.clear()
+            reloaded = cache.getOrCompute(resource, ["test"], compute)
+        } as Scope.ScopedRunner)
+
+        then:
+        calls == 1
+        first == CheckSum.compute("x")
+        second == first
+        reloaded == first
+        Files.readAllLines(cacheFile).size() == 1
+    }
+
+    def "changed content, other key parts and non-cacheable results miss the cache"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("data.sql", dataFile)
+        Scope.child([(GlobalConfiguration.CHECKSUM_CACHE_FILE.key): cacheFile.toString()], {
+            cache.getOrCompute(resource, ["test"], { calls++; new CheckSumCache.Result(CheckSum.compute("x"), true) })
+            cache.getOrCompute(resource, ["other"], { calls++; new CheckSumCache.Result(CheckSum.compute("x"), true) })
+
+            dataFile.text = "select 2"
+            cache.getOrCompute(resource, ["test"], { calls++; new CheckSumCache.Result(CheckSum.compute("x"), false) })
+            cache.getOrCompute(resource, ["test"], { calls++; new CheckSumCache.Result(CheckSum.compute("x"), true) })
+        } as Scope.ScopedRunner)
+
+        then:
+        calls == 4
+    }
+
+    def "invalid, corrupted and unterminated lines of the cache file are ignored"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("data.sql", dataFile)
+        def compute = { calls++; new CheckSumCache.Result(CheckSum.compute("x"), true) }
+        def results = []
+        Scope.child([(GlobalConfiguration.CHECKSUM_CACHE_FILE.key): cacheFile.toString()], {
+            cache.getOrCompute(resource, ["test"], compute)
+            def line = Files.readAllLines(cacheFile)[0]
+            def (key, value, digest) = line.split(" ")
+
+            [
+                    "$key 9:00000000000000000000000000000000 $digest\n",
+                    "$key ${value}\n",
+                    "$key $value ${digest}0\n",
+                    "$key $value $digest",
+            ].each { content ->
+                cacheFile.text = content
+                cache.clear()
+                results << cache.getOrCompute(resource, ["test"], compute)
+            }
+
+            cache.clear()
+            results << cache.getOrCompute(resource, ["test"], compute)
+        } as Scope.ScopedRunner)
+
+        then:
+        results.every { it == CheckSum.compute("x") }
+        calls == 5
+        Files.readAllLines(cacheFile).size() == 2
+    }
+}
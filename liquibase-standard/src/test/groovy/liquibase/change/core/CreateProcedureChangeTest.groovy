@@ -1,9 +1,11 @@
 package liquibase.change.core
 
 import liquibase.ChecksumVersion
+import liquibase.GlobalConfiguration
 import liquibase.Scope
 import liquibase.change.CheckSum
 import liquibase.change.StandardChangeTest
+import liquibase.changelog.ChangeLogParameters
 import liquibase.changelog.ChangeSet
 import liquibase.changelog.DatabaseChangeLog
 import liquibase.database.core.OracleDatabase
@@ -18,6 +20,8 @@ import liquibase.test.JUnitResourceAccessor
 import liquibase.util.StreamUtil
 import spock.lang.Unroll
 
+import java.nio.file.Files
+
 class CreateProcedureChangeTest extends StandardChangeTest {
 
     def getConfirmationMessage() throws Exception {
@@ -162,6 +166,43 @@ class CreateProcedureChangeTest extends StandardChangeTest {
         ChecksumVersion.latest() | "9:4ec1db90234ea750169f7d94f7e5c425" | "9:4ec1db90234ea750169f7d94f7e5c425"
     }
 
+    def "path checksum is the same with and without the checksum cache"() {
+        when:
+        def cacheDirectory = Files.createTempDirectory("create-procedure-checksum")
+        def checksums = [:]
+        String testScopeId = Scope.enter([
+                "resourceAccessor": new MockResourceAccessor([
+                        "plain.sql"     : "create procedure p as select 1",
+                        "expression.sql": "create procedure \${schema}.p as select 1"
+                ])
+        ])
+        ["plain.sql", "expression.sql"].each { path ->
+            ["a", "b"].each { schema ->
+                def parameters = new ChangeLogParameters()
+                parameters.set("schema", schema)
+                def changeSet = new ChangeSet("1", "test", false, false, "changelog.xml", null, null, new DatabaseChangeLog("changelog.xml"))
+                changeSet.setChangeLogParameters(parameters)
+                def change = new CreateProcedureChange()
+                change.setPath(path)
+                change.setChangeSet(changeSet)
+
+                def uncached = change.generateCheckSum()
+                def cached = Scope.child([(GlobalConfiguration.CHECKSUM_CACHE_FILE.key): cacheDirectory.resolve("checksums.txt").toString()], {
+                    change.generateCheckSum()
+                    return change.generateCheckSum()
+                } as Scope.ScopedRunnerWithReturn<CheckSum>) as CheckSum
+                checksums[path + ":" + schema] = [uncached, cached]
+            }
+        }
+        Scope.exit(testScopeId)
+        cacheDirectory.toFile().deleteDir()
+
+        then:
+        checksums.values().every { it[0] == it[1] }
+        checksums["plain.sql:a"] == checksums["plain.sql:b"]
+        checksums["expression.sql:a"][0] != checksums["expression.sql:b"][0]
+    }
+
     @Unroll
     def "comment checksum generation - #version"(ChecksumVersion version, String originalChecksum, String updatedChecksum) {
         when:
@@ -10,9 +10,12 @@ import liquibase.changelog.DatabaseChangeLog
 import liquibase.database.Database
 import liquibase.database.DatabaseConnection
 import liquibase.database.DatabaseFactory
+import liquibase.database.MockDatabaseConnection
 import liquibase.database.core.H2Database
 import liquibase.database.core.MSSQLDatabase
 import liquibase.database.core.MockDatabase
+import liquibase.database.core.PostgresDatabase
+import liquibase.database.jvm.JdbcConnection
 import liquibase.exception.ValidationErrors
 import liquibase.parser.core.ParsedNode
 import liquibase.parser.core.ParsedNodeException
@@ -21,6 +24,7 @@ import liquibase.resource.ResourceAccessor
 import liquibase.resource.SearchPathResourceAccessor
 import liquibase.snapshot.MockSnapshotGeneratorFactory
 import liquibase.snapshot.SnapshotGeneratorFactory
+import liquibase.sqlgenerator.SqlGeneratorFactory
 import liquibase.statement.*
 import liquibase.statement.core.InsertSetStatement
 import liquibase.statement.core.InsertStatement
@@ -34,6 +38,7 @@ import liquibase.util.csv.CSVReader
 import spock.lang.Unroll
 
 import java.sql.Date
+import java.sql.DriverManager
 import java.sql.Time
 import java.sql.Timestamp
 import java.time.LocalDate
@@ -671,6 +676,49 @@ class LoadDataChangeTest extends StandardChangeTest {
         "jdoe" == ((InsertStatement) sqlStatements[1]).getColumnValue("username")
     }
 
+    def "loadDataBatchSize enables JDBC batching on postgres"() throws Exception {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange()
+        loadDataChange.setSchemaName("SCHEMA_NAME")
+        loadDataChange.setTableName("TABLE_NAME")
+        loadDataChange.setUsePreparedStatements(Boolean.TRUE)
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv")
+
+        SqlStatement[] unbatched = loadDataChange.generateStatements(new PostgresDatabase() { public boolean supportsBatchUpdates() { return true } })
+        SqlStatement[] batched
+        Scope.child([(GlobalConfiguration.LOAD_DATA_BATCH_SIZE.key): 1, (GlobalConfiguration.LOAD_DATA_COMMIT_INTERVAL.key): 10], {
+            batched = loadDataChange.generateStatements(new PostgresDatabase() { public boolean supportsBatchUpdates() { return true } })
+        } as Scope.ScopedRunner)
+
+        then:
+        unbatched.length == 2
+        !(unbatched[0] instanceof BatchDmlExecutablePreparedStatement)
+
+        batched.length == 1
+        ((BatchDmlExecutablePreparedStatement) batched[0]).getIndividualStatements().size() == 2
+        ((BatchDmlExecutablePreparedStatement) batched[0]).getBatchSize() == 1
+        ((BatchDmlExecutablePreparedStatement) batched[0]).getCommitInterval() == 10
+    }
+
+    def "loadDataBatchSize controls the rows per multi-row insert"() throws Exception {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange()
+        loadDataChange.setSchemaName("SCHEMA_NAME")
+        loadDataChange.setTableName("TABLE_NAME")
+        loadDataChange.setUsePreparedStatements(Boolean.FALSE)
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv")
+
+        SqlStatement[] sqlStatement
+        Scope.child([(GlobalConfiguration.LOAD_DATA_BATCH_SIZE.key): 1], {
+            sqlStatement = loadDataChange.generateStatements(new MSSQLDatabase())
+        } as Scope.ScopedRunner)
+
+        then:
+        sqlStatement.length == 1
+        ((InsertSetStatement) sqlStatement[0]).getBatchThreshold() == 0
+        SqlGeneratorFactory.getInstance().generateSql(sqlStatement[0], new MSSQLDatabase()).length == 2
+    }
+
     Table addColumns(Table table, ColDef... colunms) {
         colunms.each {
             table.addColumn(new Column(Table.class, table.schema.catalogName, table.schema.name, table.name
@@ -1017,7 +1065,160 @@ class LoadDataChangeTest extends StandardChangeTest {
         assert columnValue(sqlStatements[1], "username") == "jdoe"
     }
 
+    def "streamStatements hands rows to the handler in chunks"() {
+        when:
+        def table = testTable("table")
+        SnapshotGeneratorFactory.instance = new MockSnapshotGeneratorFactory(table)
+
+        LoadDataChange change = new LoadDataChange()
+        change.setFile("liquibase/change/core/sample.data.with.blank.line.csv")
+        change.setTableName("table")
+
+        List<SqlStatement[]> chunks = []
+        boolean shouldStream = false
+        Scope.child([(GlobalConfiguration.LOAD_DATA_STREAMING.key): true, (GlobalConfiguration.LOAD_DATA_STREAMING_CHUNK_SIZE.key): chunkSize], {
+            shouldStream = change.shouldStreamStatements(mockDB)
+            change.streamStatements(mockDB, { statements -> chunks.add(statements) })
+        } as Scope.ScopedRunner)
+
+        then:
+        shouldStream
+        chunks*.length == expectedChunks
+        chunks.flatten().collect { columnValue(it as SqlStatement, "username") } == ["bjohnson", "jdoe"]
+
+        where:
+        chunkSize | expectedChunks
+        1         | [1, 1]
+        2         | [2]
+        100       | [2]
+    }
+
+    def "streaming is disabled by default"() {
+        expect:
+        !new LoadDataChange().shouldStreamStatements(mockDB)
+    }
+
+    def "loadDataBulkLoad uses a native bulk loader when the columns allow it"() {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange()
+        loadDataChange.setTableName("TABLE_NAME")
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv")
+        loadDataChange.addColumn(new LoadDataColumnConfig(name: "name", type: columnType))
+        loadDataChange.addColumn(new LoadDataColumnConfig(name: "username", type: "STRING"))
+
+        SqlStatement[] statements
+        Scope.child([(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true], {
+            statements = loadDataChange.generateStatements(h2Database("jdbc:h2:mem:bulkLoad"))
+        } as Scope.ScopedRunner)
+
+        then:
+        (statements.length == 1 && statements[0] instanceof BulkLoadDataStatement) == bulkLoaded
+
+        where:
+        columnType | bulkLoaded
+        "STRING"   | true
+        "NUMERIC"  | true
+        "BOOLEAN"  | true
+        "DATE"     | false
+        "datetime" | false
+        "COMPUTED" | false
+    }
+
+    @Unroll
+    def "H2 bulk loading is only used for embedded databases: #url"() {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange()
+        loadDataChange.setTableName("TABLE_NAME")
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv")
+        loadDataChange.addColumn(new LoadDataColumnConfig(name: "name", type: "STRING"))
+        loadDataChange.addColumn(new LoadDataColumnConfig(name: "username", type: "STRING"))
+
+        SqlStatement[] statements
+        Scope.child([(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true], {
+            statements = loadDataChange.generateStatements(h2Database(url))
+        } as Scope.ScopedRunner)
+
+        then:
+        (statements.length == 1 && statements[0] instanceof BulkLoadDataStatement) == bulkLoaded
+
+        where:
+        url                                  | bulkLoaded
+        "jdbc:h2:mem:bulkLoad"               | true
+        "jdbc:h2:file:./target/bulkLoad"     | true
+        "jdbc:h2:~/bulkLoad"                 | true
+        "jdbc:h2:C:/data/bulkLoad"           | true
+        "jdbc:h2:tcp://localhost/~/bulkLoad" | false
+        "jdbc:h2:ssl://localhost/~/bulkLoad" | false
+    }
+
+    def "bulk load inserts the rows of a file with computed values instead"() {
+        when:
+        def connection = DriverManager.getConnection("jdbc:h2:mem:bulkLoadComputed;DB_CLOSE_DELAY=-1", "sa", "")
+        connection.createStatement().execute("create table COMPUTED_DATA (id int, amount int)")
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
 
+        LoadDataChange loadDataChange = new LoadDataChange()
+        loadDataChange.setTableName("COMPUTED_DATA")
+        loadDataChange.setFile("liquibase/change/core/sample.data.computed.csv")
+        loadDataChange.addColumn(new LoadDataColumnConfig(name: "id", type: "NUMERIC"))
+        loadDataChange.addColumn(new LoadDataColumnConfig(name: "amount", type: "NUMERIC"))
+
+        SqlStatement[] statements
+        long loaded
+        Scope.child([(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true], {
+            statements = loadDataChange.generateStatements(database)
+            loaded = loadDataChange.executeBulkLoad(((BulkLoadDataStatement) statements[0]).bulkLoader, database)
+        } as Scope.ScopedRunner)
+        def ids = []
+        connection.createStatement().executeQuery("select id from COMPUTED_DATA order by id").with { rs ->
+            while (rs.next()) {
+                ids << rs.getInt(1)
+            }
+        }
+
+        then:
+        statements[0] instanceof BulkLoadDataStatement
+        loaded == 3
+        ids == [1, 2, 3]
+
+        cleanup:
+        connection?.createStatement()?.execute("drop table COMPUTED_DATA")
+        database?.close()
+    }
+
+    def "bulk loading is disabled by default and for loadUpdateData"() {
+        when:
+        LoadDataChange loadDataChange = new LoadDataChange()
+        loadDataChange.setTableName("TABLE_NAME")
+        loadDataChange.setFile("liquibase/change/core/sample.data1.csv")
+
+        LoadUpdateDataChange loadUpdateDataChange = new LoadUpdateDataChange()
+        loadUpdateDataChange.setTableName("TABLE_NAME")
+        loadUpdateDataChange.setPrimaryKey("name")
+        loadUpdateDataChange.setFile("liquibase/change/core/sample.data1.csv")
+
+        SqlStatement[] loadUpdateStatements
+        Scope.child([(GlobalConfiguration.LOAD_DATA_BULK_LOAD.key): true], {
+            loadUpdateStatements = loadUpdateDataChange.generateStatements(new H2Database())
+        } as Scope.ScopedRunner)
+
+        then:
+        loadDataChange.generateStatements(new H2Database()).every { !(it instanceof BulkLoadDataStatement) }
+        loadUpdateStatements.every { !(it instanceof BulkLoadDataStatement) }
+    }
+
+
+
+    private static H2Database h2Database(String url) {
+        def database = new H2Database()
+        database.setConnection(new MockDatabaseConnection() {
+            @Override
+            String getURL() {
+                return url
+            }
+        })
+        return database
+    }
 
     class ColDef {
         ColDef(Object n, String type) {
@@ -1,10 +1,12 @@
 package liquibase.change.core
 
 import liquibase.ChecksumVersion
+import liquibase.GlobalConfiguration
 import liquibase.Scope
 import liquibase.change.Change
 import liquibase.change.ChangeStatus
 import liquibase.change.StandardChangeTest
+import liquibase.change.StreamingChange
 import liquibase.changelog.ChangeLogParameters
 import liquibase.changelog.ChangeSet
 import liquibase.changelog.DatabaseChangeLog
@@ -118,6 +120,30 @@ class SQLFileChangeTest extends StandardChangeTest {
         assertEquals(checksum1, checksum2)
     }
 
+    def "streamStatements returns the same statements as generateStatements"() {
+        when:
+        def change = new SQLFileChange()
+        change.path = "com/example-2/fileWithSchemaNameProperty.sql"
+        def changeLogParameters = new ChangeLogParameters()
+        changeLogParameters.set("database.liquibaseSchemaName", "schema1")
+        def changeSet = new ChangeSet("x", "y", false, false, null, null, null, new DatabaseChangeLog("com/example/changelog.xml"))
+        changeSet.setChangeLogParameters(changeLogParameters)
+        change.setChangeSet(changeSet)
+        def database = new MockDatabase()
+
+        def streamed = []
+        def shouldStream = Scope.child([(GlobalConfiguration.SQL_FILE_STREAMING.key): true], {
+            change.streamStatements(database, { statements -> streamed.addAll(statements) } as StreamingChange.StatementChunkHandler)
+            return change.shouldStreamStatements(database)
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        shouldStream
+        !change.shouldStreamStatements(database)
+        streamed*.sql == change.generateStatements(database)*.sql
+        streamed*.sql == ["select * from schema1.customer"]
+    }
+
     def "checkStatus"() {
         when:
         def database = new MockDatabase()
@@ -0,0 +1,59 @@
+package liquibase.changelog
+
+import liquibase.ChecksumVersion
+import liquibase.Contexts
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.change.core.RawSQLChange
+import liquibase.changelog.filter.ChangeSetFilter
+import liquibase.changelog.filter.ContextChangeSetFilter
+import liquibase.database.core.MockDatabase
+import spock.lang.Specification
+
+class ChangeSetCheckSumPrecomputerTest extends Specification {
+
+    private static List<ChangeSet> createChangeSets(int count) {
+        def changeLog = new DatabaseChangeLog("com/example/changelog.xml")
+        return (1..count).collect {
+            def changeSet = new ChangeSet("id" + it, "author", false, false, "com/example/changelog.xml", "ctx" + (it % 2), null, changeLog)
+            changeSet.addChange(new RawSQLChange("select " + it))
+            changeSet
+        }
+    }
+
+    def "checksums are precomputed on multiple threads and match sequential computation"() {
+        when:
+        def changeSets = createChangeSets(20)
+        def versions = changeSets.collectEntries { [(it): ChecksumVersion.latest()] }
+        Scope.child([(GlobalConfiguration.CHECKSUM_COMPUTATION_THREADS.key): 4], {
+            ChangeSetCheckSumPrecomputer.precompute(versions, new DatabaseChangeLog(), new MockDatabase())
+        } as Scope.ScopedRunner)
+
+        then:
+        changeSets.every { it.@checkSum != null }
+        changeSets.every { changeSet ->
+            def copy = createChangeSets(20).find { it.id == changeSet.id }
+            copy.generateCheckSum(ChecksumVersion.latest()) == changeSet.generateCheckSum(ChecksumVersion.latest())
+        }
+    }
+
+    def "nothing is precomputed by default"() {
+        when:
+        def changeSets = createChangeSets(5)
+        ChangeSetCheckSumPrecomputer.precompute(changeSets.collectEntries { [(it): ChecksumVersion.latest()] }, new DatabaseChangeLog(), new MockDatabase())
+
+        then:
+        changeSets.every { it.@checkSum == null }
+    }
+
+    def "accepts requires every filter to accept"() {
+        when:
+        def changeSets = createChangeSets(2)
+        List<ChangeSetFilter> filters = [new ContextChangeSetFilter(new Contexts("ctx1"))]
+
+        then:
+        ChangeSetCheckSumPrecomputer.accepts(changeSets[0], filters)
+        !ChangeSetCheckSumPrecomputer.accepts(changeSets[1], filters)
+        ChangeSetCheckSumPrecomputer.accepts(changeSets[1], [])
+    }
+}
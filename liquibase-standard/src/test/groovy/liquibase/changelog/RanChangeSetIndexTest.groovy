@@ -0,0 +1,126 @@
+package liquibase.changelog
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class RanChangeSetIndexTest extends Specification {
+
+    private static RanChangeSet ran(String path, String id, String author) {
+        return new RanChangeSet(path, id, author, null, new Date(), null, ChangeSet.ExecType.EXECUTED, null, null, null, null, null)
+    }
+
+    private static ChangeSet changeSet(String path, String id, String author) {
+        return new ChangeSet(id, author, false, false, path, null, null, null)
+    }
+
+    @Unroll
+    def "get matches like isSameAs: #path #id #author"() {
+        when:
+        def ranChangeSets = [
+                ran("com/example/changelog.xml", "1", "nvoxland"),
+                ran("classpath:com/example/changelog.xml", "1", "nvoxland"),
+                ran("com/example/other.xml", "2", "nvoxland"),
+                ran("com/example/greek.xml", "\u0391\u03a3", "nvoxland"),
+        ]
+        def index = new RanChangeSetIndex(ranChangeSets)
+        def changeSet = changeSet(path, id, author)
+
+        then:
+        index.get(changeSet).is(ranChangeSets.find { it.isSameAs(changeSet) })
+
+        where:
+        path                          | id  | author
+        "com/example/changelog.xml"   | "1" | "nvoxland"
+        "/com/example/changelog.xml"  | "1" | "NVOXLAND"
+        "com\\example\\changelog.xml" | "1" | "nvoxland"
+        "COM/EXAMPLE/OTHER.XML"       | "2" | "nvoxland"
+        "com/example/other.xml"       | "1" | "nvoxland"
+        "com/example/changelog.xml"   | "3" | "nvoxland"
+        "com/example/greek.xml"       | "\u03b1\u03c3" | "nvoxland"
+        "com/example/greek.xml"       | "\u03b1\u03c2" | "nvoxland"
+    }
+
+    def "added ran changesets are found"() {
+        when:
+        def index = new RanChangeSetIndex([])
+        def added = ran("changelog.xml", "1", "a")
+        index.add(added)
+
+        then:
+        index.get(changeSet("changelog.xml", "1", "a")).is(added)
+        index.get(changeSet("changelog.xml", "1", "b")) == null
+    }
+
+    def "DatabaseChangeLog finds changesets added after the first lookup"() {
+        when:
+        def changeLog = new DatabaseChangeLog("com/example/changelog.xml")
+        changeLog.addChangeSet(changeSet("com/example/changelog.xml", "1", "a"))
+        def beforeAdd = changeLog.getChangeSets("com/example/changelog.xml", "a", "2")
+        changeLog.addChangeSet(changeSet("com/example/changelog.xml", "2", "a"))
+
+        then:
+        beforeAdd.isEmpty()
+        changeLog.getChangeSets("com/example/changelog.xml", "A", "2")*.id == ["2"]
+        changeLog.getChangeSet("classpath:com/example/changelog.xml", "a", "1").id == "1"
+    }
+
+    def "DatabaseChangeLog finds changesets after the changeset list or a file path changed"() {
+        when:
+        def changeLog = new DatabaseChangeLog("com/example/changelog.xml")
+        def moved = changeSet("com/example/changelog.xml", "1", "a")
+        changeLog.addChangeSet(moved)
+        changeLog.addChangeSet(changeSet("com/example/changelog.xml", "2", "a"))
+        def beforeMove = changeLog.getChangeSets("com/example/logical.xml", "a", "1")
+        moved.setFilePath("com/example/logical.xml")
+        def afterMove = changeLog.getChangeSets("com/example/logical.xml", "a", "1")
+
+        changeLog.getChangeSets().set(1, changeSet("com/example/changelog.xml", "3", "a"))
+        def afterReplace = changeLog.getChangeSets("com/example/changelog.xml", "a", "3")
+        changeLog.getChangeSets().remove(1)
+        changeLog.getChangeSets().add(changeSet("com/example/changelog.xml", "4", "a"))
+
+        then:
+        beforeMove.isEmpty()
+        afterMove*.id == ["1"]
+        changeLog.getChangeSets("com/example/changelog.xml", "a", "1").isEmpty()
+        afterReplace*.id == ["3"]
+        changeLog.getChangeSets("com/example/changelog.xml", "a", "3").isEmpty()
+        changeLog.getChangeSets("com/example/changelog.xml", "a", "4")*.id == ["4"]
+    }
+
+    def "DatabaseChangeLog matches ids, authors and paths like equalsIgnoreCase"() {
+        when:
+        def changeLog = new DatabaseChangeLog("com/example/changelog.xml")
+        changeLog.addChangeSet(changeSet("com/example/changelog.xml", "\u0391\u03a3", "a"))
+
+        then:
+        "\u0391\u03a3".equalsIgnoreCase("\u03b1\u03c3")
+        changeLog.getChangeSets("com/example/changelog.xml", "A", "\u03b1\u03c3")*.id == ["\u0391\u03a3"]
+    }
+
+    def "DatabaseChangeLog keeps its index when changesets of other changelogs change"() {
+        when:
+        def parent = new DatabaseChangeLog("com/example/parent.xml")
+        def child = new DatabaseChangeLog("com/example/child.xml")
+        def other = new DatabaseChangeLog("com/example/other.xml")
+        def included = changeSet("com/example/child.xml", "1", "a")
+        child.addChangeSet(included)
+        parent.addChangeSet(included)
+        def unrelated = changeSet("com/example/other.xml", "2", "a")
+        other.addChangeSet(unrelated)
+
+        parent.getChangeSets("com/example/child.xml", "a", "1")
+        child.getChangeSets("com/example/child.xml", "a", "1")
+        def parentIndex = parent.@changeSetIndex
+        unrelated.setFilePath("com/example/moved.xml")
+        parent.getChangeSets("com/example/child.xml", "a", "1")
+        def keptParentIndex = parent.@changeSetIndex
+        included.setFilePath("com/example/logical.xml")
+
+        then:
+        keptParentIndex.is(parentIndex)
+        parent.getChangeSets("com/example/logical.xml", "a", "1")*.id == ["1"]
+        child.getChangeSets("com/example/logical.xml", "a", "1")*.id == ["1"]
+        child.getChangeSets("com/example/child.xml", "a", "1").isEmpty()
+    }
+}
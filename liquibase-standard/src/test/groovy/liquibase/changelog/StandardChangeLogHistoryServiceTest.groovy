@@ -0,0 +1,118 @@
+package liquibase.changelog
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.exception.DatabaseException
+import liquibase.executor.ExecutorService
+import liquibase.executor.jvm.JdbcExecutor
+import liquibase.executor.jvm.ResultSetExtractor
+import liquibase.sql.visitor.SqlVisitor
+import liquibase.sqlgenerator.SqlGeneratorFactory
+import liquibase.statement.SqlStatement
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.Connection
+import java.sql.DriverManager
+
+class StandardChangeLogHistoryServiceTest extends Specification {
+
+    private static final String CHECKSUM = "9:d41d8cd98f00b204e9800998ecf8427e"
+
+    Connection connection
+    Database database
+
+    def setup() {
+        connection = DriverManager.getConnection("jdbc:h2:mem:changeLogHistory" + System.nanoTime(), "sa", "")
+        database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+    }
+
+    def cleanup() {
+        database?.close()
+    }
+
+    @Unroll
+    def "incremental read after a reset sees changes made by others: #description"() {
+        when:
+        def service = newService()
+        execute("insert into DATABASECHANGELOG (ID, AUTHOR, FILENAME, DATEEXECUTED, ORDEREXECUTED, EXECTYPE, MD5SUM, TAG) values " +
+                "('1', 'test', 'changelog.xml', CURRENT_TIMESTAMP, 1, 'EXECUTED', '$CHECKSUM', 'v1'), " +
+                "('2', 'test', 'changelog.xml', CURRENT_TIMESTAMP, 2, 'EXECUTED', '$CHECKSUM', null), " +
+                "('3', 'test', 'changelog.xml', CURRENT_TIMESTAMP, 3, 'EXECUTED', '$CHECKSUM', null)")
+        def incrementallyRead = Scope.child([(GlobalConfiguration.DATABASECHANGELOG_INCREMENTAL_READ.key): true], {
+            service.getRanChangeSets()
+            service.reset()
+            statements.each { execute(it) }
+            return service.getRanChangeSets()
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        summarize(incrementallyRead) == summarize(newService().getRanChangeSets())
+
+        where:
+        description             | statements
+        "new changeset"         | ["insert into DATABASECHANGELOG (ID, AUTHOR, FILENAME, DATEEXECUTED, ORDEREXECUTED, EXECTYPE, MD5SUM) values ('4', 'test', 'changelog.xml', CURRENT_TIMESTAMP, 4, 'EXECUTED', '$CHECKSUM')"]
+        "deleted changeset"     | ["delete from DATABASECHANGELOG where ID = '2'"]
+        "re-run changeset"      | ["update DATABASECHANGELOG set ORDEREXECUTED = 4, MD5SUM = '9:00000000000000000000000000000000' where ID = '2'"]
+        "added tag"             | ["update DATABASECHANGELOG set TAG = 'v2' where ID = '3'"]
+        "removed tag"           | ["update DATABASECHANGELOG set TAG = null where ID = '1'"]
+        "deleted and inserted"  | ["delete from DATABASECHANGELOG where ID = '2'",
+                                   "insert into DATABASECHANGELOG (ID, AUTHOR, FILENAME, DATEEXECUTED, ORDEREXECUTED, EXECTYPE, MD5SUM) values ('5', 'test', 'changelog.xml', CURRENT_TIMESTAMP, 5, 'EXECUTED', '$CHECKSUM')"]
+    }
+
+    def "incremental read after a reset runs only the new rows query and one aggregate query"() {
+        when:
+        def service = newService()
+        execute("insert into DATABASECHANGELOG (ID, AUTHOR, FILENAME, DATEEXECUTED, ORDEREXECUTED, EXECTYPE, MD5SUM) values " +
+                "('1', 'test', 'changelog.xml', CURRENT_TIMESTAMP, 1, 'EXECUTED', '$CHECKSUM'), " +
+                "('2', 'test', 'changelog.xml', CURRENT_TIMESTAMP, 2, 'EXECUTED', '$CHECKSUM')")
+        def queries = []
+        def ranChangeSets = Scope.child([(GlobalConfiguration.DATABASECHANGELOG_INCREMENTAL_READ.key): true], {
+            service.getRanChangeSets()
+            service.reset()
+            service.hasDatabaseChangeLogTable()
+            execute("insert into DATABASECHANGELOG (ID, AUTHOR, FILENAME, DATEEXECUTED, ORDEREXECUTED, EXECTYPE, MD5SUM) values " +
+                    "('3', 'test', 'changelog.xml', CURRENT_TIMESTAMP, 3, 'EXECUTED', '$CHECKSUM')")
+            def countingExecutor = new JdbcExecutor() {
+                @Override
+                Object query(SqlStatement sql, ResultSetExtractor rse, List<SqlVisitor> sqlVisitors) throws DatabaseException {
+                    queries.add(SqlGeneratorFactory.instance.generateSql(sql, database)[0].toSql())
+                    return super.query(sql, rse, sqlVisitors)
+                }
+            }
+            countingExecutor.setDatabase(database)
+            Scope.currentScope.getSingleton(ExecutorService).setExecutor("jdbc", database, countingExecutor)
+            return service.getRanChangeSets()
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        ranChangeSets*.id == ["1", "2", "3"]
+        queries.size() == 2
+        queries[0].contains("ORDEREXECUTED > 2")
+        queries[1].startsWith("SELECT COUNT(*),MIN(ORDEREXECUTED),MAX(ORDEREXECUTED),COUNT(TAG)")
+
+        cleanup:
+        Scope.currentScope.getSingleton(ExecutorService).clearExecutor("jdbc", database)
+    }
+
+    private StandardChangeLogHistoryService newService() {
+        def service = new StandardChangeLogHistoryService()
+        service.setDatabase(database)
+        service.init()
+        return service
+    }
+
+    private void execute(String sql) {
+        connection.createStatement().withCloseable { it.execute(sql) }
+        connection.commit()
+    }
+
+    private static List<List<String>> summarize(List<RanChangeSet> ranChangeSets) {
+        return ranChangeSets.collect {
+            [it.id, it.author, it.storedChangeLog, it.lastCheckSum?.toString(), it.tag, it.orderExecuted?.toString()]
+        }.sort { it[0] }
+    }
+}
@@ -0,0 +1,99 @@
+package liquibase.diff.core
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.core.MockDatabase
+import liquibase.diff.DiffResult
+import liquibase.diff.ObjectDifferences
+import liquibase.diff.compare.CompareControl
+import liquibase.snapshot.DatabaseSnapshot
+import liquibase.snapshot.MockDatabaseSnapshot
+import liquibase.snapshot.SnapshotControl
+import liquibase.structure.DatabaseObject
+import liquibase.structure.core.Sequence
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.Executors
+
+class StandardDiffGeneratorTest extends Specification {
+
+    def database = new MockDatabase()
+
+    @Unroll
+    def "diffing with parallelism #parallelism finds the same differences in the same order as without"() {
+        given:
+        def reference = snapshot((0..<1200).findAll { it % 7 != 0 }, { BigInteger.ONE })
+        def comparison = snapshot((0..<1200).findAll { it % 5 != 0 }, { it % 3 == 0 ? BigInteger.TEN : BigInteger.ONE })
+
+        when:
+        def serial = diff(reference, comparison, 1)
+        def parallel = diff(reference, comparison, parallelism)
+
+        def serialOrder = new RecordingDiffResult(reference, comparison)
+        new StandardDiffGenerator().compareObjectType(Sequence, reference, comparison, serialOrder, null)
+        def parallelOrder = new RecordingDiffResult(reference, comparison)
+        def executor = Executors.newFixedThreadPool(parallelism)
+        try {
+            new StandardDiffGenerator().compareObjectType(Sequence, reference, comparison, parallelOrder, executor)
+        } finally {
+            executor.shutdownNow()
+        }
+
+        then:
+        serial.getMissingObjects(Sequence).size() == 205
+        serial.getUnexpectedObjects(Sequence).size() == 137
+        serial.getChangedObjects(Sequence).size() == 274
+        parallel.getMissingObjects(Sequence) == serial.getMissingObjects(Sequence)
+        parallel.getUnexpectedObjects(Sequence) == serial.getUnexpectedObjects(Sequence)
+        parallel.getChangedObjects(Sequence).collectEntries { [(it.key): it.value.differences*.toString()] } ==
+                serial.getChangedObjects(Sequence).collectEntries { [(it.key): it.value.differences*.toString()] }
+
+        serialOrder.added.size() == 205 + 137 + 274
+        parallelOrder.added == serialOrder.added
+
+        where:
+        parallelism << [2, 4]
+    }
+
+    private DatabaseSnapshot snapshot(List<Integer> ids, Closure<BigInteger> startValue) {
+        List<DatabaseObject> sequences = ids.collect { id ->
+            def sequence = new Sequence(null, null, "seq_" + id)
+            sequence.setStartValue(startValue(id))
+            return (DatabaseObject) sequence
+        }
+        return new MockDatabaseSnapshot(sequences, sequences as DatabaseObject[], database, new SnapshotControl(database, Sequence))
+    }
+
+    private DiffResult diff(DatabaseSnapshot reference, DatabaseSnapshot comparison, int parallelism) {
+        return Scope.child([(GlobalConfiguration.DIFF_PARALLELISM.key): parallelism], {
+            new StandardDiffGenerator().compare(reference, comparison, new CompareControl())
+        } as Scope.ScopedRunnerWithReturn<DiffResult>)
+    }
+
+    private static class RecordingDiffResult extends DiffResult {
+        List<String> added = []
+
+        RecordingDiffResult(DatabaseSnapshot reference, DatabaseSnapshot comparison) {
+            super(reference, comparison, new CompareControl())
+        }
+
+        @Override
+        void addMissingObject(DatabaseObject obj) {
+            added.add("missing " + obj)
+            super.addMissingObject(obj)
+        }
+
+        @Override
+        void addUnexpectedObject(DatabaseObject obj) {
+            added.add("unexpected " + obj)
+            super.addUnexpectedObject(obj)
+        }
+
+        @Override
+        void addChangedObject(DatabaseObject obj, ObjectDifferences differences) {
+            added.add("changed " + obj + " " + differences.differences*.toString())
+            super.addChangedObject(obj, differences)
+        }
+    }
+}
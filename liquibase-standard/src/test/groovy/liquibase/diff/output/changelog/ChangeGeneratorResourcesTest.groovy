@@ -0,0 +1,27 @@
+package liquibase.diff.output.changelog
+
+import spock.lang.Specification
+
+class ChangeGeneratorResourcesTest extends Specification {
+
+    def "resources are created once per key and closed in reverse order"() {
+        when:
+        def closed = []
+        def resources = new ChangeGeneratorResources()
+        def first = resources.get("first", { { -> closed.add("first") } as AutoCloseable })
+        def again = resources.get("first", { { -> closed.add("again") } as AutoCloseable })
+        resources.get("second", { { -> throw new IllegalStateException("close failed") } as AutoCloseable })
+        resources.get("third", { { -> closed.add("third") } as AutoCloseable })
+        resources.close()
+
+        then:
+        again.is(first)
+        closed == ["third", "first"]
+
+        when:
+        resources.get("fourth", { { -> closed.add("fourth") } as AutoCloseable })
+
+        then:
+        thrown(IllegalStateException)
+    }
+}
@@ -1,8 +1,28 @@
 package liquibase.diff.output.changelog.core
 
+import liquibase.CatalogAndSchema
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.diff.DiffGeneratorFactory
+import liquibase.diff.compare.CompareControl
+import liquibase.diff.output.DiffOutputControl
+import liquibase.diff.output.changelog.ChangeGeneratorFactory
+import liquibase.diff.output.changelog.DiffToChangeLog
+import liquibase.snapshot.DatabaseConnectionSupplier
+import liquibase.snapshot.SnapshotControl
+import liquibase.snapshot.SnapshotGeneratorFactory
+import liquibase.structure.core.Column
+import liquibase.structure.core.Data
+import liquibase.structure.core.Table
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.nio.file.Files
+import java.sql.Connection
+import java.sql.DriverManager
+
 class MissingDataExternalFileChangeGeneratorTest extends Specification {
 
     @Unroll
@@ -46,4 +66,105 @@ class MissingDataExternalFileChangeGeneratorTest extends Specification {
         "table!@#name"  | "table___name"
         "schéma_table"  | "sch_ma_table"
     }
+
+    @Unroll
+    def "getFileName: '#input' compress=#compress -> '#expected'"() {
+        expect:
+        MissingDataExternalFileChangeGenerator.getFileName(input, compress) == expected
+
+        where:
+        input        | compress | expected
+        "MyTable"    | false    | "mytable.csv"
+        "MyTable"    | true     | "mytable.csv.gz"
+        "../escaped" | true     | "___escaped.csv.gz"
+    }
+
+    def "parallel export only writes the data the changelog references and closes its connections"() {
+        given:
+        def url = "jdbc:h2:mem:parallelDataExport;DB_CLOSE_DELAY=-1"
+        Connection connection = DriverManager.getConnection(url, "sa", "")
+        connection.createStatement().withCloseable { statement ->
+            ["FIRST_TABLE", "SECOND_TABLE", "THIRD_TABLE", "OTHER.OTHER_TABLE"].each { table ->
+                if (table.startsWith("OTHER.")) {
+                    statement.execute("create schema if not exists OTHER")
+                }
+                statement.execute("create table $table (id int primary key, name varchar(20))")
+                statement.execute("insert into $table values (1, 'a'), (2, 'b')")
+            }
+        }
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        List<Connection> exportConnections = Collections.synchronizedList([])
+        SnapshotGeneratorFactory.getInstance().setConnectionSupplier(database, {
+            def exportConnection = DriverManager.getConnection(url, "sa", "")
+            exportConnections.add(exportConnection)
+            return new JdbcConnection(exportConnection)
+        } as DatabaseConnectionSupplier)
+        def dataDir = Files.createTempDirectory("parallel-data-export-test")
+
+        when:
+        def changeSets = Scope.child([(GlobalConfiguration.DATA_EXPORT_PARALLELISM.getKey()): 3], {
+            CatalogAndSchema[] schemas = [new CatalogAndSchema(null, "PUBLIC"), new CatalogAndSchema(null, "OTHER")]
+            def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, new SnapshotControl(database, Table, Column, Data))
+            CompareControl.SchemaComparison[] schemaComparisons = schemas.collect { new CompareControl.SchemaComparison(it, it) }
+            def diffResult = DiffGeneratorFactory.getInstance().compare(snapshot, null, new CompareControl(schemaComparisons, snapshot.getSnapshotControl().getTypesToInclude()))
+
+            def outputControl = new DiffOutputControl(false, false, false, null)
+                    .addIncludedSchema(new CatalogAndSchema(null, "PUBLIC"))
+                    .setDataDir(dataDir.toString())
+            return new DiffToChangeLog(diffResult, outputControl).generateChangeSets()
+        } as Scope.ScopedRunnerWithReturn)
+
+        then:
+        changeSets*.changes.flatten()*.serializedObjectName.count { it == "loadData" } == 3
+        dataDir.toFile().list().sort() == ["first_table.csv", "second_table.csv", "third_table.csv"]
+        exportConnections.size() > 0
+        exportConnections.every { it.isClosed() }
+
+        cleanup:
+        ChangeGeneratorFactory.getInstance().unregisterAll(MissingDataExternalFileChangeGenerator)
+        database?.close()
+        dataDir?.toFile()?.deleteDir()
+    }
+
+    def "tables exported to the same file are not exported in parallel"() {
+        given:
+        def url = "jdbc:h2:mem:parallelDataExportCollision;DB_CLOSE_DELAY=-1"
+        Connection connection = DriverManager.getConnection(url, "sa", "")
+        connection.createStatement().withCloseable { statement ->
+            statement.execute("create schema if not exists OTHER")
+            ["FIRST_TABLE", "SECOND_TABLE", "SAME_NAME", "OTHER.SAME_NAME"].each { table ->
+                statement.execute("create table $table (id int primary key, name varchar(50))")
+                // more rows than fit in the write buffer, so writing both tables at once would mix their rows
+                statement.execute("insert into $table select x, concat('$table', '_', x) from system_range(1, 3000)")
+            }
+        }
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        SnapshotGeneratorFactory.getInstance().setConnectionSupplier(database, {
+            return new JdbcConnection(DriverManager.getConnection(url, "sa", ""))
+        } as DatabaseConnectionSupplier)
+        def dataDir = Files.createTempDirectory("parallel-data-export-test")
+
+        when:
+        def changeSets = Scope.child([(GlobalConfiguration.DATA_EXPORT_PARALLELISM.getKey()): 4], {
+            CatalogAndSchema[] schemas = [new CatalogAndSchema(null, "PUBLIC"), new CatalogAndSchema(null, "OTHER")]
+            def snapshot = SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, new SnapshotControl(database, Table, Column, Data))
+            CompareControl.SchemaComparison[] schemaComparisons = schemas.collect { new CompareControl.SchemaComparison(it, it) }
+            def diffResult = DiffGeneratorFactory.getInstance().compare(snapshot, null, new CompareControl(schemaComparisons, snapshot.getSnapshotControl().getTypesToInclude()))
+
+            def outputControl = new DiffOutputControl(false, false, false, null).setDataDir(dataDir.toString())
+            return new DiffToChangeLog(diffResult, outputControl).generateChangeSets()
+        } as Scope.ScopedRunnerWithReturn)
+        def sameNameRows = dataDir.resolve("same_name.csv").toFile().readLines().drop(1)
+
+        then:
+        changeSets*.changes.flatten()*.serializedObjectName.count { it == "loadData" } == 4
+        dataDir.toFile().list().sort() == ["first_table.csv", "same_name.csv", "second_table.csv"]
+        sameNameRows.size() == 3000
+        sameNameRows.collect { it.replaceAll(/\d+/, "") }.toSet().size() == 1 // all rows come from one of the tables
+
+        cleanup:
+        ChangeGeneratorFactory.getInstance().unregisterAll(MissingDataExternalFileChangeGenerator)
+        database?.close()
+        dataDir?.toFile()?.deleteDir()
+    }
 }
@@ -31,4 +31,96 @@ class BufferedLogServiceTest extends Specification {
         logOutput != null
         logOutput.length() == 10000000
     }
+
+    def "keeps the newest messages up to the capacity"() {
+        when:
+        BufferedLogService bufferedLogService = new BufferedLogService(3, null)
+        for (int i = 0; i < 5; i++) {
+            bufferedLogService.getLog(BufferedLogServiceTest.class).info("message " + i)
+        }
+
+        then:
+        bufferedLogService.getLog()*.message == ["message 2", "message 3", "message 4"]
+    }
+
+    def "messages below the minimum level are not kept"() {
+        when:
+        BufferedLogService bufferedLogService = new BufferedLogService(10, Level.INFO)
+        def logger = bufferedLogService.getLog(BufferedLogServiceTest.class)
+        logger.fine("fine message")
+        logger.info("info message")
+        logger.warning("warning message")
+
+        then:
+        bufferedLogService.getLog()*.message == ["info message", "warning message"]
+        bufferedLogService.getLogAsString(Level.WARNING).endsWith("] WARNING warning message\n")
+    }
+
+    def "writeTo writes the same as getLogAsString"() {
+        when:
+        BufferedLogService bufferedLogService = new BufferedLogService()
+        def logger = bufferedLogService.getLog(BufferedLogServiceTest.class)
+        logger.info("info message")
+        logger.severe("severe message", new RuntimeException("test exception"))
+        logger.fine("fine message")
+        def writer = new StringWriter()
+        bufferedLogService.writeTo(writer, Level.INFO)
+
+        then:
+        writer.toString() == bufferedLogService.getLogAsString(Level.INFO)
+        writer.toString().contains("] SEVERE severe message\njava.lang.RuntimeException: test exception")
+        !writer.toString().contains("fine message")
+    }
+
+    def "the default service keeps all messages"() {
+        when:
+        BufferedLogService bufferedLogService = new BufferedLogService()
+        def logger = bufferedLogService.getLog(BufferedLogServiceTest.class)
+        for (int i = 0; i < 150000; i++) {
+            logger.fine("message " + i)
+        }
+
+        then:
+        bufferedLogService.getCapacity() == BufferedLogService.UNBOUNDED
+        bufferedLogService.getLog().size() == 150000
+        bufferedLogService.getLog()[0].message == "message 0"
+    }
+
+    def "writeTo fails if the stack trace of a message cannot be written"() {
+        when:
+        BufferedLogService bufferedLogService = new BufferedLogService()
+        bufferedLogService.getLog(BufferedLogServiceTest.class).severe("severe message", new RuntimeException("test exception"))
+        def writer = new StringWriter() {
+            @Override
+            void write(String str, int off, int len) {
+                if (str.contains("RuntimeException")) {
+                    throw new IOException("disk full")
+                }
+                super.write(str, off, len)
+            }
+        }
+        bufferedLogService.writeTo(writer, null)
+
+        then:
+        def e = thrown(IOException)
+        e.message == "Could not write the stack trace of a log message"
+    }
+
+    def "messages logged from several threads are all kept"() {
+        when:
+        BufferedLogService bufferedLogService = new BufferedLogService(40000, null)
+        def threads = (1..4).collect { thread ->
+            Thread.start {
+                def logger = bufferedLogService.getLog(BufferedLogServiceTest.class)
+                for (int i = 0; i < 10000; i++) {
+                    logger.info("thread " + thread + " message " + i)
+                }
+            }
+        }
+        threads*.join()
+
+        then:
+        bufferedLogService.getLog().size() == 40000
+        bufferedLogService.getLog()*.message.toSet().size() == 40000
+    }
 }
@@ -0,0 +1,164 @@
+package liquibase.parser.core
+
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.resource.PathResource
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ParsedChangeLogCacheTest extends Specification {
+
+    Path tempDir
+    Path dataFile
+    ParsedChangeLogCache cache
+
+    def setup() {
+        tempDir = Files.createTempDirectory("parsed-changelog-cache-test")
+        dataFile = tempDir.resolve("changelog.xml")
+        dataFile.text = "<databaseChangeLog/>"
+        cache = Scope.getCurrentScope().getSingleton(ParsedChangeLogCache.class)
+    }
+
+    def cleanup() {
+        tempDir.toFile().deleteDir()
+    }
+
+    def "parser is always called when the cache is disabled"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("changelog.xml", dataFile)
+        2.times { cache.getOrParse(resource, "test", { stream -> calls++; [a: stream.text] }) }
+
+        then:
+        calls == 2
+    }
+
+    def "parse results are cached by content and returned as copies"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("changelog.xml", dataFile)
+        def parser = { stream -> calls++; new LinkedHashMap([text: stream.text, list: new ArrayList([1, 2L, "x"])]) }
+        def first
+        def second
+        def changed
+        Scope.child([(GlobalConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.key): tempDir.resolve("cache").toString()], {
+            first = cache.getOrParse(resource, "test", parser)
+            second = cache.getOrParse(resource, "test", parser)
+            dataFile.text = "<databaseChangeLog></databaseChangeLog>"
+            changed = cache.getOrParse(resource, "test", parser)
+        } as Scope.ScopedRunner)
+
+        then:
+        calls == 2
+        second == first
+        !second.is(first)
+        changed.text == "<databaseChangeLog></databaseChangeLog>"
+    }
+
+    def "parse results are not shared between validation and secure parsing settings"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("changelog.xml", dataFile)
+        def parser = { stream -> calls++; new LinkedHashMap([text: stream.text]) }
+        def cacheDirectory = tempDir.resolve("cache").toString()
+        [[true, true], [false, true], [true, false], [true, true]].each { validate, secure ->
+            Scope.child([(GlobalConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.key): cacheDirectory,
+                         (GlobalConfiguration.VALIDATE_XML_CHANGELOG_FILES.key)  : validate,
+                         (GlobalConfiguration.SECURE_PARSING.key)                : secure], {
+                cache.getOrParse(resource, "test", parser)
+            } as Scope.ScopedRunner)
+        }
+
+        then:
+        calls == 3
+    }
+
+    def "results with unsupported values are not cached"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("changelog.xml", dataFile)
+        Scope.child([(GlobalConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.key): tempDir.resolve("cache").toString()], {
+            2.times { cache.getOrParse(resource, "test", { stream -> calls++; new LinkedHashMap([value: new StringBuilder("x")]) }) }
+        } as Scope.ScopedRunner)
+
+        then:
+        calls == 2
+    }
+
+    @Unroll
+    def "corrupt cache files are ignored: #description"() {
+        when:
+        def calls = 0
+        def resource = new PathResource("changelog.xml", dataFile)
+        def parser = { stream -> calls++; new LinkedHashMap([text: stream.text]) }
+        def results = []
+        Scope.child([(GlobalConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.key): tempDir.resolve("cache").toString()], {
+            results.add(cache.getOrParse(resource, "test", parser))
+            def cacheFile = tempDir.resolve("cache").toFile().listFiles().find { it.name.endsWith(".parsed") }
+            def bytes = new ByteArrayOutputStream()
+            def output = new DataOutputStream(bytes)
+            output.writeInt(1)
+            write(output)
+            cacheFile.bytes = bytes.toByteArray()
+            results.add(cache.getOrParse(resource, "test", parser))
+            results.add(cache.getOrParse(resource, "test", parser))
+        } as Scope.ScopedRunner)
+
+        then:
+        calls == 2
+        results*.text == ["<databaseChangeLog/>"] * 3
+
+        where:
+        description            | write
+        "huge string length"   | { DataOutputStream out -> out.writeByte(1); out.writeInt(Integer.MAX_VALUE) }
+        "negative byte length" | { DataOutputStream out -> out.writeByte(12); out.writeInt(-1) }
+        "huge map size"        | { DataOutputStream out -> out.writeByte(15); out.writeInt(Integer.MAX_VALUE); out.writeByte(0); out.writeByte(0) }
+        "bad string reference" | { DataOutputStream out -> out.writeByte(2); out.writeInt(5) }
+        "truncated value"      | { DataOutputStream out -> out.writeByte(1); out.writeInt(10); out.write("abc".bytes) }
+        "trailing data"        | { DataOutputStream out -> out.writeByte(0); out.writeByte(0) }
+    }
+
+    @Unroll
+    def "files declaring #doctype are cached: #cached"() {
+        when:
+        def calls = 0
+        dataFile.text = doctype + "<databaseChangeLog/>"
+        def resource = new PathResource("changelog.xml", dataFile)
+        Scope.child([(GlobalConfiguration.CHANGELOG_PARSE_CACHE_DIRECTORY.key): tempDir.resolve("cache").toString()], {
+            2.times { cache.getOrParse(resource, "test", { stream -> calls++; [a: stream.text] }) }
+        } as Scope.ScopedRunner)
+
+        then:
+        calls == (cached ? 1 : 2)
+
+        where:
+        doctype                                                                                      | cached
+        '<!DOCTYPE databaseChangeLog SYSTEM "changelog.dtd">'                                        | false
+        '<!DOCTYPE databaseChangeLog PUBLIC "-//Example//DTD//EN" "changelog.dtd">'                  | false
+        '<!DOCTYPE databaseChangeLog [<!ENTITY other SYSTEM "other.xml">]>'                          | false
+        '<!DOCTYPE databaseChangeLog>'                                                               | true
+        '<!DOCTYPE databaseChangeLog [<!ATTLIST databaseChangeLog logicalFilePath CDATA #IMPLIED>]>' | true
+    }
+
+    def "parsed nodes are written and read back"() {
+        when:
+        def node = new ParsedNode(null, "databaseChangeLog")
+        node.setParsedNamespace("lb")
+        def changeSet = new ParsedNode(null, "changeSet").addChild(null, "id", "1").addChild(null, "author", "me")
+        changeSet.addChild(new ParsedNode(null, "sql").setValue("select 1"))
+        node.addChild(changeSet)
+        node.addChild(new ParsedNode(null, "values").setValue(["a", new BigDecimal("1.5"), new Date(1000), true]))
+
+        def bytes = new ByteArrayOutputStream()
+        new ParsedChangeLogCache.Writer(new DataOutputStream(bytes)).write(node)
+        def read = new ParsedChangeLogCache.Reader(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))).read()
+
+        then:
+        read.toString() == node.toString()
+        read.parsedNamespace == "lb"
+        read.getChild(null, "values").value == ["a", new BigDecimal("1.5"), new Date(1000), true]
+    }
+}
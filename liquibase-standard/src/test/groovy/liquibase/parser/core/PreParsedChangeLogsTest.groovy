@@ -0,0 +1,76 @@
+package liquibase.parser.core
+
+import liquibase.Scope
+import liquibase.exception.ChangeLogParseException
+import liquibase.parser.core.xml.XMLChangeLogSAXParser
+import liquibase.resource.ResourceAccessor
+import liquibase.sdk.resource.MockResourceAccessor
+import spock.lang.Specification
+
+class PreParsedChangeLogsTest extends Specification {
+
+    def "pre-parsed results are handed out once"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["a.xml": "a"])
+        def parser = new XMLChangeLogSAXParser() {
+            @Override
+            Object preParse(String physicalChangeLogLocation, ResourceAccessor ra) throws ChangeLogParseException {
+                return "parsed " + physicalChangeLogLocation
+            }
+        }
+        def preParsed = new PreParsedChangeLogs(2)
+        preParsed.submit("a.xml", parser, resourceAccessor)
+
+        then:
+        preParsed.take("a.xml") == "parsed a.xml"
+        preParsed.take("a.xml") == null
+        preParsed.take("other.xml") == null
+
+        cleanup:
+        preParsed?.close()
+    }
+
+    def "failed pre-parses are parsed again"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["a.xml": "a"])
+        def parser = new XMLChangeLogSAXParser() {
+            @Override
+            Object preParse(String physicalChangeLogLocation, ResourceAccessor ra) throws ChangeLogParseException {
+                throw new ChangeLogParseException("invalid")
+            }
+        }
+        def preParsed = new PreParsedChangeLogs(2)
+        preParsed.submit("a.xml", parser, resourceAccessor)
+
+        then:
+        preParsed.take("a.xml") == null
+
+        cleanup:
+        preParsed?.close()
+    }
+
+    def "getOrParse uses the pre-parsed result of the same parser"() {
+        when:
+        def resourceAccessor = new MockResourceAccessor(["a.xml": "content"])
+        def resource = resourceAccessor.get("a.xml")
+        def cache = Scope.getCurrentScope().getSingleton(ParsedChangeLogCache)
+        def preParsed = new PreParsedChangeLogs(2)
+        def parser = new XMLChangeLogSAXParser() {
+            @Override
+            Object preParse(String physicalChangeLogLocation, ResourceAccessor ra) throws ChangeLogParseException {
+                return cache.preParse(resource, "test", { stream -> "pre-parsed " + stream.text })
+            }
+        }
+        preParsed.submit("a.xml", parser, resourceAccessor)
+        def result
+        Scope.child(PreParsedChangeLogs.SCOPE_KEY, preParsed, {
+            result = cache.getOrParse(resource, "test", { stream -> "parsed " + stream.text })
+        } as Scope.ScopedRunner)
+
+        then:
+        result == "pre-parsed content"
+
+        cleanup:
+        preParsed?.close()
+    }
+}
@@ -0,0 +1,53 @@
+package liquibase.parser.core.xml
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import javax.xml.parsers.SAXParserFactory
+
+class SAXParserPoolTest extends Specification {
+
+    @Unroll
+    def "findSchemaLocation: #expected"() {
+        expect:
+        def bytes = content.getBytes("UTF-8")
+        SAXParserPool.findSchemaLocation(bytes, bytes.length) == expected
+
+        where:
+        content                                                                                                          | expected
+        '<databaseChangeLog xmlns="a" xsi:schemaLocation="a a.xsd"/>'                                                     | "a a.xsd"
+        "<?xml version='1.0'?>\n<databaseChangeLog\n xsi:schemaLocation='a\n   a.xsd\n b b.xsd'>"                         | "a a.xsd b b.xsd"
+        '<!-- xsi:schemaLocation="x x.xsd" --><lb:databaseChangeLog xmlns:lb="a" xsi:schemaLocation="a a.xsd">'          | "a a.xsd"
+        '<databaseChangeLog xmlns="a">'                                                                                   | null
+        '<other xsi:schemaLocation="a a.xsd"/>'                                                                           | null
+    }
+
+    def "released parsers are reused"() {
+        when:
+        def factory = SAXParserFactory.newInstance()
+        factory.setNamespaceAware(true)
+        def pool = new SAXParserPool(factory, new LiquibaseEntityResolver())
+        def parser = pool.borrow(null)
+        pool.release(null, parser)
+
+        then:
+        pool.borrow(null).is(parser)
+        !pool.borrow(null).is(parser)
+    }
+
+    def "only files naming just the changelog schema are validated by a compiled schema"() {
+        when:
+        def factory = SAXParserFactory.newInstance()
+        factory.setNamespaceAware(true)
+        factory.setValidating(true)
+        def pool = new SAXParserPool(factory, new LiquibaseEntityResolver())
+        def changeLogSchema = "http://www.liquibase.org/xml/ns/dbchangelog http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd"
+        def extensionSchema = "http://www.liquibase.org/xml/ns/dbchangelog-ext http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-ext.xsd"
+
+        then:
+        pool.borrow(changeLogSchema).getSchema() != null
+        pool.borrow(changeLogSchema + " " + extensionSchema).getSchema() == null
+        pool.borrow(extensionSchema).getSchema() == null
+        pool.borrow(null).getSchema() == null
+    }
+}
@@ -147,6 +147,40 @@ class XMLChangeLogSAXParserTest extends Specification {
     }
 
 
+    def "validation rejects invalid files parsed after valid ones with the same schemas"() {
+        given:
+        def changeLog = { String namespaces, String schemaLocation, String content -> """
+<databaseChangeLog xmlns="http://www.liquibase.org/xml/ns/dbchangelog"
+                   xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance" $namespaces
+                   xsi:schemaLocation="http://www.liquibase.org/xml/ns/dbchangelog
+                      http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-latest.xsd $schemaLocation">
+    $content
+</databaseChangeLog>
+""".toString() }
+        def valid = "<changeSet id=\"1\" author=\"example\"><output>valid</output></changeSet>"
+        def invalid = "<iDontKnowWhatImDoing />"
+        def ext = "http://www.liquibase.org/xml/ns/dbchangelog-ext http://www.liquibase.org/xml/ns/dbchangelog/dbchangelog-ext.xsd"
+        def resourceAccessor = new MockResourceAccessor([
+                "com/example/valid.xml"      : changeLog("", "", valid),
+                "com/example/invalid.xml"    : changeLog("", "", invalid),
+                "com/example/valid-ext.xml"  : changeLog("xmlns:ext=\"http://www.liquibase.org/xml/ns/dbchangelog-ext\"", ext, valid),
+                "com/example/invalid-ext.xml": changeLog("xmlns:ext=\"http://www.liquibase.org/xml/ns/dbchangelog-ext\"", ext, invalid),
+        ])
+        def parser = new XMLChangeLogSAXParser()
+
+        when:
+        def parsed = parser.parse("com/example/valid" + suffix + ".xml", new ChangeLogParameters(), resourceAccessor)
+        parser.parse("com/example/invalid" + suffix + ".xml", new ChangeLogParameters(), resourceAccessor)
+
+        then:
+        parsed.getChangeSets().size() == 1
+        def e = thrown(ChangeLogParseException)
+        e.message.contains("iDontKnowWhatImDoing")
+
+        where:
+        suffix << ["", "-ext"]
+    }
+
     def "setting validation flag to false will cause the XML to not be validated"() {
         given:
         def file = "com/example/invalid.xml"
@@ -69,6 +69,37 @@ class ZipResourceAccessorTest extends Specification {
         ]
     }
 
+    @Unroll
+    def "search with depth and endsWith filters: #path #minDepth-#maxDepth #endsWith"() {
+        when:
+        def searchOptions = new ResourceAccessor.SearchOptions()
+        searchOptions.setMinDepth(minDepth)
+        searchOptions.setMaxDepth(maxDepth)
+        searchOptions.setTrimmedEndsWithFilter(endsWith)
+
+        then:
+        simpleTestAccessor.search(path, searchOptions)*.getPath() == expected
+        simpleTestAccessor.search(path, searchOptions)*.getPath() == expected
+
+        where:
+        path           | minDepth | maxDepth | endsWith               | expected
+        "com/example"  | 2        | 2        | ""                     | ["com/example/shared/file-in-jar.txt",
+                                                                         "com/example/jar/file-in-jar.txt",
+                                                                         "com/example/everywhere/other-file-everywhere.txt",
+                                                                         "com/example/everywhere/file-everywhere.txt"]
+        "/com/example" | 1        | 5        | "/file-everywhere.txt" | ["com/example/everywhere/file-everywhere.txt"]
+        "com/invalid"  | 1        | 5        | ""                     | []
+    }
+
+    def "search on a file fails"() {
+        when:
+        simpleTestAccessor.search("com/example/file-in-jar.txt", true)
+
+        then:
+        def e = thrown(IOException)
+        e.message == "'com/example/file-in-jar.txt' is a file, not a directory"
+    }
+
     def describeLocations() {
         expect:
         simpleTestAccessor.describeLocations().size() == 1
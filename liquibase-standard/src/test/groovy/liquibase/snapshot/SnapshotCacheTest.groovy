@@ -0,0 +1,90 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.Database
+import liquibase.database.DatabaseFactory
+import liquibase.database.core.MockDatabase
+import liquibase.database.jvm.JdbcConnection
+import liquibase.executor.ExecutorService
+import liquibase.statement.core.RawParameterizedSqlStatement
+import liquibase.structure.core.Column
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.sql.Connection
+import java.sql.DriverManager
+
+class SnapshotCacheTest extends Specification {
+
+    def "key depends on schemas and snapshot types"() {
+        when:
+        def database = new MockDatabase()
+        def schemas = [new CatalogAndSchema("cat", "a")] as CatalogAndSchema[]
+        def key = SnapshotCache.buildKey(database, schemas, new SnapshotControl(database, false, Table, Column))
+
+        then:
+        key == SnapshotCache.buildKey(database, schemas, new SnapshotControl(database, false, Column, Table))
+        key != SnapshotCache.buildKey(database, [new CatalogAndSchema("cat", "b")] as CatalogAndSchema[], new SnapshotControl(database, false, Table, Column))
+        key != SnapshotCache.buildKey(database, schemas, new SnapshotControl(database, false, Table))
+        key.matches("[0-9a-f]{64}")
+    }
+
+    def "cached snapshot is used while the fingerprint is unchanged and rebuilt after DDL"() {
+        given:
+        def cacheDirectory = Files.createTempDirectory("snapshot-cache-test")
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:snapshotCache", "sa", "")
+        connection.createStatement().withCloseable { it.execute("create table PERSON (id int primary key, name varchar(50))") }
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        def cache = new ColumnFingerprintSnapshotCache()
+        def schemas = [new CatalogAndSchema(null, "PUBLIC")] as CatalogAndSchema[]
+        // every command creates its own snapshot control, taking a snapshot adds types to it
+        def snapshot = { cache.getOrCreate(schemas, database, new SnapshotControl(database, Table, Column)) }
+
+        when:
+        def snapshots = [:]
+        Scope.child([(GlobalConfiguration.SNAPSHOT_CACHE_DIRECTORY.key): cacheDirectory.toString()], {
+            snapshots.first = snapshot()
+            snapshots.cached = snapshot()
+            connection.createStatement().withCloseable { it.execute("create table ADDRESS (id int primary key)") }
+            snapshots.rebuilt = snapshot()
+            snapshots.cachedAgain = snapshot()
+        } as Scope.ScopedRunner)
+
+        then:
+        !(snapshots.first instanceof RestoredDatabaseSnapshot)
+        snapshots.cached instanceof RestoredDatabaseSnapshot
+        snapshots.cached.get(Table)*.name.sort() == ["PERSON"]
+        snapshots.cached.get(Column)*.name.sort() == ["ID", "NAME"]
+
+        !(snapshots.rebuilt instanceof RestoredDatabaseSnapshot)
+        snapshots.rebuilt.get(Table)*.name.sort() == ["ADDRESS", "PERSON"]
+        snapshots.cachedAgain instanceof RestoredDatabaseSnapshot
+        snapshots.cachedAgain.get(Table)*.name.sort() == ["ADDRESS", "PERSON"]
+
+        cleanup:
+        database?.close()
+        cacheDirectory.toFile().deleteDir()
+    }
+
+    /**
+     * Caches H2 snapshots, using the columns of the schemas as the fingerprint.
+     */
+    private static class ColumnFingerprintSnapshotCache extends SnapshotCache {
+
+        @Override
+        protected boolean isCacheable(Database database, SnapshotControl snapshotControl) {
+            return true
+        }
+
+        @Override
+        protected String readFingerprint(Database database, CatalogAndSchema[] schemas) {
+            def sql = "SELECT LISTAGG(TABLE_NAME || '.' || COLUMN_NAME || ':' || DATA_TYPE, ',') " +
+                    "WITHIN GROUP (ORDER BY TABLE_NAME, COLUMN_NAME) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = ?"
+            return Scope.getCurrentScope().getSingleton(ExecutorService).getExecutor("jdbc", database)
+                    .queryForObject(new RawParameterizedSqlStatement(sql, schemas[0].schemaName), String)
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package liquibase.snapshot
+
+import liquibase.CatalogAndSchema
+import liquibase.GlobalConfiguration
+import liquibase.Scope
+import liquibase.database.DatabaseFactory
+import liquibase.database.jvm.JdbcConnection
+import liquibase.structure.core.Catalog
+import liquibase.structure.core.ForeignKey
+import liquibase.structure.core.Schema
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+import java.sql.Connection
+import java.sql.DriverManager
+
+class SnapshotGeneratorFactoryTest extends Specification {
+
+    def "parallel snapshot of several schemas links foreign keys to the tables of the other schema"() {
+        given:
+        def url = "jdbc:h2:mem:parallelSnapshot;DB_CLOSE_DELAY=-1"
+        Connection connection = DriverManager.getConnection(url, "sa", "")
+        connection.createStatement().withCloseable { statement ->
+            statement.execute("create schema PARENT_SCHEMA")
+            statement.execute("create schema CHILD_SCHEMA")
+            statement.execute("create table PARENT_SCHEMA.PARENT (id int primary key)")
+            statement.execute("create table CHILD_SCHEMA.CHILD (id int primary key, parent_id int, " +
+                    "constraint FK_CHILD_PARENT foreign key (parent_id) references PARENT_SCHEMA.PARENT (id))")
+        }
+        def database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection))
+        def connectionSupplier = { new JdbcConnection(DriverManager.getConnection(url, "sa", "")) } as DatabaseConnectionSupplier
+
+        when:
+        DatabaseSnapshot snapshot = Scope.child([(GlobalConfiguration.SNAPSHOT_PARALLELISM.getKey()): 2], {
+            CatalogAndSchema[] schemas = [new CatalogAndSchema(null, "CHILD_SCHEMA"), new CatalogAndSchema(null, "PARENT_SCHEMA")]
+            return SnapshotGeneratorFactory.getInstance().createSnapshot(schemas, database, new SnapshotControl(database), connectionSupplier)
+        } as Scope.ScopedRunnerWithReturn)
+        def parent = snapshot.get(Table).find { it.name == "PARENT" }
+        def child = snapshot.get(Table).find { it.name == "CHILD" }
+        def foreignKey = snapshot.get(ForeignKey).find { it.name == "FK_CHILD_PARENT" }
+
+        then:
+        snapshot.get(Catalog).size() == 1
+        snapshot.get(Schema)*.name.sort() == ["CHILD_SCHEMA", "PARENT_SCHEMA"]
+        snapshot.get(Schema).every { it.catalog.is(snapshot.get(Catalog).first()) }
+        [parent, child].every { table -> table.schema.is(snapshot.get(Schema).find { it.name == table.schema.name }) }
+
+        foreignKey.foreignKeyTable.is(child)
+        foreignKey.primaryKeyTable.is(parent)
+        foreignKey.primaryKeyColumns.size() == 1
+        foreignKey.primaryKeyColumns[0].is(parent.getColumn("ID"))
+        foreignKey.foreignKeyColumns[0].is(child.getColumn("PARENT_ID"))
+
+        cleanup:
+        database?.close()
+    }
+}
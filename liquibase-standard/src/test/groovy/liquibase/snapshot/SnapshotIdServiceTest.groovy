@@ -13,4 +13,15 @@ class SnapshotIdServiceTest extends Specification {
         id1 != id2
         id1.subSequence(0, 4) == id2.subSequence(0, 4)
     }
+
+    def "ids are unique across threads"() {
+        when:
+        def ids = Collections.synchronizedList([])
+        def threads = (1..4).collect { Thread.start { 1000.times { ids.add(SnapshotIdService.instance.generateId()) } } }
+        threads*.join()
+
+        then:
+        ids.size() == 4000
+        ids.toSet().size() == 4000
+    }
 }
@@ -0,0 +1,28 @@
+package liquibase.structure
+
+import liquibase.database.core.MockDatabase
+import liquibase.structure.core.Column
+import liquibase.structure.core.Index
+import liquibase.structure.core.Table
+import spock.lang.Specification
+
+class DatabaseObjectCollectionTest extends Specification {
+
+    def "get searches all hash buckets of the example"() {
+        when:
+        def database = new MockDatabase()
+        def collection = new DatabaseObjectCollection(database)
+        def table1 = new Table(null, null, "table1")
+        def table2 = new Table(null, null, "table2")
+        def indexA = new Index("idx_a").setRelation(table1).addColumn(new Column("a"))
+        def indexB = new Index("idx_b").setRelation(table1).addColumn(new Column("b"))
+        def indexC = new Index("idx_c").setRelation(table2).addColumn(new Column("c"))
+        [indexA, indexB, indexC].each { collection.add(it) }
+
+        then:
+        collection.get(new Index("idx_b").setRelation(new Table(null, null, "table1")).addColumn(new Column("b")), null).is(indexB)
+        collection.get(new Index(null).setRelation(new Table(null, null, "table2")).addColumn(new Column("c")), null).is(indexC)
+        collection.get(new Index("idx_d").setRelation(new Table(null, null, "table2")).addColumn(new Column("d")), null) == null
+        collection.get(Index).size() == 3
+    }
+}
@@ -181,6 +181,50 @@ class StringClausesTest extends Specification {
 
     }
 
+    def "repeated clauses only keep the first key"() {
+        when:
+        def clauses = new StringClauses()
+        clauses.append("first").append("(").append("FIRST").append("(").append("second")
+
+        then:
+        clauses.toString() == "first ( FIRST ( second"
+        clauses == new StringClauses().append("first").append("(").append("FIRST").append("(").append("second")
+
+        when:
+        clauses.remove("first").remove("(")
+
+        then:
+        clauses.toString() == "FIRST ( second"
+        !clauses.contains("first")
+        !clauses.contains("(")
+
+        when:
+        clauses.append("(").prepend("second")
+
+        then:
+        clauses.toString() == "second FIRST ( second ("
+        clauses.get("second") == "second"
+        clauses.contains("(")
+    }
+
+    def "clauseIterator remove and replace"() {
+        when:
+        def clauses = new StringClauses()
+        clauses.append("first").append(new StringClauses.Whitespace(" ")).append("second").append("third")
+        def iterator = clauses.getClauseIterator()
+        iterator.next()
+        iterator.remove()
+        iterator.nextNonWhitespace()
+        iterator.replace("new second")
+
+        then:
+        clauses.toString() == "  new second third"
+        !clauses.contains("first")
+        clauses.get("second") == "new second"
+        iterator.next() == "third"
+        !iterator.hasNext()
+    }
+
     def "toArray"() {
         when:
         def clauses = new StringClauses()
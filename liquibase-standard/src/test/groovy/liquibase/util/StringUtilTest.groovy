@@ -3,6 +3,7 @@ package liquibase.util
 import liquibase.change.core.CreateTableChange
 import org.hamcrest.Matchers
 import spock.lang.Specification
+import spock.lang.Timeout
 import spock.lang.Unroll
 
 import static spock.util.matcher.HamcrestSupport.that
@@ -50,6 +51,79 @@ class StringUtilTest extends Specification {
         true          | true            | null         | "SELECT 'normal'; SELECT 'a\\'b;\nDROP TABLE users; --';"                                                                                                                                            | ["SELECT 'normal'", "SELECT 'a\\'b;\nDROP TABLE users; --'"]
     }
 
+    @Unroll
+    def "streamMultiLineSQL returns the same statements as processMultiLineSQL: #endDelimiter"() {
+        when:
+        def streamed = []
+        def iterator = StringUtil.streamMultiLineSQL(new StringReader(rawString), stripComments, splitStatements, endDelimiter, null)
+        while (iterator.hasNext()) {
+            streamed.add(iterator.next())
+        }
+
+        then:
+        streamed == Arrays.asList(StringUtil.processMultiLineSQL(rawString, stripComments, splitStatements, endDelimiter))
+
+        where:
+        stripComments | splitStatements | endDelimiter | rawString
+        true          | true            | null         | "/**\nSome comments go here\n**/\ncreate table sqlfilerollback (id int);\n\n/**\nSome morecomments go here\n**/\ncreate table sqlfilerollback2 (id int);"
+        false         | true            | null         | "some sql/*Some text\nmore text*/more sql"
+        true          | true            | null         | "statement 1/2\n/\nstatement 2/2"
+        true          | true            | "//"         | "drop procedure if exists my_proc//\n\ncreate procedure my_proc(i_myvar varchar)\nbegin\n  a bunch of code here\nend//"
+        true          | true            | "/"          | "CREATE OR REPLACE PACKAGE emp_actions AS  -- spec\nTYPE EmpRecTyp IS RECORD (emp_id INT, salary REAL);\nCURSOR desc_salary RETURN EmpRecTyp);\nEND emp_actions;\n/\nanother statement;here\n/\n"
+        true          | true            | "\\ngo"      | "CREATE OR REPLACE PACKAGE emp_actions AS  -- spec\nTYPE EmpRecTyp IS RECORD (emp_id INT, salary REAL);\nCURSOR desc_salary RETURN EmpRecTyp);\nEND emp_actions;\nGO\nanother statement;here\nGO\n"
+        true          | true            | null         | "CREATE OR REPLACE PACKAGE emp_actions AS BEGIN\n statement 1;\nBEGIN a nested statement;here; END; END;"
+        true          | true            | null         | "BEGIN TRANSACTION; statement 1; end transaction;"
+        true          | false           | null         | "statement 1;\nstatement 2;\nGO\n\nstatement 3; statement 4;"
+        true          | true            | "//"         | "statement 1 /"
+    }
+
+    def "streamMultiLineSQL reads only as far as the requested statement"() {
+        given:
+        def charsRead = 0
+        def reader = new FilterReader(new StringReader("insert into test_table values(1, 'hello');\n" * 100000)) {
+            @Override
+            int read(char[] buffer, int offset, int length) throws IOException {
+                def read = super.read(buffer, offset, length)
+                charsRead += Math.max(read, 0)
+                return read
+            }
+        }
+
+        when:
+        def iterator = StringUtil.streamMultiLineSQL(reader, true, true, null, null)
+
+        then:
+        iterator.next() == "insert into test_table values(1, 'hello')"
+        charsRead < 100000
+    }
+
+    @Unroll
+    def "processMultiLineSQL splits real world scripts: #file with endDelimiter #endDelimiter"() {
+        when:
+        def sql = StringUtilTest.getResourceAsStream("/liquibase/util/split-sql/${file}.sql").getText("UTF-8")
+        def expected = StringUtilTest.getResourceAsStream("/liquibase/util/split-sql/${file}.expected").getText("UTF-8")
+
+        then:
+        Arrays.asList(StringUtil.processMultiLineSQL(sql, stripComments, true, endDelimiter, null)) == expected.split("\n-- end statement --\n") as List
+
+        where:
+        file                 | stripComments | endDelimiter
+        "oracle-plsql"       | true          | "/"
+        "oracle-plsql"       | true          | "\\n/"
+        "tsql-procedures"    | true          | null
+        "postgres-functions" | false         | null
+    }
+
+    @Timeout(10)
+    def "processMultiLineSQL is linear in runs of blank lines"() {
+        when:
+        def sql = "create table a (id int);" + ("\n" * 500000) + "create table b (id int);\n" + ("-- comment\n" * 50000) + "create table c (id int)"
+
+        then:
+        // each blank line used to rescan the rest of the run to find the next clause
+        StringUtil.processMultiLineSQL(sql, true, true, null, null) == ["create table a (id int)", "create table b (id int)", "create table c (id int)"] as String[]
+    }
+
     @Unroll
     def "stripComments examples"() {
         expect:
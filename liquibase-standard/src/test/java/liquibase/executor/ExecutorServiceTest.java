@@ -32,4 +32,17 @@ public class ExecutorServiceTest {
 
     }
 
+    @Test
+    public void clearExecutorsKeepsOtherDatabases() {
+        PostgresDatabase cleared = new PostgresDatabase();
+        PostgresDatabase kept = new PostgresDatabase();
+        Executor clearedExecutor = executorService.getExecutor("jdbc", cleared);
+        Executor keptExecutor = executorService.getExecutor("jdbc", kept);
+
+        executorService.clearExecutors(cleared);
+
+        assertThat(executorService.getExecutor("jdbc", cleared)).isNotSameAs(clearedExecutor);
+        assertThat(executorService.getExecutor("jdbc", kept)).isSameAs(keptExecutor);
+    }
+
 }
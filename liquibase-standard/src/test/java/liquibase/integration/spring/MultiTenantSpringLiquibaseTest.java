@@ -0,0 +1,226 @@
+package liquibase.integration.spring;
+
+import liquibase.Scope;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.changelog.ChangeLogHistoryService;
+import liquibase.changelog.ChangeLogHistoryServiceFactory;
+import liquibase.database.Database;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.LiquibaseException;
+import liquibase.exception.SetupException;
+import liquibase.exception.ValidationErrors;
+import liquibase.lockservice.LockServiceFactory;
+import liquibase.resource.ResourceAccessor;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link MultiTenantSpringLiquibase}
+ */
+public class MultiTenantSpringLiquibaseTest {
+
+    private static final String[] OVERLAP_SCHEMAS = {"FIRST", "T1", "T2", "T3"};
+    private static volatile JdbcDataSource overlapDataSource;
+
+    @Test
+    public void parallelSchemas() throws Exception {
+        JdbcDataSource dataSource = createDataSource("parallelSchemas", "T1", "T2", "T3", "T4");
+        MultiTenantSpringLiquibase liquibase = createLiquibase(dataSource, "T1", "T2", "T3", "T4");
+        liquibase.setParallelThreads(3);
+
+        liquibase.afterPropertiesSet();
+        for (String schema : Arrays.asList("T1", "T2", "T3", "T4")) {
+            assertTrue(schema, hasTenantTable(dataSource, schema));
+        }
+
+        // the tenants are up to date now, so they are only fast checked
+        liquibase.afterPropertiesSet();
+    }
+
+    /**
+     * An up to date tenant is skipped by the fast check before its update command runs, so its lock table is not even
+     * looked at.
+     */
+    @Test
+    public void upToDateTenantsSkipTheUpdateCommand() throws Exception {
+        JdbcDataSource dataSource = createDataSource("upToDateTenantsSkipTheUpdateCommand", "T1", "T2");
+        MultiTenantSpringLiquibase liquibase = createLiquibase(dataSource, "T1", "T2");
+        liquibase.setParallelThreads(2);
+        liquibase.afterPropertiesSet();
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE T1.DATABASECHANGELOGLOCK");
+        }
+        liquibase.afterPropertiesSet();
+        assertFalse(hasTable(dataSource, "T1", "DATABASECHANGELOGLOCK"));
+        assertTrue(hasTable(dataSource, "T2", "DATABASECHANGELOGLOCK"));
+    }
+
+    /**
+     * The other tenants run their last changeset after the first tenant finished and cleaned up, which must not reset
+     * the lock, history or executors of the tenants still running.
+     */
+    @Test
+    public void tenantFinishingDuringOtherTenantUpdates() throws Exception {
+        overlapDataSource = createDataSource("tenantFinishingDuringOtherTenantUpdates", OVERLAP_SCHEMAS);
+        MultiTenantSpringLiquibase liquibase = createLiquibase(overlapDataSource, OVERLAP_SCHEMAS);
+        liquibase.setChangeLog("classpath:liquibase/integration/spring/multi-tenant-overlap-changelog.xml");
+        liquibase.setParallelThreads(OVERLAP_SCHEMAS.length);
+
+        liquibase.afterPropertiesSet();
+        for (String schema : OVERLAP_SCHEMAS) {
+            assertEquals(schema, 3, queryInt(overlapDataSource, "SELECT COUNT(*) FROM " + schema + ".DATABASECHANGELOG"));
+            assertEquals(schema, 1, queryInt(overlapDataSource, "SELECT COUNT(*) FROM " + schema + ".TENANT_DATA"));
+            assertEquals(schema, 0, queryInt(overlapDataSource, "SELECT COUNT(*) FROM " + schema + ".DATABASECHANGELOGLOCK WHERE LOCKED"));
+        }
+    }
+
+    @Test
+    public void collectAllErrors() throws Exception {
+        JdbcDataSource dataSource = createDataSource("collectAllErrors", "T1", "T2");
+        MultiTenantSpringLiquibase liquibase = createLiquibase(dataSource, "MISSING1", "T1", "MISSING2", "T2");
+        liquibase.setParallelThreads(2);
+        liquibase.setFailFast(false);
+
+        try {
+            liquibase.afterPropertiesSet();
+            fail("Expected the missing schemas to fail");
+        } catch (LiquibaseException e) {
+            assertEquals("Liquibase failed for 2 of 4 tenants: schema MISSING1, schema MISSING2", e.getMessage());
+            assertEquals(1, e.getSuppressed().length);
+        }
+        assertTrue(hasTenantTable(dataSource, "T1"));
+        assertTrue(hasTenantTable(dataSource, "T2"));
+    }
+
+    @Test
+    public void failFast() throws Exception {
+        JdbcDataSource dataSource = createDataSource("failFast", "T1");
+        MultiTenantSpringLiquibase liquibase = createLiquibase(dataSource, "MISSING", "T1");
+
+        try {
+            liquibase.afterPropertiesSet();
+            fail("Expected the missing schema to fail");
+        } catch (LiquibaseException e) {
+            assertFalse(e.getMessage().startsWith("Liquibase failed for"));
+        }
+        assertFalse(hasTenantTable(dataSource, "T1"));
+    }
+
+    private MultiTenantSpringLiquibase createLiquibase(JdbcDataSource dataSource, String... schemas) {
+        MultiTenantSpringLiquibase liquibase = new MultiTenantSpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setSchemas(Arrays.asList(schemas));
+        liquibase.setChangeLog("classpath:liquibase/integration/spring/multi-tenant-changelog.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        return liquibase;
+    }
+
+    private JdbcDataSource createDataSource(String name, String... schemas) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("sa");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String schema : schemas) {
+                statement.execute("CREATE SCHEMA " + schema);
+            }
+        }
+        return dataSource;
+    }
+
+    private static int queryInt(JdbcDataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    private boolean hasTenantTable(JdbcDataSource dataSource, String schema) throws SQLException {
+        return hasTable(dataSource, schema, "TENANT_DATA");
+    }
+
+    private boolean hasTable(JdbcDataSource dataSource, String schema, String table) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet tables = connection.getMetaData().getTables(null, schema, table, null)) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * Keeps every tenant but FIRST waiting until FIRST has run all changesets and released its lock, then fails if the
+     * lock or history service of the waiting tenant was reset meanwhile.
+     */
+    public static class WaitForFirstTenant implements CustomTaskChange {
+
+        @Override
+        public void execute(Database database) throws CustomChangeException {
+            if ("FIRST".equals(database.getDefaultSchemaName())) {
+                return;
+            }
+            ChangeLogHistoryService historyService = Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).getChangeLogService(database);
+            long deadline = System.currentTimeMillis() + 30000;
+            try {
+                while (!isFirstTenantDone()) {
+                    if (System.currentTimeMillis() > deadline) {
+                        throw new CustomChangeException("Tenant FIRST did not finish");
+                    }
+                    Thread.sleep(20);
+                }
+                // the lock is released before the update cleans up
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CustomChangeException(e);
+            }
+            if (!LockServiceFactory.getInstance().getLockService(database).hasChangeLogLock()) {
+                throw new CustomChangeException("Lock service of " + database.getDefaultSchemaName() + " was reset while it held the lock");
+            }
+            if (Scope.getCurrentScope().getSingleton(ChangeLogHistoryServiceFactory.class).getChangeLogService(database) != historyService) {
+                throw new CustomChangeException("History service of " + database.getDefaultSchemaName() + " was reset during its update");
+            }
+        }
+
+        private static boolean isFirstTenantDone() {
+            try {
+                return queryInt(overlapDataSource, "SELECT COUNT(*) FROM FIRST.DATABASECHANGELOG") == 3
+                        && queryInt(overlapDataSource, "SELECT COUNT(*) FROM FIRST.DATABASECHANGELOGLOCK WHERE LOCKED") == 0;
+            } catch (SQLException e) {
+                // the tables are not created yet
+                return false;
+            }
+        }
+
+        @Override
+        public String getConfirmationMessage() {
+            return "Waited for tenant FIRST";
+        }
+
+        @Override
+        public void setUp() throws SetupException {
+        }
+
+        @Override
+        public void setFileOpener(ResourceAccessor resourceAccessor) {
+        }
+
+        @Override
+        public ValidationErrors validate(Database database) {
+            return new ValidationErrors();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package liquibase.lockservice;
+
+import liquibase.GlobalConfiguration;
+import liquibase.Scope;
+import liquibase.database.core.H2Database;
+import liquibase.database.core.PostgresDatabase;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdvisoryLockServiceTest {
+
+    @Test
+    public void backoffGrowsExponentiallyUpToTheMaximum() {
+        Random random = new Random(42);
+        long maxMillis = 10_000;
+        for (int attempt = 0; attempt < 40; attempt++) {
+            long expected = Math.min(maxMillis, AdvisoryLockService.INITIAL_BACKOFF_MILLIS << Math.min(attempt, 30));
+            long backoff = AdvisoryLockService.getBackoffMillis(attempt, maxMillis, random);
+            assertTrue("attempt " + attempt + ": " + backoff, backoff >= expected / 2 && backoff <= expected);
+        }
+    }
+
+    @Test
+    public void notUsedUnlessEnabled() throws Exception {
+        AdvisoryLockService lockService = new AdvisoryLockService();
+        assertFalse(lockService.supports(new PostgresDatabase()));
+
+        Scope.child(Collections.singletonMap(GlobalConfiguration.CHANGELOGLOCK_ADVISORY_LOCK.getKey(), true), () -> {
+            // no JDBC connection, so no advisory lock either
+            assertFalse(lockService.supports(new PostgresDatabase()));
+            assertFalse(lockService.supports(new H2Database()));
+        });
+    }
+}
@@ -85,6 +85,20 @@ public class LockServiceFactoryTest {
         assertTrue(lockServiceFactory.getLockService(getMockDatabase()) instanceof MockLockService);
     }
 
+    @Test
+    public void resetLockServiceKeepsOtherDatabases() {
+        Database reset = new OracleDatabase();
+        Database kept = new OracleDatabase();
+        LockServiceFactory lockServiceFactory = LockServiceFactory.getInstance();
+        LockService resetLockService = lockServiceFactory.getLockService(reset);
+        LockService keptLockService = lockServiceFactory.getLockService(kept);
+
+        lockServiceFactory.resetLockService(reset);
+
+        assertNotSame(resetLockService, lockServiceFactory.getLockService(reset));
+        assertSame(keptLockService, lockServiceFactory.getLockService(kept));
+    }
+
     @Test
     public void resetAll_isThreadSafe() throws InterruptedException {
 
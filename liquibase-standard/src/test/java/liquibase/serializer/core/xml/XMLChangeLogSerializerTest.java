@@ -11,6 +11,7 @@ import liquibase.database.ObjectQuotingStrategy;
 import liquibase.precondition.CustomPreconditionWrapper;
 import liquibase.precondition.core.SequenceExistsPrecondition;
 import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.serializer.ChangeLogWriter;
 import liquibase.statement.SequenceNextValueFunction;
 import org.junit.Test;
 import org.w3c.dom.Element;
@@ -19,9 +20,12 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayOutputStream;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
@@ -1025,6 +1029,36 @@ public class XMLChangeLogSerializerTest {
                 "        tableName=\"c\"/>", out);
     }
 
+    @Test
+    public void openWriter_writesSameOutputAsWrite() throws Exception {
+        List<ChangeSet> changeSets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ChangeSet changeSet = new ChangeSet("id" + i, "author", false, false, "path/to/changelog.xml", null, null, null);
+            CreateTableChange change = new CreateTableChange();
+            change.setTableName("table" + i);
+            change.addColumn(new ColumnConfig().setName("id").setType("int"));
+            changeSet.addChange(change);
+            changeSets.add(changeSet);
+        }
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new XMLChangeLogSerializer().write(changeSets, expected);
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        try (ChangeLogWriter writer = new XMLChangeLogSerializer().openWriter(streamed)) {
+            for (ChangeSet changeSet : changeSets) {
+                writer.write(changeSet);
+            }
+        }
+        assertEquals(expected.toString("UTF-8"), streamed.toString("UTF-8"));
+
+        ByteArrayOutputStream expectedEmpty = new ByteArrayOutputStream();
+        new XMLChangeLogSerializer().write(new ArrayList<ChangeSet>(), expectedEmpty);
+        ByteArrayOutputStream streamedEmpty = new ByteArrayOutputStream();
+        new XMLChangeLogSerializer().openWriter(streamedEmpty).close();
+        assertEquals(expectedEmpty.toString("UTF-8"), streamedEmpty.toString("UTF-8"));
+    }
+
     private static Map<String, String> attsMap(String... values) {
         Map<String, String> map = new LinkedHashMap<>();
         for (int i = 0; i < values.length; i += 2) {
@@ -1,18 +1,30 @@
 package liquibase.sqlgenerator;
 
+import liquibase.Scope;
+import liquibase.change.AddColumnConfig;
+import liquibase.change.core.AddColumnChange;
+import liquibase.change.core.RenameTableChange;
+import liquibase.changelog.ChangeSet;
+import liquibase.database.Database;
 import liquibase.database.core.H2Database;
 import liquibase.servicelocator.LiquibaseService;
+import liquibase.sql.Sql;
 import liquibase.sqlgenerator.core.AddAutoIncrementGenerator;
 import liquibase.sqlgenerator.core.AddAutoIncrementGeneratorDB2;
 import liquibase.sqlgenerator.core.AddAutoIncrementGeneratorHsqlH2;
 import liquibase.sqlgenerator.core.AddColumnGenerator;
+import liquibase.sqlgenerator.core.RenameTableGenerator;
+import liquibase.statement.InsertExecutablePreparedStatement;
 import liquibase.statement.core.AddAutoIncrementStatement;
+import liquibase.statement.core.RenameTableStatement;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.SortedSet;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -164,6 +176,99 @@ public class SqlGeneratorFactoryTest {
     }
 
 
+    @Test
+    public void cachedGeneratorsAreSharedUntilRegistrationChanges() {
+        SortedSet<SqlGenerator> first = factory.getGenerators(statement, database);
+        assertSame(first, factory.getGenerators(statement, database));
+
+        factory.register(new CustomAddAutoIncrementGeneratorHsqlH2());
+        SortedSet<SqlGenerator> afterRegister = factory.getGenerators(statement, database);
+        assertNotSame(first, afterRegister);
+        assertEquals(first.size() + 1, afterRegister.size());
+        assertTrue(afterRegister.first() instanceof CustomAddAutoIncrementGeneratorHsqlH2);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void cachedGeneratorsCannotBeModified() {
+        factory.getGenerators(statement, database).clear();
+    }
+
+    @Test
+    public void generatedSqlIsCachedInScope() throws Exception {
+        SqlGenerationCache cache = new SqlGenerationCache();
+        RenameTableStatement renameTable = new RenameTableStatement(null, null, "person", "people");
+        Scope.child(SqlGenerationCache.SCOPE_KEY, cache, () -> {
+            Sql[] first = factory.generateSql(renameTable, database);
+            Sql[] second = factory.generateSql(renameTable, database);
+            assertArrayEquals(first, second);
+
+            factory.generateSql(renameTable, new H2Database());
+        });
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void statementsRegeneratedFromTheSameChangeReuseTheirSql() throws Exception {
+        AtomicInteger generated = new AtomicInteger();
+        factory.register(new RenameTableGenerator() {
+            @Override
+            public int getPriority() {
+                return super.getPriority() + 1;
+            }
+
+            @Override
+            public Sql[] generateSql(RenameTableStatement statement, Database database, SqlGeneratorChain sqlGeneratorChain) {
+                generated.incrementAndGet();
+                return super.generateSql(statement, database, sqlGeneratorChain);
+            }
+        });
+        RenameTableChange change = new RenameTableChange();
+        change.setOldTableName("person");
+        change.setNewTableName("people");
+
+        SqlGenerationCache cache = new SqlGenerationCache();
+        Scope.child(SqlGenerationCache.SCOPE_KEY, cache, () -> {
+            Sql[] first = factory.generateSql(change, database);
+            Sql[] second = factory.generateSql(change, database);
+            assertArrayEquals(first, second);
+        });
+
+        assertEquals(1, generated.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void changedStatementsDoNotReuseTheirSql() throws Exception {
+        SqlGenerationCache cache = new SqlGenerationCache();
+        Scope.child(SqlGenerationCache.SCOPE_KEY, cache, () -> {
+            factory.generateSql(statement, database);
+            statement.getDatabaseTableIdentifier().setTableName("employee");
+            Sql[] changed = factory.generateSql(statement, database);
+            assertTrue(changed[0].toSql().toLowerCase().contains("employee"));
+        });
+
+        assertTrue(SqlGenerationCache.isCacheable(statement));
+        assertEquals(0, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void statementsHoldingChangesAreNotCached() {
+        AddColumnChange change = new AddColumnChange();
+        change.setTableName("person");
+        AddColumnConfig column = new AddColumnConfig();
+        column.setName("name");
+        column.setType("varchar(255)");
+        change.addColumn(column);
+
+        assertTrue(SqlGenerationCache.isCacheable(change.generateStatements(database)[0]));
+        assertFalse(SqlGenerationCache.isCacheable(new InsertExecutablePreparedStatement(database, null, null, "person",
+                Collections.emptyList(), new ChangeSet("1", "test", false, false, "changelog.xml", null, null, null), null)));
+    }
+
     @Test
     public void reset() {
         SqlGeneratorFactory.reset();
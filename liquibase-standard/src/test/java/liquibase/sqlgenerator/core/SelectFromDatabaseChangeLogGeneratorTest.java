@@ -1,7 +1,13 @@
 package liquibase.sqlgenerator.core;
 
+import liquibase.change.ColumnConfig;
+import liquibase.database.core.H2Database;
+import liquibase.sql.Sql;
 import liquibase.sqlgenerator.AbstractSqlGeneratorTest;
 import liquibase.statement.core.SelectFromDatabaseChangeLogStatement;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
 
 public class SelectFromDatabaseChangeLogGeneratorTest extends AbstractSqlGeneratorTest<SelectFromDatabaseChangeLogStatement> {
     public SelectFromDatabaseChangeLogGeneratorTest() throws Exception {
@@ -12,4 +18,15 @@ public class SelectFromDatabaseChangeLogGeneratorTest extends AbstractSqlGenerat
     protected SelectFromDatabaseChangeLogStatement createSampleSqlStatement() {
         return new SelectFromDatabaseChangeLogStatement("ID");
     }
+
+    @Test
+    public void generateSqlByOrderExecutedGreaterThan() {
+        SelectFromDatabaseChangeLogStatement statement = new SelectFromDatabaseChangeLogStatement(
+                new SelectFromDatabaseChangeLogStatement.ByOrderExecutedGreaterThan(42),
+                new ColumnConfig().setName("*").setComputed(true)).setOrderBy("DATEEXECUTED ASC", "ORDEREXECUTED ASC");
+
+        Sql[] sql = generatorUnderTest.generateSql(statement, new H2Database(), null);
+
+        assertTrue(sql[0].toSql(), sql[0].toSql().endsWith("WHERE ORDEREXECUTED > 42 ORDER BY DATEEXECUTED ASC, ORDEREXECUTED ASC"));
+    }
 }
@@ -0,0 +1,87 @@
+-- Order management package, deployed with endDelimiter "/"
+CREATE OR REPLACE PACKAGE order_mgmt AS
+    /* Public types */
+    TYPE order_rec IS RECORD (
+        order_id    NUMBER(12),
+        customer_id NUMBER(12),
+        total       NUMBER(12, 2)
+    );
+
+    c_status_open   CONSTANT VARCHAR2(10) := 'OPEN';
+    c_status_closed CONSTANT VARCHAR2(10) := 'CLOSED';
+
+    PROCEDURE create_order(p_customer_id IN NUMBER, p_order_id OUT NUMBER);
+    PROCEDURE close_order(p_order_id IN NUMBER);
+    FUNCTION order_total(p_order_id IN NUMBER) RETURN NUMBER;
+END order_mgmt;
+/
+
+CREATE OR REPLACE PACKAGE BODY order_mgmt AS
+
+    PROCEDURE create_order(p_customer_id IN NUMBER, p_order_id OUT NUMBER) IS
+    BEGIN
+        INSERT INTO orders (order_id, customer_id, status, created_at)
+        VALUES (orders_seq.NEXTVAL, p_customer_id, c_status_open, SYSDATE)
+        RETURNING order_id INTO p_order_id;
+    END create_order;
+
+    PROCEDURE close_order(p_order_id IN NUMBER) IS
+        v_count NUMBER;
+    BEGIN
+        SELECT COUNT(*) INTO v_count FROM order_lines WHERE order_id = p_order_id;
+        IF v_count = 0 THEN
+            RAISE_APPLICATION_ERROR(-20001, 'Order ' || p_order_id || ' has no lines; cannot close');
+        END IF;
+        UPDATE orders SET status = c_status_closed, closed_at = SYSDATE WHERE order_id = p_order_id;
+    EXCEPTION
+        WHEN NO_DATA_FOUND THEN
+            NULL;
+    END close_order;
+
+    FUNCTION order_total(p_order_id IN NUMBER) RETURN NUMBER IS
+        v_total NUMBER := 0;
+    BEGIN
+        FOR line IN (SELECT quantity, unit_price FROM order_lines WHERE order_id = p_order_id) LOOP
+            v_total := v_total + line.quantity * line.unit_price;
+        END LOOP;
+        RETURN v_total / 1;
+    END order_total;
+
+END order_mgmt;
+/
+
+CREATE OR REPLACE TRIGGER orders_audit_trg
+    AFTER INSERT OR UPDATE OR DELETE ON orders
+    FOR EACH ROW
+DECLARE
+    v_action VARCHAR2(1);
+BEGIN
+    IF INSERTING THEN
+        v_action := 'I';
+    ELSIF UPDATING THEN
+        v_action := 'U';
+    ELSE
+        v_action := 'D';
+    END IF;
+    INSERT INTO orders_audit (order_id, action, changed_at)
+    VALUES (NVL(:NEW.order_id, :OLD.order_id), v_action, SYSTIMESTAMP);
+END;
+/
+
+-- Anonymous block to seed reference data
+
+
+
+BEGIN
+    FOR i IN 1 .. 10 LOOP
+        INSERT INTO order_priorities (priority_id, name) VALUES (i, 'Priority ' || i);
+    END LOOP;
+    COMMIT;
+END;
+/
+
+CREATE INDEX orders_customer_idx ON orders (customer_id)
+/
+
+GRANT EXECUTE ON order_mgmt TO order_app
+/
@@ -0,0 +1,54 @@
+-- Billing functions for PostgreSQL
+CREATE TABLE IF NOT EXISTS invoice_events (
+    id          BIGSERIAL PRIMARY KEY,
+    invoice_id  BIGINT NOT NULL,
+    event_type  TEXT NOT NULL,
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE OR REPLACE FUNCTION invoice_total(p_invoice_id BIGINT)
+RETURNS NUMERIC
+LANGUAGE plpgsql
+STABLE
+AS $$
+DECLARE
+    v_total NUMERIC := 0;
+BEGIN
+    SELECT COALESCE(SUM(quantity * unit_price), 0)
+      INTO v_total
+      FROM invoice_lines
+     WHERE invoice_id = p_invoice_id;
+    RETURN v_total;
+END
+$$;
+
+CREATE OR REPLACE FUNCTION log_invoice_event()
+RETURNS TRIGGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    INSERT INTO invoice_events (invoice_id, event_type)
+    VALUES (NEW.id, TG_OP);
+    IF TG_OP = 'UPDATE' AND NEW.status <> OLD.status THEN
+        INSERT INTO invoice_events (invoice_id, event_type)
+        VALUES (NEW.id, 'STATUS:' || NEW.status);
+    END IF;
+    RETURN NEW;
+END
+$$;
+
+DROP TRIGGER IF EXISTS invoice_event_trg ON invoices;
+CREATE TRIGGER invoice_event_trg
+    AFTER INSERT OR UPDATE ON invoices
+    FOR EACH ROW EXECUTE FUNCTION log_invoice_event();
+
+/* Backfill: a DO block with its own BEGIN/END */
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_indexes WHERE indexname = 'invoice_events_invoice_idx') THEN
+        CREATE INDEX invoice_events_invoice_idx ON invoice_events (invoice_id);
+    END IF;
+END
+$$;
+
+COMMENT ON FUNCTION invoice_total(BIGINT) IS 'Sum of line amounts; excludes tax';
@@ -0,0 +1,65 @@
+-- Inventory procedures for SQL Server, split on GO
+IF OBJECT_ID('dbo.usp_AdjustStock', 'P') IS NOT NULL
+    DROP PROCEDURE dbo.usp_AdjustStock;
+GO
+
+CREATE PROCEDURE dbo.usp_AdjustStock
+    @ProductId INT,
+    @Delta     INT
+AS
+BEGIN
+    SET NOCOUNT ON;
+
+    BEGIN TRY
+        BEGIN TRANSACTION;
+
+        UPDATE dbo.Stock
+           SET Quantity = Quantity + @Delta,
+               UpdatedAt = SYSUTCDATETIME()
+         WHERE ProductId = @ProductId;
+
+        IF @@ROWCOUNT = 0
+        BEGIN
+            INSERT INTO dbo.Stock (ProductId, Quantity, UpdatedAt)
+            VALUES (@ProductId, @Delta, SYSUTCDATETIME());
+        END
+
+        COMMIT TRANSACTION;
+    END TRY
+    BEGIN CATCH
+        IF @@TRANCOUNT > 0
+            ROLLBACK TRANSACTION;
+        THROW;
+    END CATCH
+END
+GO
+
+/* Reporting view */
+CREATE VIEW dbo.vw_LowStock
+AS
+SELECT p.ProductId, p.Name, s.Quantity
+  FROM dbo.Products p
+  JOIN dbo.Stock s ON s.ProductId = p.ProductId
+ WHERE s.Quantity < p.ReorderLevel;
+GO
+
+CREATE TRIGGER dbo.trg_Stock_Audit ON dbo.Stock
+AFTER UPDATE
+AS
+BEGIN
+    SET NOCOUNT ON;
+    INSERT INTO dbo.StockAudit (ProductId, OldQuantity, NewQuantity, ChangedAt)
+    SELECT d.ProductId, d.Quantity, i.Quantity, SYSUTCDATETIME()
+      FROM deleted d
+      JOIN inserted i ON i.ProductId = d.ProductId;
+END
+GO
+
+BEGIN TRAN
+UPDATE dbo.Products SET ReorderLevel = 10 WHERE ReorderLevel IS NULL;
+INSERT INTO dbo.Settings (Name, Value) VALUES ('stock.version', '2');
+COMMIT TRAN
+GO
+
+EXEC dbo.usp_AdjustStock @ProductId = 1, @Delta = 5;
+GO